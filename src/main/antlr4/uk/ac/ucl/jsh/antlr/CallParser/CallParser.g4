@@ -7,8 +7,8 @@ compileUnit
 arguments
     :   argument
     |   argument WS+ left_arguments = arguments
-    |   cmd = arguments WS* io_operator = GT WS* file = arguments 
-    |   io_operator = GT WS* file = arguments WS+ cmd = arguments
+    |   cmd = arguments WS* io_operator = (GT | APPEND) WS* file = arguments 
+    |   io_operator = (GT | APPEND) WS* file = arguments WS+ cmd = arguments
     |   cmd = arguments WS* io_operator = LT WS* file = arguments  
     |   io_operator = LT WS* file = arguments WS+ cmd = arguments
     ;
@@ -32,7 +32,7 @@ single_quoted   :   '\'' squote_content '\'';
 squote_content  :   (NON_KEYWORD | keyword | WS | '"' | '`')*;
 
 double_quoted   :   '"' dquote_content '"';
-dquote_content  :   content = (NON_KEYWORD | SEMI | PIPE | GT | LT | WS | '\'') dquote_content
+dquote_content  :   content = (NON_KEYWORD | SEMI | PIPE | GT | APPEND | LT | WS | '\'') dquote_content
                 |   backquoted dquote_content
                 |  
                 ;
@@ -40,11 +40,12 @@ dquote_content  :   content = (NON_KEYWORD | SEMI | PIPE | GT | LT | WS | '\'')
 backquoted      :   '`' content = bquote_content '`';
 bquote_content  :   (NON_KEYWORD | keyword | WS | '"' | '\'')*;
 
-keyword : SEMI | PIPE | GT | LT;
+keyword : SEMI | PIPE | GT | APPEND | LT;
 
 WS             : [ \t];
 NON_KEYWORD    : ~[ \t"'`\n\r;|><];
 SEMI           : ';';
 PIPE           : '|';
+APPEND         : '>>';
 GT             : '>';
 LT             : '<';
\ No newline at end of file
@@ -6,6 +6,11 @@ compileUnit
     ;
 
 command
+    :   job AMP command?            #backgroundCommand
+    |   job                         #foregroundCommand
+    ;
+
+job
     :   pipe
     |   call
     ;
@@ -20,7 +25,7 @@ seq
     |   cmd1=command SEMI cmd2=command        #seqBase
     ;
 
-call    :   (NON_KEYWORD | LT | GT | single_quoted | double_quoted | backquoted | WS)+;
+call    :   (NON_KEYWORD | LT | GT | APPEND | single_quoted | double_quoted | backquoted | WS)+;
 
 single_quoted   :   '\'' squote_content '\'';
 squote_content  :   (NON_KEYWORD | keyword | WS | '"' | '`')*;
@@ -31,11 +36,13 @@ dquote_content  :   (NON_KEYWORD | keyword | WS | '\'' | backquoted)*;
 backquoted      :   '`' content = bquote_content '`';
 bquote_content  :   (NON_KEYWORD | keyword | WS | '"' | '\'')*;
 
-keyword : SEMI | PIPE | GT | LT;
+keyword : SEMI | PIPE | GT | APPEND | LT | AMP;
 
 WS             : [ \t];
-NON_KEYWORD    : ~[ \t"'`\n\r;|><];
+NON_KEYWORD    : ~[ \t"'`\n\r;|><&];
 SEMI        : ';';
 PIPE        : '|';
+APPEND      : '>>';
 GT          : '>';
-LT          : '<';
\ No newline at end of file
+LT          : '<';
+AMP         : '&';
\ No newline at end of file
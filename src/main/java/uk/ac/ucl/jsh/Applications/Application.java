@@ -6,20 +6,38 @@ import java.util.ArrayList;
 
 import uk.ac.ucl.jsh.Utilities.Globbing;
 import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
 
 /**
- * The Application interface that all Applications implement
+ * The Application interface that all Applications implement.
+ * The ApplicationManager keeps one instance of every Application, which is shared by every session and every thread, so an Application
+ * never stores the state of a run in its fields: that state lives in local variables or in objects created for the run, such as the
+ * LineStages and the options of the run.
  */
 public interface Application {
     /**
-     * Executes the Application, providing support for IO redirection and piping through the inputStream and outputStream parameters.
+     * Executes the Application in a ShellSession, providing support for IO redirection and piping through the inputStream and outputStream
+     * parameters. Relative paths, the history and the background jobs used by the Application are the ones of the session.
      * 
      * @param applicationArguments The arguments of the Application
      * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
      * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
      * @throws JshException        The custom Exception that all Applications throw if an error occurs
      */
-    void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outpustream) throws JshException;
+    void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outpustream, ShellSession session) throws JshException;
+
+    /**
+     * Executes the Application in the default ShellSession
+     * 
+     * @param applicationArguments The arguments of the Application
+     * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
+     * @param outpustream          The stream to which the Application will write to
+     * @throws JshException        The custom Exception that all Applications throw if an error occurs
+     */
+    default void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outpustream) throws JshException {
+        execute(applicationArguments, inputStream, outpustream, ShellSession.getDefault());
+    }
 
     /**
      * Provides access for all the Applications to the Utilities class Globbing, which performs argument globbing.
@@ -31,4 +49,27 @@ public interface Application {
     static ArrayList<String> globArguments(ArrayList<String> applicationArguments, int ignoreIndex) {
         return Globbing.globArguments(applicationArguments, ignoreIndex);
     }
+
+    /**
+     * Provides access for all the Applications to the Utilities class Globbing, resolving relative patterns against the working directory
+     * of a session.
+     * 
+     * @param applicationArguments The list of arguments before perfomming globbing
+     * @param ignoreIndex          The index of the argument in the applicationArguments that will not be globbed and will be added as it is
+     * @param session              The session whose working directory the relative patterns are resolved against
+     * @return                     An ArrayList of Strings containing the globbing result
+     */
+    static ArrayList<String> globArguments(ArrayList<String> applicationArguments, int ignoreIndex, ShellSession session) {
+        return Globbing.globArguments(applicationArguments, ignoreIndex, session);
+    }
+
+    /**
+     * Checks whether the Application was cancelled because the pipeline stage reading its output stopped reading. 
+     * Applications check it while reading and writing, so that they stop as soon as their output is no longer needed.
+     * 
+     * @return True if the Application should stop, false otherwise
+     */
+    static boolean isCancelled() {
+        return Thread.currentThread().isInterrupted();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package uk.ac.ucl.jsh.Applications;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The ApplicationProvider interface through which Applications are registered with the ApplicationManager.
+ * The builtin Applications are registered by the BuiltinApplications provider. Other providers are discovered with the ServiceLoader the
+ * first time a call command names an Application that is not a builtin, so a third-party Application is added to the shell by putting a
+ * jar holding its provider, listed in META-INF/services/uk.ac.ucl.jsh.Applications.ApplicationProvider, on the class path.
+ * An Application is only created the first time it is run, which is why a provider gives suppliers of Applications rather than
+ * Applications. The Application returned by a supplier is shared by every session and every thread, as described by the Application
+ * interface.
+ */
+public interface ApplicationProvider {
+    /**
+     * Getter function for the Applications of the provider
+     * 
+     * @return A Map of pairs of the form <name, supplier_of_the_application>, the names being in lower case
+     */
+    Map<String, Supplier<Application>> getApplications();
+}
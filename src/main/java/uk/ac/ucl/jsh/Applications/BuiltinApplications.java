@@ -0,0 +1,82 @@
+package uk.ac.ucl.jsh.Applications;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The BuiltinApplications class that registers the Applications shipped with the shell.
+ * The suppliers create the Applications by name rather than through references to their constructors, since resolving a constructor
+ * reference loads the class of the Application and generates a class for the reference, which would load every builtin Application
+ * when the shell starts. This way, only the Applications a command line actually runs are loaded.
+ */
+public final class BuiltinApplications implements ApplicationProvider {
+    /**
+     * The names of the builtin Applications
+     */
+    private static final String[] NAMES = {
+        "pwd", "cd", "ls", "cat", "echo", "head", "tail", "grep", "sed", "find", "history", "wc", "jobs", "wait", "fg", "kill", "xargs"
+    };
+
+    @Override
+    /**
+     * Getter function for the builtin Applications
+     * 
+     * @return A Map of pairs of the form <name, supplier_of_the_application>
+     */
+    public Map<String, Supplier<Application>> getApplications() {
+        Map<String, Supplier<Application>> applications = new HashMap<>();
+        for (String name : NAMES) {
+            applications.put(name, new Builtin(name));
+        }
+        return applications;
+    }
+
+    /**
+     * Builtin class that supplies the builtin Application with the given name
+     */
+    private static final class Builtin implements Supplier<Application> {
+        /**
+         * The name of the Application
+         */
+        private final String name;
+
+        /**
+         * Constructs the supplier of the builtin Application with the given name
+         * 
+         * @param name The name of the Application
+         */
+        Builtin(String name) {
+            this.name = name;
+        }
+
+        @Override
+        /**
+         * Creates the builtin Application
+         * 
+         * @return A new instance of the Application
+         */
+        public Application get() {
+            switch (name) {
+                case "pwd":     return new Pwd();
+                case "cd":      return new Cd();
+                case "ls":      return new Ls();
+                case "cat":     return new Cat();
+                case "echo":    return new Echo();
+                case "head":    return new Head();
+                case "tail":    return new Tail();
+                case "grep":    return new Grep();
+                case "sed":     return new Sed();
+                case "find":    return new Find();
+                case "history": return new History();
+                case "wc":      return new Wc();
+                case "jobs":    return new Jobs();
+                case "wait":    return new Wait();
+                case "fg":      return new Fg();
+                case "kill":    return new Kill();
+                case "xargs":   return new Xargs();
+                default:        throw new IllegalArgumentException(name);
+            }
+        }
+    }
+}
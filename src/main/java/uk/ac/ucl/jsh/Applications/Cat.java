@@ -1,40 +1,94 @@
 package uk.ac.ucl.jsh.Applications;
 
-import uk.ac.ucl.jsh.Jsh;
-import uk.ac.ucl.jsh.Utilities.FileSystem;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
 import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.LineSink;
+import uk.ac.ucl.jsh.Utilities.LineSource;
+import uk.ac.ucl.jsh.Utilities.LineStage;
 
-import java.io.FileNotFoundException;
+import uk.ac.ucl.jsh.Utilities.TransferTarget;
+
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
-import java.util.Scanner;
 
 
 /**
- * The Cat application that implements the Application interface
+ * The Cat application that implements the Application interface.
+ * The files given as arguments are copied byte for byte, keeping their line endings and a missing final newline. If the output can
+ * pull the bytes of a file itself, as a TransferTarget does, the operating system copies them without going through the JVM.
+ * Otherwise, they are copied through a large buffer. The input stream is copied line by line, so that cat passes lines through pipes
+ * of line-oriented Applications without encoding them.
  */
-public class Cat implements Application{
+public class Cat implements LineStageApplication {
+    /**
+     * The size of the buffer used to copy a file to an output that is not a TransferTarget
+     */
+    private static final int COPY_BUFFER_SIZE = 256 * 1024;
+    /**
+     * The maximum number of bytes transferred at once, so that a cancelled cat stops between two transfers
+     */
+    private static final long TRANSFER_CHUNK_SIZE = 64L * 1024 * 1024;
+
     /**
      * The function that reads the inputStream or the File and writes it to the outputStream
      * 
-     * @param scanner       The scanner object used to read the input
-     * @param writer        The writer object used to write to the class' outputStream
-     * @throws JshException The exception thrown if the writer cannot write to the outputstream
+     * @param source        The object used to read the lines of the input
+     * @param sink          The object used to write the lines to the class' outputStream
+     * @throws JshException The exception thrown if the sink cannot write to the outputstream
      */
-    private void readAndWrite(Scanner scanner, OutputStreamWriter writer) throws JshException {
+    private void readAndWrite(LineSource source, LineSink sink) throws JshException {
         try {
-            while (scanner.hasNextLine()) {
-                writer.write(scanner.nextLine());
-                writer.write(Jsh.lineSeparator);
-                writer.flush();
+            CharSequence line;
+            while (!Application.isCancelled() && (line = source.readLine()) != null) {
+                sink.writeLine(line);
             }
-            scanner.close();
+            sink.flush();
+            source.close();
         } catch (IOException e) {
-            scanner.close();
-            throw new JshException("cat: " + e.getMessage());
+            source.close();
+            throw new JshException("cat: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The function that copies the bytes of a file to the outputStream, starting at a given offset. It is shared with the Tail application,
+     * which copies the end of a file the same way.
+     * 
+     * @param inputStream   The stream reading the file
+     * @param start         The offset of the first byte to copy
+     * @param outputStream  The stream to which the bytes are written
+     * @throws IOException  The exception thrown if the file cannot be read or the outputStream cannot be written to
+     */
+    static void copyFile(FileInputStream inputStream, long start, OutputStream outputStream) throws IOException {
+        FileChannel channel = inputStream.getChannel();
+        long position = start;
+        if (outputStream instanceof TransferTarget) {
+            long size = channel.size();
+            while (position < size && !Application.isCancelled()) {
+                long transferred = ((TransferTarget) outputStream).transferFrom(channel, position, Math.min(size - position, TRANSFER_CHUNK_SIZE));
+                if (transferred <= 0) {
+                    // The file shrank while it was copied, or the target accepts no more bytes without blocking: copy the rest through the buffer
+                    break;
+                }
+                position += transferred;
+            }
+            if (position >= size || Application.isCancelled()) {
+                return;
+            }
+        }
+
+        if (position > 0) {
+            // Only seek when needed, since the file may be a device or a named pipe that cannot seek
+            channel.position(position);
+        }
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        int read;
+        while (!Application.isCancelled() && (read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
         }
     }
 
@@ -53,32 +107,53 @@ public class Cat implements Application{
 
     @Override
     /**
-     * Executes the cat application with the given arguments. Cat prints the contents of files or of the input stream. 
+     * Creates the LineStage of the cat application, which copies every line of its input or of the given files
+     * 
+     * @param applicationArguments The arguments of the Application
+     * @return                     The LineStage running cat, or null if the arguments need globbing
+     */
+    public LineStage createLineStage(ArrayList<String> applicationArguments) {
+        if (LineStageApplication.needsGlobbing(applicationArguments, -1)) {
+            return null;
+        }
+        return new LineStage("cat", new ArrayList<>(applicationArguments)) {
+            @Override
+            public boolean apply(CharSequence line, long index, LineSink next) throws IOException {
+                next.writeLine(line);
+                return true;
+            }
+        };
+    }
+
+    @Override
+    /**
+     * Executes the cat application with the given arguments. Cat prints the contents of files, byte for byte, or the lines of the input stream. 
      * Exception thrown if a file path is invalid, a file does not exist or cat does not receive any input.
      * 
      * @param applicationArguments The arguments of the Application
      * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
      * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
      * @throws JshException        The custom Exception that all Applications throw if an error occurs
      */
-    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream) throws JshException {
-        applicationArguments = Application.globArguments(applicationArguments, -1);
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException {
+        applicationArguments = Application.globArguments(applicationArguments, -1, session);
         checkArguments(applicationArguments, inputStream);
-        OutputStreamWriter writer = new OutputStreamWriter(outputStream);
-        
         if(applicationArguments.size() == 0) {
-            readAndWrite(new Scanner(inputStream), writer);
+            readAndWrite(LineSource.of(inputStream), LineSink.of(outputStream));
         }
         else {
             for (String filePath : applicationArguments) {
-                Scanner scanner;
-                try {
-                    scanner = new Scanner(FileSystem.getInstance().getFile(filePath));
-                } catch (FileNotFoundException e) {
-                    throw new JshException("cat: " + e.getMessage());
+                try (FileInputStream fileStream = new FileInputStream(session.getFile(filePath))) {
+                    copyFile(fileStream, 0, outputStream);
+                } catch (IOException e) {
+                    throw new JshException("cat: " + e.getMessage(), e);
                 }
-
-                readAndWrite(scanner, writer);
+            }
+            try {
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new JshException("cat: " + e.getMessage(), e);
             }
         }
     }
@@ -1,6 +1,6 @@
 package uk.ac.ucl.jsh.Applications;
 
-import uk.ac.ucl.jsh.Utilities.FileSystem;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
 import uk.ac.ucl.jsh.Utilities.JshException;
 
 import java.io.File;
@@ -35,14 +35,15 @@ public class Cd implements Application {
      * @param applicationArguments The arguments of the Application
      * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
      * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
      * @throws JshException        The custom Exception that all Applications throw if an error occurs
      */
-    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream) throws JshException {
-        applicationArguments = Application.globArguments(applicationArguments, -1);
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException {
+        applicationArguments = Application.globArguments(applicationArguments, -1, session);
         checkArguments(applicationArguments);
         
         String dirString = applicationArguments.get(0);
-        File dir = FileSystem.getInstance().getFile(dirString);
+        File dir = session.getFile(dirString);
         if (!dir.isDirectory()) {
             throw new JshException("cd: " + dirString + " is not an existing directory");
         }
@@ -51,10 +52,10 @@ public class Cd implements Application {
         try {
             currentDirectoryPath = dir.getCanonicalPath();
         } catch (IOException e) {
-            throw new JshException("cd: could not get path");
+            throw new JshException("cd: could not get path", e);
         }
 
-        FileSystem.getInstance().setWorkingDirectory(currentDirectoryPath);
+        session.setWorkingDirectory(currentDirectoryPath);
     }
 
 }
\ No newline at end of file
@@ -1,9 +1,9 @@
 package uk.ac.ucl.jsh.Applications;
 
-import uk.ac.ucl.jsh.Jsh;
 import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.LineSink;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
 
-import java.io.OutputStreamWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -21,27 +21,18 @@ public class Echo implements Application {
      * @param applicationArguments The arguments of the Application
      * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
      * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
      * @throws JshException        The custom Exception that all Applications throw if an error occurs
      */
-    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream) throws JshException{
-        applicationArguments = Application.globArguments(applicationArguments, -1);
-        OutputStreamWriter writer = new OutputStreamWriter(outputStream);
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException{
+        applicationArguments = Application.globArguments(applicationArguments, -1, session);
+        LineSink sink = LineSink.of(outputStream);
 
-        int index = 0;
         try {
-            for (String arg : applicationArguments) {
-                writer.write(arg);
-                if(index != applicationArguments.size() - 1) {
-                    writer.write(" ");
-                }
-                writer.flush();
-                index += 1;
-            }
-            
-            writer.write(Jsh.lineSeparator);
-            writer.flush();
+            sink.writeLine(String.join(" ", applicationArguments));
+            sink.flush();
         } catch (IOException e) {
-            throw new JshException("echo: " + e.getMessage());
+            throw new JshException("echo: " + e.getMessage(), e);
         }
     }
 
@@ -0,0 +1,80 @@
+package uk.ac.ucl.jsh.Applications;
+
+import uk.ac.ucl.jsh.Jsh;
+import uk.ac.ucl.jsh.Utilities.Job;
+import uk.ac.ucl.jsh.Utilities.JobTable;
+import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+
+/**
+ * The Fg application that implements the Application interface
+ */
+public class Fg implements Application {
+    /**
+     * The function that checks the arguments passed to the Fg application and finds the job to bring to the foreground
+     * 
+     * @param applicationArguments The arguments of the Application
+     * @param jobTable             The job table of the session the Application runs in
+     * @return                     The job given as argument, or the most recently started job if there is no argument
+     * @throws JshException        The exception thrown if there are too many arguments or if there is no such job
+     */
+    private Job findJob(ArrayList<String> applicationArguments, JobTable jobTable) throws JshException {
+        if (applicationArguments.size() > 1) {
+            throw new JshException("fg: too many arguments");
+        }
+
+        if (applicationArguments.isEmpty()) {
+            Job job = jobTable.getCurrentJob();
+            if (job == null) {
+                throw new JshException("fg: no current job");
+            }
+            return job;
+        }
+
+        Job job = jobTable.findJob(applicationArguments.get(0));
+        if (job == null) {
+            throw new JshException("fg: " + applicationArguments.get(0) + ": no such job");
+        }
+        return job;
+    }
+
+    @Override
+    /**
+     * Executes the Fg application with the given arguments. Fg brings a background job to the foreground: it prints the command of the job
+     * and waits for the job to finish, removing it from the job table. Since jobs already write to the output of the shell, this is the
+     * same as waiting for the job, except that the job is cancelled if fg is interrupted.
+     * Exception thrown if the arguments are invalid or if the writer fails to write to the outputstream.
+     * 
+     * @param applicationArguments The arguments of the Application
+     * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
+     * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
+     * @throws JshException        The custom Exception that all Applications throw if an error occurs
+     */
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException {
+        Job job = findJob(applicationArguments, session.getJobTable());
+        OutputStreamWriter writer = new OutputStreamWriter(outputStream);
+        try {
+            writer.write(job.getCommandLine() + Jsh.lineSeparator);
+            writer.flush();
+        } catch (IOException e) {
+            throw new JshException("fg: cannot write output", e);
+        }
+
+        try {
+            job.await();
+        } catch (JshException e) {
+            // Interrupting fg stops the job it brought to the foreground, as Ctrl-C does in a shell
+            job.cancel();
+            throw e;
+        }
+        session.getJobTable().remove(job);
+    }
+
+}
@@ -1,14 +1,14 @@
 package uk.ac.ucl.jsh.Applications;
 
 import uk.ac.ucl.jsh.Jsh;
-import uk.ac.ucl.jsh.Utilities.FileSystem;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
 import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.LineSink;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.nio.file.FileSystems;
 import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
@@ -21,38 +21,30 @@ public class Find implements Application {
     /**
      * Utility string that ensures that the paths created by the find function are not system-dependent
      */
-    private String fileSeparator = Jsh.fileSeparator;
-    /**
-     * Utility string that ensures that the output of the find function is not system-dependent
-     */
-    private String lineSeparator = Jsh.lineSeparator;
-    /**
-     * The object that will contain the pattern given as argument and will try to match the filenames to it.
-     */
-    private PathMatcher matcher;
-    /**
-     * The object that will deal with writing to the outputstream
-     */
-    private OutputStreamWriter writer;
+    private final String fileSeparator = Jsh.fileSeparator;
 
     /**
      * The find method that recursively searches from a given directory for files that match the given pattern
      *  
      * @param currentDirectoryPath The current directory in which the search function is at the moment which is an absolute path
      * @param currentResolvedPath  The resolved path of the current directory which is relative to the given directory
-     * @throws IOException         Expcetion thrown if the writer cannot write to the output stream
+     * @param matcher              The object that contains the pattern given as argument and tries to match the filenames to it
+     * @param sink                 The LineSink the paths of the matching files are written to
+     * @throws IOException         Expcetion thrown if the sink cannot write to the output stream
      */
-    private void find(String currentDirectoryPath, String currentResolvedPath) throws IOException {
+    private void find(String currentDirectoryPath, String currentResolvedPath, PathMatcher matcher, LineSink sink) throws IOException {
         File currentFile = new File(currentDirectoryPath);
         File[] fileArray = currentFile.listFiles();
         for(File file: fileArray) {
+            if(Application.isCancelled()) {
+                return;
+            }
             String currentFilePath = currentDirectoryPath + fileSeparator + file.getName();
             if(file.isFile() && matcher.matches(Paths.get(file.getName()))) {
-                writer.write(currentResolvedPath + fileSeparator + file.getName() + lineSeparator);
-                writer.flush();
+                sink.writeLine(currentResolvedPath + fileSeparator + file.getName());
             }
             if(file.isDirectory()) {
-                find(currentFilePath, currentResolvedPath + fileSeparator + file.getName());
+                find(currentFilePath, currentResolvedPath + fileSeparator + file.getName(), matcher, sink);
             }
         }
     }
@@ -61,9 +53,10 @@ public class Find implements Application {
      * The function that checks the arguments passed to the Find application
      * 
      * @param applicationArguments The arguments of the Application
+     * @param session              The session the root directory of the search is resolved in
      * @throws JshException        The exception thrown if the given arguments are invalid
      */
-    private void checkArguments(ArrayList<String> applicationArguments) throws JshException {
+    private void checkArguments(ArrayList<String> applicationArguments, ShellSession session) throws JshException {
         if(applicationArguments.size() < 2) {
             throw new JshException("find: missing arguments");
         }
@@ -71,7 +64,7 @@ public class Find implements Application {
             throw new JshException("find: wrong argument");
         }
         if(applicationArguments.size() == 3) {
-            File rootSearchDirectory = FileSystem.getInstance().getFile(applicationArguments.get(0));
+            File rootSearchDirectory = session.getFile(applicationArguments.get(0));
         
             if(!rootSearchDirectory.isDirectory()) {
                 throw new JshException("find: could not open " + applicationArguments.get(0));
@@ -94,29 +87,31 @@ public class Find implements Application {
      * @param applicationArguments The arguments of the Application
      * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
      * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
      * @throws JshException        The custom Exception that all Applications throw if an error occurs
      */
-    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream) throws JshException {
-        applicationArguments = Application.globArguments(applicationArguments, applicationArguments.size() - 1);
-        checkArguments(applicationArguments);
-        writer = new OutputStreamWriter(outputStream);
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException {
+        applicationArguments = Application.globArguments(applicationArguments, applicationArguments.size() - 1, session);
+        checkArguments(applicationArguments, session);
+        LineSink sink = LineSink.of(outputStream);
         
         String searchRootDirectory;
         String resolvedPath;
         if(applicationArguments.size() == 2) {
-            searchRootDirectory = FileSystem.getInstance().getWorkingDirectoryPath();
+            searchRootDirectory = session.getWorkingDirectoryPath();
             resolvedPath = ".";
         }
         else {
-            searchRootDirectory = FileSystem.getInstance().getFilePath(applicationArguments.get(0));
+            searchRootDirectory = session.getFilePath(applicationArguments.get(0));
             resolvedPath = applicationArguments.get(0);
         }
 
-        matcher = FileSystems.getDefault().getPathMatcher("glob:" + applicationArguments.get(applicationArguments.size() - 1));
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + applicationArguments.get(applicationArguments.size() - 1));
         try {
-            find(searchRootDirectory, resolvedPath);
+            find(searchRootDirectory, resolvedPath, matcher, sink);
+            sink.flush();
         } catch (IOException e) {
-            throw new JshException("find: " + e.getMessage());
+            throw new JshException("find: " + e.getMessage(), e);
         }
     }
 }
\ No newline at end of file
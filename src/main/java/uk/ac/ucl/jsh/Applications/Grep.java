@@ -1,8 +1,11 @@
 package uk.ac.ucl.jsh.Applications;
 
-import uk.ac.ucl.jsh.Jsh;
-import uk.ac.ucl.jsh.Utilities.FileSystem;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
 import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.LineReader;
+import uk.ac.ucl.jsh.Utilities.LineSink;
+import uk.ac.ucl.jsh.Utilities.LineSource;
+import uk.ac.ucl.jsh.Utilities.LineStage;
 
 import java.io.FileNotFoundException;
 import java.util.regex.Pattern;
@@ -11,37 +14,35 @@ import java.util.regex.Matcher;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.util.ArrayList;
-import java.util.Scanner;
 
 /**
  * The Grep application that implements the Application interface
  */
-public class Grep implements Application {
+public class Grep implements LineStageApplication {
     /**
      * The function that reads the input, tries to match the current read line to the pattern given as argument and writes the lines that match
-     * the given pattern to the output stream
+     * the given pattern to the output stream. The lines are read as views reused by the next read, so only the matching lines are copied.
      * 
-     * @param scanner       The scanner object used to read input from file or from inputstream
-     * @param writer        The writer object used to write to the outputstream
+     * @param source        The object used to read the lines of the file or of the inputstream
+     * @param sink          The object used to write the lines to the outputstream
      * @param pattern       The pattern given as argument to the Grep Application
-     * @throws JshException The exception thrown if the writer fails to write to the outputstream
+     * @throws JshException The exception thrown if the sink fails to write to the outputstream
      */
-    private void readAndMatch(Scanner scanner, OutputStreamWriter writer, Pattern pattern) throws JshException {
+    private void readAndMatch(LineSource source, LineSink sink, Pattern pattern) throws JshException {
         try {
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                Matcher matcher = pattern.matcher(line);
-                if (matcher.find()) {
-                    writer.write(line + Jsh.lineSeparator);
-                    writer.flush();
+            Matcher matcher = pattern.matcher("");
+            CharSequence line;
+            while (!Application.isCancelled() && (line = source.readLineView()) != null) {
+                if (matcher.reset(line).find()) {
+                    sink.writeLine(line.toString());
                 }
             }
-            scanner.close();
+            sink.flush();
+            source.close();
         } catch (IOException e) {
-            scanner.close();
-            throw new JshException("grep: " + e.getMessage());
+            source.close();
+            throw new JshException("grep: " + e.getMessage(), e);
         }
     }
 
@@ -62,6 +63,36 @@ public class Grep implements Application {
         }
     }
 
+    @Override
+    /**
+     * Creates the LineStage of the Grep application, which writes the lines of its input or of the given files that match the pattern
+     * 
+     * @param applicationArguments The arguments of the Application
+     * @return                     The LineStage running Grep, or null if the arguments are invalid or need globbing
+     */
+    public LineStage createLineStage(ArrayList<String> applicationArguments) {
+        if (applicationArguments.isEmpty() || LineStageApplication.needsGlobbing(applicationArguments, 0)) {
+            return null;
+        }
+
+        Pattern grepPattern;
+        try {
+            grepPattern = Pattern.compile(applicationArguments.get(0));
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+
+        return new LineStage("grep", new ArrayList<>(applicationArguments.subList(1, applicationArguments.size()))) {
+            @Override
+            public boolean apply(CharSequence line, long index, LineSink next) throws IOException {
+                if (grepPattern.matcher(line).find()) {
+                    next.writeLine(line);
+                }
+                return true;
+            }
+        };
+    }
+
     @Override
     /**
      * Executes the Grep application with the given arguments. Grep searches for lines containing a match to the specified pattern. The output 
@@ -71,12 +102,13 @@ public class Grep implements Application {
      * @param applicationArguments The arguments of the Application
      * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
      * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
      * @throws JshException        The custom Exception that all Applications throw if an error occurs
      */
-    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream) throws JshException {
-        applicationArguments = Application.globArguments(applicationArguments, 0);
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException {
+        applicationArguments = Application.globArguments(applicationArguments, 0, session);
         checkArguments(applicationArguments, inputStream);
-        OutputStreamWriter writer = new OutputStreamWriter(outputStream);
+        LineSink sink = LineSink.of(outputStream);
 
         Pattern grepPattern;
         try {
@@ -88,17 +120,17 @@ public class Grep implements Application {
         if (applicationArguments.size() > 1) {
             for (int i = 1; i < applicationArguments.size(); ++i) {
                 String filePath = applicationArguments.get(i);
-                Scanner scanner;
+                LineSource source;
                 try {
-                    scanner = new Scanner(FileSystem.getInstance().getFile(filePath));
+                    source = LineReader.open(session.getFile(filePath));
                 } catch (FileNotFoundException e) {
                     throw new JshException("grep: " + e.getMessage());
                 }
-                readAndMatch(scanner, writer, grepPattern);
+                readAndMatch(source, sink, grepPattern);
             }
         }
         else {
-            readAndMatch(new Scanner(inputStream), writer, grepPattern);
+            readAndMatch(LineSource.of(inputStream), sink, grepPattern);
         }
     }
 
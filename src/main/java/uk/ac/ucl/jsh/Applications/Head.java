@@ -1,48 +1,44 @@
 package uk.ac.ucl.jsh.Applications;
 
-import uk.ac.ucl.jsh.Jsh;
-import uk.ac.ucl.jsh.Utilities.FileSystem;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
 import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.LineReader;
+import uk.ac.ucl.jsh.Utilities.LineSink;
+import uk.ac.ucl.jsh.Utilities.LineSource;
+import uk.ac.ucl.jsh.Utilities.LineStage;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.util.ArrayList;
-import java.util.Scanner;
 
 
 /**
  * The Head application that implements the Application interface
  */
-public class Head implements Application {
-    /**
-     * The number of lines that Head will print
-     */
-    private int headLines;
-
+public class Head implements LineStageApplication {
     /**
      * The function that reads the input and writes to the outputstream the first headLines number of lines.
      * 
-     * @param scanner       The object that reads the input either from a file or from the inputstream
-     * @param writer        The object used to write to the outputstream
-     * @throws JshException The exception thrown if the writer failes to write to the ouptustream
+     * @param source        The object that reads the lines of the input either from a file or from the inputstream
+     * @param sink          The object used to write the lines to the outputstream
+     * @param headLines     The number of lines that Head will print
+     * @throws JshException The exception thrown if the sink failes to write to the ouptustream
      */
-    private void readAndWrite(Scanner scanner, OutputStreamWriter writer) throws JshException{
+    private void readAndWrite(LineSource source, LineSink sink, int headLines) throws JshException{
         try {
             int count = 0;
-            while (count < headLines && scanner.hasNextLine()) {
+            CharSequence line;
+            while (count < headLines && !Application.isCancelled() && (line = source.readLine()) != null) {
                 count += 1;
-                String line = scanner.nextLine();
-
-                writer.write(line + Jsh.lineSeparator);
-                writer.flush();
+                sink.writeLine(line);
             }
-            scanner.close();
+            sink.flush();
+            source.close();
         } catch (IOException e) {
-            scanner.close();
-            throw new JshException("head: " + e.getMessage());
+            source.close();
+            throw new JshException("head: " + e.getMessage(), e);
         }
     }
 
@@ -68,6 +64,47 @@ public class Head implements Application {
         }
     }
 
+    @Override
+    /**
+     * Creates the LineStage of the Head application, which writes the first headLines lines of its input or of the given file and is then done
+     * 
+     * @param applicationArguments The arguments of the Application
+     * @return                     The LineStage running Head, or null if the arguments are invalid or need globbing
+     */
+    public LineStage createLineStage(ArrayList<String> applicationArguments) {
+        if (applicationArguments.size() > 3 || LineStageApplication.needsGlobbing(applicationArguments, -1)) {
+            return null;
+        }
+        if (applicationArguments.size() > 1 && !applicationArguments.get(0).equals("-n")) {
+            return null;
+        }
+
+        int headLines = 10;
+        if (applicationArguments.size() > 1) {
+            try {
+                headLines = Integer.parseInt(applicationArguments.get(1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (headLines <= 0) {
+                return null;
+            }
+        }
+
+        ArrayList<String> files = new ArrayList<>();
+        if (applicationArguments.size() == 1 || applicationArguments.size() == 3) {
+            files.add(applicationArguments.get(applicationArguments.size() - 1));
+        }
+        long limit = headLines;
+        return new LineStage("head", files) {
+            @Override
+            public boolean apply(CharSequence line, long index, LineSink next) throws IOException {
+                next.writeLine(line);
+                return index + 1 < limit;
+            }
+        };
+    }
+
     @Override
     /**
      * Executes the Head application with the given arguments. Head prints first headLines lines of the file (or input stream), where headLines is an
@@ -78,14 +115,15 @@ public class Head implements Application {
      * @param applicationArguments The arguments of the Application
      * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
      * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
      * @throws JshException        The custom Exception that all Applications throw if an error occurs
      */
-    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream) throws JshException{
-        applicationArguments = Application.globArguments(applicationArguments, -1);
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException{
+        applicationArguments = Application.globArguments(applicationArguments, -1, session);
         checkArguments(applicationArguments, inputStream);
-        OutputStreamWriter writer = new OutputStreamWriter(outputStream);
+        LineSink sink = LineSink.of(outputStream);
 
-        headLines = 10;
+        int headLines = 10;
         if (applicationArguments.size() > 1) {
             try {
                 headLines = Integer.parseInt(applicationArguments.get(1));
@@ -100,16 +138,16 @@ public class Head implements Application {
         if(applicationArguments.size() == 1 || applicationArguments.size() == 3) {
             String filePath = applicationArguments.get(applicationArguments.size() - 1); 
             
-            Scanner scanner;
+            LineSource source;
             try {
-                scanner = new Scanner(FileSystem.getInstance().getFile(filePath));
+                source = LineReader.open(session.getFile(filePath));
             } catch (FileNotFoundException e) {
                 throw new JshException("head: " + e.getMessage());
             }
 
-            readAndWrite(scanner, writer);
+            readAndWrite(source, sink, headLines);
         } else {
-            readAndWrite(new Scanner(inputStream), writer);
+            readAndWrite(LineSource.of(inputStream), sink, headLines);
         }
     }
 
@@ -1,12 +1,12 @@
 package uk.ac.ucl.jsh.Applications;
 
-import uk.ac.ucl.jsh.Jsh;
 import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.LineSink;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.util.ArrayList;
 
 /**
@@ -45,13 +45,17 @@ public class History implements Application {
      * @param applicationArguments The arguments of the Application
      * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
      * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
      * @throws JshException        The custom Exception that all Applications throw if an error occurs
      */
-    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream) throws JshException {
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException {
 
         checkArguments(applicationArguments);
         ArrayList<String> historyToPrint = new ArrayList<>();
-        ArrayList<String> history = Jsh.getHistory();
+        ArrayList<String> history;
+        synchronized (session.getHistory()) {
+            history = new ArrayList<>(session.getHistory());
+        }
         int numberOfElementsToPrint;
 
         if (applicationArguments.isEmpty()) {
@@ -76,14 +80,14 @@ public class History implements Application {
             historyToPrint.add(indexHistoryElement(index + 1, history.get(index)));
         }
         
-        OutputStreamWriter writer = new OutputStreamWriter(outputStream);
+        LineSink sink = LineSink.of(outputStream);
         try {
             for (String historyElement: historyToPrint) {
-                writer.write(historyElement + Jsh.lineSeparator);
-                writer.flush();
+                sink.writeLine(historyElement);
             }
+            sink.flush();
         } catch (IOException e) {
-            throw new JshException("history: cannot write output");
+            throw new JshException("history: cannot write output", e);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package uk.ac.ucl.jsh.Applications;
+
+import uk.ac.ucl.jsh.Jsh;
+import uk.ac.ucl.jsh.Utilities.Job;
+import uk.ac.ucl.jsh.Utilities.JobTable;
+import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+
+/**
+ * The Jobs application that implements the Application interface
+ */
+public class Jobs implements Application {
+    /**
+    * The function that checks the arguments passed to the Jobs application
+    * 
+    * @param applicationArguments The arguments of the Application
+    * @throws JshException        The exception thrown if the Jobs application receives any argument
+    */
+    private void checkArguments(ArrayList<String> applicationArguments) throws JshException {
+        if (!applicationArguments.isEmpty()) {
+            throw new JshException("jobs: too many arguments");
+        }
+    }
+
+    @Override
+    /**
+     * Executes the Jobs application with the given arguments. Jobs prints one line per background job, holding its number, its state and
+     * its command. The finished jobs are removed from the job table once they are printed.
+     * Exception thrown if the application receives any argument or if the writer fails to write to the outputstream.
+     * 
+     * @param applicationArguments The arguments of the Application
+     * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
+     * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
+     * @throws JshException        The custom Exception that all Applications throw if an error occurs
+     */
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException {
+        checkArguments(applicationArguments);
+        OutputStreamWriter writer = new OutputStreamWriter(outputStream);
+        JobTable jobTable = session.getJobTable();
+
+        try {
+            for (Job job : jobTable.getJobs()) {
+                Job.State state = job.getState();
+                writer.write("[" + job.getId() + "] " + state + " " + job.getCommandLine() + Jsh.lineSeparator);
+                if (state != Job.State.RUNNING) {
+                    jobTable.remove(job);
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new JshException("jobs: cannot write output", e);
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+package uk.ac.ucl.jsh.Applications;
+
+import java.util.ArrayList;
+
+import uk.ac.ucl.jsh.Utilities.LineStage;
+
+/**
+ * Interface implemented by the Applications that can run as a LineStage, processing their input one line at a time
+ */
+public interface LineStageApplication extends Application {
+    /**
+     * Function that creates the LineStage doing the work of the Application for the given arguments. The LineStage must produce the same
+     * output as the execute function, so null is returned for any argument that the LineStage cannot handle, including the invalid ones
+     * and the ones that need globbing.
+     *
+     * @param applicationArguments The arguments of the Application
+     * @return                     The LineStage running the Application, or null if the Application must be executed instead
+     */
+    LineStage createLineStage(ArrayList<String> applicationArguments);
+
+    /**
+     * Utility function that checks whether an argument would be changed by globbing
+     *
+     * @param applicationArguments The arguments of the Application
+     * @param ignoreIndex          The index of the argument that is not globbed, or -1 if all the arguments are globbed
+     * @return                     True if an argument other than the ignored one contains a wildcard, false otherwise
+     */
+    static boolean needsGlobbing(ArrayList<String> applicationArguments, int ignoreIndex) {
+        for (int i = 0; i < applicationArguments.size(); ++i) {
+            if (i != ignoreIndex && applicationArguments.get(i).contains("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,14 +1,13 @@
 package uk.ac.ucl.jsh.Applications;
 
-import uk.ac.ucl.jsh.Jsh;
-import uk.ac.ucl.jsh.Utilities.FileSystem;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
 import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.LineSink;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.util.ArrayList;
 
 /**
@@ -37,33 +36,34 @@ public class Ls implements Application {
      * @param applicationArguments The arguments of the Application
      * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
      * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
      * @throws JshException        The custom Exception that all Applications throw if an error occurs
      */
-    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream) throws JshException {
-        applicationArguments = Application.globArguments(applicationArguments, -1);
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException {
+        applicationArguments = Application.globArguments(applicationArguments, -1, session);
         checkArguments(applicationArguments);
-        OutputStreamWriter writer = new OutputStreamWriter(outputStream);
+        LineSink sink = LineSink.of(outputStream);
 
         File currDir;
         if (applicationArguments.isEmpty()) {
-            currDir = FileSystem.getInstance().getFile(FileSystem.getInstance().getWorkingDirectoryPath());
+            currDir = session.getFile(session.getWorkingDirectoryPath());
         } 
         else {
-            currDir = FileSystem.getInstance().getFile(applicationArguments.get(0));
+            currDir = session.getFile(applicationArguments.get(0));
         }
 
         try {
             File[] listOfFiles = currDir.listFiles();
+            StringBuilder line = new StringBuilder();
             boolean atLeastOnePrinted = false;
             try {
                 int index = 0;
                 for (File file : listOfFiles) {
                     if (!file.getName().startsWith(".")) {
-                        writer.write(file.getName());
+                        line.append(file.getName());
                         if(index + 1 < listOfFiles.length) {
-                            writer.write("\t");
+                            line.append("\t");
                         }
-                        writer.flush();
                         atLeastOnePrinted = true;
                     }
 
@@ -71,11 +71,11 @@ public class Ls implements Application {
                 }    
 
                 if (atLeastOnePrinted) {
-                    writer.write(Jsh.lineSeparator);
-                    writer.flush();
+                    sink.writeLine(line);
+                    sink.flush();
                 } 
             } catch (IOException e) {
-                throw new JshException("ls: " + e.getMessage());
+                throw new JshException("ls: " + e.getMessage(), e);
             }
         } catch (NullPointerException e) {
             throw new JshException("ls: " + e.getMessage());
@@ -1,7 +1,7 @@
 package uk.ac.ucl.jsh.Applications;
 
 import uk.ac.ucl.jsh.Jsh;
-import uk.ac.ucl.jsh.Utilities.FileSystem;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
 import uk.ac.ucl.jsh.Utilities.JshException;
 
 import java.io.IOException;
@@ -34,17 +34,18 @@ public class Pwd implements Application {
      * @param applicationArguments The arguments of the Application
      * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
      * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
      * @throws JshException        The custom Exception that all Applications throw if an error occurs
      */
-    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream) throws JshException {
-       applicationArguments = Application.globArguments(applicationArguments, -1);
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException {
+       applicationArguments = Application.globArguments(applicationArguments, -1, session);
        checkArguments(applicationArguments);
        OutputStreamWriter writer = new OutputStreamWriter(outputStream);
        try {
-            writer.write(FileSystem.getInstance().getWorkingDirectoryPath() + Jsh.lineSeparator);
+            writer.write(session.getWorkingDirectoryPath() + Jsh.lineSeparator);
             writer.flush();
        } catch (IOException e) {
-           throw new JshException("pwd: cannot write output");
+           throw new JshException("pwd: cannot write output", e);
        }
     }
 
@@ -1,12 +1,16 @@
 package uk.ac.ucl.jsh.Applications;
 
-import java.io.OutputStreamWriter;
-import uk.ac.ucl.jsh.Jsh;
-import uk.ac.ucl.jsh.Utilities.FileSystem;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
 import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.LineReader;
+import uk.ac.ucl.jsh.Utilities.LineSink;
+import uk.ac.ucl.jsh.Utilities.LineSource;
+import uk.ac.ucl.jsh.Utilities.LineStage;
 
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -15,43 +19,34 @@ import java.io.OutputStream;
 /**
  * The Sed application that implements the Application interface
  */
-public class Sed implements Application {
-    /**
-     * The regex String given as argument
-     */
-    private String regex;
-    /**
-     * The replacement String given as argument
-     */
-    private String replacement;
-
+public class Sed implements LineStageApplication {
    /**
     * The function that checks if the first argument of Sed is valid and splits it into its components(i.e. regex and replacement)
     *
     * @param argument The first argument of the Sed Application
-    * @return         A boolean representing if true if the first argument is valid and false otherwise
+    * @return         An array holding the regex and the replacement if the first argument is valid and null otherwise
     */
-    private boolean isValid(String argument) { 
+    private String[] splitExpression(String argument) { 
         if (argument.length() < 5) {
-            return false;
+            return null;
         }
 
         if (argument.charAt(0) != 's') {
-            return false;
+            return null;
         }
 
         char delimiter = argument.charAt(1);
         int delimiterFrequency = (int)argument.substring(1).codePoints().filter(ch -> ch == delimiter).count();
 
         if (delimiterFrequency == 4 && delimiter != 'g') {
-            return false;
+            return null;
         }
         else if (delimiterFrequency != 3 && delimiterFrequency != 4) {
-            return false;
+            return null;
         }
 
         if (argument.charAt(argument.length()-1) != delimiter && argument.charAt(argument.length()-1) != 'g') {
-            return false;
+            return null;
         }
 
         int firstDelimiterIndex = 1;
@@ -59,17 +54,17 @@ public class Sed implements Application {
         int thirdDelimiterIndex = argument.indexOf(delimiter, secondDelimiterIndex + 1);
 
         if (thirdDelimiterIndex != argument.length()-1 && thirdDelimiterIndex != argument.length()-2) {
-            return false;
+            return null;
         }
 
-        regex = argument.substring(firstDelimiterIndex + 1, secondDelimiterIndex);
-        replacement = argument.substring(secondDelimiterIndex + 1, thirdDelimiterIndex);
+        String regex = argument.substring(firstDelimiterIndex + 1, secondDelimiterIndex);
+        String replacement = argument.substring(secondDelimiterIndex + 1, thirdDelimiterIndex);
 
         if(regex.compareTo("") == 0) {
-            return false;
+            return null;
         }
 
-        return true;
+        return new String[] {regex, replacement};
     }
 
     /**
@@ -77,9 +72,10 @@ public class Sed implements Application {
      * 
      * @param applicationArguments The arguments of the Application
      * @param inputStream          The stream that will be used as input if the applicationArguments does not contain a file
+     * @return                     An array holding the regex and the replacement given in the first argument
      * @throws JshException        The exception thrown if the given arguments are invalid
      */
-    private void checkArguments(ArrayList<String> applicationArguments, InputStream inputStream) throws JshException {
+    private String[] checkArguments(ArrayList<String> applicationArguments, InputStream inputStream) throws JshException {
         int numberOfArguments = applicationArguments.size();
         if (numberOfArguments <= 0) {
             throw new JshException("sed: missing arguments");
@@ -93,9 +89,46 @@ public class Sed implements Application {
             throw new JshException("sed: missing input");
         }
 
-        if(isValid(applicationArguments.get(0)) == false) {
+        String[] expression = splitExpression(applicationArguments.get(0));
+        if(expression == null) {
             throw new JshException("sed: invalid first argument");
         } 
+        return expression;
+    }
+
+    @Override
+    /**
+     * Creates the LineStage of the Sed application, which writes every line of its input or of the given file after the replacement
+     * 
+     * @param applicationArguments The arguments of the Application
+     * @return                     The LineStage running Sed, or null if the arguments are invalid or need globbing
+     */
+    public LineStage createLineStage(ArrayList<String> applicationArguments) {
+        if (applicationArguments.isEmpty() || applicationArguments.size() > 2 || LineStageApplication.needsGlobbing(applicationArguments, 0)) {
+            return null;
+        }
+        String[] expression = splitExpression(applicationArguments.get(0));
+        if (expression == null) {
+            return null;
+        }
+
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(expression[0]);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+        String replacement = expression[1];
+        boolean replaceAll = applicationArguments.get(0).endsWith("g");
+
+        return new LineStage("sed", new ArrayList<>(applicationArguments.subList(1, applicationArguments.size()))) {
+            @Override
+            public boolean apply(CharSequence line, long index, LineSink next) throws IOException {
+                Matcher matcher = pattern.matcher(line);
+                next.writeLine(replaceAll ? matcher.replaceAll(replacement) : matcher.replaceFirst(replacement));
+                return true;
+            }
+        };
     }
 
     @Override
@@ -108,47 +141,58 @@ public class Sed implements Application {
      * @param applicationArguments The arguments of the Application
      * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
      * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
      * @throws JshException        The custom Exception that all Applications throw if an error occurs
      */
-    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream) throws JshException {
-        applicationArguments = Application.globArguments(applicationArguments, 0);
-        checkArguments(applicationArguments, inputStream);
-        OutputStreamWriter writer = new OutputStreamWriter(outputStream);
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException {
+        applicationArguments = Application.globArguments(applicationArguments, 0, session);
+        String[] expression = checkArguments(applicationArguments, inputStream);
+        String replacement = expression[1];
+        LineSink sink = LineSink.of(outputStream);
+
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(expression[0]);
+        } catch (PatternSyntaxException e) {
+            throw new JshException("sed: " + e.getMessage());
+        }
 
         boolean replaceAll = false;
         if(applicationArguments.get(0).endsWith("g")) {
             replaceAll = true;
         }
 
-        Scanner scanner;
+        LineSource source;
         if(applicationArguments.size() == 2){
             String filePath = applicationArguments.get(1);
             try {
-                scanner = new Scanner(FileSystem.getInstance().getFile(filePath));
+                source = LineReader.open(session.getFile(filePath));
             } catch (FileNotFoundException e) {
                 throw new JshException("sed: " + e.getMessage());
             }
         }
         else {
-            scanner = new Scanner(inputStream);
+            source = LineSource.of(inputStream);
         }
 
         try {
-            while(scanner.hasNextLine()) {
-                String line = scanner.nextLine();
+            Matcher matcher = pattern.matcher("");
+            CharSequence line;
+            while(!Application.isCancelled() && (line = source.readLine()) != null) {
+                matcher.reset(line);
                 if(replaceAll == true) {
-                    writer.write(line.replaceAll(regex, replacement) + Jsh.lineSeparator);
+                    sink.writeLine(matcher.replaceAll(replacement));
                 }
                 else {
-                    writer.write(line.replaceFirst(regex, replacement) + Jsh.lineSeparator);
+                    sink.writeLine(matcher.replaceFirst(replacement));
                 }
-                writer.flush();
             }
 
-            scanner.close();
+            sink.flush();
+            source.close();
         } catch (IOException e) {
-            scanner.close();
-            throw new JshException("sed: " + e.getMessage());
+            source.close();
+            throw new JshException("sed: " + e.getMessage(), e);
         }
     }
 
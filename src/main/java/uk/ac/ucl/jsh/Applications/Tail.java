@@ -1,57 +1,302 @@
 package uk.ac.ucl.jsh.Applications;
 
-import uk.ac.ucl.jsh.Jsh;
-import uk.ac.ucl.jsh.Utilities.FileSystem;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
+import uk.ac.ucl.jsh.Utilities.FileFollower;
 import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.LineReader;
+import uk.ac.ucl.jsh.Utilities.LineSink;
+import uk.ac.ucl.jsh.Utilities.LineSource;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Scanner;
-import java.io.OutputStreamWriter;
 
 /**
- * The Tail application that implements the Application interface
+ * The Tail application that implements the Application interface.
+ * Tail uses memory proportional to what it prints rather than to its input. The last lines or bytes of a stream are kept in a ring
+ * that drops the oldest ones, while a regular file is scanned backwards from its end, one block at a time, until enough lines are
+ * found, so that only the end of the file is ever read.
+ * With -f or -F, Tail then keeps following the file, writing the lines appended to it as soon as they are complete until it is cancelled.
  */
 public class Tail implements Application {
-     /**
-     * The number of lines that Tail will print
+    /**
+     * The number of bytes read at once, backwards when scanning a file or forwards when reading the bytes of a stream
+     */
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * The ways Tail can follow a file once it printed its end
      */
-    private int tailLines;
+    private enum FollowMode {
+        /**
+         * Tail does not follow the file
+         */
+        NONE,
+        /**
+         * Tail follows the file it opened, given by -f
+         */
+        DESCRIPTOR,
+        /**
+         * Tail follows the name of the file, reopening it when it is replaced or created, given by -F
+         */
+        NAME
+    }
 
      /**
-     * The function that reads the input and writes to the outputstream the first tailLines number of lines.
+     * The function that reads the input and writes to the outputstream the last tailLines number of lines. Only the last tailLines lines
+     * read are kept, the oldest line being dropped when a new one is read.
      * 
-     * @param scanner       The object that reads the input either from a file or from the inputstream
-     * @param writer        The object used to write to the outputstream
-     * @throws JshException The exception thrown if the writer failes to write to the ouptustream
+     * @param source        The object that reads the lines of the input either from a file or from the inputstream
+     * @param sink          The object used to write the lines to the outputstream
+     * @param tailLines     The number of lines that Tail will print
+     * @throws JshException The exception thrown if the sink failes to write to the ouptustream
      */
-    private void readAndWrite(Scanner scanner, OutputStreamWriter writer) throws JshException {
-        ArrayList<String> storage = new ArrayList<>();
+    private void readAndWrite(LineSource source, LineSink sink, int tailLines) throws JshException {
+        ArrayDeque<CharSequence> storage = new ArrayDeque<>(Math.min(tailLines, 1024));
         try {
-            while (scanner.hasNextLine()) {
-                storage.add(scanner.nextLine());
+            CharSequence line;
+            while (!Application.isCancelled() && (line = source.readLine()) != null) {
+                if (storage.size() == tailLines) {
+                    storage.removeFirst();
+                }
+                storage.addLast(line);
+            }
+
+            for (CharSequence storedLine : storage) {
+                sink.writeLine(storedLine);
+            }
+            sink.flush();
+            source.close();
+        } catch (IOException e) {
+            source.close();
+            throw new JshException("tail: " + e.getMessage(), e);
+        }       
+    }
+
+    /**
+     * The function that reads the input and writes to the outputstream its last tailBytes bytes. The bytes are kept in a ring that grows
+     * up to tailBytes bytes, after which every byte read overwrites the oldest one.
+     * 
+     * @param inputStream   The stream to read the bytes from
+     * @param outputStream  The stream to which the bytes are written
+     * @param tailBytes     The number of bytes that Tail will print
+     * @throws JshException The exception thrown if the input cannot be read or the outputstream cannot be written to
+     */
+    private void readAndWriteBytes(InputStream inputStream, OutputStream outputStream, int tailBytes) throws JshException {
+        byte[] ring = new byte[Math.min(tailBytes, BLOCK_SIZE)];
+        int start = 0;
+        int size = 0;
+        byte[] block = new byte[BLOCK_SIZE];
+        try {
+            int read;
+            while (!Application.isCancelled() && (read = inputStream.read(block)) != -1) {
+                int length = Math.min(read, tailBytes);
+                int offset = read - length;
+                if (size + length > ring.length && ring.length < tailBytes) {
+                    byte[] grown = new byte[(int) Math.min(tailBytes, Math.max(2L * ring.length, (long) size + length))];
+                    int first = Math.min(size, ring.length - start);
+                    System.arraycopy(ring, start, grown, 0, first);
+                    System.arraycopy(ring, 0, grown, first, size - first);
+                    ring = grown;
+                    start = 0;
+                }
+
+                int end = (start + size) % ring.length;
+                int first = Math.min(length, ring.length - end);
+                System.arraycopy(block, offset, ring, end, first);
+                System.arraycopy(block, offset + first, ring, 0, length - first);
+                int overflow = size + length - ring.length;
+                if (overflow > 0) {
+                    start = (start + overflow) % ring.length;
+                    size = ring.length;
+                } else {
+                    size += length;
+                }
             }
 
-            int index = 0;
-            if (tailLines > storage.size()) {
-                index = 0;
+            int first = Math.min(size, ring.length - start);
+            outputStream.write(ring, start, first);
+            outputStream.write(ring, 0, size - first);
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new JshException("tail: " + e.getMessage(), e);
+        } finally {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                // Nothing left to do with the stream
+            }
+        }
+    }
+
+    /**
+     * The function that finds the offset of the first of the last tailLines lines of a file, by reading the file backwards from its end one
+     * block at a time and counting the '\n' found. The '\n' ending the last line of the file does not start a line.
+     * 
+     * @param channel      The channel reading the file
+     * @param tailLines    The number of lines that Tail will print
+     * @return             The offset of the first line to print, which is 0 if the file has at most tailLines lines
+     * @throws IOException The exception thrown if the file cannot be read
+     */
+    private long findStartOfLastLines(FileChannel channel, int tailLines) throws IOException {
+        long size = channel.size();
+        long blockStart = size;
+        int newlines = 0;
+        ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+        while (blockStart > 0 && !Application.isCancelled()) {
+            int length = (int) Math.min(BLOCK_SIZE, blockStart);
+            blockStart -= length;
+            block.clear().limit(length);
+            while (block.hasRemaining()) {
+                if (channel.read(block, blockStart + block.position()) < 0) {
+                    // The file was truncated while it was read: read it from the start
+                    return 0;
+                }
+            }
+
+            byte[] bytes = block.array();
+            for (int i = length - 1; i >= 0; --i) {
+                if (bytes[i] == '\n' && blockStart + i != size - 1 && ++newlines == tailLines) {
+                    return blockStart + i + 1;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * The function that writes the end of a file to the outputstream. If the file is a regular file, only its end is read, the lines being
+     * found by scanning it backwards and the bytes being copied from their offset. Any other file is read as a stream.
+     * 
+     * @param file          The file to read
+     * @param outputStream  The stream to which the end of the file is written
+     * @param sink          The object used to write the lines to the outputstream
+     * @param byteCount     True if count is a number of bytes, false if it is a number of lines
+     * @param count         The number of lines or bytes that Tail will print
+     * @throws JshException The exception thrown if the file cannot be read or the outputstream cannot be written to
+     */
+    private void readAndWriteFile(File file, OutputStream outputStream, LineSink sink, boolean byteCount, int count) throws JshException {
+        FileInputStream fileStream;
+        try {
+            fileStream = new FileInputStream(file);
+        } catch (FileNotFoundException e) {
+            throw new JshException("tail: " + e.getMessage());
+        }
+
+        if (!file.isFile()) {
+            if (byteCount) {
+                readAndWriteBytes(fileStream, outputStream, count);
             } else {
-                index = storage.size() - tailLines;
+                readAndWrite(new LineReader(fileStream), sink, count);
             }
-            for (int i = index; i < storage.size(); i++) {
-                writer.write(storage.get(i) + Jsh.lineSeparator);
-                writer.flush();
-            }     
-            scanner.close();
+            return;
+        }
+
+        try {
+            FileChannel channel = fileStream.getChannel();
+            if (byteCount) {
+                try (FileInputStream closedStream = fileStream) {
+                    Cat.copyFile(closedStream, Math.max(0, channel.size() - count), outputStream);
+                    outputStream.flush();
+                }
+                return;
+            }
+            channel.position(findStartOfLastLines(channel, count));
         } catch (IOException e) {
-            scanner.close();
+            try {
+                fileStream.close();
+            } catch (IOException closeException) {
+                // Nothing left to do with the stream
+            }
             throw new JshException("tail: " + e.getMessage());
-        }       
+        }
+        readAndWrite(new LineReader(fileStream), sink, count);
     }
     
+    /**
+     * The function that writes the end of a file to the outputstream and then follows the file, writing what is appended to it until Tail
+     * is cancelled or the outputstream cannot be written to. The lines are only written once they are complete, while the bytes are written
+     * as they are read. What was written is flushed every time Tail catches up with the end of the file, before waiting for more.
+     * 
+     * @param file          The file to follow
+     * @param outputStream  The stream to which the end of the file is written
+     * @param sink          The object used to write the lines to the outputstream
+     * @param byteCount     True if count is a number of bytes, false if it is a number of lines
+     * @param count         The number of lines or bytes of the end of the file that Tail will print first
+     * @param followMode    Whether Tail follows the file it opened or the name of the file
+     * @throws JshException The exception thrown if the file cannot be read or the outputstream cannot be written to
+     */
+    private void follow(File file, OutputStream outputStream, LineSink sink, boolean byteCount, int count, FollowMode followMode) throws JshException {
+        long start = 0;
+        try (FileInputStream fileStream = new FileInputStream(file)) {
+            FileChannel channel = fileStream.getChannel();
+            start = byteCount ? Math.max(0, channel.size() - count) : findStartOfLastLines(channel, count);
+        } catch (FileNotFoundException e) {
+            if (followMode != FollowMode.NAME || file.exists()) {
+                throw new JshException("tail: " + e.getMessage());
+            }
+        } catch (IOException e) {
+            throw new JshException("tail: " + e.getMessage(), e);
+        }
+
+        Flushable output = byteCount ? outputStream : sink;
+        try (FileFollower follower = new FileFollower(file, start, followMode == FollowMode.NAME)) {
+            InputStream appended = new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    byte[] single = new byte[1];
+                    return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    while (!Application.isCancelled()) {
+                        int read = follower.read(ByteBuffer.wrap(b, off, len));
+                        if (read > 0) {
+                            return read;
+                        }
+                        output.flush();
+                        follower.awaitChange();
+                    }
+                    return -1;
+                }
+            };
+
+            if (byteCount) {
+                byte[] block = new byte[BLOCK_SIZE];
+                int read;
+                while ((read = appended.read(block)) != -1) {
+                    outputStream.write(block, 0, read);
+                }
+            } else {
+                LineReader reader = new LineReader(appended);
+                CharSequence line;
+                while ((line = reader.readLine()) != null) {
+                    sink.writeLine(line);
+                }
+            }
+            output.flush();
+        } catch (ClosedByInterruptException e) {
+            // Tail was cancelled while reading the file, but what it read before is still written
+            try {
+                output.flush();
+            } catch (IOException flushException) {
+                throw new JshException("tail: " + flushException.getMessage(), flushException);
+            }
+        } catch (IOException e) {
+            throw new JshException("tail: " + e.getMessage(), e);
+        }
+    }
+
      /**
      * The function that checks the arguments passed to the Tail application
      * 
@@ -66,7 +311,7 @@ public class Tail implements Application {
         if (applicationArguments.size() > 3) {
             throw new JshException("tail: too many arguments");
         }
-        if (applicationArguments.size() > 1 && !applicationArguments.get(0).equals("-n")) {
+        if (applicationArguments.size() > 1 && !applicationArguments.get(0).equals("-n") && !applicationArguments.get(0).equals("-c")) {
             throw new JshException("tail: wrong argument " + applicationArguments.get(0));
         }
         if (applicationArguments.size() == 2 && inputStream == null) {
@@ -77,26 +322,36 @@ public class Tail implements Application {
     @Override
     /**
      * Executes the Tail application with the given arguments. Tail prints the last tailLines lines of the file (or input stream), where tailLines is an
-     * argument received by the Tail application. The default value for tailLines is 10. If there are less than tailLines lines then the application prints
-     * all the lines without raising an exception.
+     * argument received by the Tail application after -n. The default value for tailLines is 10. If there are less than tailLines lines then the application
+     * prints all the lines without raising an exception. With -c, Tail prints the given number of bytes ending the file (or input stream) instead, as they are.
+     * Given first, -f makes Tail follow the regular file it opened, printing what is appended to it until it is cancelled, while -F follows the
+     * name of the file, reopening it if it is rotated, truncated or created. Both are ignored for the input stream and for files that are
+     * not regular files, which are read until their end anyway.
      * Exception thrown if the arguments are invalid or if the writer fails to write to the outputstream.
      * 
      * @param applicationArguments The arguments of the Application
      * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
      * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
      * @throws JshException        The custom Exception that all Applications throw if an error occurs
      */
-    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream) throws JshException {
-        applicationArguments = Application.globArguments(applicationArguments, -1);
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException {
+        applicationArguments = new ArrayList<>(Application.globArguments(applicationArguments, -1, session));
+        FollowMode followMode = FollowMode.NONE;
+        if (!applicationArguments.isEmpty() && (applicationArguments.get(0).equals("-f") || applicationArguments.get(0).equals("-F"))) {
+            followMode = applicationArguments.remove(0).equals("-f") ? FollowMode.DESCRIPTOR : FollowMode.NAME;
+        }
         checkArguments(applicationArguments, inputStream);
-        OutputStreamWriter writer = new OutputStreamWriter(outputStream);
+        LineSink sink = LineSink.of(outputStream);
 
-        tailLines = 10;
+        int count = 10;
+        boolean byteCount = false;
         if (applicationArguments.size() > 1) {
+            byteCount = applicationArguments.get(0).equals("-c");
             try {
-                tailLines = Integer.parseInt(applicationArguments.get(1));
-                if (tailLines <= 0) {
-                    throw new JshException("tail: illegal line count -- " + tailLines);
+                count = Integer.parseInt(applicationArguments.get(1));
+                if (count <= 0) {
+                    throw new JshException("tail: illegal " + (byteCount ? "byte" : "line") + " count -- " + count);
                 }
             } catch (NumberFormatException e) {
                 throw new JshException("tail: " + e.getMessage());
@@ -105,19 +360,19 @@ public class Tail implements Application {
 
         if(applicationArguments.size() == 1 || applicationArguments.size() == 3) {
             String filePath = applicationArguments.get(applicationArguments.size() - 1);
-                
-            Scanner scanner;
-            try {
-                scanner = new Scanner(FileSystem.getInstance().getFile(filePath));
-            } catch (FileNotFoundException e) {
-                throw new JshException("tail: " + e.getMessage());
+            File file = session.getFile(filePath);
+            if (followMode != FollowMode.NONE && (file.isFile() || (followMode == FollowMode.NAME && !file.exists()))) {
+                follow(file, outputStream, sink, byteCount, count, followMode);
+            } else {
+                readAndWriteFile(file, outputStream, sink, byteCount, count);
             }
-
-            readAndWrite(scanner, writer);
+        }
+        else if (byteCount) {
+            readAndWriteBytes(inputStream, outputStream, count);
         }
         else {
-            readAndWrite(new Scanner(inputStream), writer);
+            readAndWrite(LineSource.of(inputStream), sink, count);
         }
     }
     
-}
\ No newline at end of file
+}
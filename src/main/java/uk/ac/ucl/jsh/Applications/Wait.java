@@ -0,0 +1,59 @@
+package uk.ac.ucl.jsh.Applications;
+
+import uk.ac.ucl.jsh.Utilities.Job;
+import uk.ac.ucl.jsh.Utilities.JobTable;
+import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+
+/**
+ * The Wait application that implements the Application interface
+ */
+public class Wait implements Application {
+    /**
+     * The function that finds the jobs given as arguments to the Wait application
+     * 
+     * @param applicationArguments The arguments of the Application
+     * @param jobTable             The job table of the session the Application runs in
+     * @return                     The jobs to wait for
+     * @throws JshException        The exception thrown if an argument is not the number of a job of the job table
+     */
+    private ArrayList<Job> findJobs(ArrayList<String> applicationArguments, JobTable jobTable) throws JshException {
+        if (applicationArguments.isEmpty()) {
+            return new ArrayList<>(jobTable.getJobs());
+        }
+
+        ArrayList<Job> jobs = new ArrayList<>();
+        for (String jobSpec : applicationArguments) {
+            Job job = jobTable.findJob(jobSpec);
+            if (job == null) {
+                throw new JshException("wait: " + jobSpec + ": no such job");
+            }
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    @Override
+    /**
+     * Executes the Wait application with the given arguments. Wait blocks until the given background jobs finish, or until all of them
+     * finish if no job is given, and removes them from the job table.
+     * Exception thrown if an argument is not the number of a job.
+     * 
+     * @param applicationArguments The arguments of the Application
+     * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
+     * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
+     * @throws JshException        The custom Exception that all Applications throw if an error occurs
+     */
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException {
+        for (Job job : findJobs(applicationArguments, session.getJobTable())) {
+            job.await();
+            session.getJobTable().remove(job);
+        }
+    }
+
+}
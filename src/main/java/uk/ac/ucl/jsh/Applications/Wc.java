@@ -1,38 +1,133 @@
 package uk.ac.ucl.jsh.Applications;
 
-import uk.ac.ucl.jsh.Utilities.FileSystem;
-import uk.ac.ucl.jsh.Jsh;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
 
-import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 
 import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.LineSink;
 
 /**
- * The Wc application that implements the Application interface
+ * The Wc application that implements the Application interface.
+ * Wc reads its input once, as raw bytes through a reusable buffer, and counts eight bytes at a time by treating them as a long, so that
+ * the newlines, the bytes starting a UTF-8 character and the bytes starting a word are all counted with a few bitwise operations per
+ * eight bytes (SWAR, SIMD within a register). Whether the last byte read was part of a word is carried from one block to the next, and
+ * the counts are longs, so an input of any size can be counted. Only counting the bytes of regular files does not read them at all,
+ * since their size is known.
  */
 public class Wc implements Application {
     /**
-     * Total char count
+     * The number of bytes read at once
      */
-    private int charCount;
+    private static final int BUFFER_SIZE = 256 * 1024;
     /**
-     * Total word count
+     * The view of a byte array as little-endian longs, the first byte being the least significant byte of the long
      */
-    private int wordCount;
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
     /**
-     * Total line count
+     * The long with 1 in every byte
      */
-    private int lineCount;
+    private static final long ONES = 0x0101010101010101L;
+    /**
+     * The long with the highest bit of every byte set
+     */
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    /**
+     * The long with every bit but the highest of every byte set
+     */
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+    /**
+     * The counts of one or more inputs, which are longs so that they do not overflow
+     */
+    private static final class Counts {
+        /**
+         * The number of '\n'
+         */
+        private long lines;
+        /**
+         * The number of words, which are the longest sequences of bytes that are not whitespace
+         */
+        private long words;
+        /**
+         * The number of characters, which are the bytes that do not continue a UTF-8 character
+         */
+        private long chars;
+        /**
+         * The number of bytes
+         */
+        private long bytes;
+        /**
+         * Flag set if the last byte counted was part of a word, so that a word split between two blocks is only counted once
+         */
+        private boolean inWord;
+
+        /**
+         * Counts a block of bytes, eight bytes at a time and then one at a time for the last bytes
+         *
+         * @param block  The array holding the bytes
+         * @param length The number of bytes to count, starting at index 0
+         */
+        private void count(byte[] block, int length) {
+            int index = 0;
+            for (; index + Long.BYTES <= length; index += Long.BYTES) {
+                long word = (long) LONGS.get(block, index);
+                lines += Long.bitCount(zeroBytes(word ^ (ONES * '\n')));
+                chars += Long.BYTES - Long.bitCount(word & (~word << 1) & HIGH_BITS);
+                long space = zeroBytes(word ^ (ONES * ' ')) | bytesBetween(word, 0x08, 0x0E);
+                long wordBytes = ~space & HIGH_BITS;
+                long afterSpace = (space << 8) | (inWord ? 0 : 0x80L);
+                words += Long.bitCount(wordBytes & afterSpace);
+                inWord = wordBytes < 0;
+            }
+            for (; index < length; ++index) {
+                byte b = block[index];
+                if (b == '\n') {
+                    ++lines;
+                }
+                if ((b & 0xC0) != 0x80) {
+                    ++chars;
+                }
+                boolean space = b == ' ' || (b > 0x08 && b < 0x0E);
+                if (!space && !inWord) {
+                    ++words;
+                }
+                inWord = !space;
+            }
+            bytes += length;
+        }
+
+        /**
+         * Utility function that finds the bytes of a long that are zero, without carries between the bytes
+         *
+         * @param x The eight bytes
+         * @return  The long with the highest bit set in every byte that is zero in x, and every other bit cleared
+         */
+        private static long zeroBytes(long x) {
+            return ~(((x & LOW_BITS) + LOW_BITS) | x | LOW_BITS);
+        }
+
+        /**
+         * Utility function that finds the bytes of a long that are strictly between two values, without carries between the bytes
+         *
+         * @param x     The eight bytes
+         * @param above The value the bytes must be greater than, between 0 and 127
+         * @param below The value the bytes must be less than, between 0 and 128
+         * @return      The long with the highest bit set in every byte of x between the two values, and every other bit cleared
+         */
+        private static long bytesBetween(long x, int above, int below) {
+            long low = x & LOW_BITS;
+            return (ONES * (127 + below) - low) & ~x & (low + ONES * (127 - above)) & HIGH_BITS;
+        }
+    }
 
     /**
      * Function that checks wheter an argument is a valid flag or not
@@ -45,7 +140,7 @@ public class Wc implements Application {
             return false;
         }
         for(int i = 1; i < argument.length(); ++ i) {
-            if(argument.charAt(i) != 'm' && argument.charAt(i) != 'w' && argument.charAt(i) != 'l') {
+            if(argument.charAt(i) != 'm' && argument.charAt(i) != 'w' && argument.charAt(i) != 'l' && argument.charAt(i) != 'c') {
                 return false;
             }
         }
@@ -69,6 +164,9 @@ public class Wc implements Application {
         if(argument.contains("l")) {
             flags[2] = 1;
         }
+        if(argument.contains("c")) {
+            flags[3] = 1;
+        }
     }
 
     /**
@@ -95,72 +193,65 @@ public class Wc implements Application {
     }
 
    /**
-    * Function that reads a file or an input stream and gets its word count, line count and char count 
+    * Function that reads a file or an input stream to its end and adds its counts to the total counts
     *
-    * @param reader         The object used to read the file or the input stream
-    * @throws JshException  Exception thrown if the reader cannot read the input
+    * @param inputStream    The stream reading the file or the input stream
+    * @param counts         The total counts, updated with the counts of this input
+    * @param buffer         The buffer the bytes are read into
+    * @throws JshException  Exception thrown if the input cannot be read
     */
-    private void solveForInput(BufferedReader reader) throws JshException {
+    private void solveForInput(InputStream inputStream, Counts counts, byte[] buffer) throws JshException {
         try {
-            StringBuilder stringBuilder = new StringBuilder();
-            int currentInt = reader.read();
-            while (currentInt != -1) {
-                char currentChar = (char)currentInt;
-                stringBuilder.append(currentChar);
-                currentInt = reader.read();
+            int read;
+            while (!Application.isCancelled() && (read = inputStream.read(buffer)) != -1) {
+                counts.count(buffer, read);
             }
-
-            String str = stringBuilder.toString();
-            charCount += str.length();
-            String str_aux = str;
-            lineCount += str.length() - str_aux.replaceAll(Jsh.lineSeparator, "").length();
-            wordCount += str.split("\\s+").length;
         } catch (IOException e) {
-            throw new JshException("wc: cannot read input");
+            throw new JshException("wc: cannot read input", e);
         }
-    }
-
-    /**
-     * Utlity function used to reset the total count after each execution of Wc
-     * 
-     */
-    private void resetCount() {
-        charCount = lineCount = wordCount = 0;
+        counts.inWord = false;
     }
 
     @Override
     /**
-     * Executes the Wc application with the given arguments. Wc by default prints the number of bytes, words, and lines in given file or input stream. 
+     * Executes the Wc application with the given arguments. Wc by default prints the number of lines, words, and bytes in given file or input stream. 
      * If no flags are used the default behaviour is expected. If any flags are used then only values corresponding to the used flags will be printed. 
-     * The behaviours for flags are as follows: -m: character count, -l: line count, -w: word count
+     * The behaviours for flags are as follows: -m: character count, -l: line count, -w: word count, -c: byte count
      * Exception thrown if the arguments are invalid or if the writer fails to write to the outputstream.
      * 
      * @param applicationArguments The arguments of the Application
      * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
      * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
      * @throws JshException        The custom Exception that all Applications throw if an error occurs
      */
-    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream) throws JshException {
-        resetCount();
-        int[] flags = new int[] {0,0,0};  //  indexes correspond to {m, w, l}
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException {
+        Counts counts = new Counts();
+        int[] flags = new int[] {0,0,0,0};  //  indexes correspond to {m, w, l, c}
         ArrayList<String> fileNames = new ArrayList<>();
-        applicationArguments = Application.globArguments(applicationArguments, -1);
+        applicationArguments = Application.globArguments(applicationArguments, -1, session);
         checkArguments(applicationArguments, inputStream, flags, fileNames);
-        OutputStreamWriter writer = new OutputStreamWriter(outputStream);
+        boolean defaultCounts = flags[0] == 0 && flags[1] == 0 && flags[2] == 0 && flags[3] == 0;
+        boolean onlyBytes = flags[3] == 1 && flags[0] == 0 && flags[1] == 0 && flags[2] == 0;
+        byte[] buffer = onlyBytes && !fileNames.isEmpty() ? null : new byte[BUFFER_SIZE];
 
         if(fileNames.size() == 0) {
-            solveForInput(new BufferedReader(new InputStreamReader(inputStream)));
+            solveForInput(inputStream, counts, buffer);
         }
         else {
             for(String fileName: fileNames) {
-                File currFile = FileSystem.getInstance().getFile(fileName);
+                File currFile = session.getFile(fileName);
                 if (currFile.exists()) {
                     if(currFile.isFile()) { 
-                        try (BufferedReader reader = Files.newBufferedReader(Paths.get(currFile.getPath()), StandardCharsets.UTF_8)) {
-                            solveForInput(reader);
+                        if (onlyBytes) {
+                            counts.bytes += currFile.length();
+                            continue;
+                        }
+                        try (FileInputStream fileStream = new FileInputStream(currFile)) {
+                            solveForInput(fileStream, counts, buffer);
                         } 
                         catch (IOException e) {
-                            throw new JshException("wc: cannot open " + fileName);
+                            throw new JshException("wc: cannot open " + fileName, e);
                         }
                     } 
                     else {
@@ -172,25 +263,31 @@ public class Wc implements Application {
                 }
             }
         }
-        try {
-            if(flags[0] == 0 && flags[1] == 0 && flags[2] == 0) {
-                writer.write(lineCount + " " + wordCount + " " + charCount + " ");
+
+        StringBuilder line = new StringBuilder();
+        if(defaultCounts) {
+            line.append(counts.lines).append(" ").append(counts.words).append(" ").append(counts.bytes).append(" ");
+        }
+        else {
+            if(flags[2] == 1) {
+                line.append(counts.lines).append(" ");
+            } 
+            if(flags[1] == 1) {
+                line.append(counts.words).append(" ");
             }
-            else {
-                if(flags[2] == 1) {
-                    writer.write(lineCount + " ");
-                } 
-                if(flags[1] == 1) {
-                    writer.write(wordCount + " ");
-                }
-                if(flags[0] == 1) {
-                    writer.write(charCount + " ");
-                } 
+            if(flags[0] == 1) {
+                line.append(counts.chars).append(" ");
             } 
-            writer.write(System.getProperty("line.separator"));
-            writer.flush();
+            if(flags[3] == 1) {
+                line.append(counts.bytes).append(" ");
+            } 
+        } 
+        try {
+            LineSink sink = LineSink.of(outputStream);
+            sink.writeLine(line);
+            sink.flush();
         } catch(IOException e) {
-            throw new JshException("wc: cannot write output");
+            throw new JshException("wc: cannot write output", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,270 @@
+package uk.ac.ucl.jsh.Applications;
+
+import uk.ac.ucl.jsh.Utilities.ApplicationManager;
+import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.LineSource;
+import uk.ac.ucl.jsh.Utilities.ShellOutput;
+import uk.ac.ucl.jsh.Utilities.SynchronizedOutputStream;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The Xargs application that implements the Application interface
+ */
+public class Xargs implements Application {
+    /**
+     * The options of one execution of Xargs
+     */
+    private static class Options {
+        /**
+         * The maximum number of items given to one invocation of the command, or 0 for no limit
+         */
+        int maxArgs = 0;
+        /**
+         * The maximum number of invocations of the command running at the same time
+         */
+        int maxProcs = 1;
+        /**
+         * Flag set if the output of the invocations is interleaved rather than grouped per invocation
+         */
+        boolean interleaved = false;
+        /**
+         * The command and its initial arguments
+         */
+        ArrayList<String> command = new ArrayList<>();
+    }
+
+    /**
+     * One invocation of the command, running on the thread pool of Xargs
+     */
+    private static class Invocation {
+        /**
+         * The output of the invocation, or null if the invocation writes to the shared output directly
+         */
+        ByteArrayOutputStream buffer;
+        /**
+         * The result of the invocation
+         */
+        Future<JshException> result;
+    }
+
+    /**
+     * The function that parses a numeric option of Xargs
+     * 
+     * @param option        The name of the option
+     * @param value         The value given to the option
+     * @return              The value as an integer
+     * @throws JshException The exception thrown if the value is not a non-negative integer
+     */
+    private int parseNumber(String option, String value) throws JshException {
+        try {
+            int number = Integer.parseInt(value);
+            if (number >= 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new JshException("xargs: invalid number for " + option + " option: " + value);
+    }
+
+    /**
+     * The function that checks the arguments passed to the Xargs application and parses its options
+     * 
+     * @param applicationArguments The arguments of the Application
+     * @param inputStream          The stream that Xargs reads the items from
+     * @return                     The options of the execution
+     * @throws JshException        The exception thrown if an option is invalid or if there is no input
+     */
+    private Options checkArguments(ArrayList<String> applicationArguments, InputStream inputStream) throws JshException {
+        if (inputStream == null) {
+            throw new JshException("xargs: missing input");
+        }
+
+        Options options = new Options();
+        int index = 0;
+        while (index < applicationArguments.size() && applicationArguments.get(index).startsWith("-")) {
+            String option = applicationArguments.get(index);
+            if (index + 1 >= applicationArguments.size()) {
+                throw new JshException("xargs: option requires an argument -- " + option);
+            }
+            String value = applicationArguments.get(index + 1);
+            if (option.equals("-n")) {
+                options.maxArgs = parseNumber(option, value);
+                if (options.maxArgs == 0) {
+                    throw new JshException("xargs: invalid number for -n option: " + value);
+                }
+            } else if (option.equals("-P")) {
+                options.maxProcs = parseNumber(option, value);
+                if (options.maxProcs == 0) {
+                    options.maxProcs = Runtime.getRuntime().availableProcessors();
+                }
+            } else if (option.equals("-o")) {
+                if (!value.equals("grouped") && !value.equals("interleaved")) {
+                    throw new JshException("xargs: invalid output order: " + value);
+                }
+                options.interleaved = value.equals("interleaved");
+            } else {
+                throw new JshException("xargs: wrong argument " + option);
+            }
+            index += 2;
+        }
+
+        options.command.addAll(applicationArguments.subList(index, applicationArguments.size()));
+        if (options.command.isEmpty()) {
+            options.command.add("echo");
+        }
+        return options;
+    }
+
+    /**
+     * The function that starts one invocation of the command on the thread pool
+     * 
+     * @param options      The options of the execution
+     * @param items        The items given as arguments to the invocation
+     * @param executor     The thread pool running the invocations
+     * @param sharedOutput The output shared by the invocations if their output is interleaved
+     * @param session      The session the invocations run in
+     * @return             The started invocation
+     */
+    private Invocation submit(Options options, ArrayList<String> items, ExecutorService executor, OutputStream sharedOutput, ShellSession session) {
+        ArrayList<String> tokens = new ArrayList<>(options.command);
+        tokens.addAll(items);
+
+        Invocation invocation = new Invocation();
+        OutputStream invocationOutput;
+        if (options.interleaved) {
+            // Each invocation writes whole lines to the shared output, so the lines of concurrent invocations are never torn apart
+            invocationOutput = new ShellOutput(sharedOutput, ShellOutput.FlushPolicy.LINE, ShellOutput.DEFAULT_CAPACITY);
+        } else {
+            invocation.buffer = new ByteArrayOutputStream();
+            invocationOutput = invocation.buffer;
+        }
+        OutputStream output = invocationOutput;
+        invocation.result = executor.submit(() -> {
+            try {
+                ApplicationManager.getInstance().executeApplication(tokens, new ByteArrayInputStream(new byte[0]), output, session);
+                output.flush();
+                return null;
+            } catch (IOException e) {
+                return new JshException("xargs: " + e.getMessage(), e);
+            } catch (JshException e) {
+                return e;
+            } catch (RuntimeException e) {
+                return new JshException(String.valueOf(e.getMessage()));
+            }
+        });
+        return invocation;
+    }
+
+    /**
+     * The function that waits for the oldest invocation and writes its output if it was grouped
+     * 
+     * @param invocation    The oldest invocation still running or not yet written
+     * @param outputStream  The stream to which Xargs writes
+     * @return              The exception thrown by the invocation, or null if there was none
+     * @throws JshException The exception thrown if the output cannot be written or Xargs is interrupted
+     */
+    private JshException complete(Invocation invocation, OutputStream outputStream) throws JshException {
+        JshException exception;
+        try {
+            exception = invocation.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JshException("xargs: interrupted", e);
+        } catch (ExecutionException e) {
+            exception = new JshException(String.valueOf(e.getCause().getMessage()), e.getCause());
+        }
+
+        if (invocation.buffer != null) {
+            try {
+                invocation.buffer.writeTo(outputStream);
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new JshException("xargs: " + e.getMessage(), e);
+            }
+        }
+        return exception;
+    }
+
+    @Override
+    /**
+     * Executes the Xargs application with the given arguments. Xargs reads whitespace separated items from its input and runs the given
+     * command (echo by default) with the items appended to its arguments, at most maxArgs items per invocation (-n) and at most maxProcs
+     * invocations at the same time (-P). The output of the invocations is grouped per invocation in the order of the items by default,
+     * or interleaved line by line as soon as it is written with "-o interleaved", every invocation writing whole lines. The invocations read an empty input.
+     * Exception thrown if the arguments are invalid, if an invocation fails (after all of them ran) or if the output cannot be written.
+     * 
+     * @param applicationArguments The arguments of the Application
+     * @param inputStream          The stream from which Xargs reads the items
+     * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
+     * @throws JshException        The custom Exception that all Applications throw if an error occurs
+     */
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException {
+        Options options = checkArguments(applicationArguments, inputStream);
+        OutputStream sharedOutput = options.interleaved ? new SynchronizedOutputStream(outputStream) : null;
+        // Grouped output is kept in memory until it is written, so only a few invocations may get ahead of the oldest one
+        int window = options.interleaved ? options.maxProcs : 2 * options.maxProcs;
+        ExecutorService executor = Executors.newFixedThreadPool(options.maxProcs, runnable -> {
+            Thread thread = new Thread(runnable, "jsh-xargs");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        ArrayDeque<Invocation> invocations = new ArrayDeque<>();
+        JshException firstException = null;
+        LineSource source = LineSource.of(inputStream);
+        try {
+            ArrayList<String> items = new ArrayList<>();
+            boolean submitted = false;
+            CharSequence line;
+            while (!Application.isCancelled() && (line = source.readLine()) != null) {
+                for (String item : line.toString().trim().split("\\s+")) {
+                    if (item.isEmpty()) {
+                        continue;
+                    }
+                    items.add(item);
+                    if (items.size() == options.maxArgs) {
+                        if (invocations.size() >= window) {
+                            JshException exception = complete(invocations.poll(), outputStream);
+                            firstException = firstException == null ? exception : firstException;
+                        }
+                        invocations.add(submit(options, items, executor, sharedOutput, session));
+                        items = new ArrayList<>();
+                        submitted = true;
+                    }
+                }
+            }
+            if (!Application.isCancelled() && (!items.isEmpty() || !submitted)) {
+                invocations.add(submit(options, items, executor, sharedOutput, session));
+            }
+
+            while (!invocations.isEmpty()) {
+                JshException exception = complete(invocations.poll(), outputStream);
+                firstException = firstException == null ? exception : firstException;
+            }
+        } catch (IOException e) {
+            throw new JshException("xargs: " + e.getMessage(), e);
+        } finally {
+            source.close();
+            executor.shutdownNow();
+        }
+
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+}
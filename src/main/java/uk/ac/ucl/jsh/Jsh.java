@@ -4,6 +4,14 @@ import uk.ac.ucl.jsh.Parser.Node;
 import uk.ac.ucl.jsh.Parser.Parser;
 import uk.ac.ucl.jsh.Utilities.*;
 
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Scanner;
@@ -21,24 +29,22 @@ public class Jsh {
      */
     public final static String lineSeparator = System.getProperty("line.separator");
     /**
-     * ArrayList holding the history of commands, used by the History Application
-     */
-    private static ArrayList<String> history = new ArrayList<>();
-
-    /**
-     * Getter function for the history ArrayList
+     * Getter function for the history of the default ShellSession, used by the History Application
      * 
      * @return  The Arraylist representing the history of commands
      */
     public static ArrayList<String> getHistory() {
-        return history;
+        return ShellSession.getDefault().getHistory();
     }
 
     /**
-     * Utility function used to clear the commands history
+     * Utility function used to clear the commands history of the default ShellSession
      */
     public static void clearHistory() {
-        history.clear();
+        ArrayList<String> history = ShellSession.getDefault().getHistory();
+        synchronized (history) {
+            history.clear();
+        }
     }
 
     /**
@@ -48,22 +54,176 @@ public class Jsh {
      * @param outputStream  Output stream used to write to
      */
     public static void eval(String cmdline, OutputStream outputStream) {
-        Node cmdTree = Parser.parserCmdLine(cmdline);
+        eval(Parser.parserCmdLine(cmdline), outputStream);
+    }
+
+    /**
+     * Function that evaluates the Parse tree of a command line and writes it to the output stream
+     * 
+     * @param cmdTree       The Parse tree of the command line
+     * @param outputStream  Output stream used to write to
+     */
+    public static void eval(Node cmdTree, OutputStream outputStream) {
+        eval(cmdTree, null, outputStream);
+    }
+
+    /**
+     * Function that evaluates the command line given as argument, reading from the input stream and writing to the output stream
+     * 
+     * @param cmdline       String representing the command line
+     * @param inputStream   Input stream read by the commands that have no other input, or null if there is none
+     * @param outputStream  Output stream used to write to
+     */
+    public static void eval(String cmdline, InputStream inputStream, OutputStream outputStream) {
+        eval(Parser.parserCmdLine(cmdline), inputStream, outputStream);
+    }
+
+    /**
+     * Function that evaluates the Parse tree of a command line, reading from the input stream and writing to the output stream
+     * 
+     * @param cmdTree       The Parse tree of the command line
+     * @param inputStream   Input stream read by the commands that have no other input, or null if there is none
+     * @param outputStream  Output stream used to write to
+     */
+    public static void eval(Node cmdTree, InputStream inputStream, OutputStream outputStream) {
+        eval(cmdTree, inputStream, outputStream, ShellSession.getDefault());
+    }
+
+    /**
+     * Function that evaluates the command line given as argument in a session, reading from the input stream and writing to the output stream
+     * 
+     * @param cmdline       String representing the command line
+     * @param inputStream   Input stream read by the commands that have no other input, or null if there is none
+     * @param outputStream  Output stream used to write to
+     * @param session       The session the command line is evaluated in
+     */
+    public static void eval(String cmdline, InputStream inputStream, OutputStream outputStream, ShellSession session) {
+        eval(Parser.parserCmdLine(cmdline), inputStream, outputStream, session);
+    }
+
+    /**
+     * Function that evaluates the Parse tree of a command line in a session, reading from the input stream and writing to the output stream.
+     * The errors are printed to the error stream of the session, and the output stream is flushed once the command line ends, so that
+     * the output buffered by its commands is written whatever the FlushPolicy of the output. The errors caused by interrupting the command
+     * line, as interrupting fg does, are not printed.
+     * 
+     * @param cmdTree       The Parse tree of the command line
+     * @param inputStream   Input stream read by the commands that have no other input, or null if there is none
+     * @param outputStream  Output stream used to write to
+     * @param session       The session the command line is evaluated in
+     */
+    public static void eval(Node cmdTree, InputStream inputStream, OutputStream outputStream, ShellSession session) {
+        JshException exception = null;
         try {
-            cmdTree.accept(new EvalVisitor(), null, outputStream);
+            cmdTree = cmdTree.accept(new FusionVisitor(), null, null);
+            cmdTree.accept(new EvalVisitor(session), inputStream, outputStream);
         } catch (JshException e) {
-            System.err.println(e.getMessage());
+            exception = e;
+        }
+        try {
+            outputStream.flush();
+        } catch (IOException e) {
+            session.getErrorStream().println("jsh: " + e.getMessage());
+        }
+        if (exception != null && !exception.isCausedByInterrupt()) {
+            session.getErrorStream().println(exception.getMessage());
+        }
+    }
+
+    /**
+     * Function that runs the command lines of a script, writing their output through a ShellOutput that is only flushed once its buffer
+     * is full and once a command line ends, instead of after every line
+     * 
+     * @param reader The reader of the lines of the script
+     */
+    private static void runScript(BufferedReader reader) {
+        ShellOutput outputStream = new ShellOutput(new FileOutputStream(FileDescriptor.out), ShellOutput.FlushPolicy.THRESHOLD);
+        try {
+            new ScriptRunner(reader, outputStream).run();
+        } catch (Exception e) {
+            System.err.println("jsh: " + e.getMessage());
+        } finally {
+            try {
+                outputStream.flush();
+                reader.close();
+            } catch (IOException e) {
+                System.err.println("jsh: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Function that runs a JshServer until the JVM is stopped. The clients read the token of the server from the file it writes in the
+     * .jsh directory of the home directory of the user.
+     * 
+     * @param args The arguments of Jsh, starting with --server and optionally followed by the port
+     */
+    private static void runServer(String[] args) {
+        if (args.length > 2) {
+            System.err.println("jsh: wrong number of arguments");
+            return;
+        }
+        try (JshServer server = new JshServer(args.length == 2 ? Integer.parseInt(args[1]) : JshServer.DEFAULT_PORT)) {
+            System.err.println("jsh: listening on port " + server.getPort());
+            server.serve();
+        } catch (NumberFormatException e) {
+            System.err.println("jsh: invalid port: " + args[1]);
+        } catch (IOException e) {
+            System.err.println("jsh: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Function that runs a command line on a JshServer, exiting with the status sent by the server, which is 1 if the command line
+     * reported an error. Jsh also exits with 1 if its arguments are wrong or if the server cannot be reached.
+     * 
+     * @param args The arguments of Jsh: --client, the port of the server, -c and the command line
+     */
+    private static void runClient(String[] args) {
+        if (args.length != 4 || !args[2].equals("-c")) {
+            System.err.println("jsh: wrong number of arguments");
+            System.exit(1);
+        }
+        try {
+            int status = new JshClient(Integer.parseInt(args[1])).execute(args[3], System.getProperty("user.dir"), System.in, System.out, System.err);
+            if (status != 0) {
+                System.exit(status);
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("jsh: invalid port: " + args[1]);
+            System.exit(1);
+        } catch (IOException e) {
+            System.err.println("jsh: " + e.getMessage());
+            System.exit(1);
         }
     }
 
     /**
      *The main function which makes the appropriate calls for Jsh to operate
-     * and that loops continually until exited.
+     * and that loops continually until exited. Before exiting, it waits for the background jobs that are still running.
+     * Jsh runs the command line given after -c, the script file given as its only argument, the script read from the standard input
+     * with -s, or otherwise runs in interactive mode. With --server, Jsh serves the command lines of clients, and with --client, it runs
+     * the command line given after -c on a server.
      * 
      * @param args The arguments that are passed in after running the Jsh based on which the Jsh runs in interactive mode or not
      */
     public static void main(String[] args) {
-        if (args.length > 0) {
+        if (args.length > 0 && args[0].equals("--server")) {
+            runServer(args);
+        } else if (args.length > 0 && args[0].equals("--client")) {
+            runClient(args);
+        } else if (args.length == 1 && args[0].equals("-s")) {
+            runScript(new BufferedReader(new InputStreamReader(System.in)));
+        } else if (args.length == 1 && !args[0].startsWith("-")) {
+            BufferedReader reader;
+            try {
+                reader = new BufferedReader(new FileReader(FileSystem.getInstance().getFile(args[0])));
+            } catch (FileNotFoundException | JshException e) {
+                System.err.println("jsh: " + e.getMessage());
+                return;
+            }
+            runScript(reader);
+        } else if (args.length > 0) {
             if (args.length != 2) {
                 System.err.println("jsh: wrong number of arguments");
                 return;
@@ -73,29 +233,39 @@ public class Jsh {
                 return;
             }
             
+            ShellOutput outputStream = ShellOutput.standardOutput();
             try {
-                eval(args[1], System.out);
+                eval(args[1], outputStream);
+                JobTable.getInstance().awaitAll();
+                outputStream.flush();
             } catch (Exception e) {
                 System.err.println("jsh: " + e.getMessage());
             }
         } else {
             System.out.println("Hello World!");
+            ShellOutput outputStream = ShellOutput.standardOutput();
             Scanner input = new Scanner(System.in);
             try {
                 while (true) {
-                    String prompt = FileSystem.getInstance().getWorkingDirectoryPath() + "> ";
+                    String prompt = ShellSession.getDefault().getWorkingDirectoryPath() + "> ";
                     System.out.print(prompt);
                     
                     String cmdline = input.nextLine();
-                    history.add(cmdline);
+                    ShellSession.getDefault().addHistory(cmdline);
                     try {
-                        eval(cmdline, System.out); 
+                        eval(cmdline, outputStream);
                     } catch (Exception e) {
                         System.err.println("jsh: " + e.getMessage());
                     }
                 }
             } finally {
                 input.close();
+                try {
+                    JobTable.getInstance().awaitAll();
+                    outputStream.flush();
+                } catch (JshException | IOException e) {
+                    System.err.println("jsh: " + e.getMessage());
+                }
             }
         }
     }
@@ -0,0 +1,128 @@
+package uk.ac.ucl.jsh.Parser;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ConsoleErrorListener;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+
+import uk.ac.ucl.jsh.antlr.CallParser.CallParserLexer;
+import uk.ac.ucl.jsh.antlr.CallParser.CallParserParser;
+import uk.ac.ucl.jsh.antlr.CmdLineParser.CmdLineParserLexer;
+import uk.ac.ucl.jsh.antlr.CmdLineParser.CmdLineParserParser;
+
+/**
+ * AntlrParsers class that holds the ANTLR lexers and parsers used by the Parser for the strings the CallTokenizer does not handle.
+ * It is kept apart from the Parser so that the ANTLR runtime and the ATNs of the grammars are only loaded the first time a string
+ * actually needs them, which a shell running a simple command line never does.
+ * Every thread reuses its own ANTLR lexers and parsers. A parse first runs in the fast SLL prediction mode, stopping at the first
+ * syntax error, and is only run again in the full LL mode, which reports and recovers from errors, if the SLL parse failed.
+ */
+final class AntlrParsers {
+    /**
+     * The lexer and parser of command lines used by each thread
+     */
+    private static final ThreadLocal<CmdLineParserParser> cmdLineParsers =
+        ThreadLocal.withInitial(() -> new CmdLineParserParser(new CommonTokenStream(new CmdLineParserLexer(null))));
+    /**
+     * The lexer and parser of call commands used by each thread
+     */
+    private static final ThreadLocal<CallParserParser> callParsers =
+        ThreadLocal.withInitial(() -> new CallParserParser(new CommonTokenStream(new CallParserLexer(null))));
+    /**
+     * The number of ANTLR parses that succeeded in SLL mode
+     */
+    private static final AtomicLong sllParseCount = new AtomicLong();
+    /**
+     * The number of ANTLR parses that failed in SLL mode and were run again in LL mode
+     */
+    private static final AtomicLong llFallbackCount = new AtomicLong();
+
+    /**
+     * Private constructor, since the class only has static functions
+     */
+    private AntlrParsers() {
+    }
+
+    /**
+     * Getter function for the number of ANTLR parses that succeeded in SLL mode
+     *
+     * @return The number of SLL parses that succeeded
+     */
+    static long getSllParseCount() {
+        return sllParseCount.get();
+    }
+
+    /**
+     * Getter function for the number of ANTLR parses that were run again in LL mode
+     *
+     * @return The number of SLL parses that failed
+     */
+    static long getLlFallbackCount() {
+        return llFallbackCount.get();
+    }
+
+    /**
+     * Function that parses a command line with the CmdLineParser and builds its Parse tree
+     *
+     * @param cmdLine The command line
+     * @return        A node representing the Root of the Parse tree
+     */
+    static Node parseCmdLine(String cmdLine) {
+        CmdLineParserParser.CompileUnitContext compileUnit = parse(cmdLineParsers.get(), cmdLine, CmdLineParserParser::compileUnit);
+        return new BuildCmdTree().visitCompileUnit(compileUnit);
+    }
+
+    /**
+     * Function that parses a call command with the CallParser and returns its tokens
+     *
+     * @param callCommand The call command
+     * @return            An unmodifiable List representing the application name and its arguments
+     */
+    static List<String> parseCallCommand(String callCommand) {
+        CallParserParser.CompileUnitContext compileUnit = parse(callParsers.get(), callCommand, CallParserParser::compileUnit);
+        return Collections.unmodifiableList(new BuildCallCommand().visitCompileUnit(compileUnit));
+    }
+
+    /**
+     * Utility function that parses a string with a reused ANTLR parser, first in SLL mode and then in LL mode if the SLL parse fails.
+     * The tokens are only lexed once, since the LL parse rewinds the token stream of the SLL parse.
+     * The parse tree does not depend on the parser once built, so the parser can be reused by a parse started while visiting the tree.
+     *
+     * @param parser    The parser of the current thread, whose token stream reads from its lexer
+     * @param text      The string to parse
+     * @param startRule The function running the start rule of the grammar
+     * @return          The parse tree of the string
+     */
+    private static <P extends org.antlr.v4.runtime.Parser, T> T parse(P parser, String text, Function<P, T> startRule) {
+        CommonTokenStream tokenStream = (CommonTokenStream) parser.getInputStream();
+        ((Lexer) tokenStream.getTokenSource()).setInputStream(CharStreams.fromString(text));
+        tokenStream.setTokenSource(tokenStream.getTokenSource());
+        parser.setTokenStream(tokenStream);
+
+        parser.removeErrorListeners();
+        parser.setErrorHandler(new BailErrorStrategy());
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        try {
+            T tree = startRule.apply(parser);
+            sllParseCount.incrementAndGet();
+            return tree;
+        } catch (ParseCancellationException e) {
+            llFallbackCount.incrementAndGet();
+        }
+
+        parser.reset();
+        parser.addErrorListener(ConsoleErrorListener.INSTANCE);
+        parser.setErrorHandler(new DefaultErrorStrategy());
+        parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+        return startRule.apply(parser);
+    }
+}
@@ -0,0 +1,59 @@
+package uk.ac.ucl.jsh.Parser;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.TreeVisitor;
+
+/**
+ * BackgroundNode is a concrete type of Node, extending the Node abstract class.
+ * It contains one child, a command or a pipeline followed by '&' that runs as a background job.
+ */
+public class BackgroundNode extends Node {
+    /**
+     * The child, representing the command run in the background
+     */
+    private final Node job;
+    /**
+     * The text of the command run in the background, as it was typed
+     */
+    private final String commandLine;
+
+    /**
+     * Constructs a new instance of a BackgroundNode
+     * 
+     * @param job         The command run in the background
+     * @param commandLine The text of the command run in the background
+     */
+    public BackgroundNode(Node job, String commandLine) {
+        this.job = job;
+        this.commandLine = commandLine;
+    }
+
+    /**
+     * Getter function for the command run in the background
+     * 
+     * @return The child Node
+     */
+    public Node getJob() {
+        return job;
+    }
+
+    /**
+     * Getter function for the text of the command run in the background
+     * 
+     * @return The text of the command
+     */
+    public String getCommandLine() {
+        return commandLine;
+    }
+
+    /**
+     * Implementation of the accept function used for the Visitor Pattern
+     * 
+     */
+    public <T> T accept(TreeVisitor<T> treeVisitor, InputStream inputStream, OutputStream outputStream) throws JshException {
+        return treeVisitor.visit(this, inputStream, outputStream);
+    }
+}
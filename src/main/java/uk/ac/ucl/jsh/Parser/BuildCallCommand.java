@@ -1,11 +1,10 @@
 package uk.ac.ucl.jsh.Parser;
 
-import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-import uk.ac.ucl.jsh.Jsh;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
 import uk.ac.ucl.jsh.antlr.CallParser.*;
 
 /**
@@ -123,20 +122,12 @@ public class BuildCallCommand extends CallParserBaseVisitor<ArrayList<String>> {
 	
     @Override 
     /**
-     * Visits a backQuoted token from the grammar
+     * Visits a backQuoted token from the grammar. The command is substituted while parsing, so it runs in the default ShellSession.
      * 
      * @param ctx  ANTLR current parsing context 
      */
     public ArrayList<String> visitBackquoted(CallParserParser.BackquotedContext ctx) { 
-        String cmdSubstitutionString = ctx.content.getText();
-        if (cmdSubstitutionString == "") {
-            return new ArrayList<>(List.of(""));
-        }
-        
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        Jsh.eval(cmdSubstitutionString, outputStream);
-
-        return new ArrayList<String>(Arrays.asList(outputStream.toString().trim().split(Jsh.lineSeparator)));
+        return new ArrayList<>(CallArgument.substitute(ctx.content.getText(), ShellSession.getDefault()));
     }
 
     /**
@@ -146,16 +137,6 @@ public class BuildCallCommand extends CallParserBaseVisitor<ArrayList<String>> {
      * @param arrToAppend The current arguments
      */
     private void appendArgument(ArrayList<String> result, ArrayList<String> arrToAppend) {
-        if (result.isEmpty()) {
-            result.addAll(arrToAppend);
-            return;
-        }
-
-        if (arrToAppend.isEmpty()) {
-            return;
-        }
-
-        result.set(result.size()-1, result.get(result.size()-1) + arrToAppend.get(0));
-        result.addAll(arrToAppend.subList(1, arrToAppend.size()));
+        CallArgument.appendTokens(result, arrToAppend);
     }
 }
\ No newline at end of file
@@ -1,4 +1,9 @@
 package uk.ac.ucl.jsh.Parser;
+import java.util.ArrayList;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
 import uk.ac.ucl.jsh.antlr.CmdLineParser.*;
 
 /**
@@ -22,11 +27,36 @@ public class BuildCmdTree extends CmdLineParserBaseVisitor<Node> {
     
     @Override 
     /**
-     * Visits a command token from the grammar
+     * Visits a backgroundCommand token from the grammar. The commands following the background job run right after it is started.
+     * 
+     * @param ctx  ANTLR current parsing context 
+     */
+    public Node visitBackgroundCommand(CmdLineParserParser.BackgroundCommandContext ctx) { 
+        Node background = new BackgroundNode(visit(ctx.job()), ctx.job().getText().trim());
+        if (ctx.command() != null) {
+            return new SeqNode(background, visit(ctx.command()));
+        }
+
+        return background;
+    }
+
+    @Override 
+    /**
+     * Visits a foregroundCommand token from the grammar
+     * 
+     * @param ctx  ANTLR current parsing context 
+     */
+    public Node visitForegroundCommand(CmdLineParserParser.ForegroundCommandContext ctx) { 
+        return visit(ctx.job());
+    }
+
+    @Override 
+    /**
+     * Visits a job token from the grammar
      * 
      * @param ctx  ANTLR current parsing context 
      */
-    public Node visitCommand(CmdLineParserParser.CommandContext ctx) { 
+    public Node visitJob(CmdLineParserParser.JobContext ctx) { 
         if (ctx.pipe() != null) {
             return visit(ctx.pipe());
         }
@@ -80,12 +110,96 @@ public class BuildCmdTree extends CmdLineParserBaseVisitor<Node> {
 
     @Override
     /**
-     * Visits a call token from the grammar
+     * Visits a call token from the grammar. The arguments of the call are built from the tokens of this parse, so the call command is
+     * never parsed again as text.
      * 
      * @param ctx  ANTLR current parsing context 
      * @return     A call node based on the current parsing context
      */
     public Node visitCall(CmdLineParserParser.CallContext ctx) {
-        return new CallNode(ctx.getText());
+        ArrayList<CallArgument> arguments = new ArrayList<>();
+        ArrayList<CallArgument.Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        boolean inWord = false;
+
+        for (ParseTree child : ctx.children) {
+            if (child instanceof TerminalNode && ((TerminalNode) child).getSymbol().getType() == CmdLineParserParser.NON_KEYWORD) {
+                literal.append(child.getText());
+                inWord = true;
+                continue;
+            }
+
+            addSegment(segments, CallArgument.SegmentKind.LITERAL, literal);
+            if (child instanceof CmdLineParserParser.Single_quotedContext) {
+                segments.add(new CallArgument.Segment(CallArgument.SegmentKind.QUOTED,
+                                                      ((CmdLineParserParser.Single_quotedContext) child).squote_content().getText()));
+                inWord = true;
+            }
+            else if (child instanceof CmdLineParserParser.Double_quotedContext) {
+                addDoubleQuotedSegments(segments, ((CmdLineParserParser.Double_quotedContext) child).dquote_content());
+                inWord = true;
+            }
+            else if (child instanceof CmdLineParserParser.BackquotedContext) {
+                segments.add(new CallArgument.Segment(CallArgument.SegmentKind.SUBSTITUTION,
+                                                      ((CmdLineParserParser.BackquotedContext) child).bquote_content().getText()));
+                inWord = true;
+            }
+            else {
+                if (inWord) {
+                    arguments.add(CallArgument.word(segments));
+                    segments.clear();
+                    inWord = false;
+                }
+                int type = ((TerminalNode) child).getSymbol().getType();
+                if (type == CmdLineParserParser.LT || type == CmdLineParserParser.GT) {
+                    arguments.add(CallArgument.redirection(type == CmdLineParserParser.LT));
+                } else if (type == CmdLineParserParser.APPEND) {
+                    arguments.add(CallArgument.appendRedirection());
+                }
+            }
+        }
+
+        addSegment(segments, CallArgument.SegmentKind.LITERAL, literal);
+        if (inWord) {
+            arguments.add(CallArgument.word(segments));
+        }
+        return new CallNode(ctx.getText(), arguments);
+    }
+
+    /**
+     * Utility function that adds the segments of the content of a double quoted string, splitting it around the backquoted commands
+     * 
+     * @param segments The segments of the current word
+     * @param ctx      ANTLR parsing context of the content of the double quoted string
+     */
+    private void addDoubleQuotedSegments(ArrayList<CallArgument.Segment> segments, CmdLineParserParser.Dquote_contentContext ctx) {
+        StringBuilder quoted = new StringBuilder();
+        if (ctx.children != null) {
+            for (ParseTree child : ctx.children) {
+                if (child instanceof CmdLineParserParser.BackquotedContext) {
+                    addSegment(segments, CallArgument.SegmentKind.QUOTED, quoted);
+                    segments.add(new CallArgument.Segment(CallArgument.SegmentKind.SUBSTITUTION,
+                                                          ((CmdLineParserParser.BackquotedContext) child).bquote_content().getText()));
+                }
+                else {
+                    quoted.append(child.getText());
+                }
+            }
+        }
+        addSegment(segments, CallArgument.SegmentKind.QUOTED, quoted);
+    }
+
+    /**
+     * Utility function that adds the text collected so far as a segment of the current word, if there is any
+     * 
+     * @param segments The segments of the current word
+     * @param kind     The kind of the segment
+     * @param text     The text collected so far, which is cleared
+     */
+    private void addSegment(ArrayList<CallArgument.Segment> segments, CallArgument.SegmentKind kind, StringBuilder text) {
+        if (text.length() > 0) {
+            segments.add(new CallArgument.Segment(kind, text.toString()));
+            text.setLength(0);
+        }
     }
 }
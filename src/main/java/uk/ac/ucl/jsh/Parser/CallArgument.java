@@ -0,0 +1,270 @@
+package uk.ac.ucl.jsh.Parser;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import uk.ac.ucl.jsh.Jsh;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
+
+/**
+ * CallArgument class representing one element of a call command as it is parsed from the command line: either a word, made of
+ * the literal, quoted and backquoted segments written next to each other, or an input, output or appending output redirection operator.
+ * A word is expanded into the tokens passed to the Application when its CallNode is compiled. Only the backquoted segments need to be
+ * evaluated at that time, since the other segments are already unquoted. CallArguments are immutable.
+ */
+public final class CallArgument {
+    /**
+     * The kinds of elements of a call command
+     */
+    public enum Kind {
+        WORD,
+        INPUT_REDIRECTION,
+        OUTPUT_REDIRECTION,
+        APPEND_REDIRECTION
+    }
+
+    /**
+     * The kinds of segments of a word
+     */
+    public enum SegmentKind {
+        LITERAL,
+        QUOTED,
+        SUBSTITUTION
+    }
+
+    /**
+     * The CallArgument of the input redirection operator
+     */
+    private static final CallArgument INPUT_REDIRECTION = new CallArgument(Kind.INPUT_REDIRECTION, Collections.emptyList());
+    /**
+     * The CallArgument of the output redirection operator
+     */
+    private static final CallArgument OUTPUT_REDIRECTION = new CallArgument(Kind.OUTPUT_REDIRECTION, Collections.emptyList());
+    /**
+     * The CallArgument of the appending output redirection operator
+     */
+    private static final CallArgument APPEND_REDIRECTION = new CallArgument(Kind.APPEND_REDIRECTION, Collections.emptyList());
+
+    /**
+     * The kind of the element
+     */
+    private final Kind kind;
+    /**
+     * The segments of the word, empty for redirection operators
+     */
+    private final List<Segment> segments;
+
+    /**
+     * Constructs a CallArgument
+     *
+     * @param kind     The kind of the element
+     * @param segments The segments of the word
+     */
+    private CallArgument(Kind kind, List<Segment> segments) {
+        this.kind = kind;
+        this.segments = Collections.unmodifiableList(segments);
+    }
+
+    /**
+     * Function that creates a word from its segments
+     *
+     * @param segments The segments of the word, in the order they were written
+     * @return         The CallArgument of the word
+     */
+    public static CallArgument word(List<Segment> segments) {
+        return new CallArgument(Kind.WORD, new ArrayList<>(segments));
+    }
+
+    /**
+     * Function that returns the CallArgument of a redirection operator
+     *
+     * @param input True for the input redirection operator, false for the output redirection operator
+     * @return      The CallArgument of the operator
+     */
+    public static CallArgument redirection(boolean input) {
+        return input ? INPUT_REDIRECTION : OUTPUT_REDIRECTION;
+    }
+
+    /**
+     * Function that returns the CallArgument of the appending output redirection operator
+     *
+     * @return The CallArgument of the operator
+     */
+    public static CallArgument appendRedirection() {
+        return APPEND_REDIRECTION;
+    }
+
+    /**
+     * Getter function for the kind of the element
+     *
+     * @return The kind of the element
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Getter function for the segments of the word
+     *
+     * @return The unmodifiable list of segments, empty for redirection operators
+     */
+    public List<Segment> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Function that checks whether the word uses command substitution, in which case its tokens are only known when it is expanded
+     *
+     * @return True if the word has a backquoted segment, false otherwise
+     */
+    public boolean isDynamic() {
+        for (Segment segment : segments) {
+            if (segment.getKind() == SegmentKind.SUBSTITUTION) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Function that expands the word into tokens, running the substituted commands. A substituted command produces one token per line
+     * of output, the first one being joined to the text before it and the last one to the text after it.
+     * A word without segments, such as an empty double quoted string, produces no token.
+     *
+     * @param session The session the substituted commands run in
+     * @return        The tokens of the word
+     */
+    public List<String> expand(ShellSession session) {
+        ArrayList<String> tokens = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (segment.getKind() == SegmentKind.SUBSTITUTION) {
+                appendTokens(tokens, substitute(segment.getText(), session));
+            } else {
+                appendTokens(tokens, Collections.singletonList(segment.getText()));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Utility function that runs a substituted command and splits its output into lines
+     *
+     * @param command The command written between the backquotes
+     * @param session The session the command runs in
+     * @return        The lines written by the command, or a single empty token if the command is empty
+     */
+    static List<String> substitute(String command, ShellSession session) {
+        if (command.isEmpty()) {
+            return Collections.singletonList("");
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Jsh.eval(command, null, outputStream, session);
+        return Arrays.asList(outputStream.toString().trim().split(Jsh.lineSeparator));
+    }
+
+    /**
+     * Utility function that appends tokens to the tokens of a word, joining the first appended token to the last token of the word
+     *
+     * @param tokens         The tokens of the word
+     * @param tokensToAppend The tokens to append
+     */
+    static void appendTokens(List<String> tokens, List<String> tokensToAppend) {
+        if (tokens.isEmpty()) {
+            tokens.addAll(tokensToAppend);
+            return;
+        }
+
+        if (tokensToAppend.isEmpty()) {
+            return;
+        }
+
+        tokens.set(tokens.size() - 1, tokens.get(tokens.size() - 1) + tokensToAppend.get(0));
+        tokens.addAll(tokensToAppend.subList(1, tokensToAppend.size()));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof CallArgument)) {
+            return false;
+        }
+        CallArgument argument = (CallArgument) other;
+        return kind == argument.kind && segments.equals(argument.segments);
+    }
+
+    @Override
+    public int hashCode() {
+        return kind.hashCode() * 31 + segments.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return kind == Kind.WORD ? segments.toString() : kind.toString();
+    }
+
+    /**
+     * Segment class representing a part of a word written without separators: unquoted text, the content of quotes or a
+     * backquoted command
+     */
+    public static final class Segment {
+        /**
+         * The kind of the segment
+         */
+        private final SegmentKind kind;
+        /**
+         * The unquoted text of the segment, or the command of a substitution
+         */
+        private final String text;
+
+        /**
+         * Constructs a Segment
+         *
+         * @param kind The kind of the segment
+         * @param text The unquoted text of the segment, or the command of a substitution
+         */
+        public Segment(SegmentKind kind, String text) {
+            this.kind = kind;
+            this.text = text;
+        }
+
+        /**
+         * Getter function for the kind of the segment
+         *
+         * @return The kind of the segment
+         */
+        public SegmentKind getKind() {
+            return kind;
+        }
+
+        /**
+         * Getter function for the text of the segment
+         *
+         * @return The unquoted text of the segment, or the command of a substitution
+         */
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Segment)) {
+                return false;
+            }
+            Segment segment = (Segment) other;
+            return kind == segment.kind && text.equals(segment.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return kind.hashCode() * 31 + text.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return kind + "(" + text + ")";
+        }
+    }
+}
@@ -2,19 +2,35 @@ package uk.ac.ucl.jsh.Parser;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
+import uk.ac.ucl.jsh.Utilities.CallPlan;
 import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
 import uk.ac.ucl.jsh.Utilities.TreeVisitor;
 
 /**
  * CallNode is a concrete type of Node, extending the Node abstract class.
- * It contains one application name along with its arguments.
+ * It contains one application name along with its arguments, which are compiled into a CallPlan the first time the CallNode is run.
+ * The arguments are either the structured CallArguments built while parsing the command line, or the applicationString alone, which is
+ * then tokenized by the Parser when the CallNode is compiled.
+ * CallNodes using command substitution are compiled every time they are run, since their tokens depend on the output of the substituted commands.
  */
 public class CallNode extends Node {
     /**
      * The string representing the application name and its arguments
      */
-    private String applicationString;
+    private final String applicationString;
+    /**
+     * The structured arguments of the call command, or null if they have to be parsed from the applicationString
+     */
+    private final List<CallArgument> arguments;
+    /**
+     * The CallPlan compiled from the applicationString, or null if it was not compiled yet
+     */
+    private volatile CallPlan plan;
 
     /**
      * Constructs an instance of a CallNode, encapsulating a String 
@@ -23,6 +39,18 @@ public class CallNode extends Node {
      */
     public CallNode(String applicationString) {
         this.applicationString = applicationString;
+        this.arguments = null;
+    }
+
+    /**
+     * Constructs an instance of a CallNode from the structured arguments built while parsing the command line
+     * 
+     * @param applicationString  String representing the application name and its arguments
+     * @param arguments          The words and redirection operators of the call command, in the order they were written
+     */
+    public CallNode(String applicationString, List<CallArgument> arguments) {
+        this.applicationString = applicationString;
+        this.arguments = Collections.unmodifiableList(new ArrayList<>(arguments));
     }
 
     /**
@@ -34,6 +62,113 @@ public class CallNode extends Node {
         return applicationString;
     }
 
+    /**
+     * Getter function for the structured arguments
+     * 
+     * @return  The unmodifiable list of words and redirection operators, or null if the CallNode was built from its applicationString only
+     */
+    public List<CallArgument> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * Function that checks whether the CallNode uses command substitution, in which case its tokens are only known when it is run
+     * 
+     * @return  True if a word uses command substitution, or if the applicationString contains a backquote when there are no structured
+     *          arguments, false otherwise
+     */
+    public boolean isDynamic() {
+        if (arguments == null) {
+            return applicationString.indexOf('`') != -1;
+        }
+        for (CallArgument argument : arguments) {
+            if (argument.isDynamic()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Getter function for the CallPlan running the CallNode. The plan is compiled on the first call and reused afterwards, unless the
+     * CallNode is dynamic. Two threads compiling the plan at the same time build equal plans, so either one can be kept.
+     * 
+     * @return               The CallPlan running the CallNode
+     * @throws JshException  Exception thrown if the tokens of the CallNode cannot be compiled
+     */
+    public CallPlan getPlan() throws JshException {
+        return getPlan(ShellSession.getDefault());
+    }
+
+    /**
+     * Getter function for the CallPlan running the CallNode in a session. Only the plans of dynamic CallNodes depend on the session, since
+     * their substituted commands run in it, so the plans of the other CallNodes are shared by all the sessions.
+     * 
+     * @param session        The session the substituted commands run in
+     * @return               The CallPlan running the CallNode
+     * @throws JshException  Exception thrown if the tokens of the CallNode cannot be compiled
+     */
+    public CallPlan getPlan(ShellSession session) throws JshException {
+        if (isDynamic()) {
+            return compile(session);
+        }
+        CallPlan compiledPlan = plan;
+        if (compiledPlan == null) {
+            compiledPlan = compile(session);
+            plan = compiledPlan;
+        }
+        return compiledPlan;
+    }
+
+    /**
+     * Utility function that compiles the CallNode into a new CallPlan, expanding its words. A redirection operator uses the first token
+     * of the word following it as its file, and is ignored if no word follows it.
+     * 
+     * @param session        The session the substituted commands run in
+     * @return               The compiled CallPlan
+     * @throws JshException  Exception thrown if multiple files are used for the same redirection or if there is no application name
+     */
+    private CallPlan compile(ShellSession session) throws JshException {
+        if (arguments == null) {
+            return CallPlan.compile(Parser.parseCallCommand(applicationString));
+        }
+
+        ArrayList<String> words = new ArrayList<>();
+        String inputFile = null;
+        String outputFile = null;
+        boolean appendOutput = false;
+        int inputRedirections = 0;
+        int outputRedirections = 0;
+        for (int i = 0; i < arguments.size(); ++i) {
+            CallArgument argument = arguments.get(i);
+            if (argument.getKind() == CallArgument.Kind.WORD) {
+                words.addAll(argument.expand(session));
+                continue;
+            }
+
+            boolean input = argument.getKind() == CallArgument.Kind.INPUT_REDIRECTION;
+            appendOutput |= argument.getKind() == CallArgument.Kind.APPEND_REDIRECTION;
+            if ((input ? ++inputRedirections : ++outputRedirections) > 1) {
+                throw new JshException(input ? "Too many files for input redirection" : "Too many files for output redirection");
+            }
+            if (i + 1 == arguments.size() || arguments.get(i + 1).getKind() != CallArgument.Kind.WORD) {
+                continue;
+            }
+            List<String> fileTokens = arguments.get(++i).expand(session);
+            if (fileTokens.isEmpty()) {
+                continue;
+            }
+            if (input) {
+                inputFile = fileTokens.get(0);
+            } else {
+                outputFile = fileTokens.get(0);
+            }
+            words.addAll(fileTokens.subList(1, fileTokens.size()));
+        }
+
+        return CallPlan.create(words, inputFile, outputFile, appendOutput);
+    }
+
     /**
      * Implementation of the accept function used for the Visitor Pattern
      * 
@@ -0,0 +1,119 @@
+package uk.ac.ucl.jsh.Parser;
+
+import java.util.ArrayList;
+
+/**
+ * CallTokenizer class that builds the CallNode of a command line made of a single call command in a single linear scan, without building
+ * a parse tree. It handles unquoted words, single and double quoted strings and the '<', '>' and '>>' redirection operators, which cover
+ * almost every call command, in time linear in the length of the command line, and builds the same CallNode as the one built by
+ * BuildCmdTree. Any other command line, such as one with a pipe or a command substitution, is left to the ANTLR CmdLineParser.
+ */
+public class CallTokenizer {
+    /**
+     * Function that builds the CallNode of a command line made of a single call command. Its arguments are the words and redirection
+     * operators of the command line, a word being made of literal and quoted segments, exactly as BuildCmdTree builds them.
+     * 
+     * @param cmdLine The command line
+     * @return        The CallNode of the command line, or null if the command line must be parsed by the CmdLineParser, which is the
+     *                case if it has a sequence, a pipe, a background job, a command substitution, a line break, an unterminated quote
+     *                or no word
+     */
+    public static CallNode parseCall(String cmdLine) {
+        ArrayList<CallArgument> arguments = new ArrayList<>();
+        ArrayList<CallArgument.Segment> segments = new ArrayList<>();
+        int length = cmdLine.length();
+        boolean hasWord = false;
+        int index = 0;
+
+        while (index < length) {
+            char c = cmdLine.charAt(index);
+            if (c == ' ' || c == '\t') {
+                ++index;
+                continue;
+            }
+
+            if (c == '>' && index + 1 < length && cmdLine.charAt(index + 1) == '>') {
+                arguments.add(CallArgument.appendRedirection());
+                index += 2;
+                continue;
+            }
+            if (c == '<' || c == '>') {
+                arguments.add(CallArgument.redirection(c == '<'));
+                ++index;
+                continue;
+            }
+
+            segments.clear();
+            while (index < length) {
+                c = cmdLine.charAt(index);
+                if (c == ' ' || c == '\t' || c == '<' || c == '>') {
+                    break;
+                }
+                if (c == '`' || c == ';' || c == '|' || c == '&' || c == '\n' || c == '\r') {
+                    return null;
+                }
+
+                if (c == '\'' || c == '"') {
+                    int closing = cmdLine.indexOf(c, index + 1);
+                    if (closing == -1 || !isQuotable(cmdLine, index + 1, closing, c == '"')) {
+                        return null;
+                    }
+                    // An empty double quoted string adds no segment, while an empty single quoted string adds an empty one
+                    if (c == '\'' || closing > index + 1) {
+                        segments.add(new CallArgument.Segment(CallArgument.SegmentKind.QUOTED, cmdLine.substring(index + 1, closing)));
+                    }
+                    index = closing + 1;
+                    continue;
+                }
+
+                int start = index;
+                while (index < length && isLiteral(cmdLine.charAt(index))) {
+                    ++index;
+                }
+                segments.add(new CallArgument.Segment(CallArgument.SegmentKind.LITERAL, cmdLine.substring(start, index)));
+            }
+
+            arguments.add(CallArgument.word(segments));
+            hasWord = true;
+        }
+
+        if (!hasWord) {
+            return null;
+        }
+        return new CallNode(cmdLine, arguments);
+    }
+
+    /**
+     * Utility function that checks whether a character is part of an unquoted literal of a command line
+     * 
+     * @param c The character
+     * @return  True if the character is not whitespace, a quote, a line break or a keyword of the CmdLineParser, false otherwise
+     */
+    private static boolean isLiteral(char c) {
+        switch (c) {
+            case ' ': case '\t': case '"': case '\'': case '`': case '\n': case '\r': case ';': case '|': case '>': case '<': case '&':
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Utility function that checks whether the content of a quoted string can be handled by the tokenizer
+     * 
+     * @param cmdLine      The command line
+     * @param start        The index of the first character of the content
+     * @param end          The index of the closing quote
+     * @param doubleQuoted True if the string is double quoted, in which case it must not contain a command substitution
+     * @return             True if the content has no line break and no command substitution, false otherwise
+     */
+    private static boolean isQuotable(String cmdLine, int start, int end, boolean doubleQuoted) {
+        for (int i = start; i < end; ++i) {
+            char c = cmdLine.charAt(i);
+            if (c == '\n' || c == '\r' || (doubleQuoted && c == '`')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,61 @@
+package uk.ac.ucl.jsh.Parser;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.LineStage;
+import uk.ac.ucl.jsh.Utilities.TreeVisitor;
+
+/**
+ * FusedNode is a concrete type of Node, extending the Node abstract class.
+ * It replaces a chain of piped CallNodes whose Applications can all run as LineStages, so that the whole chain runs on one thread.
+ */
+public class FusedNode extends Node {
+    /**
+     * The CallNodes replaced by this Node, in pipeline order
+     */
+    private final List<CallNode> callNodes;
+    /**
+     * The LineStages running the Applications of the CallNodes, in pipeline order
+     */
+    private final List<LineStage> stages;
+
+    /**
+     * Constructs an instance of a FusedNode
+     *
+     * @param callNodes The CallNodes replaced by this Node, in pipeline order
+     * @param stages    The LineStages running the Applications of the CallNodes, in pipeline order
+     */
+    public FusedNode(List<CallNode> callNodes, List<LineStage> stages) {
+        this.callNodes = callNodes;
+        this.stages = stages;
+    }
+
+    /**
+     * Getter function for the CallNodes replaced by this Node
+     *
+     * @return The CallNodes, in pipeline order
+     */
+    public List<CallNode> getCallNodes() {
+        return callNodes;
+    }
+
+    /**
+     * Getter function for the LineStages of this Node
+     *
+     * @return The LineStages, in pipeline order
+     */
+    public List<LineStage> getStages() {
+        return stages;
+    }
+
+    /**
+     * Implementation of the accept function used for the Visitor Pattern
+     * 
+     */
+    public <T> T accept(TreeVisitor<T> treeVisitor, InputStream inputStream, OutputStream outputStream) throws JshException {
+        return treeVisitor.visit(this, inputStream, outputStream);
+    }
+}
@@ -0,0 +1,128 @@
+package uk.ac.ucl.jsh.Parser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * ParseCache class that implements a bounded, thread-safe, least recently used cache of parse results, keyed on the raw parsed string.
+ * The cached values are shared by every caller, so they must never be modified. Parsing happens outside the lock guarding the cache,
+ * so two threads missing on the same string at the same time both parse it and the last result is kept.
+ *
+ * @param <V> The type of the parse results
+ */
+public class ParseCache<V> {
+    /**
+     * The default maximum number of parse results kept by a cache
+     */
+    public static final int DEFAULT_CAPACITY = 512;
+    /**
+     * The maximum number of parse results kept by the cache
+     */
+    private final int capacity;
+    /**
+     * The cached parse results, ordered from the least to the most recently used
+     */
+    private final LinkedHashMap<String, V> entries;
+    /**
+     * The number of lookups that found a cached parse result
+     */
+    private final AtomicLong hits = new AtomicLong();
+    /**
+     * The number of lookups that had to parse the string
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructs a ParseCache with the default capacity
+     */
+    public ParseCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a ParseCache that keeps at most capacity parse results
+     *
+     * @param capacity The maximum number of parse results kept, after which the least recently used one is evicted
+     */
+    public ParseCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<String, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > ParseCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached parse result of a string, parsing it and caching the result if it is not cached yet
+     *
+     * @param key    The raw string to parse
+     * @param parser The function parsing the string, whose result must not be modified afterwards
+     * @return       The parse result of the string
+     */
+    public V get(String key, Function<String, V> parser) {
+        V value;
+        synchronized (entries) {
+            value = entries.get(key);
+        }
+        if (value != null) {
+            hits.incrementAndGet();
+            return value;
+        }
+
+        misses.incrementAndGet();
+        value = parser.apply(key);
+        synchronized (entries) {
+            entries.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Getter function for the number of lookups that found a cached parse result
+     *
+     * @return The number of cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Getter function for the number of lookups that had to parse the string
+     *
+     * @return The number of cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Function that returns the number of parse results currently cached
+     *
+     * @return The number of cached parse results
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Removes every cached parse result and resets the counters
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+}
@@ -1,43 +1,103 @@
 package uk.ac.ucl.jsh.Parser;
 
-import java.util.ArrayList;
-
-import org.antlr.v4.runtime.CharStreams;
-import org.antlr.v4.runtime.CommonTokenStream;
-
-import uk.ac.ucl.jsh.antlr.CallParser.CallParserLexer;
-import uk.ac.ucl.jsh.antlr.CallParser.CallParserParser;
-import uk.ac.ucl.jsh.antlr.CmdLineParser.CmdLineParserLexer;
-import uk.ac.ucl.jsh.antlr.CmdLineParser.CmdLineParserParser;
+import java.util.List;
 
 /**
- * Parser class that deals with Parsing the input from the user and creating a Parse tree based on that input
+ * Parser class that deals with Parsing the input from the user and creating a Parse tree based on that input.
+ * The parse results are kept in two ParseCaches, so a string that was already parsed is not parsed again. Strings containing
+ * backquotes are always parsed, as the cache was specified. For a call command this is needed, since the CallParser runs the substituted
+ * commands while parsing, and their output may change between two parses. A command line does not need it, since its substitutions only
+ * run once its CallPlan is compiled, which a CallNode whose isDynamic is true does again on every run: its cached tree could be reused.
+ * Command lines made of a single call command are first built by the CallTokenizer in a single linear scan.
+ * The other strings are parsed by AntlrParsers, so the ANTLR runtime is only loaded once a string needs it.
  */
 public class Parser {
     /**
-     * Function that returns the Parse tree of the current input line 
+     * The cache of the Parse trees of command lines
+     */
+    private static final ParseCache<Node> cmdLineCache = new ParseCache<>();
+    /**
+     * The cache of the tokens of call commands
+     */
+    private static final ParseCache<List<String>> callCommandCache = new ParseCache<>();
+
+    /**
+     * Function that returns the Parse tree of the current input line. The tree is shared with the other callers parsing the same line,
+     * which is safe since Nodes are never modified once built.
      * 
      * @param cmdLine The current input line
      * @return        A node representing the Root of the Parse tree
      */
     public static Node parserCmdLine(String cmdLine) {
-        CmdLineParserLexer parserLexer = new CmdLineParserLexer(CharStreams.fromString(cmdLine));
-        CmdLineParserParser parserParser = new CmdLineParserParser(new CommonTokenStream(parserLexer));
-        CmdLineParserParser.CompileUnitContext compileUnit = parserParser.compileUnit();
-        return new BuildCmdTree().visitCompileUnit(compileUnit); 
+        if (cmdLine.indexOf('`') != -1) {
+            return buildCmdTree(cmdLine);
+        }
+        return cmdLineCache.get(cmdLine, Parser::buildCmdTree);
     }
 
     /**
-     * Function that returns the application name and its arguments from a call command (which is part of a command line)
+     * Function that returns the application name and its arguments from a call command (which is part of a command line), parsed by the
+     * CallParser. The command lines evaluated by the shell never get here, since parsing a command line builds the structured arguments
+     * of its CallNodes: it is only used by the CallNodes built from their applicationString alone, which only the tests build.
      * 
      * @param callCommand The call command
-     * @return            An ArrayList representing the application name and its arguments
-     */
-    public static ArrayList<String> parseCallCommand(String callCommand) {
-        CallParserLexer parserLexer = new CallParserLexer(CharStreams.fromString(callCommand));
-        CallParserParser parserParser = new CallParserParser(new CommonTokenStream(parserLexer));
-        CallParserParser.CompileUnitContext compileUnit = parserParser.compileUnit();
-        ArrayList<String> tokens = new BuildCallCommand().visitCompileUnit(compileUnit);
-        return tokens;
+     * @return            An unmodifiable List representing the application name and its arguments
+     */
+    public static List<String> parseCallCommand(String callCommand) {
+        if (callCommand.indexOf('`') != -1) {
+            return AntlrParsers.parseCallCommand(callCommand);
+        }
+        return callCommandCache.get(callCommand, AntlrParsers::parseCallCommand);
+    }
+
+    /**
+     * Getter function for the cache of the Parse trees of command lines
+     * 
+     * @return The ParseCache used by parserCmdLine
+     */
+    public static ParseCache<Node> getCmdLineCache() {
+        return cmdLineCache;
+    }
+
+    /**
+     * Getter function for the cache of the tokens of call commands
+     * 
+     * @return The ParseCache used by parseCallCommand
+     */
+    public static ParseCache<List<String>> getCallCommandCache() {
+        return callCommandCache;
+    }
+
+    /**
+     * Getter function for the number of ANTLR parses that succeeded in SLL mode
+     * 
+     * @return The number of parses that did not need the LL mode
+     */
+    public static long getSllParseCount() {
+        return AntlrParsers.getSllParseCount();
+    }
+
+    /**
+     * Getter function for the number of ANTLR parses that failed in SLL mode and were run again in LL mode
+     * 
+     * @return The number of parses that fell back to the LL mode
+     */
+    public static long getLlFallbackCount() {
+        return AntlrParsers.getLlFallbackCount();
+    }
+
+    /**
+     * Utility function that builds the Parse tree of a command line, using the CallTokenizer if the command line is a single call command
+     * it handles and parsing it with ANTLR otherwise
+     * 
+     * @param cmdLine The command line
+     * @return        A node representing the Root of the Parse tree
+     */
+    private static Node buildCmdTree(String cmdLine) {
+        CallNode callNode = CallTokenizer.parseCall(cmdLine);
+        if (callNode != null) {
+            return callNode;
+        }
+        return AntlrParsers.parseCmdLine(cmdLine);
     }
-}
\ No newline at end of file
+}
@@ -14,11 +14,11 @@ public class PipeNode extends Node {
     /**
      * The left children, representing the left part of the Pipe operation
      */
-    private Node left;
+    private final Node left;
     /**
      * The right children, representing the right part of the Pipe operation
      */
-    private Node right; 
+    private final Node right; 
 
     /**
      * Constructs a new instance of a PipeNode, taking two components, the left child, and the right child
@@ -13,7 +13,7 @@ public abstract class ApplicationDecorator implements Application {
     /**
      * The encapsulated Application 
      */
-    protected Application application;
+    protected final Application application;
 
     /**
      * Construct an ApplicationDecorator, taking in an Application
@@ -31,10 +31,11 @@ public abstract class ApplicationDecorator implements Application {
      * @param applicationArguments The arguments of the Application
      * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
      * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
      * @throws JshException        The custom Exception that all Applications throw if an error occurs
      */
-    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outpustream) throws JshException {
-        this.application.execute(applicationArguments, inputStream, outpustream);
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outpustream, ShellSession session) throws JshException {
+        this.application.execute(applicationArguments, inputStream, outpustream, session);
     }
 
 }
\ No newline at end of file
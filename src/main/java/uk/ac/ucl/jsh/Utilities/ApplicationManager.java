@@ -1,14 +1,21 @@
 package uk.ac.ucl.jsh.Utilities;
 
 import uk.ac.ucl.jsh.Applications.*;
-import java.util.HashMap;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.io.InputStream;
 import java.io.OutputStream;
 
 /**
  * The ApplicationManager class that follows the Singleton pattern and deals with the logic of calling 
- * the right application based on the tokens returned by the Parser class after parsing a command line
+ * the right application based on the tokens returned by the Parser class after parsing a command line.
+ * Applications are registered as suppliers and created the first time they are run, so starting the shell to run one command only
+ * creates the Application of that command. The builtin Applications are registered when the ApplicationManager is created, while the
+ * ApplicationProviders on the class path are only looked up with the ServiceLoader the first time an unknown name is resolved.
+ * A builtin Application cannot be replaced by a provider.
  */
 public final class ApplicationManager {
     /**
@@ -16,36 +23,61 @@ public final class ApplicationManager {
      */
     private static final ApplicationManager INSTANCE = new ApplicationManager();
     /**
-     * The HashMap that stores pairs of the form <name, corresponding_application_instance>
+     * The Map that stores pairs of the form <name, lazily_created_application>
      */
-    private HashMap<String, Application> applicationMap;
+    private final Map<String, LazyApplication> applicationMap;
+    /**
+     * Flag set once the ApplicationProviders on the class path were loaded
+     */
+    private volatile boolean providersLoaded;
 
     /**
      * Constructs the Single instance of ApplicationManager
      * 
      */
     private ApplicationManager() {
-        applicationMap = new HashMap<>();
-        createApplications();
+        applicationMap = new ConcurrentHashMap<>();
+        registerApplications(new BuiltinApplications());
+    }
+
+    /**
+     * The function that registers the Applications of a provider, keeping the Applications already registered under the same names
+     * 
+     * @param provider The provider of the Applications
+     */
+    private void registerApplications(ApplicationProvider provider) {
+        for (Map.Entry<String, Supplier<Application>> entry : provider.getApplications().entrySet()) {
+            applicationMap.putIfAbsent(entry.getKey().toLowerCase(), new LazyApplication(entry.getValue()));
+        }
     }
-    
+
     /**
-     * The function that populates the applicationMap by creating only one instance for every safe verion of an application
+     * The function that registers the Applications of the ApplicationProviders found by the ServiceLoader, the first time it is called
      * 
      */
-    private  void createApplications() {
-        applicationMap.put("pwd",     new Pwd());
-        applicationMap.put("cd",      new Cd());
-        applicationMap.put("ls",      new Ls());
-        applicationMap.put("cat",     new Cat());
-        applicationMap.put("echo",    new Echo());
-        applicationMap.put("head",    new Head());
-        applicationMap.put("tail",    new Tail());
-        applicationMap.put("grep",    new Grep());
-        applicationMap.put("sed",     new Sed());
-        applicationMap.put("find",    new Find());
-        applicationMap.put("history", new History());
-        applicationMap.put("wc",      new Wc());
+    private synchronized void loadProviders() {
+        if (providersLoaded) {
+            return;
+        }
+        for (ApplicationProvider provider : ServiceLoader.load(ApplicationProvider.class)) {
+            registerApplications(provider);
+        }
+        providersLoaded = true;
+    }
+
+    /**
+     * The function that finds the Application registered under a lower case name, loading the ApplicationProviders if there is none
+     * 
+     * @param applicationName The lower case name of the Application
+     * @return                The Application, or null if there is no Application with that name
+     */
+    private Application lookup(String applicationName) {
+        LazyApplication application = applicationMap.get(applicationName);
+        if (application == null && !providersLoaded) {
+            loadProviders();
+            application = applicationMap.get(applicationName);
+        }
+        return application == null ? null : application.get();
     }
 
     /**
@@ -57,6 +89,32 @@ public final class ApplicationManager {
         return INSTANCE;
     }
 
+    /**
+     * Getter function for the Application with the given name. The unsafe versions of the Applications are not returned.
+     * 
+     * @param applicationName The name of the Application
+     * @return                The Application, or null if there is no Application with that name
+     */
+    public Application getApplication(String applicationName) {
+        return lookup(applicationName.toLowerCase());
+    }
+
+    /**
+     * Function that resolves the Application that runs a call command. The unsafe version of an Application, whose name starts with '_',
+     * is an UnsafeApplicationDecorator wrapping the Application.
+     * 
+     * @param applicationName The name of the Application, possibly starting with '_'
+     * @return                The Application, or null if there is no Application with that name
+     */
+    public Application resolveApplication(String applicationName) {
+        applicationName = applicationName.toLowerCase();
+        if (applicationName.startsWith("_")) {
+            Application application = lookup(applicationName.substring(1));
+            return application == null ? null : new UnsafeApplicationDecorator(application);
+        }
+        return lookup(applicationName);
+    }
+
     /**
      * The function that decides what application to execute based on the tokens returned by the Parser class. It uses only one instance of every command for
      * all safe versions of applications and handles the unsafe applications by creating an instance of an UnsafeApplicationDecorator when needed.
@@ -67,27 +125,69 @@ public final class ApplicationManager {
      * @throws JshException        The custom Exception that all Applications throw if an error occurs
      */
     public void executeApplication(ArrayList<String> tokens, InputStream inputStream, OutputStream outputStream) throws JshException {
+        executeApplication(tokens, inputStream, outputStream, ShellSession.getDefault());
+    }
+
+    /**
+     * The function that decides what application to execute based on the tokens returned by the Parser class, and runs it in a session.
+     * The Application instances are shared by all the sessions, which is why the state of a session is passed to them.
+     * 
+     * @param tokens               The tokens returned by the Parser class, containing the application name and its arguments
+     * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
+     * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
+     * @throws JshException        The custom Exception that all Applications throw if an error occurs
+     */
+    public void executeApplication(ArrayList<String> tokens, InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException {
         String applicationName = tokens.get(0).toLowerCase();
-        boolean unsafeVersion = false;
-        ArrayList<String> applicationArguments = new ArrayList<String>(tokens.subList(1, tokens.size()));
-        
-        if(applicationName.startsWith("_")) {
-            applicationName = applicationName.subSequence(1, applicationName.length()).toString();
-            unsafeVersion = true;
+        Application application = resolveApplication(applicationName);
+        if (application == null) {
+            throw new JshException((applicationName.startsWith("_") ? applicationName.substring(1) : applicationName) + ": unknown application");
         }
-        if(applicationMap.containsKey(applicationName)) {
-            Application currentApplication = applicationMap.get(applicationName);
-            if(unsafeVersion) {
-                UnsafeApplicationDecorator unsafeApplication = new UnsafeApplicationDecorator(currentApplication);
-                unsafeApplication.execute(applicationArguments, inputStream, outputStream);
-            }
-            else {
-                currentApplication.execute(applicationArguments, inputStream, outputStream);
+        application.execute(new ArrayList<String>(tokens.subList(1, tokens.size())), inputStream, outputStream, session);
+    }
+
+    /**
+     * LazyApplication class holding a registered Application, which is created by its supplier the first time it is needed and then
+     * shared by every caller
+     */
+    private static final class LazyApplication {
+        /**
+         * The supplier creating the Application, cleared once the Application is created
+         */
+        private Supplier<Application> supplier;
+        /**
+         * The Application, or null if it was not created yet
+         */
+        private volatile Application application;
+
+        /**
+         * Constructs a holder for the Application created by the given supplier
+         * 
+         * @param supplier The supplier creating the Application
+         */
+        LazyApplication(Supplier<Application> supplier) {
+            this.supplier = supplier;
+        }
+
+        /**
+         * Getter function for the Application, creating it on the first call
+         * 
+         * @return The Application
+         */
+        Application get() {
+            Application created = application;
+            if (created == null) {
+                synchronized (this) {
+                    created = application;
+                    if (created == null) {
+                        created = supplier.get();
+                        application = created;
+                        supplier = null;
+                    }
+                }
             }
-        } 
-        else {
-            throw new JshException(applicationName + ": unknown application");
+            return created;
         }
     }
-    
-}
\ No newline at end of file
+}
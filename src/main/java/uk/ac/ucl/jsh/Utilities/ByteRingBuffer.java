@@ -0,0 +1,361 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ByteRingBuffer class that implements a bounded single-producer/single-consumer byte channel backed by a direct ByteBuffer.
+ * The producer and the consumer only synchronise through two monotonic counters, so reads and writes never take a lock. A side
+ * only parks when the buffer is full (for the producer) or empty (for the consumer), which gives blocking backpressure while
+ * keeping the memory used by the channel fixed, no matter how much data flows through it.
+ * A parked side is only woken up when the other side is about to wait itself: the consumer once the producer fills the buffer,
+ * flushes or closes, and the producer once the consumer finds the buffer empty or closes. Waking a side earlier made the two threads
+ * preempt each other while both still had work, which cost more than the copies. Since the side that wakes the other one always
+ * issues a full fence first, the counters are published with lazy writes, and a write or a read does not pay for a fence.
+ */
+public class ByteRingBuffer {
+    /**
+     * The off-heap storage of the ring buffer
+     */
+    private final ByteBuffer buffer;
+    /**
+     * The view of the storage used by the producer to write bytes
+     */
+    private final ByteBuffer writeView;
+    /**
+     * The view of the storage used by the consumer to read bytes
+     */
+    private final ByteBuffer readView;
+    /**
+     * The capacity of the ring buffer, always a power of two
+     */
+    private final int capacity;
+    /**
+     * The mask used to turn a counter into an index in the storage
+     */
+    private final int mask;
+    /**
+     * Total number of bytes read by the consumer, only advanced by the consumer
+     */
+    private final AtomicLong readCount = new AtomicLong();
+    /**
+     * Total number of bytes written by the producer, only advanced by the producer
+     */
+    private final AtomicLong writeCount = new AtomicLong();
+    /**
+     * The producer thread parked because the ring buffer is full, or null
+     */
+    private volatile Thread parkedProducer;
+    /**
+     * The consumer thread parked because the ring buffer is empty, or null
+     */
+    private volatile Thread parkedConsumer;
+    /**
+     * Flag set once the producer closed its end, marking the end of the data
+     */
+    private volatile boolean closedByWriter;
+    /**
+     * Flag set once the consumer closed its end, after which writes fail
+     */
+    private volatile boolean closedByReader;
+    /**
+     * The InputStream adapter of the consumer end
+     */
+    private final InputStream inputStream = new RingInputStream();
+    /**
+     * The OutputStream adapter of the producer end
+     */
+    private final OutputStream outputStream = new RingOutputStream();
+
+    /**
+     * Constructs a ByteRingBuffer that holds at least capacity bytes
+     *
+     * @param capacity The minimum number of bytes buffered before the producer blocks, rounded up to a power of two
+     */
+    public ByteRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        int roundedCapacity = Integer.highestOneBit(capacity);
+        if (roundedCapacity < capacity) {
+            roundedCapacity <<= 1;
+        }
+        this.capacity = roundedCapacity;
+        this.mask = this.capacity - 1;
+        this.buffer = ByteBuffer.allocateDirect(this.capacity);
+        this.writeView = buffer.duplicate();
+        this.readView = buffer.duplicate();
+    }
+
+    /**
+     * Getter function for the capacity of the ring buffer
+     *
+     * @return The number of bytes the ring buffer holds
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Getter function for the InputStream adapter of the consumer end
+     *
+     * @return An InputStream reading from the ring buffer
+     */
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    /**
+     * Getter function for the OutputStream adapter of the producer end
+     *
+     * @return An OutputStream writing to the ring buffer
+     */
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    /**
+     * Writes len bytes to the ring buffer, blocking while it is full. Must only be called by the producer.
+     *
+     * @param source       The array holding the bytes
+     * @param offset       The index of the first byte to write
+     * @param length       The number of bytes to write
+     * @throws IOException Exception thrown if the consumer closed its end or the producer is interrupted
+     */
+    public void write(byte[] source, int offset, int length) throws IOException {
+        if (closedByWriter) {
+            throw new IOException("Write end closed");
+        }
+        while (length > 0) {
+            long written = writeCount.get();
+            int free = capacity - (int) (written - readCount.get());
+            while (free == 0) {
+                awaitSpace(written);
+                free = capacity - (int) (written - readCount.get());
+            }
+
+            int index = (int) written & mask;
+            int chunk = Math.min(length, Math.min(free, capacity - index));
+            writeView.position(index);
+            writeView.put(source, offset, chunk);
+            writeCount.lazySet(written + chunk);
+            offset += chunk;
+            length -= chunk;
+
+            if (written + chunk - readCount.get() == capacity) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Wakes up the consumer if it is waiting for data, making all the written bytes available to it
+     */
+    public void flush() {
+        // Orders the lazy write of the counter before the check of the consumer, which sets parkedConsumer before checking the counter
+        VarHandle.fullFence();
+        Thread consumer = parkedConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * Reads up to len bytes from the ring buffer, blocking while it is empty. Must only be called by the consumer.
+     *
+     * @param destination  The array the bytes are copied to
+     * @param offset       The index at which the first byte is stored
+     * @param length       The maximum number of bytes to read
+     * @return             The number of bytes read, or -1 if the producer closed its end and all the bytes were read
+     * @throws IOException Exception thrown if the consumer closed its end or is interrupted
+     */
+    public int read(byte[] destination, int offset, int length) throws IOException {
+        if (closedByReader) {
+            throw new IOException("Pipe closed");
+        }
+        if (length == 0) {
+            return 0;
+        }
+        long read = readCount.get();
+        int available = (int) (writeCount.get() - read);
+        while (available == 0) {
+            if (closedByWriter) {
+                available = (int) (writeCount.get() - read);
+                if (available == 0) {
+                    return -1;
+                }
+                break;
+            }
+            awaitData(read);
+            available = (int) (writeCount.get() - read);
+        }
+
+        int index = (int) read & mask;
+        int chunk = Math.min(length, Math.min(available, capacity - index));
+        readView.position(index);
+        readView.get(destination, offset, chunk);
+        readCount.lazySet(read + chunk);
+        return chunk;
+    }
+
+    /**
+     * Function that returns the number of bytes that can be read without blocking
+     *
+     * @return The number of buffered bytes
+     */
+    public int available() {
+        return (int) (writeCount.get() - readCount.get());
+    }
+
+    /**
+     * Closes the producer end. The consumer reads the remaining bytes and then reaches the end of the data.
+     */
+    public void closeWrite() {
+        closedByWriter = true;
+        Thread consumer = parkedConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * Closes the consumer end. Blocked and later writes of the producer fail.
+     */
+    public void closeRead() {
+        closedByReader = true;
+        Thread producer = parkedProducer;
+        if (producer != null) {
+            LockSupport.unpark(producer);
+        }
+    }
+
+    /**
+     * Function that checks whether the consumer closed its end
+     *
+     * @return True if the consumer closed its end, false otherwise
+     */
+    public boolean isClosedByReader() {
+        return closedByReader;
+    }
+
+    /**
+     * Parks the producer until the consumer frees space in the ring buffer
+     *
+     * @param written      The write counter of the producer
+     * @throws IOException Exception thrown if the consumer closed its end or the producer is interrupted
+     */
+    private void awaitSpace(long written) throws IOException {
+        parkedProducer = Thread.currentThread();
+        flush();
+        try {
+            while (written - readCount.get() == capacity) {
+                if (closedByReader) {
+                    throw new IOException("Pipe closed");
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException();
+                }
+                LockSupport.park(this);
+            }
+        } finally {
+            parkedProducer = null;
+        }
+        if (closedByReader) {
+            throw new IOException("Pipe closed");
+        }
+    }
+
+    /**
+     * Parks the consumer until the producer writes to the ring buffer or closes its end
+     *
+     * @param read         The read counter of the consumer
+     * @throws IOException Exception thrown if the consumer closed its end or is interrupted
+     */
+    private void awaitData(long read) throws IOException {
+        parkedConsumer = Thread.currentThread();
+        Thread producer = parkedProducer;
+        if (producer != null) {
+            LockSupport.unpark(producer);
+        }
+        try {
+            while (writeCount.get() == read && !closedByWriter) {
+                if (closedByReader) {
+                    throw new IOException("Pipe closed");
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException();
+                }
+                LockSupport.park(this);
+            }
+        } finally {
+            parkedConsumer = null;
+        }
+    }
+
+    /**
+     * The InputStream adapter of the consumer end
+     */
+    private class RingInputStream extends InputStream {
+        /**
+         * Buffer used by the single byte read
+         */
+        private final byte[] single = new byte[1];
+
+        @Override
+        public int read() throws IOException {
+            return ByteRingBuffer.this.read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return ByteRingBuffer.this.read(b, off, len);
+        }
+
+        @Override
+        public int available() {
+            return ByteRingBuffer.this.available();
+        }
+
+        @Override
+        public void close() {
+            closeRead();
+        }
+    }
+
+    /**
+     * The OutputStream adapter of the producer end
+     */
+    private class RingOutputStream extends OutputStream {
+        /**
+         * Buffer used by the single byte write
+         */
+        private final byte[] single = new byte[1];
+
+        @Override
+        public void write(int b) throws IOException {
+            single[0] = (byte) b;
+            ByteRingBuffer.this.write(single, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ByteRingBuffer.this.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            ByteRingBuffer.this.flush();
+        }
+
+        @Override
+        public void close() {
+            closeWrite();
+        }
+    }
+}
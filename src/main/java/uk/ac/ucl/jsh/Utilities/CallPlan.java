@@ -0,0 +1,263 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import uk.ac.ucl.jsh.Applications.Application;
+
+/**
+ * CallPlan class holding everything needed to run a call command, compiled once from its tokens.
+ * The Application is resolved, the arguments are split and the redirection targets are extracted when the plan is compiled, so running the
+ * plan again does not parse or search the tokens. A CallPlan is immutable and can be run any number of times, from any thread.
+ * The redirection targets are only opened when the plan runs, since the files they name depend on the working directory at that time,
+ * and they are closed as soon as the Application returns. The output is written through a RedirectedFileOutputStream, which truncates
+ * the file or, for the '>>' operator, appends to it.
+ * The input is read through a plain FileInputStream: mapping the file in windows made a line-by-line grep over it about twice as
+ * slow, since every line is copied out of the mapping into a String anyway (see RedirectionBenchmark).
+ * If the Application reads from a Pipe, its output is flushed every time it waits for the Pipe, so that the output of a command following
+ * a slow producer, such as tail -f, reaches its destination as soon as it is written rather than at the end of the command.
+
+ */
+public final class CallPlan {
+    /**
+     * The name of the Application, without the prefix of the unsafe versions
+     */
+    private final String applicationName;
+    /**
+     * The resolved Application, or null if there is no Application with that name
+     */
+    private final Application application;
+    /**
+     * The arguments of the Application
+     */
+    private final List<String> arguments;
+    /**
+     * The file used for input redirection, or null if there is none
+     */
+    private final String inputFile;
+    /**
+     * The file used for output redirection, or null if there is none
+     */
+    private final String outputFile;
+    /**
+     * True if the output is appended to the output file, false if the output file is truncated
+     */
+    private final boolean appendOutput;
+
+    /**
+     * Constructs a CallPlan
+     *
+     * @param applicationName The name of the Application
+     * @param application     The resolved Application, or null if there is no Application with that name
+     * @param arguments       The arguments of the Application
+     * @param inputFile       The file used for input redirection, or null if there is none
+     * @param outputFile      The file used for output redirection, or null if there is none
+     * @param appendOutput    True if the output is appended to the output file, false if the output file is truncated
+     */
+    private CallPlan(String applicationName, Application application, List<String> arguments, String inputFile, String outputFile,
+                     boolean appendOutput) {
+        this.applicationName = applicationName;
+        this.application = application;
+        this.arguments = Collections.unmodifiableList(arguments);
+        this.inputFile = inputFile;
+        this.outputFile = outputFile;
+        this.appendOutput = appendOutput;
+    }
+
+    /**
+     * Function that compiles the tokens of a call command into a CallPlan
+     *
+     * @param tokens        The tokens returned by the Parser class, containing the application name, its arguments and the redirections
+     * @return              The compiled CallPlan
+     * @throws JshException Exception thrown if multiple files are used for the same redirection or if there is no application name
+     */
+    public static CallPlan compile(List<String> tokens) throws JshException {
+        ArrayList<String> remainingTokens = new ArrayList<>(tokens);
+        String inputFile = extractRedirection(remainingTokens, "<", "Too many files for input redirection");
+        boolean appendOutput = remainingTokens.contains(">>");
+        if (appendOutput && remainingTokens.contains(">")) {
+            throw new JshException("Too many files for output redirection");
+        }
+        String outputFile = extractRedirection(remainingTokens, appendOutput ? ">>" : ">", "Too many files for output redirection");
+        return create(remainingTokens, inputFile, outputFile, appendOutput);
+    }
+
+    /**
+     * Function that creates a CallPlan from the words of a call command whose redirections were already extracted
+     *
+     * @param words         The application name followed by its arguments
+     * @param inputFile     The file used for input redirection, or null if there is none
+     * @param outputFile    The file used for output redirection, or null if there is none
+     * @return              The compiled CallPlan
+     * @throws JshException Exception thrown if there is no application name
+     */
+    public static CallPlan create(List<String> words, String inputFile, String outputFile) throws JshException {
+        return create(words, inputFile, outputFile, false);
+    }
+
+    /**
+     * Function that creates a CallPlan from the words of a call command whose redirections were already extracted
+     *
+     * @param words         The application name followed by its arguments
+     * @param inputFile     The file used for input redirection, or null if there is none
+     * @param outputFile    The file used for output redirection, or null if there is none
+     * @param appendOutput  True if the output is appended to the output file, false if the output file is truncated
+     * @return              The compiled CallPlan
+     * @throws JshException Exception thrown if there is no application name
+     */
+    public static CallPlan create(List<String> words, String inputFile, String outputFile, boolean appendOutput) throws JshException {
+        if (words.isEmpty()) {
+            throw new JshException("jsh: missing command");
+        }
+
+        String applicationName = words.get(0).toLowerCase();
+        Application application = ApplicationManager.getInstance().resolveApplication(applicationName);
+        if (applicationName.startsWith("_")) {
+            applicationName = applicationName.substring(1);
+        }
+        ArrayList<String> arguments = new ArrayList<>(words.subList(1, words.size()));
+        return new CallPlan(applicationName, application, arguments, inputFile, outputFile, appendOutput);
+    }
+
+    /**
+     * Utility function that removes a redirection operator and its target from the tokens
+     *
+     * @param tokens        The tokens of the call command
+     * @param operator      The redirection operator
+     * @param errorMessage  The message of the exception thrown if the operator is used more than once
+     * @return              The target of the redirection, or null if there is none
+     * @throws JshException Exception thrown if the operator is used more than once
+     */
+    private static String extractRedirection(ArrayList<String> tokens, String operator, String errorMessage) throws JshException {
+        if (Collections.frequency(tokens, operator) > 1) {
+            throw new JshException(errorMessage);
+        }
+
+        int index = tokens.indexOf(operator);
+        if (index != -1 && index + 1 < tokens.size()) {
+            String target = tokens.get(index + 1);
+            tokens.subList(index, index + 2).clear();
+            return target;
+        }
+        return null;
+    }
+
+    /**
+     * Getter function for the resolved Application
+     *
+     * @return The Application, or null if there is no Application with the name of the plan
+     */
+    public Application getApplication() {
+        return application;
+    }
+
+    /**
+     * Getter function for the arguments of the Application
+     *
+     * @return The unmodifiable list of arguments
+     */
+    public List<String> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * Function that checks whether the plan redirects the input or the output of the Application
+     *
+     * @return True if the plan has an input or an output redirection, false otherwise
+     */
+    public boolean hasRedirection() {
+        return inputFile != null || outputFile != null;
+    }
+
+    /**
+     * Runs the plan in the default ShellSession
+     *
+     * @param inputStream   The stream used as input if there is no input redirection
+     * @param outputStream  The stream used as output if there is no output redirection
+     * @throws JshException Exception thrown if a redirection target cannot be opened, if the Application does not exist or if it fails
+     */
+    public void execute(InputStream inputStream, OutputStream outputStream) throws JshException {
+        execute(inputStream, outputStream, ShellSession.getDefault());
+    }
+
+    /**
+     * Runs the plan, opening the redirection targets before running the Application and closing them once it is done
+     *
+     * @param inputStream   The stream used as input if there is no input redirection
+     * @param outputStream  The stream used as output if there is no output redirection
+     * @param session       The session the Application runs in, whose working directory the redirection targets are resolved against
+     * @throws JshException Exception thrown if a redirection target cannot be opened, if the Application does not exist or if it fails
+     */
+    public void execute(InputStream inputStream, OutputStream outputStream, ShellSession session) throws JshException {
+        FileInputStream redirectedInput = null;
+        RedirectedFileOutputStream redirectedOutput = null;
+        try {
+            try {
+                if (inputFile != null) {
+                    redirectedInput = new FileInputStream(session.getFile(inputFile));
+                    inputStream = redirectedInput;
+                }
+                if (outputFile != null) {
+                    redirectedOutput = RedirectedFileOutputStream.open(session.getFile(outputFile), appendOutput);
+                    outputStream = redirectedOutput;
+                }
+            } catch (FileNotFoundException e) {
+                throw new JshException(e.getMessage());
+            }
+
+            if (application == null) {
+                throw new JshException(applicationName + ": unknown application");
+            }
+            ShellOutput pipeReaderOutput = null;
+            if (Pipe.isReadEnd(inputStream)) {
+                if (!(outputStream instanceof ShellOutput) && !(outputStream instanceof Pipe.PipeOutputStream)) {
+                    // The Application writes its lines to this ShellOutput itself, so the Pipe can flush them
+                    pipeReaderOutput = new ShellOutput(outputStream, ShellOutput.FlushPolicy.THRESHOLD, ShellOutput.SINK_CAPACITY);
+                    outputStream = pipeReaderOutput;
+                }
+                Pipe.flushBeforeWaiting(inputStream, outputStream);
+            }
+            application.execute(new ArrayList<>(arguments), inputStream, outputStream, session);
+            if (pipeReaderOutput != null) {
+                try {
+                    pipeReaderOutput.flush();
+                } catch (IOException e) {
+                    throw new JshException(applicationName + ": " + e.getMessage(), e);
+                }
+            }
+            if (redirectedOutput != null) {
+                // The output file is only complete once its buffer is written, so a failure to close it is a failure of the call
+                try {
+                    redirectedOutput.close();
+                } catch (IOException e) {
+                    throw new JshException(applicationName + ": " + e.getMessage(), e);
+                }
+            }
+        } finally {
+            closeQuietly(redirectedInput);
+            closeQuietly(redirectedOutput);
+        }
+    }
+
+    /**
+     * Utility function that closes a redirection target, ignoring the failures since the call already failed or the target was read
+     *
+     * @param stream The stream to close, or null
+     */
+    private static void closeQuietly(Closeable stream) {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // Nothing left to do with the stream
+            }
+        }
+    }
+}
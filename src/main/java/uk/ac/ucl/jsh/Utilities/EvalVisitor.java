@@ -1,72 +1,57 @@
 package uk.ac.ucl.jsh.Utilities;
 
+import uk.ac.ucl.jsh.Applications.Application;
 import uk.ac.ucl.jsh.Parser.*;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
- * Visitor class that implements the TreeVisitor interface and evaluates the Parse tree generated by the Parser.
+ * Visitor class that implements the TreeVisitor interface and evaluates the Parse tree generated by the Parser in a ShellSession.
  */
 public class EvalVisitor implements TreeVisitor<Void> {
     /**
-     * Function that implements the logic behind Input redirection 
-     * 
-     * @param tokens         The tokens returned by the Parser class, containing the application name and its arguments
-     * @param inputStream    The current input stream 
-     * @return               The input stream after solving Input redirection, which might be the same as the inputStream argument
-     * @throws JshException  Exception thrown if multiple files are used for Input redirection or if the File trying to be used does not exist
+     * The executor that runs the left stages of pipelines, so that all the stages of a pipeline run concurrently
      */
-    private InputStream getInputStream(ArrayList<String> tokens, InputStream inputStream) throws JshException {
-        if (Collections.frequency(tokens, "<") > 1) {
-            throw new JshException("Too many files for input redirection");
-        }
-
-        try {
-            int inIndex = tokens.indexOf("<");
-            if (inIndex != -1 && inIndex + 1 < tokens.size()) {
-                inputStream = new FileInputStream(FileSystem.getInstance().getFile(tokens.get(inIndex+1)));
-                tokens.subList(inIndex, inIndex + 2).clear();
-            }
-        } catch (FileNotFoundException e) {
-            throw new JshException(e.getMessage());
-        }
+    private static final ExecutorService pipelineExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "jsh-pipeline");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * The session the Parse tree is evaluated in
+     */
+    private final ShellSession session;
 
-        return inputStream;
+    /**
+     * Constructs an EvalVisitor evaluating Parse trees in the default ShellSession
+     */
+    public EvalVisitor() {
+        this(ShellSession.getDefault());
     }
 
     /**
-     * Function that implements the logic behind Output redirection
+     * Constructs an EvalVisitor evaluating Parse trees in a session
      * 
-     * @param tokens         The tokens returned by the Parser class, containing the application name and its arguments
-     * @param outputStream   The current output stream 
-     * @return               The output stream after solving Output redirection, which might be the same as the outputStream argument
-     * @throws JshException  Exception thrown if multiple files are used for Output redirection or if the output file cannot be created
+     * @param session The session the Parse trees are evaluated in
      */
-    private OutputStream getOutputStream(ArrayList<String> tokens, OutputStream outputStream) throws JshException {
-        if (Collections.frequency(tokens, ">") > 1) {
-            throw new JshException("Too many files for output redirection");
-        }
-
-        try {
-            int outIndex = tokens.indexOf(">");
-            if (outIndex != -1 && outIndex + 1 < tokens.size()) {
-                outputStream = new FileOutputStream(FileSystem.getInstance().getFile(tokens.get(outIndex+1)));
-                tokens.subList(outIndex, outIndex + 2).clear();
-            }
-        } catch (FileNotFoundException e) {
-            throw new JshException(e.getMessage());
-        }
+    public EvalVisitor(ShellSession session) {
+        this.session = session;
+    }
 
-        return outputStream;
+    /**
+     * Getter function for the session the Parse trees are evaluated in
+     * 
+     * @return The session of the visitor
+     */
+    public ShellSession getSession() {
+        return session;
     }
 
      /**
@@ -86,7 +71,10 @@ public class EvalVisitor implements TreeVisitor<Void> {
     }
 
      /**
-     * Function that visits a pipeNode in the Parse tree and evaluates it.
+     * Function that visits a pipeNode in the Parse tree and evaluates it. The left child runs on its own thread and is connected to the
+     * right child through a bounded Pipe, so both children run concurrently. If the right child is done before reading all of its input,
+     * the left child is cancelled if it is still running. The left child always runs, and only its failures caused by writing to the
+     * closed Pipe or by the cancellation are ignored, the same way a shell only ignores the processes killed by SIGPIPE.
      * 
      * @param pipeNode      The pipe Node that will be visited
      * @param inputStream   The stream that the left child of pipeNode should use as an input stream if there is no I/O Redirection
@@ -95,17 +83,36 @@ public class EvalVisitor implements TreeVisitor<Void> {
      * @throws JshException The exception that may be thrown if the visitor runs an Applications
      */
     public Void visit(PipeNode pipeNode, InputStream inputStream, OutputStream outputStream) throws JshException {
-        ByteArrayOutputStream newStream = new ByteArrayOutputStream();
-        pipeNode.getLeft().accept(this, inputStream, newStream);
-        ByteArrayInputStream newInputStream = new ByteArrayInputStream(newStream.toByteArray());
-        pipeNode.getRight().accept(this, newInputStream, outputStream);
+        Pipe pipe = new Pipe();
+        PipelineStage leftStage = new PipelineStage(pipeNode.getLeft(), this, inputStream, pipe);
+        pipelineExecutor.execute(leftStage);
+
+        JshException rightException = null;
+        try {
+            pipeNode.getRight().accept(this, pipe.getInputStream(), outputStream);
+        } catch (JshException e) {
+            rightException = e;
+        } finally {
+            pipe.closeReadEnd();
+        }
+
+        if (!pipe.isReadToEnd()) {
+            leftStage.cancel();
+        }
+        JshException leftException = leftStage.await();
+        if (leftException != null && !pipe.isBroken() && !leftStage.isCausedByCancel(leftException)) {
+            throw leftException;
+        }
+        if (rightException != null) {
+            throw rightException;
+        }
 
         return null;
     }
 
      /**
-     * Function that visits a callNode in the Parse tree and evaluates the call command through the ApplicationManager, based on 
-     * the tokens generated by the Parser
+     * Function that visits a callNode in the Parse tree and evaluates the call command by running its CallPlan, which is compiled from
+     * the tokens generated by the Parser the first time the callNode is visited
      * 
      * @param callNode      The call Node that will be visited
      * @param inputStream   The stream that the Application in the callNode should use as an input stream if there is no input redirection
@@ -114,12 +121,91 @@ public class EvalVisitor implements TreeVisitor<Void> {
      * @throws JshException The exception that may be thrown if the Application in the callNode throws a JshException
      */
     public Void visit(CallNode callNode, InputStream inputStream, OutputStream outputStream) throws JshException {
-        ArrayList<String> tokens = Parser.parseCallCommand(callNode.getApplicationString());
-        
-        inputStream = getInputStream(tokens, inputStream);
-        outputStream = getOutputStream(tokens, outputStream);
-        ApplicationManager.getInstance().executeApplication(tokens, inputStream, outputStream);
+        callNode.getPlan(session).execute(inputStream, outputStream, session);
         
         return null;
     }
+
+     /**
+     * Function that visits a fusedNode in the Parse tree and runs all its LineStages on the current thread. The lines read by the first
+     * stage go through every stage in order, and reading stops as soon as a stage is done. If the first stage reads from a Pipe, the
+     * output of the last stage is flushed every time the Pipe is about to wait for data.
+     * 
+     * @param fusedNode     The fused Node that will be visited
+     * @param inputStream   The stream that the first stage should use as an input stream if it does not read files
+     * @param outputStream  The stream that the last stage should write to
+     * @return              Void, since the EvalVisitor evaluates the Parse tree and does not return anything
+     * @throws JshException The exception thrown if the first stage cannot read its input or if the output cannot be written
+     */
+    public Void visit(FusedNode fusedNode, InputStream inputStream, OutputStream outputStream) throws JshException {
+        List<LineStage> stages = fusedNode.getStages();
+        LineStage firstStage = stages.get(0);
+        LineStage lastStage = stages.get(stages.size() - 1);
+        LineSink sink = LineSink.of(outputStream);
+        LineStageChain chain = new LineStageChain(stages, sink);
+
+        try {
+            if (firstStage.getFiles().isEmpty()) {
+                if (inputStream == null) {
+                    throw new JshException(firstStage.getName() + ": missing input");
+                }
+                Pipe.flushBeforeWaiting(inputStream, sink);
+                feed(LineSource.of(inputStream), chain);
+            }
+            else {
+                for (String filePath : firstStage.getFiles()) {
+                    if (!chain.isOpen()) {
+                        break;
+                    }
+                    LineSource source;
+                    try {
+                        source = LineReader.open(session.getFile(filePath));
+                    } catch (FileNotFoundException e) {
+                        throw new JshException(firstStage.getName() + ": " + e.getMessage());
+                    }
+                    feed(source, chain);
+                }
+            }
+            chain.flush();
+        } catch (IOException e) {
+            throw new JshException(lastStage.getName() + ": " + e.getMessage(), e);
+        }
+
+        return null;
+    }
+
+     /**
+     * Function that visits a backgroundNode in the Parse tree and starts its child as a job of the JobTable of the session, returning without waiting for it.
+     * The job does not read the input of the shell.
+     * 
+     * @param backgroundNode The background Node that will be visited
+     * @param inputStream    Not used, since background jobs do not read the input of the shell
+     * @param outputStream   The stream that the job should use as an output stream if there is no output redirection
+     * @return               Void, since the EvalVisitor evaluates the Parse tree and does not return anything
+     * @throws JshException  The exception that may be thrown if the visitor runs an Applications
+     */
+    public Void visit(BackgroundNode backgroundNode, InputStream inputStream, OutputStream outputStream) throws JshException {
+        session.getJobTable().start(backgroundNode.getJob(), backgroundNode.getCommandLine(), outputStream);
+
+        return null;
+    }
+
+    /**
+     * Utility function that writes the lines of a source to a chain of LineStages until the source ends, the chain is done or the
+     * current thread is cancelled
+     * 
+     * @param source       The source of the lines
+     * @param chain        The chain of LineStages
+     * @throws IOException Exception thrown if the source cannot be read or the chain fails to write a line
+     */
+    private void feed(LineSource source, LineStageChain chain) throws IOException {
+        try {
+            CharSequence line;
+            while (!Application.isCancelled() && chain.isOpen() && (line = source.readLine()) != null) {
+                chain.writeLine(line);
+            }
+        } finally {
+            source.close();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,228 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FileFollower class that reads the bytes appended to a file as they are written, which is what tail -f does.
+ * The file is kept open and read from the position the previous read stopped at, so only the new bytes are ever read. Between two reads
+ * that find nothing new, the follower waits for the WatchService of the directory of the file to report a change, or at most
+ * POLL_INTERVAL_MILLIS, so that a change the WatchService misses or reports late is still seen quickly.
+ * If the file becomes shorter than the position read, it was truncated and is read again from its start. If the follower follows the
+ * name of the file rather than the file it opened, it also reopens the name once it refers to another file, as after a log rotation,
+ * and waits for the name to exist if it does not.
+ */
+public class FileFollower implements Closeable {
+    /**
+     * The longest time waited for a change of the file before reading it again
+     */
+    public static final long POLL_INTERVAL_MILLIS = 20;
+
+    /**
+     * The absolute path to the file followed
+     */
+    private final Path path;
+    /**
+     * Flag set if the name of the file is followed, reopening it when it refers to another file
+     */
+    private final boolean followName;
+    /**
+     * The watch service notified of the changes in the directory of the file, or null if the file system has none
+     */
+    private final WatchService watchService;
+    /**
+     * The channel reading the file, or null if the file followed by name does not exist
+     */
+    private FileChannel channel;
+    /**
+     * The key identifying the file read by the channel, or null if the file system has none
+     */
+    private Object fileKey;
+    /**
+     * The position of the next byte to read
+     */
+    private long position;
+
+    /**
+     * Constructs a FileFollower reading a file from the given position
+     *
+     * @param file         The file to follow
+     * @param position     The position of the first byte to read
+     * @param followName   True to follow the name of the file through rotations, false to follow the file opened
+     * @throws IOException Exception thrown if the file cannot be opened, unless its name is followed and it does not exist
+     */
+    public FileFollower(File file, long position, boolean followName) throws IOException {
+        this.path = file.toPath().toAbsolutePath();
+        this.followName = followName;
+        this.position = position;
+        try {
+            open();
+        } catch (NoSuchFileException e) {
+            if (!followName) {
+                throw e;
+            }
+            this.position = 0;
+        }
+        this.watchService = watch(path);
+    }
+
+    /**
+     * Getter function for the position of the next byte to read in the file currently followed
+     *
+     * @return The position of the next byte to read
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Reads the bytes appended to the file since the last read without waiting for more. If the file was truncated, it is read from its
+     * start, and if its name is followed and now refers to another file, the other file is read from its start once the bytes left in
+     * the previous one are read.
+     *
+     * @param buffer       The buffer the bytes are read into
+     * @return             The number of bytes read, 0 if there are none
+     * @throws IOException Exception thrown if the file cannot be read
+     */
+    public int read(ByteBuffer buffer) throws IOException {
+        if (channel == null && !reopenIfReplaced()) {
+            return 0;
+        }
+        if (channel.size() < position) {
+            position = 0;
+        }
+        int read = channel.read(buffer, position);
+        if (read > 0) {
+            position += read;
+            return read;
+        }
+        if (followName && reopenIfReplaced()) {
+            return read(buffer);
+        }
+        return 0;
+    }
+
+    /**
+     * Waits until the directory of the file changes, or at most POLL_INTERVAL_MILLIS. If the thread is interrupted, it returns at once
+     * with its interrupted status set.
+     */
+    public void awaitChange() {
+        try {
+            if (watchService == null) {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+                return;
+            }
+            WatchKey key = watchService.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            if (key != null) {
+                key.pollEvents();
+                key.reset();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    /**
+     * Closes the channel reading the file and the watch service
+     *
+     * @throws IOException Exception thrown if the channel cannot be closed
+     */
+    public void close() throws IOException {
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } finally {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Utility function that opens the channel reading the file and records the key of the file opened
+     *
+     * @throws IOException Exception thrown if the file cannot be opened
+     */
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        } catch (IOException e) {
+            fileKey = null;
+        }
+    }
+
+    /**
+     * Utility function that opens the file at the path followed if it exists and is not the file already open, in which case the file
+     * is read from its start. A file system without file keys cannot tell two files apart, so an open file is then never replaced.
+     *
+     * @return             True if another file was opened, false otherwise
+     * @throws IOException Exception thrown if the file cannot be opened
+     */
+    private boolean reopenIfReplaced() throws IOException {
+        Object key;
+        try {
+            key = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        if (channel != null && (key == null || key.equals(fileKey))) {
+            return false;
+        }
+
+        FileChannel previous = channel;
+        try {
+            open();
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        if (previous != null) {
+            previous.close();
+        }
+        position = 0;
+        return true;
+    }
+
+    /**
+     * Utility function that creates a watch service notified of the changes in the directory of the file
+     *
+     * @param path The path to the file
+     * @return     The watch service, or null if the directory cannot be watched
+     */
+    private static WatchService watch(Path path) {
+        Path directory = path.getParent();
+        if (directory == null) {
+            return null;
+        }
+        WatchService service = null;
+        try {
+            service = path.getFileSystem().newWatchService();
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+            return service;
+        } catch (IOException | UnsupportedOperationException e) {
+            if (service != null) {
+                try {
+                    service.close();
+                } catch (IOException closeException) {
+                    // The follower polls instead
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -10,26 +10,19 @@ import java.nio.file.StandardOpenOption;
 import uk.ac.ucl.jsh.Jsh;
 
 /**
- * The FileSystem class that follows the Singleton pattern and stores and provides access to the current working directory for all Applications.
+ * The FileSystem class that follows the Singleton pattern and provides access to the working directory of the default ShellSession.
  * It also provides utility functions for Applications and for testing.
  */
 public final class FileSystem {
     /**
      * The reference to the only instance of the FileSystem class
      */
-    private static final FileSystem INSTANCE = new FileSystem(System.getProperty("user.dir"));
-    /**
-     * String represeting the Path to the current working directory
-     */
-    private String workingDirectoryPath;
+    private static final FileSystem INSTANCE = new FileSystem();
 
     /**
-     * Constructs the only instance of the FileSystem class, taking in a path that will be assigned to the workingDirectoryPath;
-     * 
-     * @param workingDirectoryPath Path to the folder that will become the FileSystem's workingDirectoryPath
+     * Constructs the only instance of the FileSystem class
      */
-    private FileSystem(String workingDirectoryPath) {
-        this.setWorkingDirectory(workingDirectoryPath);
+    private FileSystem() {
     }
 
     /**
@@ -84,51 +77,43 @@ public final class FileSystem {
     }
 
     /**
-     * Getter function for the current working directory, used by the Applications
+     * Getter function for the working directory of the default ShellSession
      * 
      * @return A string representing the path to the current working directory
      */
     public String getWorkingDirectoryPath() {
-        return this.workingDirectoryPath;
+        return ShellSession.getDefault().getWorkingDirectoryPath();
     }
 
     /**
-     * Setter function for the current working directory, used by the Applications and by Test classes
+     * Setter function for the working directory of the default ShellSession, used by the interactive shell and by Test classes
      * 
      * @param workingDirectoryPath
      */
     public void setWorkingDirectory(String workingDirectoryPath) {
-        this.workingDirectoryPath = workingDirectoryPath;
+        ShellSession.getDefault().setWorkingDirectory(workingDirectoryPath);
     }
 
     /**
-     * Utility function used by the Applications to abstract away the concern of absolute path or relative path to files given as argument
+     * Utility function that resolves a path given as argument against the working directory of the default ShellSession
      * 
      * @param filePath      A string representing an absolute or relative path to a File given as argument to the Application
      * @return              A file at the correct absolute path
      * @throws JshException The exception thrown if the filePath is invalid
      */
     public File getFile(String filePath) throws JshException {
-        try {
-            return new File(getFilePath(filePath));
-        } catch (NullPointerException e) {
-            throw new JshException(e.getMessage());
-        }
+        return ShellSession.getDefault().getFile(filePath);
     }
 
     /**
      * Utility function that takes a String representing an absolute or relative path to a File and returns a String representing the correct
-     * absolute path of the filePath given as argument
+     * absolute path of the filePath given as argument, resolved against the working directory of the default ShellSession
      * 
      * @param filePath A string representing a relative or absolute path to a File 
      * @return         A string representing the correct absolute path to the File at the path filePath
      */
     public String getFilePath(String filePath) {
-        if(filePath.startsWith(Jsh.fileSeparator)) {
-            return filePath;
-        }
-        
-        return workingDirectoryPath + Jsh.fileSeparator + filePath;
+        return ShellSession.getDefault().getFilePath(filePath);
     }
 
     /**
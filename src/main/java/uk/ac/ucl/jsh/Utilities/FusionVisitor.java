@@ -0,0 +1,174 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import uk.ac.ucl.jsh.Applications.LineStageApplication;
+import uk.ac.ucl.jsh.Parser.BackgroundNode;
+import uk.ac.ucl.jsh.Parser.CallNode;
+import uk.ac.ucl.jsh.Parser.FusedNode;
+import uk.ac.ucl.jsh.Parser.Node;
+import uk.ac.ucl.jsh.Parser.PipeNode;
+import uk.ac.ucl.jsh.Parser.SeqNode;
+
+/**
+ * Visitor class that implements the TreeVisitor interface and optimizes the Parse tree before it is evaluated.
+ * Every run of consecutive CallNodes of a pipeline whose Applications can run as LineStages is replaced by a FusedNode, which
+ * runs the whole run on one thread without any Pipe between its stages. Only the first CallNode of a run may read files.
+ * CallNodes using command substitution or I/O redirection are never fused, since their tokens are only known when they are evaluated
+ * and their redirections replace the streams a LineStage reads from and writes to.
+ */
+public class FusionVisitor implements TreeVisitor<Node> {
+    /**
+     * Function that visits a seqNode in the Parse tree and optimizes both of its children
+     * 
+     * @param seqNode       The sequence Node that will be visited
+     * @param inputStream   Not used by the FusionVisitor
+     * @param outputStream  Not used by the FusionVisitor
+     * @return              The optimized sequence Node
+     * @throws JshException The exception that may be thrown if the visitor runs an Applications
+     */
+    public Node visit(SeqNode seqNode, InputStream inputStream, OutputStream outputStream) throws JshException {
+        Node left = seqNode.getLeft().accept(this, inputStream, outputStream);
+        Node right = seqNode.getRight().accept(this, inputStream, outputStream);
+        if (left == seqNode.getLeft() && right == seqNode.getRight()) {
+            return seqNode;
+        }
+        return new SeqNode(left, right);
+    }
+
+    /**
+     * Function that visits a pipeNode in the Parse tree and fuses the runs of CallNodes of the pipeline that can run as LineStages
+     * 
+     * @param pipeNode      The pipe Node that will be visited
+     * @param inputStream   Not used by the FusionVisitor
+     * @param outputStream  Not used by the FusionVisitor
+     * @return              The optimized pipeline, which is the same pipe Node if nothing could be fused
+     * @throws JshException The exception that may be thrown if the visitor runs an Applications
+     */
+    public Node visit(PipeNode pipeNode, InputStream inputStream, OutputStream outputStream) throws JshException {
+        ArrayList<Node> pipeline = new ArrayList<>();
+        flatten(pipeNode, pipeline);
+
+        ArrayList<LineStage> stages = new ArrayList<>();
+        for (Node node : pipeline) {
+            stages.add(node instanceof CallNode ? createLineStage((CallNode) node) : null);
+        }
+
+        ArrayList<Node> optimizedPipeline = new ArrayList<>();
+        boolean fused = false;
+        int start = 0;
+        while (start < pipeline.size()) {
+            int end = start + 1;
+            if (stages.get(start) != null) {
+                while (end < pipeline.size() && stages.get(end) != null && stages.get(end).getFiles().isEmpty()) {
+                    ++end;
+                }
+            }
+
+            if (end - start > 1) {
+                ArrayList<CallNode> callNodes = new ArrayList<>();
+                for (Node node : pipeline.subList(start, end)) {
+                    callNodes.add((CallNode) node);
+                }
+                optimizedPipeline.add(new FusedNode(callNodes, new ArrayList<>(stages.subList(start, end))));
+                fused = true;
+            } else {
+                optimizedPipeline.add(pipeline.get(start));
+            }
+            start = end;
+        }
+
+        if (!fused) {
+            return pipeNode;
+        }
+        Node result = optimizedPipeline.get(0);
+        for (int i = 1; i < optimizedPipeline.size(); ++i) {
+            result = new PipeNode(result, optimizedPipeline.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Function that visits a callNode in the Parse tree, which is left as it is
+     * 
+     * @param callNode      The call Node that will be visited
+     * @param inputStream   Not used by the FusionVisitor
+     * @param outputStream  Not used by the FusionVisitor
+     * @return              The call Node
+     * @throws JshException The exception that may be thrown if the visitor runs an Applications
+     */
+    public Node visit(CallNode callNode, InputStream inputStream, OutputStream outputStream) throws JshException {
+        return callNode;
+    }
+
+    /**
+     * Function that visits a fusedNode in the Parse tree, which is already optimized
+     * 
+     * @param fusedNode     The fused Node that will be visited
+     * @param inputStream   Not used by the FusionVisitor
+     * @param outputStream  Not used by the FusionVisitor
+     * @return              The fused Node
+     * @throws JshException The exception that may be thrown if the visitor runs an Applications
+     */
+    public Node visit(FusedNode fusedNode, InputStream inputStream, OutputStream outputStream) throws JshException {
+        return fusedNode;
+    }
+
+    /**
+     * Function that visits a backgroundNode in the Parse tree and optimizes the command it runs
+     * 
+     * @param backgroundNode The background Node that will be visited
+     * @param inputStream    Not used by the FusionVisitor
+     * @param outputStream   Not used by the FusionVisitor
+     * @return               The optimized background Node
+     * @throws JshException  The exception that may be thrown if the visitor runs an Applications
+     */
+    public Node visit(BackgroundNode backgroundNode, InputStream inputStream, OutputStream outputStream) throws JshException {
+        Node job = backgroundNode.getJob().accept(this, inputStream, outputStream);
+        if (job == backgroundNode.getJob()) {
+            return backgroundNode;
+        }
+        return new BackgroundNode(job, backgroundNode.getCommandLine());
+    }
+
+    /**
+     * Utility function that lists the Nodes of a pipeline in order
+     * 
+     * @param node     The pipeline, or one of its Nodes
+     * @param pipeline The list the Nodes are added to
+     */
+    private void flatten(Node node, List<Node> pipeline) {
+        if (node instanceof PipeNode) {
+            flatten(((PipeNode) node).getLeft(), pipeline);
+            flatten(((PipeNode) node).getRight(), pipeline);
+        } else {
+            pipeline.add(node);
+        }
+    }
+
+    /**
+     * Utility function that creates the LineStage running the Application of a callNode
+     * 
+     * @param callNode The call Node to run as a LineStage
+     * @return         The LineStage, or null if the call Node cannot be fused
+     */
+    private LineStage createLineStage(CallNode callNode) {
+        if (callNode.isDynamic()) {
+            return null;
+        }
+
+        CallPlan plan;
+        try {
+            plan = callNode.getPlan();
+        } catch (JshException e) {
+            return null;
+        }
+        if (plan.hasRedirection() || !(plan.getApplication() instanceof LineStageApplication)) {
+            return null;
+        }
+        return ((LineStageApplication) plan.getApplication()).createLineStage(new ArrayList<>(plan.getArguments()));
+    }
+}
@@ -15,11 +15,7 @@ public class Globbing {
    /**
      * Utility string that ensures that the paths created by globbing are not system-dependent
      */
-    private static String fileSeparator = Jsh.fileSeparator;
-    /**
-     * ArrayList storing the globbing result
-     */
-    private static ArrayList<String> globbedArguments;
+    private static final String fileSeparator = Jsh.fileSeparator;
 
     /**
      * Function that recursively performs globbing for one argument
@@ -27,8 +23,9 @@ public class Globbing {
      * @param currentGlobbedPath The current path that was expanded and does not contain any globbing character
      * @param unglobbedPath      The current path that still contains globbing characters and still needs to be expanded
      * @param startingPath       The path that the final globbed path is relative to
+     * @param globbedArguments   The ArrayList storing the globbing result
      */
-    private static void globArgument(String currentGlobbedPath, String unglobbedPath, String startingPath) {
+    private static void globArgument(String currentGlobbedPath, String unglobbedPath, String startingPath, ArrayList<String> globbedArguments) {
         if(unglobbedPath != "") {
             String globbingPattern, remainingUnglobbedPath;
             if(unglobbedPath.contains(fileSeparator)) {
@@ -46,12 +43,12 @@ public class Globbing {
                 PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + globbingPattern);
                 for(File file: fileArray) {
                     if(matcher.matches(Paths.get(file.getName()))) {
-                        globArgument(currentGlobbedPath + fileSeparator + file.getName(), remainingUnglobbedPath, startingPath);
+                        globArgument(currentGlobbedPath + fileSeparator + file.getName(), remainingUnglobbedPath, startingPath, globbedArguments);
                     }
                 }
             }
             else {
-                globArgument(currentGlobbedPath + fileSeparator + globbingPattern, remainingUnglobbedPath, startingPath);
+                globArgument(currentGlobbedPath + fileSeparator + globbingPattern, remainingUnglobbedPath, startingPath, globbedArguments);
             }
 
         }
@@ -74,7 +71,20 @@ public class Globbing {
      * @return                      An ArrayList of Strings containing the globbing result
      */
     public static ArrayList<String> globArguments(ArrayList<String> applicationArguments, int ignoreIndex) {
-        globbedArguments = new ArrayList<String>();
+        return globArguments(applicationArguments, ignoreIndex, ShellSession.getDefault());
+    }
+
+    /**
+     * Function that performs globbing of the applicationArguments, resolving the relative patterns against the working directory
+     * of a session
+     * 
+     * @param applicationArguments  The list of arguments before perfomming globbing
+     * @param ignoreIndex           The index of the argument in the applicationArguments that will not be globbed and will be added as it is
+     * @param session               The session whose working directory the relative patterns are resolved against
+     * @return                      An ArrayList of Strings containing the globbing result
+     */
+    public static ArrayList<String> globArguments(ArrayList<String> applicationArguments, int ignoreIndex, ShellSession session) {
+        ArrayList<String> globbedArguments = new ArrayList<String>();
         if(applicationArguments.size() == 0) {
             return globbedArguments;
         }
@@ -89,10 +99,11 @@ public class Globbing {
             int globbedArgumentsSize = globbedArguments.size();
             if(currentArgument.contains("*")) {
                 if(currentArgument.startsWith(fileSeparator)) {
-                    globArgument("", currentArgument, fileSeparator);
+                    globArgument("", currentArgument, fileSeparator, globbedArguments);
                 }
                 else {
-                    globArgument(FileSystem.getInstance().getWorkingDirectoryPath(), currentArgument, FileSystem.getInstance().getWorkingDirectoryPath());
+                    String workingDirectoryPath = session.getWorkingDirectoryPath();
+                    globArgument(workingDirectoryPath, currentArgument, workingDirectoryPath, globbedArguments);
                 }
 
                 if(globbedArgumentsSize == globbedArguments.size()) {
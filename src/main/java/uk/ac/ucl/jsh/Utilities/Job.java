@@ -0,0 +1,203 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.OutputStream;
+
+import uk.ac.ucl.jsh.Parser.Node;
+
+/**
+ * Job class that runs a command in the background, keeping track of its state for the jobs, wait and fg Applications.
+ * Like the commands run in the foreground, a job reports its error on the standard error stream once it fails.
+ * A job can be cancelled, which interrupts the thread running it. The kill Application cancels the jobs it is given, the same way SIGTERM
+ * stops a background process, and the fg Application cancels the job it waits for once it is interrupted, so that a job that never ends on
+ * its own, such as tail -f, can be stopped.
+ */
+public class Job implements Runnable {
+    /**
+     * The states of a Job, with the label shown by the jobs Application
+     */
+    public enum State {
+        RUNNING("Running"),
+        DONE("Done"),
+        FAILED("Failed"),
+        TERMINATED("Terminated");
+
+        /**
+         * The label of the state
+         */
+        private final String label;
+
+        /**
+         * Constructs a State
+         *
+         * @param label The label of the state
+         */
+        State(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /**
+     * The number identifying the job in the JobTable
+     */
+    private final int id;
+    /**
+     * The Node evaluated by the job
+     */
+    private final Node node;
+    /**
+     * The text of the command run by the job
+     */
+    private final String commandLine;
+    /**
+     * The stream that the job writes to if there is no output redirection
+     */
+    private final OutputStream outputStream;
+    /**
+     * The session the job is evaluated in
+     */
+    private final ShellSession session;
+    /**
+     * The current state of the job
+     */
+    private State state = State.RUNNING;
+    /**
+     * The thread running the job, or null if the job is not running
+     */
+    private Thread runner;
+    /**
+     * Flag set once the job was cancelled
+     */
+    private boolean cancelled;
+
+    /**
+     * Constructs a Job
+     *
+     * @param id           The number identifying the job in the JobTable
+     * @param node         The Node evaluated by the job
+     * @param commandLine  The text of the command run by the job
+     * @param outputStream The stream that the job writes to if there is no output redirection
+     * @param session      The session the job is evaluated in
+     */
+    public Job(int id, Node node, String commandLine, OutputStream outputStream, ShellSession session) {
+        this.id = id;
+        this.node = node;
+        this.commandLine = commandLine;
+        this.outputStream = outputStream;
+        this.session = session;
+    }
+
+    /**
+     * Getter function for the number identifying the job
+     *
+     * @return The number identifying the job in the JobTable
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Getter function for the text of the command run by the job
+     *
+     * @return The text of the command
+     */
+    public String getCommandLine() {
+        return commandLine;
+    }
+
+    /**
+     * Getter function for the current state of the job
+     *
+     * @return The state of the job
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    @Override
+    /**
+     * Evaluates the Node of the job and records whether it succeeded
+     */
+    public void run() {
+        synchronized (this) {
+            runner = Thread.currentThread();
+            if (cancelled) {
+                runner.interrupt();
+            }
+        }
+        State finalState = State.DONE;
+        try {
+            node.accept(new EvalVisitor(session), null, outputStream);
+        } catch (JshException e) {
+            if (!isCancelled() || !e.isCausedByInterrupt()) {
+                session.getErrorStream().println(e.getMessage());
+            }
+            finalState = State.FAILED;
+        } catch (RuntimeException e) {
+            session.getErrorStream().println(e.getMessage());
+            finalState = State.FAILED;
+        } finally {
+            finish(finalState);
+        }
+    }
+
+    /**
+     * Cancels the job if it is still running, interrupting the thread that runs it
+     *
+     * @return True if the job was still running and got cancelled, false if it had already finished
+     */
+    public synchronized boolean cancel() {
+        if (state != State.RUNNING) {
+            return false;
+        }
+        cancelled = true;
+        if (runner != null) {
+            runner.interrupt();
+        }
+        return true;
+    }
+
+    /**
+     * Utility function that checks whether the job was cancelled
+     *
+     * @return True if the job was cancelled, false otherwise
+     */
+    private synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Utility function that records the final state of the job and wakes up the threads waiting for it. A cancelled job is terminated
+     * whether or not it failed. The interrupt of a cancelled job is cleared, so that it does not leak into the next job run by the thread.
+     *
+     * @param finalState The state of the job once it finished
+     */
+    private synchronized void finish(State finalState) {
+        state = cancelled ? State.TERMINATED : finalState;
+        runner = null;
+        Thread.interrupted();
+        notifyAll();
+    }
+
+    /**
+     * Waits for the job to finish
+     *
+     * @return              The final state of the job
+     * @throws JshException Exception thrown if the waiting thread is interrupted
+     */
+    public synchronized State await() throws JshException {
+        while (state == State.RUNNING) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new JshException("interrupted while waiting for job " + id, e);
+            }
+        }
+        return state;
+    }
+}
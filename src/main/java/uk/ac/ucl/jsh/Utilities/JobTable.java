@@ -0,0 +1,122 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import uk.ac.ucl.jsh.Parser.Node;
+
+/**
+ * Class that keeps track of the jobs running in the background for a ShellSession. Every session owns its JobTable, and the
+ * JobTable returned by getInstance is the one of the default session. All the tables share the same executor.
+ * A job stays in the table until it is waited for by the wait or fg Applications, or until the jobs Application reports it as finished.
+ */
+public final class JobTable {
+    /**
+     * The executor that runs the background jobs of all the sessions
+     */
+    private static final ExecutorService jobExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "jsh-job");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * The jobs of the table, ordered by their number
+     */
+    private final TreeMap<Integer, Job> jobs = new TreeMap<>();
+    /**
+     * The session whose background jobs are kept in the table
+     */
+    private final ShellSession session;
+
+    /**
+     * Constructs the JobTable of a session, only called by the session itself
+     * 
+     * @param session The session whose background jobs are kept in the table
+     */
+    JobTable(ShellSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Getter function for the JobTable of the default session
+     * 
+     * @return The JobTable of the default session
+     */
+    public static JobTable getInstance() {
+        return ShellSession.getDefault().getJobTable();
+    }
+
+    /**
+     * Starts a job evaluating a Node in the background, in the session of the table. The job gets the lowest number above the numbers of the jobs in the table.
+     * 
+     * @param node         The Node evaluated by the job
+     * @param commandLine  The text of the command run by the job
+     * @param outputStream The stream that the job writes to if there is no output redirection
+     * @return             The started job
+     */
+    public synchronized Job start(Node node, String commandLine, OutputStream outputStream) {
+        int id = jobs.isEmpty() ? 1 : jobs.lastKey() + 1;
+        Job job = new Job(id, node, commandLine, outputStream, session);
+        jobs.put(id, job);
+        jobExecutor.execute(job);
+        return job;
+    }
+
+    /**
+     * Getter function for the jobs of the table
+     * 
+     * @return The jobs, ordered by their number
+     */
+    public synchronized List<Job> getJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    /**
+     * Function that finds a job from its number, which may be prefixed by '%'
+     * 
+     * @param jobSpec The number of the job
+     * @return        The job, or null if there is no such job in the table
+     */
+    public synchronized Job findJob(String jobSpec) {
+        String number = jobSpec.startsWith("%") ? jobSpec.substring(1) : jobSpec;
+        try {
+            return jobs.get(Integer.parseInt(number));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Getter function for the most recently started job of the table
+     * 
+     * @return The job with the highest number, or null if the table is empty
+     */
+    public synchronized Job getCurrentJob() {
+        return jobs.isEmpty() ? null : jobs.lastEntry().getValue();
+    }
+
+    /**
+     * Removes a job from the table
+     * 
+     * @param job The job to remove
+     */
+    public synchronized void remove(Job job) {
+        jobs.remove(job.getId(), job);
+    }
+
+    /**
+     * Waits for every job of the table to finish, removing them from the table
+     * 
+     * @throws JshException Exception thrown if the waiting thread is interrupted
+     */
+    public void awaitAll() throws JshException {
+        for (Job job : getJobs()) {
+            job.await();
+            remove(job);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * JshClient class that sends a command line to a JshServer running on the same machine and copies the output of the command to its
+ * own streams as it arrives. The client neither parses the command line nor loads any Application, so it starts quickly.
+ * The client reads the token of the server from the token file the server wrote, which only the owner of the server can read.
+ */
+public class JshClient {
+    /**
+     * The size of the chunks of standard input sent to the server
+     */
+    private static final int CHUNK_SIZE = 8192;
+    /**
+     * The port of the server
+     */
+    private final int port;
+    /**
+     * The directory holding the token file of the server
+     */
+    private final Path tokenDirectory;
+
+    /**
+     * Constructs a JshClient reading the token of the server from the default token directory
+     *
+     * @param port The port the server listens on
+     */
+    public JshClient(int port) {
+        this(port, ServerProtocol.defaultTokenDirectory());
+    }
+
+    /**
+     * Constructs a JshClient
+     *
+     * @param port           The port the server listens on
+     * @param tokenDirectory The directory holding the token file of the server
+     */
+    public JshClient(int port, Path tokenDirectory) {
+        this.port = port;
+        this.tokenDirectory = tokenDirectory;
+    }
+
+    /**
+     * Runs a command line on the server, forwarding standard input to it on a background thread
+     *
+     * @param cmdline          The command line
+     * @param workingDirectory The working directory the command line runs in
+     * @param inputStream      The standard input forwarded to the command
+     * @param outputStream     The stream receiving the output of the command
+     * @param errorStream      The stream receiving the errors of the command
+     * @return                 The exit status sent by the server
+     * @throws IOException     Exception thrown if the token cannot be read, if the server cannot be reached or if it closes the connection
+     *                         before the end of the response, which it does if the token is wrong
+     */
+    public int execute(String cmdline, String workingDirectory, InputStream inputStream, OutputStream outputStream, OutputStream errorStream)
+            throws IOException {
+        String token;
+        try {
+            token = new String(Files.readAllBytes(ServerProtocol.tokenFile(tokenDirectory, port)), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IOException("cannot read the token of the server on port " + port + ": " + e.getMessage(), e);
+        }
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            DataOutputStream requestStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream responseStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            synchronized (requestStream) {
+                requestStream.writeInt(ServerProtocol.MAGIC);
+                ServerProtocol.writeString(requestStream, token);
+                ServerProtocol.writeString(requestStream, cmdline);
+                ServerProtocol.writeString(requestStream, workingDirectory);
+                requestStream.flush();
+            }
+
+            Thread forwarder = new Thread(() -> forwardStandardInput(inputStream, requestStream), "jsh-client-input");
+            forwarder.setDaemon(true);
+            forwarder.start();
+
+            while (true) {
+                byte type;
+                try {
+                    type = responseStream.readByte();
+                } catch (EOFException e) {
+                    throw new IOException("the server closed the connection", e);
+                }
+                byte[] bytes = ServerProtocol.readBytes(responseStream, responseStream.readInt());
+                if (type == ServerProtocol.STDOUT) {
+                    outputStream.write(bytes);
+                    outputStream.flush();
+                } else if (type == ServerProtocol.STDERR) {
+                    errorStream.write(bytes);
+                    errorStream.flush();
+                } else if (type == ServerProtocol.EXIT) {
+                    return ByteBuffer.wrap(bytes).getInt();
+                } else {
+                    throw new IOException("unexpected frame type: " + type);
+                }
+            }
+        }
+    }
+
+    /**
+     * Utility function that sends the standard input to the server in chunks, followed by an empty chunk once it ends
+     *
+     * @param inputStream   The standard input
+     * @param requestStream The stream of the connection
+     */
+    private void forwardStandardInput(InputStream inputStream, DataOutputStream requestStream) {
+        byte[] chunk = new byte[CHUNK_SIZE];
+        try {
+            int length;
+            while ((length = inputStream.read(chunk)) != -1) {
+                if (length > 0) {
+                    synchronized (requestStream) {
+                        requestStream.writeInt(length);
+                        requestStream.write(chunk, 0, length);
+                        requestStream.flush();
+                    }
+                }
+            }
+            synchronized (requestStream) {
+                requestStream.writeInt(0);
+                requestStream.flush();
+            }
+        } catch (IOException e) {
+            // The server already sent its response and closed the connection
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package uk.ac.ucl.jsh.Utilities;
 
+import java.io.InterruptedIOException;
+import java.nio.channels.ClosedByInterruptException;
+
 /**
  * Custom Exception Class that all Applications throw
  */
@@ -14,4 +17,33 @@ public class JshException extends Exception {
     public JshException(String errorMessage) {
         super(errorMessage);
     }
-}
\ No newline at end of file
+
+    /**
+     * Constructs an instance of a JshException caused by another exception, which is kept so that the shell can tell why it failed
+     * 
+     * @param errorMessage A string representing the error message that the exception will contain
+     * @param cause        The exception that made the Application fail
+     */
+    public JshException(String errorMessage, Throwable cause) {
+        super(errorMessage, cause);
+    }
+
+    /**
+     * Function that checks whether the exception was caused by the interruption of the thread that threw it, as happens when a stage of
+     * a pipeline is cancelled while it waits for a pipe, a file channel or another thread
+     *
+     * @return True if an InterruptedException, an InterruptedIOException or a ClosedByInterruptException caused the exception
+     */
+    public boolean isCausedByInterrupt() {
+        for (Throwable cause = getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException || cause instanceof InterruptedIOException
+                || cause instanceof ClosedByInterruptException) {
+                return true;
+            }
+            if (cause instanceof JshException) {
+                return ((JshException) cause).isCausedByInterrupt();
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,260 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import uk.ac.ucl.jsh.Jsh;
+
+/**
+ * JshServer class that keeps a warm JVM serving the command lines sent by JshClients over a socket bound to the loopback address only.
+ * Every connection carries one request, following the ServerProtocol. The command line runs in the working directory of the client,
+ * reads the standard input forwarded by the client, and its output and errors are streamed back as they are written.
+ * Every request is evaluated in its own ShellSession, so requests are evaluated concurrently without seeing each other's state.
+ * Since any local user can reach the loopback address, the server only serves the requests carrying the random token it writes to a file
+ * that only its owner can read, and deletes the file once it is closed.
+ */
+public class JshServer implements Closeable {
+    /**
+     * The port used when no port is given
+     */
+    public static final int DEFAULT_PORT = 7390;
+    /**
+     * The socket accepting the connections of the clients
+     */
+    private final ServerSocket serverSocket;
+    /**
+     * The file holding the token of the server
+     */
+    private final Path tokenFile;
+    /**
+     * The UTF-8 bytes of the token the requests must carry
+     */
+    private final byte[] token;
+    /**
+     * The executor handling the connections and forwarding the standard input of the clients
+     */
+    private final ExecutorService connectionExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "jsh-server");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs a JshServer listening on a port of the loopback address, writing its token to the default token directory
+     *
+     * @param port         The port to listen on, or 0 for any free port
+     * @throws IOException Exception thrown if the socket cannot be bound or the token cannot be written
+     */
+    public JshServer(int port) throws IOException {
+        this(port, ServerProtocol.defaultTokenDirectory());
+    }
+
+    /**
+     * Constructs a JshServer listening on a port of the loopback address
+     *
+     * @param port           The port to listen on, or 0 for any free port
+     * @param tokenDirectory The directory the token file of the server is written to
+     * @throws IOException   Exception thrown if the socket cannot be bound or the token cannot be written
+     */
+    public JshServer(int port, Path tokenDirectory) throws IOException {
+        serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        StringBuilder hexadecimal = new StringBuilder();
+        for (byte b : secret) {
+            hexadecimal.append(String.format("%02x", b));
+        }
+        token = hexadecimal.toString().getBytes(StandardCharsets.UTF_8);
+        tokenFile = ServerProtocol.tokenFile(tokenDirectory, getPort());
+        try {
+            writeToken();
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Getter function for the port the server listens on
+     *
+     * @return The local port of the server socket
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections until the server is closed, handling each one on its own thread
+     *
+     * @throws IOException Exception thrown if accepting a connection fails while the server is open
+     */
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            connectionExecutor.execute(() -> handle(socket));
+        }
+    }
+
+    @Override
+    /**
+     * Stops accepting connections and deletes the token file. Requests already accepted still run to completion.
+     */
+    public void close() throws IOException {
+        serverSocket.close();
+        connectionExecutor.shutdown();
+        Files.deleteIfExists(tokenFile);
+    }
+
+    /**
+     * Utility function that writes the token to a new token file that only the owner of the server can read and write, in a directory
+     * that only the owner can list, replacing the file left by a server that was stopped before deleting it
+     *
+     * @throws IOException Exception thrown if the token file cannot be written
+     */
+    private void writeToken() throws IOException {
+        Path tokenDirectory = tokenFile.getParent();
+        Files.deleteIfExists(tokenFile);
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            if (!Files.isDirectory(tokenDirectory)) {
+                Files.createDirectories(tokenDirectory, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            }
+            Files.createFile(tokenFile, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createDirectories(tokenDirectory);
+            Files.createFile(tokenFile);
+            tokenFile.toFile().setReadable(false, false);
+            tokenFile.toFile().setReadable(true, true);
+        }
+        Files.write(tokenFile, token);
+    }
+
+    /**
+     * Utility function that reads the token of a request and checks it against the token of the server in constant time
+     *
+     * @param inputStream  The stream of the connection
+     * @return             True if the request carries the token of the server
+     * @throws IOException Exception thrown if the stream cannot be read
+     */
+    private boolean readToken(DataInputStream inputStream) throws IOException {
+        int length = inputStream.readInt();
+        if (length != token.length) {
+            return false;
+        }
+        return MessageDigest.isEqual(token, ServerProtocol.readBytes(inputStream, length));
+    }
+
+    /**
+     * Utility function that serves the request of a connection and closes it
+     *
+     * @param socket The socket of the connection
+     */
+    private void handle(Socket socket) {
+        try (Socket connection = socket) {
+            DataInputStream inputStream = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+            DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+            if (inputStream.readInt() != ServerProtocol.MAGIC || !readToken(inputStream)) {
+                return;
+            }
+            String cmdline = ServerProtocol.readString(inputStream);
+            String workingDirectory = ServerProtocol.readString(inputStream);
+
+            Pipe standardInput = new Pipe();
+            connectionExecutor.execute(() -> forwardStandardInput(inputStream, standardInput));
+            OutputStream standardOutput = new ServerProtocol.FrameOutputStream(outputStream, ServerProtocol.STDOUT);
+            AtomicBoolean failed = new AtomicBoolean();
+            PrintStream standardError = new PrintStream(new FilterOutputStream(new ServerProtocol.FrameOutputStream(outputStream, ServerProtocol.STDERR)) {
+                @Override
+                public void write(int b) throws IOException {
+                    failed.set(true);
+                    out.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    failed.set(true);
+                    out.write(b, off, len);
+                }
+            }, true);
+            try {
+                evaluate(cmdline, workingDirectory, standardInput, standardOutput, standardError);
+            } finally {
+                standardInput.closeReadEnd();
+            }
+
+            int exitStatus = failed.get() ? ServerProtocol.FAILURE_STATUS : 0;
+            byte[] status = ByteBuffer.allocate(Integer.BYTES).putInt(exitStatus).array();
+            ServerProtocol.writeFrame(outputStream, ServerProtocol.EXIT, status, 0, status.length);
+        } catch (IOException e) {
+            // The client went away, there is nobody left to report the failure to
+        }
+    }
+
+    /**
+     * Utility function that evaluates the command line of a request in a new session, waiting for the background jobs it started
+     *
+     * @param cmdline          The command line
+     * @param workingDirectory The working directory of the client
+     * @param standardInput    The Pipe receiving the standard input of the client
+     * @param standardOutput   The stream sending the output to the client
+     * @param standardError    The stream sending the errors to the client
+     */
+    private void evaluate(String cmdline, String workingDirectory, Pipe standardInput, OutputStream standardOutput, PrintStream standardError) {
+        ShellSession session = new ShellSession(workingDirectory, standardError);
+        try {
+            Jsh.eval(cmdline, standardInput.getInputStream(), standardOutput, session);
+            session.getJobTable().awaitAll();
+        } catch (Exception e) {
+            standardError.println("jsh: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Utility function that writes the chunks of standard input sent by the client to a Pipe, until the last chunk or until the
+     * command stops reading
+     *
+     * @param inputStream   The stream of the connection
+     * @param standardInput The Pipe read by the command
+     */
+    private void forwardStandardInput(DataInputStream inputStream, Pipe standardInput) {
+        try {
+            int length;
+            while ((length = inputStream.readInt()) > 0) {
+                standardInput.getOutputStream().write(ServerProtocol.readBytes(inputStream, length));
+            }
+        } catch (IOException e) {
+            // Either the command stopped reading or the connection was closed once the request was served
+        } finally {
+            standardInput.closeWriteEnd();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LineChannel class that implements a bounded single-producer/single-consumer channel of lines.
+ * The producer collects the lines it writes into a batch that is only handed over to the consumer once it is full, or earlier if the
+ * consumer is already waiting for data, so that the lock guarding the channel is taken once per batch rather than once per line.
+ * At most capacity batches are queued, after which the producer blocks until the consumer catches up.
+ */
+public class LineChannel {
+    /**
+     * The default maximum number of lines in a batch
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    /**
+     * The default number of batches that can be queued before the producer blocks
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+    /**
+     * The maximum number of lines in a batch
+     */
+    private final int batchSize;
+    /**
+     * The number of batches that can be queued before the producer blocks
+     */
+    private final int capacity;
+    /**
+     * The batches handed over by the producer and not yet taken by the consumer
+     */
+    private final ArrayDeque<List<CharSequence>> batches;
+    /**
+     * The batch being filled by the producer, only accessed by the producer
+     */
+    private List<CharSequence> pendingBatch;
+    /**
+     * The batch being read by the consumer, only accessed by the consumer
+     */
+    private List<CharSequence> currentBatch;
+    /**
+     * The index of the next line of currentBatch returned to the consumer
+     */
+    private int currentIndex;
+    /**
+     * Flag set while the consumer waits for a batch, telling the producer to hand over its lines without waiting for a full batch
+     */
+    private volatile boolean consumerWaiting;
+    /**
+     * Flag set once the producer closed its end, marking the end of the lines
+     */
+    private boolean closedByWriter;
+    /**
+     * Flag set once the consumer closed its end, after which writes fail
+     */
+    private volatile boolean closedByReader;
+
+    /**
+     * Constructs a LineChannel with the default batch size and capacity
+     */
+    public LineChannel() {
+        this(DEFAULT_BATCH_SIZE, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a LineChannel with the given batch size and capacity
+     *
+     * @param batchSize The maximum number of lines in a batch
+     * @param capacity  The number of batches that can be queued before the producer blocks
+     */
+    public LineChannel(int batchSize, int capacity) {
+        if (batchSize <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("batch size and capacity must be positive");
+        }
+        this.batchSize = batchSize;
+        this.capacity = capacity;
+        this.batches = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Writes a line to the channel, blocking while the channel is full. Must only be called by the producer.
+     * The line is handed over as it is, so it must not be modified afterwards.
+     *
+     * @param line         The line to write, without its line separator
+     * @throws IOException Exception thrown if the consumer closed its end or the producer is interrupted
+     */
+    public void writeLine(CharSequence line) throws IOException {
+        if (closedByReader) {
+            throw new IOException("Pipe closed");
+        }
+        if (pendingBatch == null) {
+            pendingBatch = new ArrayList<>(batchSize);
+        }
+        pendingBatch.add(line);
+        if (pendingBatch.size() >= batchSize || consumerWaiting) {
+            publish();
+        }
+    }
+
+    /**
+     * Hands over the lines written so far to the consumer, even if they do not fill a batch. Must only be called by the producer.
+     *
+     * @throws IOException Exception thrown if the consumer closed its end or the producer is interrupted
+     */
+    public void flush() throws IOException {
+        if (pendingBatch != null && !pendingBatch.isEmpty()) {
+            publish();
+        }
+    }
+
+    /**
+     * Reads the next line from the channel, blocking while it is empty. Must only be called by the consumer.
+     *
+     * @return             The next line, or null if the producer closed its end and all the lines were read
+     * @throws IOException Exception thrown if the consumer closed its end or is interrupted
+     */
+    public CharSequence readLine() throws IOException {
+        if (currentBatch == null || currentIndex == currentBatch.size()) {
+            currentBatch = take();
+            currentIndex = 0;
+            if (currentBatch == null) {
+                return null;
+            }
+        }
+        return currentBatch.get(currentIndex++);
+    }
+
+    /**
+     * Function that checks whether the next line can be read without waiting for the producer. Must only be called by the consumer.
+     *
+     * @return True if a line is ready or the producer closed its end, false if the next read would wait
+     */
+    public boolean isLineReady() {
+        if (currentBatch != null && currentIndex < currentBatch.size()) {
+            return true;
+        }
+        synchronized (this) {
+            return !batches.isEmpty() || closedByWriter;
+        }
+    }
+
+    /**
+     * Closes the producer end, handing over the lines that were not flushed. This never blocks, so the last batch may exceed the capacity.
+     */
+    public synchronized void closeWrite() {
+        if (!closedByReader && pendingBatch != null && !pendingBatch.isEmpty()) {
+            batches.add(pendingBatch);
+        }
+        pendingBatch = null;
+        closedByWriter = true;
+        notifyAll();
+    }
+
+    /**
+     * Closes the consumer end, dropping the queued lines. Blocked and later writes of the producer fail.
+     */
+    public synchronized void closeRead() {
+        closedByReader = true;
+        batches.clear();
+        currentBatch = null;
+        notifyAll();
+    }
+
+    /**
+     * Function that checks whether the consumer closed its end
+     *
+     * @return True if the consumer closed its end, false otherwise
+     */
+    public boolean isClosedByReader() {
+        return closedByReader;
+    }
+
+    /**
+     * Queues the pending batch of the producer, blocking while capacity batches are already queued
+     *
+     * @throws IOException Exception thrown if the consumer closed its end or the producer is interrupted
+     */
+    private synchronized void publish() throws IOException {
+        try {
+            while (batches.size() >= capacity && !closedByReader) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        if (closedByReader) {
+            throw new IOException("Pipe closed");
+        }
+        batches.add(pendingBatch);
+        pendingBatch = null;
+        consumerWaiting = false;
+        notifyAll();
+    }
+
+    /**
+     * Takes the oldest queued batch, blocking until the producer hands over a batch or closes its end
+     *
+     * @return             The oldest queued batch, or null if the producer closed its end and all the batches were taken
+     * @throws IOException Exception thrown if the consumer closed its end or is interrupted
+     */
+    private synchronized List<CharSequence> take() throws IOException {
+        try {
+            while (batches.isEmpty()) {
+                if (closedByReader) {
+                    throw new IOException("Pipe closed");
+                }
+                if (closedByWriter) {
+                    return null;
+                }
+                consumerWaiting = true;
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } finally {
+            consumerWaiting = false;
+        }
+        List<CharSequence> batch = batches.poll();
+        notifyAll();
+        return batch;
+    }
+}
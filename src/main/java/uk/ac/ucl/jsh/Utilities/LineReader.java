@@ -0,0 +1,306 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * LineReader class that is the LineSource of the inputs read as bytes, replacing the Scanner the Applications used to read lines with.
+ * The bytes are read into one large reusable buffer, which is scanned for the '\n' ending every line, the '\r' of a "\r\n" line separator
+ * being dropped. A line is only decoded when it is asked for: readLine returns it as a new String, built by copying its bytes if it is
+ * plain ASCII, while readLineView returns a CharSequence reused by the next read, which lets the Applications that do not keep the lines
+ * read them without allocating. The lines are decoded with the default charset, which must encode the ASCII characters to the single
+ * byte of their code for '\n' to be found in the bytes.
+ */
+public class LineReader implements LineSource {
+    /**
+     * The default number of bytes read from the input at once
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The stream the bytes are read from
+     */
+    private final InputStream inputStream;
+    /**
+     * The charset the lines are decoded with
+     */
+    private final Charset charset;
+    /**
+     * Flag set if the charset encodes the ASCII characters to the single byte of their code, so that ASCII lines can be copied
+     */
+    private final boolean asciiCompatible;
+    /**
+     * The buffer holding the bytes read from the input, which grows if a line does not fit in it
+     */
+    private byte[] buffer;
+    /**
+     * The index of the first byte of the buffer not returned yet
+     */
+    private int position;
+    /**
+     * The index following the last byte read into the buffer
+     */
+    private int limit;
+    /**
+     * Flag set once the end of the input is reached
+     */
+    private boolean endOfInput;
+    /**
+     * The index of the first byte of the current line
+     */
+    private int lineStart;
+    /**
+     * The number of bytes of the current line, without its line separator
+     */
+    private int lineLength;
+    /**
+     * Flag set if the current line only holds ASCII characters
+     */
+    private boolean lineAscii;
+    /**
+     * The view returned for the ASCII lines
+     */
+    private final AsciiLine asciiLine = new AsciiLine();
+    /**
+     * The decoder of the other lines, created on the first line that is not plain ASCII
+     */
+    private CharsetDecoder decoder;
+    /**
+     * The bytes of the buffer given to the decoder, wrapped again when the buffer grows
+     */
+    private ByteBuffer undecoded;
+    /**
+     * The view returned for the decoded lines, which grows with the longest line decoded
+     */
+    private CharBuffer decoded;
+
+    /**
+     * Constructs a LineReader reading from the given stream with the default buffer size
+     *
+     * @param inputStream The stream to read the lines from
+     */
+    public LineReader(InputStream inputStream) {
+        this(inputStream, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a LineReader reading from the given stream with a buffer of the given size
+     *
+     * @param inputStream The stream to read the lines from
+     * @param bufferSize  The number of bytes read from the stream at once
+     */
+    public LineReader(InputStream inputStream, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        this.inputStream = inputStream;
+        this.charset = Charset.defaultCharset();
+        this.asciiCompatible = isAsciiCompatible(charset);
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Function that opens a LineReader reading the given file
+     *
+     * @param file                   The file to read
+     * @return                       The LineReader reading the lines of the file
+     * @throws FileNotFoundException Exception thrown if the file cannot be opened
+     */
+    public static LineReader open(File file) throws FileNotFoundException {
+        return new LineReader(new FileInputStream(file));
+    }
+
+    /**
+     * Function that checks whether a charset encodes the ASCII characters to the single byte of their code, which is what allows the
+     * lines to be found and copied without decoding them
+     *
+     * @param charset The charset to check
+     * @return        True if the charset extends ASCII, false otherwise
+     */
+    public static boolean isAsciiCompatible(Charset charset) {
+        return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+            || charset.equals(StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    /**
+     * Reads the next line of the input as a new String
+     *
+     * @return             The next line without its line separator, or null at the end of the input
+     * @throws IOException Exception thrown if the input cannot be read
+     */
+    public CharSequence readLine() throws IOException {
+        if (!nextLine()) {
+            return null;
+        }
+        if (lineAscii && asciiCompatible) {
+            return new String(buffer, lineStart, lineLength, StandardCharsets.ISO_8859_1);
+        }
+        return new String(buffer, lineStart, lineLength, charset);
+    }
+
+    @Override
+    /**
+     * Reads the next line of the input as a view that is only valid until the next read, an ASCII line being read directly from the buffer
+     * and any other line being decoded to a reused CharBuffer
+     *
+     * @return             The next line without its line separator, or null at the end of the input
+     * @throws IOException Exception thrown if the input cannot be read
+     */
+    public CharSequence readLineView() throws IOException {
+        if (!nextLine()) {
+            return null;
+        }
+        if (lineAscii && asciiCompatible) {
+            return asciiLine;
+        }
+        return decode();
+    }
+
+    @Override
+    /**
+     * Closes the stream the lines are read from
+     */
+    public void close() {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            // Nothing left to do with the stream
+        }
+    }
+
+    /**
+     * Utility function that finds the next line in the buffer, reading from the input until a '\n' or the end of the input is found.
+     * The bytes not returned yet are moved to the start of the buffer before reading, and the buffer grows if they fill it.
+     *
+     * @return             True if a line was found, false at the end of the input
+     * @throws IOException Exception thrown if the input cannot be read
+     */
+    private boolean nextLine() throws IOException {
+        int scan = position;
+        int bits = 0;
+        int end;
+        while (true) {
+            byte[] bytes = buffer;
+            int scanLimit = limit;
+            while (scan < scanLimit && bytes[scan] != '\n') {
+                bits |= bytes[scan++];
+            }
+            if (scan < scanLimit) {
+                end = scan;
+                lineStart = position;
+                position = scan + 1;
+                break;
+            }
+            if (endOfInput) {
+                if (position == limit) {
+                    return false;
+                }
+                end = limit;
+                lineStart = position;
+                position = limit;
+                break;
+            }
+            int scanned = scan - position;
+            fill();
+            scan = position + scanned;
+        }
+
+        if (end > lineStart && buffer[end - 1] == '\r') {
+            --end;
+        }
+        lineLength = end - lineStart;
+        lineAscii = bits >= 0;
+        return true;
+    }
+
+    /**
+     * Utility function that reads more bytes into the buffer, after moving the bytes not returned yet to its start, or after growing it if
+     * they fill it. The end of the input is recorded if the stream has no more bytes.
+     *
+     * @throws IOException Exception thrown if the input cannot be read
+     */
+    private void fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        } else if (limit == buffer.length) {
+            byte[] grown = new byte[buffer.length * 2];
+            System.arraycopy(buffer, 0, grown, 0, limit);
+            buffer = grown;
+            undecoded = null;
+        }
+        int read = inputStream.read(buffer, limit, buffer.length - limit);
+        if (read == -1) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    /**
+     * Utility function that decodes the current line to the reused CharBuffer, replacing the malformed bytes
+     *
+     * @return The CharBuffer holding the decoded line
+     */
+    private CharBuffer decode() {
+        if (decoder == null) {
+            decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        if (undecoded == null) {
+            undecoded = ByteBuffer.wrap(buffer);
+        }
+        int capacity = (int) Math.ceil(lineLength * (double) decoder.maxCharsPerByte());
+        if (decoded == null || decoded.capacity() < capacity) {
+            decoded = CharBuffer.allocate(Math.max(capacity, 256));
+        }
+        undecoded.limit(lineStart + lineLength).position(lineStart);
+        decoded.clear();
+        decoder.reset();
+        decoder.decode(undecoded, decoded, true);
+        decoder.flush(decoded);
+        decoded.flip();
+        return decoded;
+    }
+
+    /**
+     * The view of an ASCII line, reading its characters from the buffer of the LineReader
+     */
+    private class AsciiLine implements CharSequence {
+        @Override
+        public int length() {
+            return lineLength;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= lineLength) {
+                throw new IndexOutOfBoundsException("index " + index + ", length " + lineLength);
+            }
+            return (char) buffer[lineStart + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || start > end || end > lineLength) {
+                throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + lineLength);
+            }
+            return new String(buffer, lineStart + start, end - start, StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buffer, lineStart, lineLength, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
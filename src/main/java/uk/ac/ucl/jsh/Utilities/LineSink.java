@@ -0,0 +1,57 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * LineSink interface implemented by the line-oriented outputs of the Applications.
+ * When an Application writes to a Pipe, the lines are handed over to the reading stage in batches and only encoded to bytes if the
+ * reading stage asks for bytes. Any other output is encoded through a ShellOutput, which buffers the lines and only writes them according
+ * to its FlushPolicy, so the lines written are only guaranteed to reach the output once the sink is flushed.
+ */
+public interface LineSink extends Flushable {
+    /**
+     * Writes a line to the output, followed by a line separator. The line must not be modified after it was written.
+     *
+     * @param line         The line to write, without its line separator
+     * @throws IOException Exception thrown if the line cannot be written
+     */
+    void writeLine(CharSequence line) throws IOException;
+
+    /**
+     * Makes the lines written so far available to the reader of the output
+     *
+     * @throws IOException Exception thrown if the lines cannot be written
+     */
+    @Override
+    void flush() throws IOException;
+
+    /**
+     * Function that returns the LineSink writing to the given stream, handing the lines over directly if the stream is the output of a Pipe
+     * and sharing the buffer of the stream if it is a ShellOutput
+     *
+     * @param outputStream The stream to write the lines to
+     * @return             The LineSink writing to outputStream
+     */
+    static LineSink of(OutputStream outputStream) {
+        if (outputStream instanceof Pipe.PipeOutputStream) {
+            return ((Pipe.PipeOutputStream) outputStream).getLineSink();
+        }
+        if (outputStream instanceof ShellOutput) {
+            return (ShellOutput) outputStream;
+        }
+        return encoding(outputStream);
+    }
+
+    /**
+     * Function that returns the LineSink encoding the lines to bytes with the default charset, only writing them to the stream once its
+     * buffer is full or once it is flushed
+     *
+     * @param outputStream The stream to write the encoded lines to
+     * @return             The LineSink writing to outputStream
+     */
+    static LineSink encoding(OutputStream outputStream) {
+        return new ShellOutput(outputStream, ShellOutput.FlushPolicy.THRESHOLD, ShellOutput.SINK_CAPACITY);
+    }
+}
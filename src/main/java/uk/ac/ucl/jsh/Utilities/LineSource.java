@@ -0,0 +1,77 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Scanner;
+
+/**
+ * LineSource interface implemented by the line-oriented inputs of the Applications.
+ * When an Application reads from a Pipe whose writer produces lines, the lines are taken from the Pipe as they were written,
+ * without being encoded to bytes and decoded again. Any other input is read by a LineReader, which splits the lines in the bytes read and
+ * only decodes them when they are asked for.
+ */
+public interface LineSource extends Closeable {
+    /**
+     * Reads the next line of the input
+     *
+     * @return             The next line without its line separator, or null at the end of the input
+     * @throws IOException Exception thrown if the input cannot be read
+     */
+    CharSequence readLine() throws IOException;
+
+    /**
+     * Reads the next line of the input as a view that may be reused by the next read, for the Applications that do not keep the line.
+     * The view must be copied to be kept after the next read.
+     *
+     * @return             The next line without its line separator, or null at the end of the input
+     * @throws IOException Exception thrown if the input cannot be read
+     */
+    default CharSequence readLineView() throws IOException {
+        return readLine();
+    }
+
+    /**
+     * Closes the input
+     */
+    @Override
+    void close();
+
+    /**
+     * Function that returns the LineSource reading from the given stream, taking the lines directly from it if the stream is the input of a Pipe
+     *
+     * @param inputStream The stream to read the lines from
+     * @return            The LineSource reading from inputStream
+     */
+    static LineSource of(InputStream inputStream) {
+        if (inputStream instanceof Pipe.PipeInputStream) {
+            return ((Pipe.PipeInputStream) inputStream).getLineSource();
+        }
+        if (!LineReader.isAsciiCompatible(Charset.defaultCharset())) {
+            return of(new Scanner(inputStream));
+        }
+        return new LineReader(inputStream);
+    }
+
+    /**
+     * Function that returns the LineSource reading the lines of a Scanner, which is only used to read the inputs whose charset the
+     * LineReader cannot split into lines
+     *
+     * @param scanner The Scanner to read the lines from
+     * @return        The LineSource reading from scanner
+     */
+    static LineSource of(Scanner scanner) {
+        return new LineSource() {
+            @Override
+            public CharSequence readLine() {
+                return scanner.hasNextLine() ? scanner.nextLine() : null;
+            }
+
+            @Override
+            public void close() {
+                scanner.close();
+            }
+        };
+    }
+}
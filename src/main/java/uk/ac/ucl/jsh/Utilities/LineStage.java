@@ -0,0 +1,61 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * LineStage class representing the work done on each line by a line-oriented Application, once its arguments are resolved.
+ * A chain of LineStages can run on a single thread, each stage handing the lines it produces directly to the next one,
+ * which is how the FusionVisitor runs pipelines made only of line-oriented Applications.
+ * A LineStage does not hold any state that changes while it runs, so it can be run any number of times.
+ */
+public abstract class LineStage {
+    /**
+     * The name of the Application, used as prefix of the error messages
+     */
+    private final String name;
+    /**
+     * The files read by the stage, empty if the stage reads its input stream
+     */
+    private final List<String> files;
+
+    /**
+     * Constructs a LineStage
+     *
+     * @param name  The name of the Application, used as prefix of the error messages
+     * @param files The files read by the stage, empty if the stage reads its input stream
+     */
+    protected LineStage(String name, List<String> files) {
+        this.name = name;
+        this.files = files;
+    }
+
+    /**
+     * Getter function for the name of the Application
+     *
+     * @return The name of the Application
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getter function for the files read by the stage
+     *
+     * @return The files read by the stage, empty if the stage reads its input stream
+     */
+    public List<String> getFiles() {
+        return files;
+    }
+
+    /**
+     * Function that processes one line of the input of the stage, writing the lines it produces to the next stage
+     *
+     * @param line         The line to process
+     * @param index        The number of lines processed by the stage before this one during the current run
+     * @param next         The sink receiving the lines produced by the stage
+     * @return             True if the stage accepts more lines, false if it is done
+     * @throws IOException Exception thrown if the next stage fails to receive a line
+     */
+    public abstract boolean apply(CharSequence line, long index, LineSink next) throws IOException;
+}
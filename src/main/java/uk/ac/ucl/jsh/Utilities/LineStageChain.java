@@ -0,0 +1,119 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * LineStageChain class that runs a list of LineStages on the current thread. Every line written to the chain goes through
+ * each stage in order before reaching the sink of the chain, without any buffering between the stages.
+ */
+public class LineStageChain implements LineSink {
+    /**
+     * The sink receiving the lines produced by the last stage
+     */
+    private final LineSink sink;
+    /**
+     * The links running each stage, in the order of the stages
+     */
+    private final Link[] links;
+
+    /**
+     * Constructs a LineStageChain
+     *
+     * @param stages The stages of the chain, in the order in which the lines go through them
+     * @param sink   The sink receiving the lines produced by the last stage
+     */
+    public LineStageChain(List<LineStage> stages, LineSink sink) {
+        this.sink = sink;
+        this.links = new Link[stages.size()];
+        LineSink next = sink;
+        for (int i = stages.size() - 1; i >= 0; --i) {
+            links[i] = new Link(stages.get(i), next);
+            next = links[i];
+        }
+    }
+
+    @Override
+    /**
+     * Writes a line to the first stage of the chain
+     *
+     * @param line         The line to write
+     * @throws IOException Exception thrown if the sink of the chain fails to receive a line
+     */
+    public void writeLine(CharSequence line) throws IOException {
+        if (links.length == 0) {
+            sink.writeLine(line);
+        } else {
+            links[0].writeLine(line);
+        }
+    }
+
+    @Override
+    /**
+     * Flushes the sink of the chain
+     *
+     * @throws IOException Exception thrown if the sink of the chain fails to flush
+     */
+    public void flush() throws IOException {
+        sink.flush();
+    }
+
+    /**
+     * Function that checks whether writing more lines to the chain can still produce output. This is not the case once any stage is done.
+     *
+     * @return True if every stage accepts more lines, false otherwise
+     */
+    public boolean isOpen() {
+        for (Link link : links) {
+            if (!link.open) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The sink that feeds the lines to one stage, counting them and dropping them once the stage is done
+     */
+    private static class Link implements LineSink {
+        /**
+         * The stage run by the link
+         */
+        private final LineStage stage;
+        /**
+         * The sink receiving the lines produced by the stage
+         */
+        private final LineSink next;
+        /**
+         * The number of lines processed by the stage
+         */
+        private long count;
+        /**
+         * Flag cleared once the stage is done
+         */
+        private boolean open = true;
+
+        /**
+         * Constructs a Link
+         *
+         * @param stage The stage run by the link
+         * @param next  The sink receiving the lines produced by the stage
+         */
+        Link(LineStage stage, LineSink next) {
+            this.stage = stage;
+            this.next = next;
+        }
+
+        @Override
+        public void writeLine(CharSequence line) throws IOException {
+            if (open) {
+                open = stage.apply(line, count++, next);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            next.flush();
+        }
+    }
+}
@@ -0,0 +1,529 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+
+import uk.ac.ucl.jsh.Jsh;
+
+/**
+ * Pipe class that connects two concurrently running stages of a pipeline through a bounded in-memory buffer.
+ * The left stage writes to the output end of the Pipe while the right stage reads from its input end.
+ * The first write of the left stage decides how the data is transported. Bytes are transported through a ByteRingBuffer, while lines
+ * written through a LineSink are transported in batches through a LineChannel, so that two line-oriented Applications never encode
+ * and decode the lines they exchange. Either way, the memory used by a Pipe does not depend on the amount of data flowing through it,
+ * and each end converts the data if the two stages do not use the same representation.
+ * The output of the reading stage can be registered with the Pipe, which flushes it every time the reading stage is about to wait for
+ * data, so that what a stage writes while it follows a slow input reaches its destination without waiting for the end of the command.
+ */
+public class Pipe {
+    /**
+     * The default number of bytes that can be buffered by the Pipe before the writing stage blocks
+     */
+    public static final int DEFAULT_CAPACITY = 64 * 1024;
+
+    /**
+     * The representations of the data transported by a Pipe
+     */
+    private enum Mode {
+        BYTES,
+        LINES
+    }
+
+    /**
+     * The ring buffer transporting the bytes from the writing stage to the reading stage
+     */
+    private final ByteRingBuffer ringBuffer;
+    /**
+     * The channel transporting the lines from the writing stage to the reading stage
+     */
+    private final LineChannel lineChannel;
+    /**
+     * The end of the Pipe that the right stage of the pipeline reads from
+     */
+    private final PipeInputStream inputStream;
+    /**
+     * The end of the Pipe that the left stage of the pipeline writes to
+     */
+    private final PipeOutputStream outputStream;
+    /**
+     * The representation chosen by the writing stage, or null if it has not written anything yet
+     */
+    private volatile Mode mode;
+    /**
+     * Latch released once the representation of the data is decided
+     */
+    private final CountDownLatch modeDecided = new CountDownLatch(1);
+    /**
+     * Flag set if the writing stage tried to write after the reading stage closed its end of the Pipe
+     */
+    private volatile boolean broken;
+    /**
+     * Flag set once the reading stage reached the end of the data written to the Pipe
+     */
+    private volatile boolean readToEnd;
+    /**
+     * The output of the reading stage, flushed before the reading stage waits for data, or null if there is none
+     */
+    private volatile Flushable readerOutput;
+
+    /**
+     * Constructs a Pipe with the default capacity
+     */
+    public Pipe() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a Pipe that buffers at most capacity bytes
+     *
+     * @param capacity The number of bytes that can be buffered before the writing stage blocks
+     */
+    public Pipe(int capacity) {
+        ringBuffer = new ByteRingBuffer(capacity);
+        lineChannel = new LineChannel();
+        inputStream = new PipeInputStream();
+        outputStream = new PipeOutputStream();
+    }
+
+    /**
+     * Getter function for the end of the Pipe that the right stage reads from
+     *
+     * @return The input stream of the Pipe
+     */
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    /**
+     * Getter function for the end of the Pipe that the left stage writes to
+     *
+     * @return The output stream of the Pipe
+     */
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    /**
+     * Closes the writing end of the Pipe, signalling the end of the input to the reading stage
+     */
+    public void closeWriteEnd() {
+        outputStream.flushPartialLine();
+        outputStream.getLineSink().flushEncodedLines();
+        decideMode(Mode.BYTES);
+        ringBuffer.closeWrite();
+        lineChannel.closeWrite();
+    }
+
+    /**
+     * Closes the reading end of the Pipe. Any later write done by the writing stage fails, which makes it stop early.
+     */
+    public void closeReadEnd() {
+        ringBuffer.closeRead();
+        lineChannel.closeRead();
+    }
+
+    /**
+     * Function that checks whether the writing stage failed because the reading stage had already closed its end of the Pipe
+     *
+     * @return True if a write was attempted after the reading end was closed, false otherwise
+     */
+    public boolean isBroken() {
+        return broken;
+    }
+
+    /**
+     * Function that checks whether a stream is the reading end of a Pipe
+     *
+     * @param inputStream The stream to check
+     * @return            True if the stream is the input stream of a Pipe, false otherwise
+     */
+    static boolean isReadEnd(InputStream inputStream) {
+        return inputStream instanceof PipeInputStream;
+    }
+
+    /**
+     * Function that registers the output of the stage reading from a Pipe, which the Pipe flushes every time that stage is about to wait
+     * for data. Nothing is registered if the stream is not the reading end of a Pipe.
+     *
+     * @param inputStream The stream the stage reads from
+     * @param output      The output of the stage
+     */
+    static void flushBeforeWaiting(InputStream inputStream, Flushable output) {
+        if (inputStream instanceof PipeInputStream) {
+            ((PipeInputStream) inputStream).getPipe().readerOutput = output;
+        }
+    }
+
+    /**
+     * Function that checks whether the reading stage read all the data written to the Pipe, in which case the writing stage has
+     * already closed its end and does not need to be cancelled
+     *
+     * @return True if a read of the reading stage reached the end of the data, false otherwise
+     */
+    public boolean isReadToEnd() {
+        return readToEnd;
+    }
+
+    /**
+     * Utility function that records whether a read reached the end of the data
+     *
+     * @param line The line read, or null at the end of the data
+     * @return     The same line
+     */
+    private CharSequence recordEnd(CharSequence line) {
+        if (line == null) {
+            readToEnd = true;
+        }
+        return line;
+    }
+
+    /**
+     * Utility function that flushes the output of the reading stage if the next read would wait for data
+     *
+     * @param dataReady    True if the next read returns without waiting
+     * @throws IOException Exception thrown if the output cannot be flushed
+     */
+    private void flushReaderOutput(boolean dataReady) throws IOException {
+        Flushable output = readerOutput;
+        if (output != null && !dataReady) {
+            output.flush();
+        }
+    }
+
+    /**
+     * Utility function that sets the representation of the data if it was not decided yet. Only called by the writing stage.
+     *
+     * @param chosenMode The representation used by the first write
+     */
+    private void decideMode(Mode chosenMode) {
+        if (mode == null) {
+            mode = chosenMode;
+            modeDecided.countDown();
+        }
+    }
+
+    /**
+     * Utility function that waits until the writing stage decides the representation of the data. Once it is decided, it is returned
+     * without going through the latch, which every read of the reading stage would otherwise pay for.
+     *
+     * @return             The representation of the data
+     * @throws IOException Exception thrown if the reading stage is interrupted while waiting
+     */
+    private Mode awaitMode() throws IOException {
+        Mode decidedMode = mode;
+        if (decidedMode != null) {
+            return decidedMode;
+        }
+        try {
+            modeDecided.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        return mode;
+    }
+
+    /**
+     * Utility function that records a failed write and rethrows its exception
+     *
+     * @param e            The exception thrown by the write
+     * @throws IOException The same exception
+     */
+    private void writeFailed(IOException e) throws IOException {
+        broken = ringBuffer.isClosedByReader() || lineChannel.isClosedByReader();
+        throw e;
+    }
+
+    /**
+     * The input end of the Pipe, which encodes the lines written by the writing stage if it wrote lines
+     */
+    class PipeInputStream extends InputStream {
+        /**
+         * The LineSource reading from the Pipe
+         */
+        private final PipeLineSource lineSource = new PipeLineSource();
+        /**
+         * The encoded line currently read
+         */
+        private byte[] encodedLine;
+        /**
+         * The index of the next byte of encodedLine to read
+         */
+        private int encodedIndex;
+
+        /**
+         * Getter function for the LineSource reading from the Pipe
+         *
+         * @return The LineSource reading from the Pipe
+         */
+        LineSource getLineSource() {
+            return lineSource;
+        }
+
+        /**
+         * Getter function for the Pipe this stream reads from
+         *
+         * @return The Pipe of the stream
+         */
+        Pipe getPipe() {
+            return Pipe.this;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (awaitMode() == Mode.BYTES) {
+                flushReaderOutput(ringBuffer.available() > 0);
+                int read = ringBuffer.read(b, off, len);
+                if (read == -1) {
+                    readToEnd = true;
+                }
+                return read;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            while (encodedLine == null || encodedIndex == encodedLine.length) {
+                flushReaderOutput(lineChannel.isLineReady());
+                CharSequence line = recordEnd(lineChannel.readLine());
+                if (line == null) {
+                    return -1;
+                }
+                encodedLine = (line + Jsh.lineSeparator).getBytes();
+                encodedIndex = 0;
+            }
+            int chunk = Math.min(len, encodedLine.length - encodedIndex);
+            System.arraycopy(encodedLine, encodedIndex, b, off, chunk);
+            encodedIndex += chunk;
+            return chunk;
+        }
+
+        @Override
+        public int available() {
+            return mode == Mode.BYTES ? ringBuffer.available() : 0;
+        }
+
+        @Override
+        public void close() {
+            closeReadEnd();
+        }
+    }
+
+    /**
+     * The LineSource reading from the Pipe, which decodes the bytes written by the writing stage if it wrote bytes
+     */
+    private class PipeLineSource implements LineSource {
+        /**
+         * The LineReader splitting the bytes of the ring buffer into lines, created on the first read if the writing stage wrote bytes
+         */
+        private LineReader reader;
+
+        @Override
+        public CharSequence readLine() throws IOException {
+            if (awaitMode() == Mode.LINES) {
+                flushReaderOutput(lineChannel.isLineReady());
+                return recordEnd(lineChannel.readLine());
+            }
+            return recordEnd(bytesReader().readLine());
+        }
+
+        @Override
+        public CharSequence readLineView() throws IOException {
+            if (awaitMode() == Mode.LINES) {
+                flushReaderOutput(lineChannel.isLineReady());
+                return recordEnd(lineChannel.readLine());
+            }
+            return recordEnd(bytesReader().readLineView());
+        }
+
+        /**
+         * Utility function that returns the LineReader of the bytes of the ring buffer, creating it on the first call. It reads through the
+         * input stream of the Pipe, which flushes the output of the reading stage before waiting.
+         *
+         * @return The LineReader reading from the ring buffer
+         */
+        private LineReader bytesReader() {
+            if (reader == null) {
+                reader = new LineReader(inputStream, DEFAULT_CAPACITY);
+            }
+            return reader;
+        }
+
+        @Override
+        public void close() {
+            closeReadEnd();
+        }
+    }
+
+    /**
+     * The output end of the Pipe, which records writes that fail because the reading end was closed and splits the bytes
+     * written into lines if the writing stage already wrote lines
+     */
+    class PipeOutputStream extends OutputStream {
+        /**
+         * The LineSink writing to the Pipe
+         */
+        private final PipeLineSink lineSink = new PipeLineSink();
+        /**
+         * The bytes of the line being written, if bytes are written after lines
+         */
+        private ByteArrayOutputStream partialLine;
+
+        /**
+         * Getter function for the LineSink writing to the Pipe
+         *
+         * @return The LineSink writing to the Pipe
+         */
+        PipeLineSink getLineSink() {
+            return lineSink;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            decideMode(Mode.BYTES);
+            try {
+                if (mode == Mode.BYTES) {
+                    lineSink.drainEncodedLines();
+                    ringBuffer.write(b, off, len);
+                } else {
+                    splitLines(b, off, len);
+                }
+            } catch (IOException e) {
+                writeFailed(e);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (mode == Mode.LINES) {
+                lineSink.flush();
+            } else {
+                ringBuffer.flush();
+            }
+        }
+
+        @Override
+        public void close() {
+            closeWriteEnd();
+        }
+
+        /**
+         * Utility function that splits bytes written after lines into lines, keeping the last unterminated line until it is completed
+         *
+         * @param b            The array holding the bytes
+         * @param off          The index of the first byte
+         * @param len          The number of bytes
+         * @throws IOException Exception thrown if a line cannot be written to the channel
+         */
+        private void splitLines(byte[] b, int off, int len) throws IOException {
+            if (partialLine == null) {
+                partialLine = new ByteArrayOutputStream();
+            }
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    String line = partialLine.toString();
+                    partialLine.reset();
+                    lineChannel.writeLine(line.endsWith("\r") ? line.substring(0, line.length() - 1) : line);
+                } else {
+                    partialLine.write(b[i]);
+                }
+            }
+        }
+
+        /**
+         * Utility function that hands over the last unterminated line written as bytes, if there is one. A failure is ignored, since it
+         * means that the reading stage is no longer reading.
+         */
+        void flushPartialLine() {
+            if (partialLine != null && partialLine.size() > 0) {
+                try {
+                    lineChannel.writeLine(partialLine.toString());
+                } catch (IOException e) {
+                    broken = lineChannel.isClosedByReader();
+                }
+                partialLine.reset();
+            }
+        }
+    }
+
+    /**
+     * The LineSink writing to the Pipe, which encodes the lines if the writing stage already wrote bytes
+     */
+    class PipeLineSink implements LineSink {
+        /**
+         * The LineSink encoding the lines to the ring buffer, created on the first write if the writing stage already wrote bytes.
+         * It buffers the encoded lines, which are written to the ring buffer when it is flushed or before any byte written after them.
+         */
+        private LineSink encodingSink;
+
+        @Override
+        public void writeLine(CharSequence line) throws IOException {
+            decideMode(Mode.LINES);
+            try {
+                if (mode == Mode.LINES) {
+                    lineChannel.writeLine(line);
+                } else {
+                    if (encodingSink == null) {
+                        encodingSink = LineSink.encoding(ringBuffer.getOutputStream());
+                    }
+                    encodingSink.writeLine(line);
+                }
+            } catch (IOException e) {
+                writeFailed(e);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                if (mode == Mode.LINES) {
+                    lineChannel.flush();
+                } else {
+                    drainEncodedLines();
+                    ringBuffer.flush();
+                }
+            } catch (IOException e) {
+                writeFailed(e);
+            }
+        }
+
+        /**
+         * Utility function that writes the lines encoded so far to the ring buffer, so that the bytes written after them are not read
+         * before them
+         *
+         * @throws IOException Exception thrown if the lines cannot be written to the ring buffer
+         */
+        void drainEncodedLines() throws IOException {
+            if (encodingSink != null) {
+                encodingSink.flush();
+            }
+        }
+
+        /**
+         * Utility function that hands over the lines encoded but not yet written to the ring buffer, if there are some. A failure is
+         * ignored, since it means that the reading stage is no longer reading.
+         */
+        void flushEncodedLines() {
+            try {
+                drainEncodedLines();
+            } catch (IOException e) {
+                broken = ringBuffer.isClosedByReader();
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.InputStream;
+
+import uk.ac.ucl.jsh.Parser.Node;
+
+/**
+ * PipelineStage class that runs the left child of a pipe on its own thread, writing to a Pipe.
+ * A stage can be cancelled once the stage reading from its Pipe stops before the end of its input, which interrupts the thread running
+ * it so that every Application upstream stops reading and writing, the same way SIGPIPE stops the processes of a shell pipeline.
+ * A stage is always run, even if it is cancelled before it starts, since it may have side effects such as a redirection. It is then
+ * not interrupted: its writes to the Pipe fail instead, the same way a process only gets SIGPIPE once it writes to a closed pipe.
+ */
+public class PipelineStage implements Runnable {
+    /**
+     * The Node evaluated by this stage
+     */
+    private final Node node;
+    /**
+     * The visitor used to evaluate the Node
+     */
+    private final TreeVisitor<Void> visitor;
+    /**
+     * The stream that the stage uses as input if there is no input redirection
+     */
+    private final InputStream inputStream;
+    /**
+     * The Pipe that the stage writes to
+     */
+    private final Pipe pipe;
+    /**
+     * The thread currently running the stage, or null if the stage is not running
+     */
+    private Thread runner;
+    /**
+     * Flag set once the stage was cancelled
+     */
+    private boolean cancelled;
+    /**
+     * Flag set once the stage finished running
+     */
+    private boolean finished;
+    /**
+     * The exception thrown while evaluating the Node, or null if there was none
+     */
+    private JshException exception;
+
+    /**
+     * Constructs a PipelineStage that evaluates a Node, writing its output to a Pipe
+     *
+     * @param node        The Node evaluated by the stage
+     * @param visitor     The visitor used to evaluate the Node
+     * @param inputStream The stream that the stage uses as input if there is no input redirection
+     * @param pipe        The Pipe that the stage writes to
+     */
+    public PipelineStage(Node node, TreeVisitor<Void> visitor, InputStream inputStream, Pipe pipe) {
+        this.node = node;
+        this.visitor = visitor;
+        this.inputStream = inputStream;
+        this.pipe = pipe;
+    }
+
+    @Override
+    /**
+     * Evaluates the Node of the stage, closing the write end of the Pipe once it is done
+     */
+    public void run() {
+        synchronized (this) {
+            runner = Thread.currentThread();
+        }
+
+        try {
+            node.accept(visitor, inputStream, pipe.getOutputStream());
+        } catch (JshException e) {
+            fail(e);
+        } catch (RuntimeException e) {
+            fail(new JshException(String.valueOf(e.getMessage()), e));
+        } finally {
+            pipe.closeWriteEnd();
+            synchronized (this) {
+                runner = null;
+                // Clear an interrupt caused by cancel, so it does not leak into the next task run by this thread
+                Thread.interrupted();
+                finish();
+            }
+        }
+    }
+
+    /**
+     * Utility function that records the exception thrown by the stage, whether or not the stage was cancelled, since only the visitor
+     * knows whether the failure was caused by the closed Pipe
+     *
+     * @param e The exception thrown while evaluating the Node
+     */
+    private synchronized void fail(JshException e) {
+        exception = e;
+    }
+
+    /**
+     * Utility function that marks the stage as finished and wakes up the threads waiting for it
+     */
+    private synchronized void finish() {
+        finished = true;
+        notifyAll();
+    }
+
+    /**
+     * Cancels the stage if it is still running, interrupting the thread that runs it. A stage that has not started yet is not
+     * interrupted, so it still runs until its first write to the closed Pipe.
+     *
+     * @return True if the stage was still running or waiting to run and got cancelled, false if it had already finished
+     */
+    public synchronized boolean cancel() {
+        if (finished) {
+            return false;
+        }
+        cancelled = true;
+        if (runner != null) {
+            runner.interrupt();
+        }
+        return true;
+    }
+
+    /**
+     * Function that checks whether an exception thrown by the stage is only the consequence of its cancellation, which is the case if
+     * the stage was cancelled and the exception was caused by the interrupt
+     *
+     * @param e The exception thrown by the stage
+     * @return  True if the exception was caused by the cancellation of the stage, false otherwise
+     */
+    public synchronized boolean isCausedByCancel(JshException e) {
+        return cancelled && e.isCausedByInterrupt();
+    }
+
+    /**
+     * Waits for the stage to finish. The wait is not interruptible, so that a cancelled consumer still waits for its producers to stop
+     *
+     * @return The exception thrown by the stage, or null if there was none
+     */
+    public synchronized JshException await() {
+        boolean interrupted = false;
+        while (!finished) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return exception;
+    }
+}
@@ -0,0 +1,169 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+
+/**
+ * RedirectedFileOutputStream class that writes the output of a redirected call command to a file.
+ * The bytes are gathered in a large buffer and only written to the file when the buffer is full, when the stream is flushed or when it
+ * is closed. Writes larger than the buffer go straight to the file. The Applications only flush their output once per command, or when
+ * they wait for more input, as tail -f does, so a flush costs one write system call at most.
+ * The bytes are written through the FileOutputStream of the file, whose writes are not interrupted, so that the output of a pipeline
+ * stage cancelled by an interrupt still reaches its file. The FileChannel of the file is only used to transfer the bytes of another
+ * file to it without going through the buffer, as a TransferTarget.
+ */
+public final class RedirectedFileOutputStream extends OutputStream implements TransferTarget {
+    /**
+     * The default number of bytes buffered before they are written to the file
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * The stream writing to the file
+     */
+    private final FileOutputStream fileStream;
+    /**
+     * The buffer holding the bytes not written to the file yet
+     */
+    private final byte[] buffer;
+    /**
+     * The number of bytes held by the buffer
+     */
+    private int count;
+    /**
+     * Flag set once the stream is closed
+     */
+    private boolean closed;
+
+    /**
+     * Constructs a RedirectedFileOutputStream writing to the given stream
+     *
+     * @param fileStream The stream writing to the file
+     * @param bufferSize The number of bytes buffered before they are written to the file
+     */
+    private RedirectedFileOutputStream(FileOutputStream fileStream, int bufferSize) {
+        this.fileStream = fileStream;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Function that opens a file for output redirection, creating it if it does not exist
+     *
+     * @param file          The file to write to
+     * @param append        True to append to the end of the file, false to truncate it first
+     * @return              The stream writing to the file
+     * @throws JshException Exception thrown if the file cannot be opened for writing
+     */
+    public static RedirectedFileOutputStream open(File file, boolean append) throws JshException {
+        try {
+            return new RedirectedFileOutputStream(new FileOutputStream(file, append), DEFAULT_BUFFER_SIZE);
+        } catch (FileNotFoundException e) {
+            throw new JshException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (count == buffer.length) {
+            drain();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (len > buffer.length - count) {
+            drain();
+            if (len >= buffer.length) {
+                fileStream.write(b, off, len);
+                return;
+            }
+        }
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    @Override
+    /**
+     * Writes the buffered bytes, then lets the channel of the file pull the bytes of the source file. The interrupt status of the thread
+     * is cleared during the transfer and restored afterwards, since an interrupted channel closes the file. If an interrupt still arrives
+     * during the transfer, the stream is closed with the file, so closing it later does not fail.
+     *
+     * @param source       The channel reading the file
+     * @param position     The offset in the file of the first byte to transfer
+     * @param count        The maximum number of bytes to transfer
+     * @return             The number of bytes transferred, which may be less than count
+     * @throws IOException Exception thrown if the bytes cannot be transferred
+     */
+    public long transferFrom(FileChannel source, long position, long count) throws IOException {
+        ensureOpen();
+        drain();
+        boolean interrupted = Thread.interrupted();
+        try {
+            return source.transferTo(position, count, fileStream.getChannel());
+        } catch (ClosedByInterruptException e) {
+            closed = true;
+            throw e;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    /**
+     * Writes the buffered bytes to the file
+     */
+    public void flush() throws IOException {
+        ensureOpen();
+        drain();
+    }
+
+    @Override
+    /**
+     * Writes the buffered bytes to the file and closes it. The file is closed even if the last write fails.
+     */
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            drain();
+        } finally {
+            fileStream.close();
+        }
+    }
+
+    /**
+     * Utility function that writes the buffered bytes to the file and empties the buffer
+     *
+     * @throws IOException Exception thrown if the bytes cannot be written
+     */
+    private void drain() throws IOException {
+        if (count > 0) {
+            int length = count;
+            count = 0;
+            fileStream.write(buffer, 0, length);
+        }
+    }
+
+    /**
+     * Utility function that checks that the stream was not closed
+     *
+     * @throws IOException Exception thrown if the stream is closed
+     */
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream Closed");
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import uk.ac.ucl.jsh.Jsh;
+import uk.ac.ucl.jsh.Parser.Node;
+import uk.ac.ucl.jsh.Parser.Parser;
+
+/**
+ * ScriptRunner class that runs the command lines of a script, one per line, without any of the prompting of the interactive mode.
+ * The lines are read and parsed on a background thread, which stays up to PARSE_AHEAD command lines ahead of the command line being run,
+ * so the parse of the next command line overlaps with the run of the current one. Parsing never depends on the commands run before,
+ * since command substitutions and redirections are only resolved when a command runs.
+ * Blank lines are skipped, as is a first line starting with "#!", so that a script can be made executable.
+ */
+public class ScriptRunner {
+    /**
+     * The maximum number of command lines parsed ahead of the command line being run
+     */
+    public static final int PARSE_AHEAD = 64;
+
+    /**
+     * A command line of the script along with the result of its parse
+     */
+    private static final class ParsedLine {
+        /**
+         * The marker queued once all the lines of the script were parsed
+         */
+        private static final ParsedLine END = new ParsedLine(null, null);
+        /**
+         * The Parse tree of the line, or null if it could not be parsed
+         */
+        private final Node cmdTree;
+        /**
+         * The exception thrown while reading or parsing the line, or null if there was none
+         */
+        private final Exception exception;
+
+        /**
+         * Constructs a ParsedLine
+         *
+         * @param cmdTree   The Parse tree of the line
+         * @param exception The exception thrown while reading or parsing the line
+         */
+        private ParsedLine(Node cmdTree, Exception exception) {
+            this.cmdTree = cmdTree;
+            this.exception = exception;
+        }
+    }
+
+    /**
+     * The reader of the lines of the script
+     */
+    private final BufferedReader reader;
+    /**
+     * The stream that the commands of the script write to if there is no output redirection
+     */
+    private final OutputStream outputStream;
+    /**
+     * The session the command lines of the script run in
+     */
+    private final ShellSession session;
+    /**
+     * The command lines parsed but not yet run
+     */
+    private final BlockingQueue<ParsedLine> parsedLines = new ArrayBlockingQueue<>(PARSE_AHEAD);
+
+    /**
+     * Constructs a ScriptRunner running the script in the default ShellSession
+     *
+     * @param reader       The reader of the lines of the script
+     * @param outputStream The stream that the commands of the script write to if there is no output redirection
+     */
+    public ScriptRunner(BufferedReader reader, OutputStream outputStream) {
+        this(reader, outputStream, ShellSession.getDefault());
+    }
+
+    /**
+     * Constructs a ScriptRunner running the script in a session
+     *
+     * @param reader       The reader of the lines of the script
+     * @param outputStream The stream that the commands of the script write to if there is no output redirection
+     * @param session      The session the command lines of the script run in
+     */
+    public ScriptRunner(BufferedReader reader, OutputStream outputStream, ShellSession session) {
+        this.reader = reader;
+        this.outputStream = outputStream;
+        this.session = session;
+    }
+
+    /**
+     * Runs every command line of the script in order. A command line that fails to parse or run is reported on the error stream of the session,
+     * and the script goes on with the next one. Once all the command lines ran, waits for the background jobs still running.
+     *
+     * @throws JshException Exception thrown if the thread running the script is interrupted while waiting for a background job
+     */
+    public void run() throws JshException {
+        Thread parserThread = new Thread(this::parseLines, "jsh-script-parser");
+        parserThread.setDaemon(true);
+        parserThread.start();
+
+        try {
+            ParsedLine parsedLine;
+            while ((parsedLine = parsedLines.take()) != ParsedLine.END) {
+                if (parsedLine.exception != null) {
+                    session.getErrorStream().println("jsh: " + parsedLine.exception.getMessage());
+                    continue;
+                }
+                try {
+                    Jsh.eval(parsedLine.cmdTree, null, outputStream, session);
+                } catch (Exception e) {
+                    session.getErrorStream().println("jsh: " + e.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JshException("jsh: interrupted", e);
+        } finally {
+            parserThread.interrupt();
+        }
+
+        session.getJobTable().awaitAll();
+    }
+
+    /**
+     * Reads and parses the lines of the script, queuing them until the end of the script or until a line cannot be read
+     */
+    private void parseLines() {
+        try {
+            String line = reader.readLine();
+            if (line != null && line.startsWith("#!")) {
+                line = reader.readLine();
+            }
+            for (; line != null; line = reader.readLine()) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    parsedLines.put(new ParsedLine(Parser.parserCmdLine(line), null));
+                } catch (RuntimeException e) {
+                    parsedLines.put(new ParsedLine(null, e));
+                }
+            }
+        } catch (IOException e) {
+            putQuietly(new ParsedLine(null, e));
+        } catch (InterruptedException e) {
+            return;
+        }
+        putQuietly(ParsedLine.END);
+    }
+
+    /**
+     * Utility function that queues a ParsedLine from the parser thread, giving up if the thread is interrupted
+     *
+     * @param parsedLine The ParsedLine to queue
+     */
+    private void putQuietly(ParsedLine parsedLine) {
+        try {
+            parsedLines.put(parsedLine);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * ServerProtocol class that defines the framing used between a JshServer and a JshClient. All integers are big-endian.
+ * A request starts with MAGIC, followed by the token of the server, the command line and the working directory, each written as a length
+ * and UTF-8 bytes. The token is a random secret the server writes to a file only its owner can read, so that the other users of the
+ * machine cannot run commands as the owner of the server. The server closes the connection of a request without the right token.
+ * The standard input of the client then follows as chunks, each written as a length and bytes, until a chunk of length 0.
+ * The response is a sequence of frames made of a type, a length and bytes: STDOUT and STDERR frames carry the output of the command
+ * as it is produced, and a single EXIT frame carrying the exit status as an integer ends the response. The exit status is 1 if the
+ * command line reported an error and 0 otherwise.
+ */
+public final class ServerProtocol {
+    /**
+     * The first integer of a request, "JSH1" in ASCII
+     */
+    public static final int MAGIC = 0x4A534831;
+    /**
+     * The type of a frame carrying bytes written to the standard output
+     */
+    public static final byte STDOUT = 'O';
+    /**
+     * The type of a frame carrying bytes written to the standard error
+     */
+    public static final byte STDERR = 'E';
+    /**
+     * The type of the frame ending a response, carrying the exit status
+     */
+    public static final byte EXIT = 'X';
+    /**
+     * The maximum length of a string or a frame, which protects the server from malformed requests
+     */
+    public static final int MAX_LENGTH = 16 * 1024 * 1024;
+
+    /**
+     * The exit status sent if the command line reported an error
+     */
+    public static final int FAILURE_STATUS = 1;
+
+    /**
+     * Private constructor, since the class only holds constants and static functions
+     */
+    private ServerProtocol() {
+    }
+
+    /**
+     * Function that returns the directory holding the token files of the servers of the user, .jsh in the home directory of the user
+     *
+     * @return The path of the directory
+     */
+    public static Path defaultTokenDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".jsh");
+    }
+
+    /**
+     * Function that returns the file holding the token of the server listening on a port
+     *
+     * @param tokenDirectory The directory holding the token files
+     * @param port           The port of the server
+     * @return               The path of the token file
+     */
+    public static Path tokenFile(Path tokenDirectory, int port) {
+        return tokenDirectory.resolve("server-" + port + ".token");
+    }
+
+    /**
+     * Writes a string as its length followed by its UTF-8 bytes
+     *
+     * @param outputStream The stream to write to
+     * @param string       The string to write
+     * @throws IOException Exception thrown if the stream cannot be written to
+     */
+    public static void writeString(DataOutputStream outputStream, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        outputStream.writeInt(bytes.length);
+        outputStream.write(bytes);
+    }
+
+    /**
+     * Reads a string written by writeString
+     *
+     * @param inputStream  The stream to read from
+     * @return             The string
+     * @throws IOException Exception thrown if the stream cannot be read or the length is invalid
+     */
+    public static String readString(DataInputStream inputStream) throws IOException {
+        return new String(readBytes(inputStream, inputStream.readInt()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the bytes of a chunk or a frame whose length was already read
+     *
+     * @param inputStream  The stream to read from
+     * @param length       The number of bytes to read
+     * @return             The bytes
+     * @throws IOException Exception thrown if the stream cannot be read or the length is invalid
+     */
+    public static byte[] readBytes(DataInputStream inputStream, int length) throws IOException {
+        if (length < 0 || length > MAX_LENGTH) {
+            throw new IOException("invalid frame length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        inputStream.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Writes a frame and flushes it, so that the other side gets it right away. Frames written by several threads are never mixed up.
+     *
+     * @param outputStream The stream to write to
+     * @param type         The type of the frame
+     * @param bytes        The array holding the bytes of the frame
+     * @param offset       The index of the first byte
+     * @param length       The number of bytes
+     * @throws IOException Exception thrown if the stream cannot be written to
+     */
+    public static void writeFrame(DataOutputStream outputStream, byte type, byte[] bytes, int offset, int length) throws IOException {
+        synchronized (outputStream) {
+            outputStream.writeByte(type);
+            outputStream.writeInt(length);
+            outputStream.write(bytes, offset, length);
+            outputStream.flush();
+        }
+    }
+
+    /**
+     * FrameOutputStream class that turns every write into a frame of a given type
+     */
+    public static class FrameOutputStream extends OutputStream {
+        /**
+         * The stream the frames are written to
+         */
+        private final DataOutputStream outputStream;
+        /**
+         * The type of the frames
+         */
+        private final byte type;
+
+        /**
+         * Constructs a FrameOutputStream
+         *
+         * @param outputStream The stream the frames are written to
+         * @param type         The type of the frames
+         */
+        public FrameOutputStream(DataOutputStream outputStream, byte type) {
+            this.outputStream = outputStream;
+            this.type = type;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len > 0) {
+                writeFrame(outputStream, type, b, off, len);
+            }
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+import uk.ac.ucl.jsh.Jsh;
+
+/**
+ * ShellOutput class that is the output layer shared by the Applications writing to the same destination.
+ * The bytes and the lines written are gathered in one reusable buffer, the lines being encoded with the default charset by one reusable
+ * encoder, and the buffer is written to the destination according to a FlushPolicy. Whatever the policy, the buffer is written once it
+ * is full and every time flush is called, which the Applications do once at the end of their command.
+ * The methods are synchronized, since the background jobs of a session write to the same output as its foreground commands.
+ */
+public class ShellOutput extends OutputStream implements LineSink {
+    /**
+     * The default number of bytes buffered before they are written to the destination
+     */
+    public static final int DEFAULT_CAPACITY = 64 * 1024;
+    /**
+     * The number of bytes buffered by the LineSinks encoding the lines of a single Application, whose output stream usually buffers too
+     */
+    static final int SINK_CAPACITY = 8 * 1024;
+
+    /**
+     * The policies deciding when the buffered output is written to the destination before the end of a command
+     */
+    public enum FlushPolicy {
+        /**
+         * Writes every line as soon as it is complete, and only complete lines unless a line does not fit in the buffer, for an
+         * interactive terminal or for writers sharing a destination line by line
+         */
+        LINE,
+        /**
+         * Only writes the buffer once it is full, for a file or a pipe
+         */
+        THRESHOLD
+    }
+
+    /**
+     * The stream the buffered output is written to
+     */
+    private final OutputStream destination;
+    /**
+     * The policy deciding when the buffered output is written
+     */
+    private final FlushPolicy policy;
+    /**
+     * The buffer holding the bytes not written to the destination yet
+     */
+    private final byte[] buffer;
+    /**
+     * The number of bytes held by the buffer
+     */
+    private int count;
+    /**
+     * The encoder of the lines that are not plain ASCII, or of every line if the default charset does not extend ASCII
+     */
+    private final CharsetEncoder encoder;
+    /**
+     * Flag set if the default charset encodes the ASCII characters to the single byte of their code
+     */
+    private final boolean asciiCompatible;
+    /**
+     * The encoded line separator appended to every line
+     */
+    private final byte[] lineSeparator;
+
+    /**
+     * Constructs a ShellOutput with the default capacity
+     *
+     * @param destination The stream the buffered output is written to
+     * @param policy      The policy deciding when the buffered output is written
+     */
+    public ShellOutput(OutputStream destination, FlushPolicy policy) {
+        this(destination, policy, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a ShellOutput buffering at most capacity bytes
+     *
+     * @param destination The stream the buffered output is written to
+     * @param policy      The policy deciding when the buffered output is written
+     * @param capacity    The number of bytes buffered before they are written to the destination
+     */
+    public ShellOutput(OutputStream destination, FlushPolicy policy, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.destination = destination;
+        this.policy = policy;
+        this.buffer = new byte[capacity];
+        Charset charset = Charset.defaultCharset();
+        this.encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.asciiCompatible = LineReader.isAsciiCompatible(charset);
+        this.lineSeparator = Jsh.lineSeparator.getBytes(charset);
+    }
+
+    /**
+     * Function that returns the output of the shell writing to System.out, which writes every line at once if the shell runs in an
+     * interactive terminal and otherwise only writes once its buffer is full
+     *
+     * @return The ShellOutput writing to System.out
+     */
+    public static ShellOutput standardOutput() {
+        return new ShellOutput(System.out, System.console() != null ? FlushPolicy.LINE : FlushPolicy.THRESHOLD);
+    }
+
+    /**
+     * Getter function for the policy deciding when the buffered output is written
+     *
+     * @return The FlushPolicy of the output
+     */
+    public FlushPolicy getPolicy() {
+        return policy;
+    }
+
+    @Override
+    /**
+     * Writes a byte to the buffer, writing the buffer to the destination once a line is complete if the policy is LINE
+     *
+     * @param b            The byte to write
+     * @throws IOException Exception thrown if the buffer cannot be written to the destination
+     */
+    public synchronized void write(int b) throws IOException {
+        if (count == buffer.length) {
+            drain();
+        }
+        buffer[count++] = (byte) b;
+        if (policy == FlushPolicy.LINE && b == '\n') {
+            flushDestination();
+        }
+    }
+
+    @Override
+    /**
+     * Writes bytes to the buffer, writing the bytes that do not fit in an empty buffer directly to the destination.
+     * If the policy is LINE, the complete lines are written to the destination at once and the end of an incomplete line is kept in the
+     * buffer, so that every write to the destination ends with a line separator unless a line does not fit in the buffer.
+     *
+     * @param b            The array holding the bytes
+     * @param off          The index of the first byte
+     * @param len          The number of bytes
+     * @throws IOException Exception thrown if the bytes cannot be written to the destination
+     */
+    public synchronized void write(byte[] b, int off, int len) throws IOException {
+        if (policy == FlushPolicy.LINE) {
+            writeLines(b, off, len);
+            return;
+        }
+        if (len > buffer.length - count) {
+            drain();
+        }
+        if (len >= buffer.length) {
+            destination.write(b, off, len);
+        } else {
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+        }
+    }
+
+    @Override
+    /**
+     * Encodes a line followed by a line separator to the buffer, copying the ASCII characters directly and using the encoder of the
+     * output for the rest of the line. If the policy is LINE, the line is written to the destination at once.
+     *
+     * @param line         The line to write, without its line separator
+     * @throws IOException Exception thrown if the buffer cannot be written to the destination
+     */
+    public synchronized void writeLine(CharSequence line) throws IOException {
+        int length = line.length();
+        int index = 0;
+        if (asciiCompatible) {
+            for (; index < length; ++index) {
+                char c = line.charAt(index);
+                if (c >= 0x80) {
+                    break;
+                }
+                if (count == buffer.length) {
+                    drain();
+                }
+                buffer[count++] = (byte) c;
+            }
+        }
+        if (index < length) {
+            encode(CharBuffer.wrap(line, index, length));
+        }
+        for (byte b : lineSeparator) {
+            if (count == buffer.length) {
+                drain();
+            }
+            buffer[count++] = b;
+        }
+        if (policy == FlushPolicy.LINE) {
+            flushDestination();
+        }
+    }
+
+    @Override
+    /**
+     * Writes the buffer to the destination and flushes the destination, whatever the policy
+     *
+     * @throws IOException Exception thrown if the buffer cannot be written to the destination
+     */
+    public synchronized void flush() throws IOException {
+        flushDestination();
+    }
+
+    @Override
+    /**
+     * Writes the buffer to the destination and flushes it. The destination is left open, since it belongs to whoever created the output.
+     *
+     * @throws IOException Exception thrown if the buffer cannot be written to the destination
+     */
+    public void close() throws IOException {
+        flush();
+    }
+
+    /**
+     * Utility function that encodes characters to the buffer with the encoder of the output, writing the buffer whenever it is full
+     *
+     * @param chars        The characters to encode
+     * @throws IOException Exception thrown if the buffer cannot be written to the destination
+     */
+    private void encode(CharBuffer chars) throws IOException {
+        encoder.reset();
+        ByteBuffer bytes = ByteBuffer.wrap(buffer, count, buffer.length - count);
+        boolean flushed = false;
+        while (true) {
+            CoderResult result = flushed ? encoder.flush(bytes) : encoder.encode(chars, bytes, true);
+            count = bytes.position();
+            if (result.isOverflow()) {
+                drain();
+                bytes = ByteBuffer.wrap(buffer);
+            } else if (!flushed) {
+                flushed = true;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Utility function that writes bytes for the LINE policy, copying them to the buffer and writing the complete lines it holds to the
+     * destination in a single write whenever it is full or the bytes are all copied. A buffer full of a single incomplete line is written
+     * as it is.
+     *
+     * @param b            The array holding the bytes
+     * @param off          The index of the first byte
+     * @param len          The number of bytes
+     * @throws IOException Exception thrown if the bytes cannot be written to the destination
+     */
+    private void writeLines(byte[] b, int off, int len) throws IOException {
+        boolean written = false;
+        while (len > 0) {
+            int copied = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, copied);
+            count += copied;
+            off += copied;
+            len -= copied;
+
+            int end = count;
+            while (end > 0 && buffer[end - 1] != '\n') {
+                --end;
+            }
+            if (end == 0 && count == buffer.length) {
+                end = count;
+            }
+            if (end > 0) {
+                destination.write(buffer, 0, end);
+                System.arraycopy(buffer, end, buffer, 0, count - end);
+                count -= end;
+                written = true;
+            }
+        }
+        if (written) {
+            destination.flush();
+        }
+    }
+
+    /**
+     * Utility function that writes the buffered bytes to the destination without flushing it
+     *
+     * @throws IOException Exception thrown if the bytes cannot be written to the destination
+     */
+    private void drain() throws IOException {
+        if (count > 0) {
+            int length = count;
+            count = 0;
+            destination.write(buffer, 0, length);
+        }
+    }
+
+    /**
+     * Utility function that writes the buffered bytes to the destination and flushes it
+     *
+     * @throws IOException Exception thrown if the bytes cannot be written to the destination
+     */
+    private void flushDestination() throws IOException {
+        drain();
+        destination.flush();
+    }
+}
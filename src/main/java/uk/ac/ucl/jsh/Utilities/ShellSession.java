@@ -0,0 +1,183 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import uk.ac.ucl.jsh.Jsh;
+
+/**
+ * ShellSession class that holds the state of one shell: its working directory, the history of its commands, its options, the stream
+ * its errors are printed to and the table of its background jobs.
+ * The session is passed to the EvalVisitor, the ApplicationManager and every Application, so that several sessions can evaluate
+ * command lines concurrently in the same JVM without seeing each other's state. The default session is the one used by the interactive
+ * shell, and is the one the FileSystem singleton refers to.
+ */
+public class ShellSession {
+    /**
+     * The default session, starting in the directory the JVM was started in
+     */
+    private static final ShellSession DEFAULT = new ShellSession(System.getProperty("user.dir"), null);
+    /**
+     * String representing the path to the working directory of the session
+     */
+    private volatile String workingDirectoryPath;
+    /**
+     * The history of the commands of the session, guarded by its own lock
+     */
+    private final ArrayList<String> history = new ArrayList<>();
+    /**
+     * The options of the session, stored as pairs of the form <name, value>
+     */
+    private final Map<String, String> options = new ConcurrentHashMap<>();
+    /**
+     * The stream the errors of the session are printed to, or null to use System.err
+     */
+    private final PrintStream errorStream;
+    /**
+     * The table of the background jobs started by the session
+     */
+    private final JobTable jobTable;
+
+    /**
+     * Constructs a session starting in the given working directory and printing its errors to System.err
+     *
+     * @param workingDirectoryPath The path to the working directory of the session
+     */
+    public ShellSession(String workingDirectoryPath) {
+        this(workingDirectoryPath, null);
+    }
+
+    /**
+     * Constructs a session starting in the given working directory and printing its errors to the given stream
+     *
+     * @param workingDirectoryPath The path to the working directory of the session
+     * @param errorStream          The stream the errors of the session are printed to, or null to use System.err
+     */
+    public ShellSession(String workingDirectoryPath, PrintStream errorStream) {
+        this.workingDirectoryPath = workingDirectoryPath;
+        this.errorStream = errorStream;
+        this.jobTable = new JobTable(this);
+    }
+
+    /**
+     * Getter function for the default session
+     *
+     * @return The session used by the interactive shell and by the callers that do not give a session
+     */
+    public static ShellSession getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Getter function for the working directory of the session
+     *
+     * @return A string representing the path to the working directory
+     */
+    public String getWorkingDirectoryPath() {
+        return workingDirectoryPath;
+    }
+
+    /**
+     * Setter function for the working directory of the session
+     *
+     * @param workingDirectoryPath The path to the new working directory
+     */
+    public void setWorkingDirectory(String workingDirectoryPath) {
+        this.workingDirectoryPath = workingDirectoryPath;
+    }
+
+    /**
+     * Utility function that resolves a path given as argument against the working directory of the session
+     *
+     * @param filePath      A string representing an absolute or relative path to a File
+     * @return              A file at the correct absolute path
+     * @throws JshException The exception thrown if the filePath is invalid
+     */
+    public File getFile(String filePath) throws JshException {
+        try {
+            return new File(getFilePath(filePath));
+        } catch (NullPointerException e) {
+            throw new JshException(e.getMessage());
+        }
+    }
+
+    /**
+     * Utility function that takes a String representing an absolute or relative path to a File and returns a String representing its
+     * absolute path, relative paths being resolved against the working directory of the session
+     *
+     * @param filePath A string representing a relative or absolute path to a File
+     * @return         A string representing the absolute path to the File at the path filePath
+     */
+    public String getFilePath(String filePath) {
+        if (filePath.startsWith(Jsh.fileSeparator)) {
+            return filePath;
+        }
+
+        return workingDirectoryPath + Jsh.fileSeparator + filePath;
+    }
+
+    /**
+     * Getter function for the history of the session. The list is the one the session appends to, so it must be read while holding its lock.
+     *
+     * @return The ArrayList holding the commands of the session
+     */
+    public ArrayList<String> getHistory() {
+        return history;
+    }
+
+    /**
+     * Appends a command to the history of the session
+     *
+     * @param cmdline The command line to append
+     */
+    public void addHistory(String cmdline) {
+        synchronized (history) {
+            history.add(cmdline);
+        }
+    }
+
+    /**
+     * Getter function for an option of the session
+     *
+     * @param name The name of the option
+     * @return     The value of the option, or null if it is not set
+     */
+    public String getOption(String name) {
+        return options.get(name);
+    }
+
+    /**
+     * Setter function for an option of the session. A null value unsets the option.
+     *
+     * @param name  The name of the option
+     * @param value The value of the option, or null
+     */
+    public void setOption(String name, String value) {
+        if (value == null) {
+            options.remove(name);
+        } else {
+            options.put(name, value);
+        }
+    }
+
+    /**
+     * Getter function for the stream the errors of the session are printed to
+     *
+     * @return The error stream of the session, or System.err if the session has none
+     */
+    public PrintStream getErrorStream() {
+        return errorStream == null ? System.err : errorStream;
+    }
+
+    /**
+     * Getter function for the table of the background jobs of the session
+     *
+     * @return The JobTable of the session
+     */
+    public JobTable getJobTable() {
+        return jobTable;
+    }
+}
@@ -0,0 +1,47 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * SynchronizedOutputStream class that lets several threads write to the same stream, for instance to the single-writer end of a Pipe.
+ * Every call is made while holding a lock, so the bytes of a single write are never mixed with the bytes written by another thread.
+ */
+public class SynchronizedOutputStream extends OutputStream {
+    /**
+     * The stream shared by the writing threads
+     */
+    private final OutputStream outputStream;
+
+    /**
+     * Constructs a SynchronizedOutputStream
+     *
+     * @param outputStream The stream shared by the writing threads
+     */
+    public SynchronizedOutputStream(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    @Override
+    public synchronized void write(int b) throws IOException {
+        outputStream.write(b);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) throws IOException {
+        outputStream.write(b, off, len);
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        outputStream.flush();
+    }
+
+    @Override
+    /**
+     * Flushes the shared stream without closing it, since it is owned by the caller
+     */
+    public synchronized void close() throws IOException {
+        outputStream.flush();
+    }
+}
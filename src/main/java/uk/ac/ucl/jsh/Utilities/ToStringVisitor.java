@@ -4,7 +4,9 @@ import java.io.InputStream;
 import java.io.OutputStream;
 
 import uk.ac.ucl.jsh.Jsh;
+import uk.ac.ucl.jsh.Parser.BackgroundNode;
 import uk.ac.ucl.jsh.Parser.CallNode;
+import uk.ac.ucl.jsh.Parser.FusedNode;
 import uk.ac.ucl.jsh.Parser.PipeNode;
 import uk.ac.ucl.jsh.Parser.SeqNode;
 
@@ -70,4 +72,44 @@ public class ToStringVisitor implements TreeVisitor<String> {
     public String visit(CallNode callNode, InputStream inputStream, OutputStream outputStream) throws JshException {
         return shiftSB.toString() + "Call node: " + callNode.getApplicationString() + Jsh.lineSeparator;
     }
+
+    /**
+     * Function that visits a fusedNode in the Parse tree and gets its String representation
+     * 
+     * @param fusedNode     The fused Node that will be visited
+     * @param inputStream   The stream that the first stage of fusedNode should use as an input stream
+     * @param outputStream  The stream that the last stage of fusedNode should use as an output stream
+     * @return              String representation of the current Node
+     * @throws JshException The exception that may be thrown if the visitor runs an Applications
+     */
+    public String visit(FusedNode fusedNode, InputStream inputStream, OutputStream outputStream) throws JshException {
+        StringBuilder result = new StringBuilder();
+        result.append(shiftSB.toString() + "Fused Node" + Jsh.lineSeparator);
+        shiftSB.append("\t");
+        for (CallNode callNode : fusedNode.getCallNodes()) {
+            result.append(callNode.accept(this, inputStream, outputStream));
+        }
+        shiftSB.setLength(shiftSB.length()-1);
+
+        return result.toString();
+    }
+
+    /**
+     * Function that visits a backgroundNode in the Parse tree and gets its String representation
+     * 
+     * @param backgroundNode The background Node that will be visited
+     * @param inputStream    The stream that the child of backgroundNode could use as an input stream
+     * @param outputStream   The stream that the child of backgroundNode should use as an output stream
+     * @return               String representation of the current Node
+     * @throws JshException  The exception that may be thrown if the visitor runs an Applications
+     */
+    public String visit(BackgroundNode backgroundNode, InputStream inputStream, OutputStream outputStream) throws JshException {
+        StringBuilder result = new StringBuilder();
+        result.append(shiftSB.toString() + "Background Node" + Jsh.lineSeparator);
+        shiftSB.append("\t");
+        result.append(backgroundNode.getJob().accept(this, inputStream, outputStream));
+        shiftSB.setLength(shiftSB.length()-1);
+
+        return result.toString();
+    }
 }
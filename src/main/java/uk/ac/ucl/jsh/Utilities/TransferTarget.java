@@ -0,0 +1,21 @@
+package uk.ac.ucl.jsh.Utilities;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/**
+ * The TransferTarget interface implemented by the output streams that write to a channel, to which the bytes of a file can be
+ * transferred by the operating system without being copied through the JVM, for example with sendfile or copy_file_range on Linux.
+ */
+public interface TransferTarget {
+    /**
+     * Transfers bytes of a file to the target, after the bytes already written to the target
+     *
+     * @param source       The channel reading the file
+     * @param position     The offset in the file of the first byte to transfer
+     * @param count        The maximum number of bytes to transfer
+     * @return             The number of bytes transferred, which may be less than count
+     * @throws IOException Exception thrown if the bytes cannot be transferred
+     */
+    long transferFrom(FileChannel source, long position, long count) throws IOException;
+}
@@ -6,7 +6,9 @@ import uk.ac.ucl.jsh.Parser.PipeNode;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import uk.ac.ucl.jsh.Parser.BackgroundNode;
 import uk.ac.ucl.jsh.Parser.CallNode;
+import uk.ac.ucl.jsh.Parser.FusedNode;
 
 /**
  * Interface that provides the needed functions to visit the Parse Tree generated by the Parser.
@@ -44,4 +46,24 @@ public interface TreeVisitor<T> {
      * @throws JshException The exception that may be thrown if the visitor runs an Applications
      */
     T visit(CallNode callNode, InputStream inputStream, OutputStream outputStream) throws JshException;
+    /**
+     * Function that visits a fusedNode in the Parse tree
+     * 
+     * @param fusedNode     The fused Node that will be visited
+     * @param inputStream   The stream that the first stage of fusedNode should use as an input stream
+     * @param outputStream  The stream that the last stage of fusedNode should use as an output stream
+     * @return              Generic type based on the visitor that implements the interface
+     * @throws JshException The exception that may be thrown if the visitor runs an Applications
+     */
+    T visit(FusedNode fusedNode, InputStream inputStream, OutputStream outputStream) throws JshException;
+    /**
+     * Function that visits a backgroundNode in the Parse tree
+     * 
+     * @param backgroundNode The background Node that will be visited
+     * @param inputStream    The stream that the child of backgroundNode could use as an input stream
+     * @param outputStream   The stream that the child of backgroundNode should use as an output stream
+     * @return               Generic type based on the visitor that implements the interface
+     * @throws JshException  The exception that may be thrown if the visitor runs an Applications
+     */
+    T visit(BackgroundNode backgroundNode, InputStream inputStream, OutputStream outputStream) throws JshException;
 }
\ No newline at end of file
@@ -22,19 +22,20 @@ public class UnsafeApplicationDecorator extends ApplicationDecorator {
     @Override
     /**
      * The function that performs the main functionality of the UnsafeApplicationDecorator. It runs the execute method of the encapsulated Application,
-     * catching the JshExpcetion it may throw and printing the error message to the System.err stream. This represents the enriched functionality that the 
+     * catching the JshExpcetion it may throw and printing the error message to the error stream of the session. This represents the enriched functionality that the 
      * unsafe version of Applications must provide.
      * 
      * @param applicationArguments The arguments of the Application
      * @param inputStream          The stream that some Applications will use as input if the applicationArguments does not contain a file
      * @param outpustream          The stream to which the Application will write to
+     * @param session              The session the Application runs in
      * @throws JshException        The custom Exception that all Applications throw if an error occurs
      */
-    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outpustream) throws JshException {
+    public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outpustream, ShellSession session) throws JshException {
         try {
-            this.application.execute(applicationArguments, inputStream, outpustream);
+            this.application.execute(applicationArguments, inputStream, outpustream, session);
         } catch (Exception e) {
-            System.err.println(e.getMessage());
+            session.getErrorStream().println(e.getMessage());
         }
     }
 }   
\ No newline at end of file
@@ -1,8 +1,13 @@
 // Generated from uk/ac/ucl/jsh/antlr/CallParser/CallParser.g4 by ANTLR 4.7.2
 package uk.ac.ucl.jsh.antlr.CallParser;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
 import org.antlr.v4.runtime.*;
 import org.antlr.v4.runtime.atn.*;
 import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.misc.*;
 
 @SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
 public class CallParserLexer extends Lexer {
@@ -12,7 +17,8 @@ public class CallParserLexer extends Lexer {
 	protected static final PredictionContextCache _sharedContextCache =
 		new PredictionContextCache();
 	public static final int
-		T__0=1, T__1=2, T__2=3, WS=4, NON_KEYWORD=5, SEMI=6, PIPE=7, GT=8, LT=9;
+		T__0=1, T__1=2, T__2=3, WS=4, NON_KEYWORD=5, SEMI=6, PIPE=7, APPEND=8, 
+		GT=9, LT=10;
 	public static String[] channelNames = {
 		"DEFAULT_TOKEN_CHANNEL", "HIDDEN"
 	};
@@ -23,20 +29,23 @@ public class CallParserLexer extends Lexer {
 
 	private static String[] makeRuleNames() {
 		return new String[] {
-			"T__0", "T__1", "T__2", "WS", "NON_KEYWORD", "SEMI", "PIPE", "GT", "LT"
+			"T__0", "T__1", "T__2", "WS", "NON_KEYWORD", "SEMI", "PIPE", "APPEND", 
+			"GT", "LT"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
 
 	private static String[] makeLiteralNames() {
 		return new String[] {
-			null, "'''", "'\"'", "'`'", null, null, "';'", "'|'", "'>'", "'<'"
+			null, "'''", "'\"'", "'`'", null, null, "';'", "'|'", "'>>'", "'>'", 
+			"'<'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
 	private static String[] makeSymbolicNames() {
 		return new String[] {
-			null, null, null, null, "WS", "NON_KEYWORD", "SEMI", "PIPE", "GT", "LT"
+			null, null, null, null, "WS", "NON_KEYWORD", "SEMI", "PIPE", "APPEND", 
+			"GT", "LT"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -98,17 +107,19 @@ public class CallParserLexer extends Lexer {
 	public ATN getATN() { return _ATN; }
 
 	public static final String _serializedATN =
-		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\2\13\'\b\1\4\2\t\2"+
-		"\4\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\3\2\3"+
-		"\2\3\3\3\3\3\4\3\4\3\5\3\5\3\6\3\6\3\7\3\7\3\b\3\b\3\t\3\t\3\n\3\n\2\2"+
-		"\13\3\3\5\4\7\5\t\6\13\7\r\b\17\t\21\n\23\13\3\2\4\4\2\13\13\"\"\13\2"+
-		"\13\f\17\17\"\"$$))=>@@bb~~\2&\2\3\3\2\2\2\2\5\3\2\2\2\2\7\3\2\2\2\2\t"+
-		"\3\2\2\2\2\13\3\2\2\2\2\r\3\2\2\2\2\17\3\2\2\2\2\21\3\2\2\2\2\23\3\2\2"+
-		"\2\3\25\3\2\2\2\5\27\3\2\2\2\7\31\3\2\2\2\t\33\3\2\2\2\13\35\3\2\2\2\r"+
-		"\37\3\2\2\2\17!\3\2\2\2\21#\3\2\2\2\23%\3\2\2\2\25\26\7)\2\2\26\4\3\2"+
-		"\2\2\27\30\7$\2\2\30\6\3\2\2\2\31\32\7b\2\2\32\b\3\2\2\2\33\34\t\2\2\2"+
-		"\34\n\3\2\2\2\35\36\n\3\2\2\36\f\3\2\2\2\37 \7=\2\2 \16\3\2\2\2!\"\7~"+
-		"\2\2\"\20\3\2\2\2#$\7@\2\2$\22\3\2\2\2%&\7>\2\2&\24\3\2\2\2\3\2\2";
+		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\2\f,\b\1\4\2\t\2\4"+
+		"\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13\t"+
+		"\13\3\2\3\2\3\3\3\3\3\4\3\4\3\5\3\5\3\6\3\6\3\7\3\7\3\b\3\b\3\t\3\t\3"+
+		"\t\3\n\3\n\3\13\3\13\2\2\f\3\3\5\4\7\5\t\6\13\7\r\b\17\t\21\n\23\13\25"+
+		"\f\3\2\4\4\2\13\13\"\"\13\2\13\f\17\17\"\"$$))=>@@bb~~\2+\2\3\3\2\2\2"+
+		"\2\5\3\2\2\2\2\7\3\2\2\2\2\t\3\2\2\2\2\13\3\2\2\2\2\r\3\2\2\2\2\17\3\2"+
+		"\2\2\2\21\3\2\2\2\2\23\3\2\2\2\2\25\3\2\2\2\3\27\3\2\2\2\5\31\3\2\2\2"+
+		"\7\33\3\2\2\2\t\35\3\2\2\2\13\37\3\2\2\2\r!\3\2\2\2\17#\3\2\2\2\21%\3"+
+		"\2\2\2\23(\3\2\2\2\25*\3\2\2\2\27\30\7)\2\2\30\4\3\2\2\2\31\32\7$\2\2"+
+		"\32\6\3\2\2\2\33\34\7b\2\2\34\b\3\2\2\2\35\36\t\2\2\2\36\n\3\2\2\2\37"+
+		" \n\3\2\2 \f\3\2\2\2!\"\7=\2\2\"\16\3\2\2\2#$\7~\2\2$\20\3\2\2\2%&\7@"+
+		"\2\2&\'\7@\2\2\'\22\3\2\2\2()\7@\2\2)\24\3\2\2\2*+\7>\2\2+\26\3\2\2\2"+
+		"\3\2\2";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
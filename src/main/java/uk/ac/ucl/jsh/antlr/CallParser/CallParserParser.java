@@ -3,8 +3,11 @@ package uk.ac.ucl.jsh.antlr.CallParser;
 import org.antlr.v4.runtime.atn.*;
 import org.antlr.v4.runtime.dfa.DFA;
 import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.misc.*;
 import org.antlr.v4.runtime.tree.*;
 import java.util.List;
+import java.util.Iterator;
+import java.util.ArrayList;
 
 @SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
 public class CallParserParser extends Parser {
@@ -14,7 +17,8 @@ public class CallParserParser extends Parser {
 	protected static final PredictionContextCache _sharedContextCache =
 		new PredictionContextCache();
 	public static final int
-		T__0=1, T__1=2, T__2=3, WS=4, NON_KEYWORD=5, SEMI=6, PIPE=7, GT=8, LT=9;
+		T__0=1, T__1=2, T__2=3, WS=4, NON_KEYWORD=5, SEMI=6, PIPE=7, APPEND=8, 
+		GT=9, LT=10;
 	public static final int
 		RULE_compileUnit = 0, RULE_arguments = 1, RULE_argument = 2, RULE_non_quoted = 3, 
 		RULE_quoted = 4, RULE_single_quoted = 5, RULE_squote_content = 6, RULE_double_quoted = 7, 
@@ -31,13 +35,15 @@ public class CallParserParser extends Parser {
 
 	private static String[] makeLiteralNames() {
 		return new String[] {
-			null, "'''", "'\"'", "'`'", null, null, "';'", "'|'", "'>'", "'<'"
+			null, "'''", "'\"'", "'`'", null, null, "';'", "'|'", "'>>'", "'>'", 
+			"'<'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
 	private static String[] makeSymbolicNames() {
 		return new String[] {
-			null, null, null, null, "WS", "NON_KEYWORD", "SEMI", "PIPE", "GT", "LT"
+			null, null, null, null, "WS", "NON_KEYWORD", "SEMI", "PIPE", "APPEND", 
+			"GT", "LT"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -182,6 +188,7 @@ public class CallParserParser extends Parser {
 			return getToken(CallParserParser.WS, i);
 		}
 		public TerminalNode GT() { return getToken(CallParserParser.GT, 0); }
+		public TerminalNode APPEND() { return getToken(CallParserParser.APPEND, 0); }
 		public TerminalNode LT() { return getToken(CallParserParser.LT, 0); }
 		public ArgumentsContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
@@ -244,7 +251,16 @@ public class CallParserParser extends Parser {
 			case 3:
 				{
 				setState(49);
-				((ArgumentsContext)_localctx).io_operator = match(GT);
+				((ArgumentsContext)_localctx).io_operator = _input.LT(1);
+				_la = _input.LA(1);
+				if ( !(_la==APPEND || _la==GT) ) {
+					((ArgumentsContext)_localctx).io_operator = (Token)_errHandler.recoverInline(this);
+				}
+				else {
+					if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+					_errHandler.reportMatch(this);
+					consume();
+				}
 				setState(53);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
@@ -353,7 +369,16 @@ public class CallParserParser extends Parser {
 							_la = _input.LA(1);
 						}
 						setState(88);
-						((ArgumentsContext)_localctx).io_operator = match(GT);
+						((ArgumentsContext)_localctx).io_operator = _input.LT(1);
+						_la = _input.LA(1);
+						if ( !(_la==APPEND || _la==GT) ) {
+							((ArgumentsContext)_localctx).io_operator = (Token)_errHandler.recoverInline(this);
+						}
+						else {
+							if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+							_errHandler.reportMatch(this);
+							consume();
+						}
 						setState(92);
 						_errHandler.sync(this);
 						_la = _input.LA(1);
@@ -710,7 +735,7 @@ public class CallParserParser extends Parser {
 			setState(147);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__1) | (1L << T__2) | (1L << WS) | (1L << NON_KEYWORD) | (1L << SEMI) | (1L << PIPE) | (1L << GT) | (1L << LT))) != 0)) {
+			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__1) | (1L << T__2) | (1L << WS) | (1L << NON_KEYWORD) | (1L << SEMI) | (1L << PIPE) | (1L << APPEND) | (1L << GT) | (1L << LT))) != 0)) {
 				{
 				setState(145);
 				_errHandler.sync(this);
@@ -723,6 +748,7 @@ public class CallParserParser extends Parser {
 					break;
 				case SEMI:
 				case PIPE:
+				case APPEND:
 				case GT:
 				case LT:
 					{
@@ -818,6 +844,7 @@ public class CallParserParser extends Parser {
 		public TerminalNode SEMI() { return getToken(CallParserParser.SEMI, 0); }
 		public TerminalNode PIPE() { return getToken(CallParserParser.PIPE, 0); }
 		public TerminalNode GT() { return getToken(CallParserParser.GT, 0); }
+		public TerminalNode APPEND() { return getToken(CallParserParser.APPEND, 0); }
 		public TerminalNode LT() { return getToken(CallParserParser.LT, 0); }
 		public TerminalNode WS() { return getToken(CallParserParser.WS, 0); }
 		public BackquotedContext backquoted() {
@@ -847,6 +874,7 @@ public class CallParserParser extends Parser {
 			case NON_KEYWORD:
 			case SEMI:
 			case PIPE:
+			case APPEND:
 			case GT:
 			case LT:
 				enterOuterAlt(_localctx, 1);
@@ -854,7 +882,7 @@ public class CallParserParser extends Parser {
 				setState(154);
 				((Dquote_contentContext)_localctx).content = _input.LT(1);
 				_la = _input.LA(1);
-				if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << WS) | (1L << NON_KEYWORD) | (1L << SEMI) | (1L << PIPE) | (1L << GT) | (1L << LT))) != 0)) ) {
+				if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << WS) | (1L << NON_KEYWORD) | (1L << SEMI) | (1L << PIPE) | (1L << APPEND) | (1L << GT) | (1L << LT))) != 0)) ) {
 					((Dquote_contentContext)_localctx).content = (Token)_errHandler.recoverInline(this);
 				}
 				else {
@@ -972,7 +1000,7 @@ public class CallParserParser extends Parser {
 			setState(173);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << T__1) | (1L << WS) | (1L << NON_KEYWORD) | (1L << SEMI) | (1L << PIPE) | (1L << GT) | (1L << LT))) != 0)) {
+			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << T__1) | (1L << WS) | (1L << NON_KEYWORD) | (1L << SEMI) | (1L << PIPE) | (1L << APPEND) | (1L << GT) | (1L << LT))) != 0)) {
 				{
 				setState(171);
 				_errHandler.sync(this);
@@ -985,6 +1013,7 @@ public class CallParserParser extends Parser {
 					break;
 				case SEMI:
 				case PIPE:
+				case APPEND:
 				case GT:
 				case LT:
 					{
@@ -1035,6 +1064,7 @@ public class CallParserParser extends Parser {
 		public TerminalNode SEMI() { return getToken(CallParserParser.SEMI, 0); }
 		public TerminalNode PIPE() { return getToken(CallParserParser.PIPE, 0); }
 		public TerminalNode GT() { return getToken(CallParserParser.GT, 0); }
+		public TerminalNode APPEND() { return getToken(CallParserParser.APPEND, 0); }
 		public TerminalNode LT() { return getToken(CallParserParser.LT, 0); }
 		public KeywordContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
@@ -1056,7 +1086,7 @@ public class CallParserParser extends Parser {
 			{
 			setState(176);
 			_la = _input.LA(1);
-			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << SEMI) | (1L << PIPE) | (1L << GT) | (1L << LT))) != 0)) ) {
+			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << SEMI) | (1L << PIPE) | (1L << APPEND) | (1L << GT) | (1L << LT))) != 0)) ) {
 			_errHandler.recoverInline(this);
 			}
 			else {
@@ -1095,61 +1125,61 @@ public class CallParserParser extends Parser {
 	}
 
 	public static final String _serializedATN =
-		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\3\13\u00b5\4\2\t\2"+
-		"\4\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13"+
-		"\t\13\4\f\t\f\4\r\t\r\3\2\7\2\34\n\2\f\2\16\2\37\13\2\3\2\3\2\7\2#\n\2"+
-		"\f\2\16\2&\13\2\3\2\3\2\3\3\3\3\3\3\3\3\6\3.\n\3\r\3\16\3/\3\3\3\3\3\3"+
-		"\3\3\7\3\66\n\3\f\3\16\39\13\3\3\3\3\3\6\3=\n\3\r\3\16\3>\3\3\3\3\3\3"+
-		"\3\3\7\3E\n\3\f\3\16\3H\13\3\3\3\3\3\6\3L\n\3\r\3\16\3M\3\3\3\3\5\3R\n"+
-		"\3\3\3\3\3\7\3V\n\3\f\3\16\3Y\13\3\3\3\3\3\7\3]\n\3\f\3\16\3`\13\3\3\3"+
-		"\3\3\3\3\7\3e\n\3\f\3\16\3h\13\3\3\3\3\3\7\3l\n\3\f\3\16\3o\13\3\3\3\7"+
-		"\3r\n\3\f\3\16\3u\13\3\3\4\3\4\5\4y\n\4\3\4\3\4\5\4}\n\4\5\4\177\n\4\3"+
-		"\5\6\5\u0082\n\5\r\5\16\5\u0083\3\6\3\6\3\6\5\6\u0089\n\6\3\7\3\7\3\7"+
-		"\3\7\3\b\3\b\3\b\3\b\3\b\7\b\u0094\n\b\f\b\16\b\u0097\13\b\3\t\3\t\3\t"+
-		"\3\t\3\n\3\n\3\n\3\n\3\n\3\n\5\n\u00a3\n\n\3\13\3\13\3\13\3\13\3\f\3\f"+
-		"\3\f\3\f\3\f\7\f\u00ae\n\f\f\f\16\f\u00b1\13\f\3\r\3\r\3\r\2\3\4\16\2"+
-		"\4\6\b\n\f\16\20\22\24\26\30\2\4\4\2\3\3\6\13\3\2\b\13\2\u00ca\2\35\3"+
-		"\2\2\2\4Q\3\2\2\2\6~\3\2\2\2\b\u0081\3\2\2\2\n\u0088\3\2\2\2\f\u008a\3"+
-		"\2\2\2\16\u0095\3\2\2\2\20\u0098\3\2\2\2\22\u00a2\3\2\2\2\24\u00a4\3\2"+
-		"\2\2\26\u00af\3\2\2\2\30\u00b2\3\2\2\2\32\34\7\6\2\2\33\32\3\2\2\2\34"+
+		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\3\f\u00b5\4\2\t\2\4"+
+		"\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13\t"+
+		"\13\4\f\t\f\4\r\t\r\3\2\7\2\34\n\2\f\2\16\2\37\13\2\3\2\3\2\7\2#\n\2\f"+
+		"\2\16\2&\13\2\3\2\3\2\3\3\3\3\3\3\3\3\6\3.\n\3\r\3\16\3/\3\3\3\3\3\3\3"+
+		"\3\7\3\66\n\3\f\3\16\39\13\3\3\3\3\3\6\3=\n\3\r\3\16\3>\3\3\3\3\3\3\3"+
+		"\3\7\3E\n\3\f\3\16\3H\13\3\3\3\3\3\6\3L\n\3\r\3\16\3M\3\3\3\3\5\3R\n\3"+
+		"\3\3\3\3\7\3V\n\3\f\3\16\3Y\13\3\3\3\3\3\7\3]\n\3\f\3\16\3`\13\3\3\3\3"+
+		"\3\3\3\7\3e\n\3\f\3\16\3h\13\3\3\3\3\3\7\3l\n\3\f\3\16\3o\13\3\3\3\7\3"+
+		"r\n\3\f\3\16\3u\13\3\3\4\3\4\5\4y\n\4\3\4\3\4\5\4}\n\4\5\4\177\n\4\3\5"+
+		"\6\5\u0082\n\5\r\5\16\5\u0083\3\6\3\6\3\6\5\6\u0089\n\6\3\7\3\7\3\7\3"+
+		"\7\3\b\3\b\3\b\3\b\3\b\7\b\u0094\n\b\f\b\16\b\u0097\13\b\3\t\3\t\3\t\3"+
+		"\t\3\n\3\n\3\n\3\n\3\n\3\n\5\n\u00a3\n\n\3\13\3\13\3\13\3\13\3\f\3\f\3"+
+		"\f\3\f\3\f\7\f\u00ae\n\f\f\f\16\f\u00b1\13\f\3\r\3\r\3\r\2\3\4\16\2\4"+
+		"\6\b\n\f\16\20\22\24\26\30\2\5\3\2\n\13\4\2\3\3\6\f\3\2\b\f\2\u00ca\2"+
+		"\35\3\2\2\2\4Q\3\2\2\2\6~\3\2\2\2\b\u0081\3\2\2\2\n\u0088\3\2\2\2\f\u008a"+
+		"\3\2\2\2\16\u0095\3\2\2\2\20\u0098\3\2\2\2\22\u00a2\3\2\2\2\24\u00a4\3"+
+		"\2\2\2\26\u00af\3\2\2\2\30\u00b2\3\2\2\2\32\34\7\6\2\2\33\32\3\2\2\2\34"+
 		"\37\3\2\2\2\35\33\3\2\2\2\35\36\3\2\2\2\36 \3\2\2\2\37\35\3\2\2\2 $\5"+
 		"\4\3\2!#\7\6\2\2\"!\3\2\2\2#&\3\2\2\2$\"\3\2\2\2$%\3\2\2\2%\'\3\2\2\2"+
 		"&$\3\2\2\2\'(\7\2\2\3(\3\3\2\2\2)*\b\3\1\2*R\5\6\4\2+-\5\6\4\2,.\7\6\2"+
 		"\2-,\3\2\2\2./\3\2\2\2/-\3\2\2\2/\60\3\2\2\2\60\61\3\2\2\2\61\62\5\4\3"+
-		"\7\62R\3\2\2\2\63\67\7\n\2\2\64\66\7\6\2\2\65\64\3\2\2\2\669\3\2\2\2\67"+
+		"\7\62R\3\2\2\2\63\67\t\2\2\2\64\66\7\6\2\2\65\64\3\2\2\2\669\3\2\2\2\67"+
 		"\65\3\2\2\2\678\3\2\2\28:\3\2\2\29\67\3\2\2\2:<\5\4\3\2;=\7\6\2\2<;\3"+
 		"\2\2\2=>\3\2\2\2><\3\2\2\2>?\3\2\2\2?@\3\2\2\2@A\5\4\3\5AR\3\2\2\2BF\7"+
-		"\13\2\2CE\7\6\2\2DC\3\2\2\2EH\3\2\2\2FD\3\2\2\2FG\3\2\2\2GI\3\2\2\2HF"+
-		"\3\2\2\2IK\5\4\3\2JL\7\6\2\2KJ\3\2\2\2LM\3\2\2\2MK\3\2\2\2MN\3\2\2\2N"+
-		"O\3\2\2\2OP\5\4\3\3PR\3\2\2\2Q)\3\2\2\2Q+\3\2\2\2Q\63\3\2\2\2QB\3\2\2"+
-		"\2Rs\3\2\2\2SW\f\6\2\2TV\7\6\2\2UT\3\2\2\2VY\3\2\2\2WU\3\2\2\2WX\3\2\2"+
-		"\2XZ\3\2\2\2YW\3\2\2\2Z^\7\n\2\2[]\7\6\2\2\\[\3\2\2\2]`\3\2\2\2^\\\3\2"+
-		"\2\2^_\3\2\2\2_a\3\2\2\2`^\3\2\2\2ar\5\4\3\7bf\f\4\2\2ce\7\6\2\2dc\3\2"+
-		"\2\2eh\3\2\2\2fd\3\2\2\2fg\3\2\2\2gi\3\2\2\2hf\3\2\2\2im\7\13\2\2jl\7"+
-		"\6\2\2kj\3\2\2\2lo\3\2\2\2mk\3\2\2\2mn\3\2\2\2np\3\2\2\2om\3\2\2\2pr\5"+
-		"\4\3\5qS\3\2\2\2qb\3\2\2\2ru\3\2\2\2sq\3\2\2\2st\3\2\2\2t\5\3\2\2\2us"+
-		"\3\2\2\2vx\5\b\5\2wy\5\6\4\2xw\3\2\2\2xy\3\2\2\2y\177\3\2\2\2z|\5\n\6"+
-		"\2{}\5\6\4\2|{\3\2\2\2|}\3\2\2\2}\177\3\2\2\2~v\3\2\2\2~z\3\2\2\2\177"+
-		"\7\3\2\2\2\u0080\u0082\7\7\2\2\u0081\u0080\3\2\2\2\u0082\u0083\3\2\2\2"+
-		"\u0083\u0081\3\2\2\2\u0083\u0084\3\2\2\2\u0084\t\3\2\2\2\u0085\u0089\5"+
-		"\f\7\2\u0086\u0089\5\20\t\2\u0087\u0089\5\24\13\2\u0088\u0085\3\2\2\2"+
-		"\u0088\u0086\3\2\2\2\u0088\u0087\3\2\2\2\u0089\13\3\2\2\2\u008a\u008b"+
-		"\7\3\2\2\u008b\u008c\5\16\b\2\u008c\u008d\7\3\2\2\u008d\r\3\2\2\2\u008e"+
-		"\u0094\7\7\2\2\u008f\u0094\5\30\r\2\u0090\u0094\7\6\2\2\u0091\u0094\7"+
-		"\4\2\2\u0092\u0094\7\5\2\2\u0093\u008e\3\2\2\2\u0093\u008f\3\2\2\2\u0093"+
-		"\u0090\3\2\2\2\u0093\u0091\3\2\2\2\u0093\u0092\3\2\2\2\u0094\u0097\3\2"+
-		"\2\2\u0095\u0093\3\2\2\2\u0095\u0096\3\2\2\2\u0096\17\3\2\2\2\u0097\u0095"+
-		"\3\2\2\2\u0098\u0099\7\4\2\2\u0099\u009a\5\22\n\2\u009a\u009b\7\4\2\2"+
-		"\u009b\21\3\2\2\2\u009c\u009d\t\2\2\2\u009d\u00a3\5\22\n\2\u009e\u009f"+
-		"\5\24\13\2\u009f\u00a0\5\22\n\2\u00a0\u00a3\3\2\2\2\u00a1\u00a3\3\2\2"+
-		"\2\u00a2\u009c\3\2\2\2\u00a2\u009e\3\2\2\2\u00a2\u00a1\3\2\2\2\u00a3\23"+
-		"\3\2\2\2\u00a4\u00a5\7\5\2\2\u00a5\u00a6\5\26\f\2\u00a6\u00a7\7\5\2\2"+
-		"\u00a7\25\3\2\2\2\u00a8\u00ae\7\7\2\2\u00a9\u00ae\5\30\r\2\u00aa\u00ae"+
-		"\7\6\2\2\u00ab\u00ae\7\4\2\2\u00ac\u00ae\7\3\2\2\u00ad\u00a8\3\2\2\2\u00ad"+
-		"\u00a9\3\2\2\2\u00ad\u00aa\3\2\2\2\u00ad\u00ab\3\2\2\2\u00ad\u00ac\3\2"+
-		"\2\2\u00ae\u00b1\3\2\2\2\u00af\u00ad\3\2\2\2\u00af\u00b0\3\2\2\2\u00b0"+
-		"\27\3\2\2\2\u00b1\u00af\3\2\2\2\u00b2\u00b3\t\3\2\2\u00b3\31\3\2\2\2\32"+
-		"\35$/\67>FMQW^fmqsx|~\u0083\u0088\u0093\u0095\u00a2\u00ad\u00af";
+		"\f\2\2CE\7\6\2\2DC\3\2\2\2EH\3\2\2\2FD\3\2\2\2FG\3\2\2\2GI\3\2\2\2HF\3"+
+		"\2\2\2IK\5\4\3\2JL\7\6\2\2KJ\3\2\2\2LM\3\2\2\2MK\3\2\2\2MN\3\2\2\2NO\3"+
+		"\2\2\2OP\5\4\3\3PR\3\2\2\2Q)\3\2\2\2Q+\3\2\2\2Q\63\3\2\2\2QB\3\2\2\2R"+
+		"s\3\2\2\2SW\f\6\2\2TV\7\6\2\2UT\3\2\2\2VY\3\2\2\2WU\3\2\2\2WX\3\2\2\2"+
+		"XZ\3\2\2\2YW\3\2\2\2Z^\t\2\2\2[]\7\6\2\2\\[\3\2\2\2]`\3\2\2\2^\\\3\2\2"+
+		"\2^_\3\2\2\2_a\3\2\2\2`^\3\2\2\2ar\5\4\3\7bf\f\4\2\2ce\7\6\2\2dc\3\2\2"+
+		"\2eh\3\2\2\2fd\3\2\2\2fg\3\2\2\2gi\3\2\2\2hf\3\2\2\2im\7\f\2\2jl\7\6\2"+
+		"\2kj\3\2\2\2lo\3\2\2\2mk\3\2\2\2mn\3\2\2\2np\3\2\2\2om\3\2\2\2pr\5\4\3"+
+		"\5qS\3\2\2\2qb\3\2\2\2ru\3\2\2\2sq\3\2\2\2st\3\2\2\2t\5\3\2\2\2us\3\2"+
+		"\2\2vx\5\b\5\2wy\5\6\4\2xw\3\2\2\2xy\3\2\2\2y\177\3\2\2\2z|\5\n\6\2{}"+
+		"\5\6\4\2|{\3\2\2\2|}\3\2\2\2}\177\3\2\2\2~v\3\2\2\2~z\3\2\2\2\177\7\3"+
+		"\2\2\2\u0080\u0082\7\7\2\2\u0081\u0080\3\2\2\2\u0082\u0083\3\2\2\2\u0083"+
+		"\u0081\3\2\2\2\u0083\u0084\3\2\2\2\u0084\t\3\2\2\2\u0085\u0089\5\f\7\2"+
+		"\u0086\u0089\5\20\t\2\u0087\u0089\5\24\13\2\u0088\u0085\3\2\2\2\u0088"+
+		"\u0086\3\2\2\2\u0088\u0087\3\2\2\2\u0089\13\3\2\2\2\u008a\u008b\7\3\2"+
+		"\2\u008b\u008c\5\16\b\2\u008c\u008d\7\3\2\2\u008d\r\3\2\2\2\u008e\u0094"+
+		"\7\7\2\2\u008f\u0094\5\30\r\2\u0090\u0094\7\6\2\2\u0091\u0094\7\4\2\2"+
+		"\u0092\u0094\7\5\2\2\u0093\u008e\3\2\2\2\u0093\u008f\3\2\2\2\u0093\u0090"+
+		"\3\2\2\2\u0093\u0091\3\2\2\2\u0093\u0092\3\2\2\2\u0094\u0097\3\2\2\2\u0095"+
+		"\u0093\3\2\2\2\u0095\u0096\3\2\2\2\u0096\17\3\2\2\2\u0097\u0095\3\2\2"+
+		"\2\u0098\u0099\7\4\2\2\u0099\u009a\5\22\n\2\u009a\u009b\7\4\2\2\u009b"+
+		"\21\3\2\2\2\u009c\u009d\t\3\2\2\u009d\u00a3\5\22\n\2\u009e\u009f\5\24"+
+		"\13\2\u009f\u00a0\5\22\n\2\u00a0\u00a3\3\2\2\2\u00a1\u00a3\3\2\2\2\u00a2"+
+		"\u009c\3\2\2\2\u00a2\u009e\3\2\2\2\u00a2\u00a1\3\2\2\2\u00a3\23\3\2\2"+
+		"\2\u00a4\u00a5\7\5\2\2\u00a5\u00a6\5\26\f\2\u00a6\u00a7\7\5\2\2\u00a7"+
+		"\25\3\2\2\2\u00a8\u00ae\7\7\2\2\u00a9\u00ae\5\30\r\2\u00aa\u00ae\7\6\2"+
+		"\2\u00ab\u00ae\7\4\2\2\u00ac\u00ae\7\3\2\2\u00ad\u00a8\3\2\2\2\u00ad\u00a9"+
+		"\3\2\2\2\u00ad\u00aa\3\2\2\2\u00ad\u00ab\3\2\2\2\u00ad\u00ac\3\2\2\2\u00ae"+
+		"\u00b1\3\2\2\2\u00af\u00ad\3\2\2\2\u00af\u00b0\3\2\2\2\u00b0\27\3\2\2"+
+		"\2\u00b1\u00af\3\2\2\2\u00b2\u00b3\t\4\2\2\u00b3\31\3\2\2\2\32\35$/\67"+
+		">FMQW^fmqsx|~\u0083\u0088\u0093\u0095\u00a2\u00ad\u00af";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
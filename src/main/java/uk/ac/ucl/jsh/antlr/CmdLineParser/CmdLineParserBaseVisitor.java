@@ -24,7 +24,21 @@ public class CmdLineParserBaseVisitor<T> extends AbstractParseTreeVisitor<T> imp
 	 * <p>The default implementation returns the result of calling
 	 * {@link #visitChildren} on {@code ctx}.</p>
 	 */
-	@Override public T visitCommand(CmdLineParserParser.CommandContext ctx) { return visitChildren(ctx); }
+	@Override public T visitBackgroundCommand(CmdLineParserParser.BackgroundCommandContext ctx) { return visitChildren(ctx); }
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The default implementation returns the result of calling
+	 * {@link #visitChildren} on {@code ctx}.</p>
+	 */
+	@Override public T visitForegroundCommand(CmdLineParserParser.ForegroundCommandContext ctx) { return visitChildren(ctx); }
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The default implementation returns the result of calling
+	 * {@link #visitChildren} on {@code ctx}.</p>
+	 */
+	@Override public T visitJob(CmdLineParserParser.JobContext ctx) { return visitChildren(ctx); }
 	/**
 	 * {@inheritDoc}
 	 *
@@ -3,8 +3,11 @@ package uk.ac.ucl.jsh.antlr.CmdLineParser;
 import org.antlr.v4.runtime.atn.*;
 import org.antlr.v4.runtime.dfa.DFA;
 import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.misc.*;
 import org.antlr.v4.runtime.tree.*;
 import java.util.List;
+import java.util.Iterator;
+import java.util.ArrayList;
 
 @SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
 public class CmdLineParserParser extends Parser {
@@ -14,29 +17,33 @@ public class CmdLineParserParser extends Parser {
 	protected static final PredictionContextCache _sharedContextCache =
 		new PredictionContextCache();
 	public static final int
-		T__0=1, T__1=2, T__2=3, WS=4, NON_KEYWORD=5, SEMI=6, PIPE=7, GT=8, LT=9;
+		T__0=1, T__1=2, T__2=3, WS=4, NON_KEYWORD=5, SEMI=6, PIPE=7, APPEND=8, 
+		GT=9, LT=10, AMP=11;
 	public static final int
-		RULE_compileUnit = 0, RULE_command = 1, RULE_pipe = 2, RULE_seq = 3, RULE_call = 4, 
-		RULE_single_quoted = 5, RULE_squote_content = 6, RULE_double_quoted = 7, 
-		RULE_dquote_content = 8, RULE_backquoted = 9, RULE_bquote_content = 10, 
-		RULE_keyword = 11;
+		RULE_compileUnit = 0, RULE_command = 1, RULE_job = 2, RULE_pipe = 3, RULE_seq = 4, 
+		RULE_call = 5, RULE_single_quoted = 6, RULE_squote_content = 7, RULE_double_quoted = 8, 
+		RULE_dquote_content = 9, RULE_backquoted = 10, RULE_bquote_content = 11, 
+		RULE_keyword = 12;
 	private static String[] makeRuleNames() {
 		return new String[] {
-			"compileUnit", "command", "pipe", "seq", "call", "single_quoted", "squote_content", 
-			"double_quoted", "dquote_content", "backquoted", "bquote_content", "keyword"
+			"compileUnit", "command", "job", "pipe", "seq", "call", "single_quoted", 
+			"squote_content", "double_quoted", "dquote_content", "backquoted", "bquote_content", 
+			"keyword"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
 
 	private static String[] makeLiteralNames() {
 		return new String[] {
-			null, "'''", "'\"'", "'`'", null, null, "';'", "'|'", "'>'", "'<'"
+			null, "'''", "'\"'", "'`'", null, null, "';'", "'|'", "'>>'", "'>'", 
+			"'<'", "'&'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
 	private static String[] makeSymbolicNames() {
 		return new String[] {
-			null, null, null, null, "WS", "NON_KEYWORD", "SEMI", "PIPE", "GT", "LT"
+			null, null, null, null, "WS", "NON_KEYWORD", "SEMI", "PIPE", "APPEND", 
+			"GT", "LT", "AMP"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -113,24 +120,24 @@ public class CmdLineParserParser extends Parser {
 		CompileUnitContext _localctx = new CompileUnitContext(_ctx, getState());
 		enterRule(_localctx, 0, RULE_compileUnit);
 		try {
-			setState(30);
+			setState(32);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,0,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(24);
+				setState(26);
 				seq(0);
-				setState(25);
+				setState(27);
 				match(EOF);
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(27);
+				setState(29);
 				command();
-				setState(28);
+				setState(30);
 				match(EOF);
 				}
 				break;
@@ -148,41 +155,127 @@ public class CmdLineParserParser extends Parser {
 	}
 
 	public static class CommandContext extends ParserRuleContext {
+		public CommandContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_command; }
+	 
+		public CommandContext() { }
+		public void copyFrom(CommandContext ctx) {
+			super.copyFrom(ctx);
+		}
+	}
+	public static class ForegroundCommandContext extends CommandContext {
+		public JobContext job() {
+			return getRuleContext(JobContext.class,0);
+		}
+		public ForegroundCommandContext(CommandContext ctx) { copyFrom(ctx); }
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof CmdLineParserVisitor ) return ((CmdLineParserVisitor<? extends T>)visitor).visitForegroundCommand(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+	public static class BackgroundCommandContext extends CommandContext {
+		public JobContext job() {
+			return getRuleContext(JobContext.class,0);
+		}
+		public TerminalNode AMP() { return getToken(CmdLineParserParser.AMP, 0); }
+		public CommandContext command() {
+			return getRuleContext(CommandContext.class,0);
+		}
+		public BackgroundCommandContext(CommandContext ctx) { copyFrom(ctx); }
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof CmdLineParserVisitor ) return ((CmdLineParserVisitor<? extends T>)visitor).visitBackgroundCommand(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final CommandContext command() throws RecognitionException {
+		CommandContext _localctx = new CommandContext(_ctx, getState());
+		enterRule(_localctx, 2, RULE_command);
+		try {
+			setState(40);
+			_errHandler.sync(this);
+			switch ( getInterpreter().adaptivePredict(_input,2,_ctx) ) {
+			case 1:
+				_localctx = new BackgroundCommandContext(_localctx);
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(34);
+				job();
+				setState(35);
+				match(AMP);
+				setState(37);
+				_errHandler.sync(this);
+				switch ( getInterpreter().adaptivePredict(_input,1,_ctx) ) {
+				case 1:
+					{
+					setState(36);
+					command();
+					}
+					break;
+				}
+				}
+				break;
+			case 2:
+				_localctx = new ForegroundCommandContext(_localctx);
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(39);
+				job();
+				}
+				break;
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class JobContext extends ParserRuleContext {
 		public PipeContext pipe() {
 			return getRuleContext(PipeContext.class,0);
 		}
 		public CallContext call() {
 			return getRuleContext(CallContext.class,0);
 		}
-		public CommandContext(ParserRuleContext parent, int invokingState) {
+		public JobContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
 		}
-		@Override public int getRuleIndex() { return RULE_command; }
+		@Override public int getRuleIndex() { return RULE_job; }
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof CmdLineParserVisitor ) return ((CmdLineParserVisitor<? extends T>)visitor).visitCommand(this);
+			if ( visitor instanceof CmdLineParserVisitor ) return ((CmdLineParserVisitor<? extends T>)visitor).visitJob(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
-	public final CommandContext command() throws RecognitionException {
-		CommandContext _localctx = new CommandContext(_ctx, getState());
-		enterRule(_localctx, 2, RULE_command);
+	public final JobContext job() throws RecognitionException {
+		JobContext _localctx = new JobContext(_ctx, getState());
+		enterRule(_localctx, 4, RULE_job);
 		try {
-			setState(34);
+			setState(44);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,1,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,3,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(32);
+				setState(42);
 				pipe(0);
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(33);
+				setState(43);
 				call();
 				}
 				break;
@@ -252,8 +345,8 @@ public class CmdLineParserParser extends Parser {
 		int _parentState = getState();
 		PipeContext _localctx = new PipeContext(_ctx, _parentState);
 		PipeContext _prevctx = _localctx;
-		int _startState = 4;
-		enterRecursionRule(_localctx, 4, RULE_pipe, _p);
+		int _startState = 6;
+		enterRecursionRule(_localctx, 6, RULE_pipe, _p);
 		try {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
@@ -263,17 +356,17 @@ public class CmdLineParserParser extends Parser {
 			_ctx = _localctx;
 			_prevctx = _localctx;
 
-			setState(37);
+			setState(47);
 			((PipeBaseContext)_localctx).call1 = call();
-			setState(38);
+			setState(48);
 			match(PIPE);
-			setState(39);
+			setState(49);
 			((PipeBaseContext)_localctx).call2 = call();
 			}
 			_ctx.stop = _input.LT(-1);
-			setState(46);
+			setState(56);
 			_errHandler.sync(this);
-			_alt = getInterpreter().adaptivePredict(_input,2,_ctx);
+			_alt = getInterpreter().adaptivePredict(_input,4,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					if ( _parseListeners!=null ) triggerExitRuleEvent();
@@ -282,18 +375,18 @@ public class CmdLineParserParser extends Parser {
 					{
 					_localctx = new PipeRecursiveContext(new PipeContext(_parentctx, _parentState));
 					pushNewRecursionContext(_localctx, _startState, RULE_pipe);
-					setState(41);
+					setState(51);
 					if (!(precpred(_ctx, 1))) throw new FailedPredicateException(this, "precpred(_ctx, 1)");
-					setState(42);
+					setState(52);
 					match(PIPE);
-					setState(43);
+					setState(53);
 					call();
 					}
 					} 
 				}
-				setState(48);
+				setState(58);
 				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,2,_ctx);
+				_alt = getInterpreter().adaptivePredict(_input,4,_ctx);
 			}
 			}
 		}
@@ -361,8 +454,8 @@ public class CmdLineParserParser extends Parser {
 		int _parentState = getState();
 		SeqContext _localctx = new SeqContext(_ctx, _parentState);
 		SeqContext _prevctx = _localctx;
-		int _startState = 6;
-		enterRecursionRule(_localctx, 6, RULE_seq, _p);
+		int _startState = 8;
+		enterRecursionRule(_localctx, 8, RULE_seq, _p);
 		try {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
@@ -372,17 +465,17 @@ public class CmdLineParserParser extends Parser {
 			_ctx = _localctx;
 			_prevctx = _localctx;
 
-			setState(50);
+			setState(60);
 			((SeqBaseContext)_localctx).cmd1 = command();
-			setState(51);
+			setState(61);
 			match(SEMI);
-			setState(52);
+			setState(62);
 			((SeqBaseContext)_localctx).cmd2 = command();
 			}
 			_ctx.stop = _input.LT(-1);
-			setState(59);
+			setState(69);
 			_errHandler.sync(this);
-			_alt = getInterpreter().adaptivePredict(_input,3,_ctx);
+			_alt = getInterpreter().adaptivePredict(_input,5,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					if ( _parseListeners!=null ) triggerExitRuleEvent();
@@ -391,18 +484,18 @@ public class CmdLineParserParser extends Parser {
 					{
 					_localctx = new SeqRecursiveContext(new SeqContext(_parentctx, _parentState));
 					pushNewRecursionContext(_localctx, _startState, RULE_seq);
-					setState(54);
+					setState(64);
 					if (!(precpred(_ctx, 2))) throw new FailedPredicateException(this, "precpred(_ctx, 2)");
-					setState(55);
+					setState(65);
 					match(SEMI);
-					setState(56);
+					setState(66);
 					command();
 					}
 					} 
 				}
-				setState(61);
+				setState(71);
 				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,3,_ctx);
+				_alt = getInterpreter().adaptivePredict(_input,5,_ctx);
 			}
 			}
 		}
@@ -430,6 +523,10 @@ public class CmdLineParserParser extends Parser {
 		public TerminalNode GT(int i) {
 			return getToken(CmdLineParserParser.GT, i);
 		}
+		public List<TerminalNode> APPEND() { return getTokens(CmdLineParserParser.APPEND); }
+		public TerminalNode APPEND(int i) {
+			return getToken(CmdLineParserParser.APPEND, i);
+		}
 		public List<Single_quotedContext> single_quoted() {
 			return getRuleContexts(Single_quotedContext.class);
 		}
@@ -465,60 +562,66 @@ public class CmdLineParserParser extends Parser {
 
 	public final CallContext call() throws RecognitionException {
 		CallContext _localctx = new CallContext(_ctx, getState());
-		enterRule(_localctx, 8, RULE_call);
+		enterRule(_localctx, 10, RULE_call);
 		try {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(69); 
+			setState(80); 
 			_errHandler.sync(this);
 			_alt = 1;
 			do {
 				switch (_alt) {
 				case 1:
 					{
-					setState(69);
+					setState(80);
 					_errHandler.sync(this);
 					switch (_input.LA(1)) {
 					case NON_KEYWORD:
 						{
-						setState(62);
+						setState(72);
 						match(NON_KEYWORD);
 						}
 						break;
 					case LT:
 						{
-						setState(63);
+						setState(73);
 						match(LT);
 						}
 						break;
 					case GT:
 						{
-						setState(64);
+						setState(74);
 						match(GT);
 						}
 						break;
+					case APPEND:
+						{
+						setState(75);
+						match(APPEND);
+						}
+						break;
 					case T__0:
 						{
-						setState(65);
+						setState(76);
 						single_quoted();
 						}
 						break;
 					case T__1:
 						{
-						setState(66);
+						setState(77);
 						double_quoted();
 						}
 						break;
 					case T__2:
 						{
-						setState(67);
+						setState(78);
 						backquoted();
 						}
 						break;
 					case WS:
 						{
-						setState(68);
+						setState(79);
 						match(WS);
 						}
 						break;
@@ -530,9 +633,9 @@ public class CmdLineParserParser extends Parser {
 				default:
 					throw new NoViableAltException(this);
 				}
-				setState(71); 
+				setState(82); 
 				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,5,_ctx);
+				_alt = getInterpreter().adaptivePredict(_input,7,_ctx);
 			} while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER );
 			}
 		}
@@ -564,15 +667,15 @@ public class CmdLineParserParser extends Parser {
 
 	public final Single_quotedContext single_quoted() throws RecognitionException {
 		Single_quotedContext _localctx = new Single_quotedContext(_ctx, getState());
-		enterRule(_localctx, 10, RULE_single_quoted);
+		enterRule(_localctx, 12, RULE_single_quoted);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(73);
+			setState(84);
 			match(T__0);
-			setState(74);
+			setState(85);
 			squote_content();
-			setState(75);
+			setState(86);
 			match(T__0);
 			}
 		}
@@ -615,49 +718,51 @@ public class CmdLineParserParser extends Parser {
 
 	public final Squote_contentContext squote_content() throws RecognitionException {
 		Squote_contentContext _localctx = new Squote_contentContext(_ctx, getState());
-		enterRule(_localctx, 12, RULE_squote_content);
+		enterRule(_localctx, 14, RULE_squote_content);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(84);
+			setState(95);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__1) | (1L << T__2) | (1L << WS) | (1L << NON_KEYWORD) | (1L << SEMI) | (1L << PIPE) | (1L << GT) | (1L << LT))) != 0)) {
+			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__1) | (1L << T__2) | (1L << WS) | (1L << NON_KEYWORD) | (1L << SEMI) | (1L << PIPE) | (1L << APPEND) | (1L << GT) | (1L << LT) | (1L << AMP))) != 0)) {
 				{
-				setState(82);
+				setState(93);
 				_errHandler.sync(this);
 				switch (_input.LA(1)) {
 				case NON_KEYWORD:
 					{
-					setState(77);
+					setState(88);
 					match(NON_KEYWORD);
 					}
 					break;
 				case SEMI:
 				case PIPE:
+				case APPEND:
 				case GT:
 				case LT:
+				case AMP:
 					{
-					setState(78);
+					setState(89);
 					keyword();
 					}
 					break;
 				case WS:
 					{
-					setState(79);
+					setState(90);
 					match(WS);
 					}
 					break;
 				case T__1:
 					{
-					setState(80);
+					setState(91);
 					match(T__1);
 					}
 					break;
 				case T__2:
 					{
-					setState(81);
+					setState(92);
 					match(T__2);
 					}
 					break;
@@ -665,7 +770,7 @@ public class CmdLineParserParser extends Parser {
 					throw new NoViableAltException(this);
 				}
 				}
-				setState(86);
+				setState(97);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
@@ -699,15 +804,15 @@ public class CmdLineParserParser extends Parser {
 
 	public final Double_quotedContext double_quoted() throws RecognitionException {
 		Double_quotedContext _localctx = new Double_quotedContext(_ctx, getState());
-		enterRule(_localctx, 14, RULE_double_quoted);
+		enterRule(_localctx, 16, RULE_double_quoted);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(87);
+			setState(98);
 			match(T__1);
-			setState(88);
+			setState(99);
 			dquote_content();
-			setState(89);
+			setState(100);
 			match(T__1);
 			}
 		}
@@ -756,49 +861,51 @@ public class CmdLineParserParser extends Parser {
 
 	public final Dquote_contentContext dquote_content() throws RecognitionException {
 		Dquote_contentContext _localctx = new Dquote_contentContext(_ctx, getState());
-		enterRule(_localctx, 16, RULE_dquote_content);
+		enterRule(_localctx, 18, RULE_dquote_content);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(98);
+			setState(109);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << T__2) | (1L << WS) | (1L << NON_KEYWORD) | (1L << SEMI) | (1L << PIPE) | (1L << GT) | (1L << LT))) != 0)) {
+			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << T__2) | (1L << WS) | (1L << NON_KEYWORD) | (1L << SEMI) | (1L << PIPE) | (1L << APPEND) | (1L << GT) | (1L << LT) | (1L << AMP))) != 0)) {
 				{
-				setState(96);
+				setState(107);
 				_errHandler.sync(this);
 				switch (_input.LA(1)) {
 				case NON_KEYWORD:
 					{
-					setState(91);
+					setState(102);
 					match(NON_KEYWORD);
 					}
 					break;
 				case SEMI:
 				case PIPE:
+				case APPEND:
 				case GT:
 				case LT:
+				case AMP:
 					{
-					setState(92);
+					setState(103);
 					keyword();
 					}
 					break;
 				case WS:
 					{
-					setState(93);
+					setState(104);
 					match(WS);
 					}
 					break;
 				case T__0:
 					{
-					setState(94);
+					setState(105);
 					match(T__0);
 					}
 					break;
 				case T__2:
 					{
-					setState(95);
+					setState(106);
 					backquoted();
 					}
 					break;
@@ -806,7 +913,7 @@ public class CmdLineParserParser extends Parser {
 					throw new NoViableAltException(this);
 				}
 				}
-				setState(100);
+				setState(111);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
@@ -841,15 +948,15 @@ public class CmdLineParserParser extends Parser {
 
 	public final BackquotedContext backquoted() throws RecognitionException {
 		BackquotedContext _localctx = new BackquotedContext(_ctx, getState());
-		enterRule(_localctx, 18, RULE_backquoted);
+		enterRule(_localctx, 20, RULE_backquoted);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(101);
+			setState(112);
 			match(T__2);
-			setState(102);
+			setState(113);
 			((BackquotedContext)_localctx).content = bquote_content();
-			setState(103);
+			setState(114);
 			match(T__2);
 			}
 		}
@@ -892,49 +999,51 @@ public class CmdLineParserParser extends Parser {
 
 	public final Bquote_contentContext bquote_content() throws RecognitionException {
 		Bquote_contentContext _localctx = new Bquote_contentContext(_ctx, getState());
-		enterRule(_localctx, 20, RULE_bquote_content);
+		enterRule(_localctx, 22, RULE_bquote_content);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(112);
+			setState(123);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << T__1) | (1L << WS) | (1L << NON_KEYWORD) | (1L << SEMI) | (1L << PIPE) | (1L << GT) | (1L << LT))) != 0)) {
+			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << T__1) | (1L << WS) | (1L << NON_KEYWORD) | (1L << SEMI) | (1L << PIPE) | (1L << APPEND) | (1L << GT) | (1L << LT) | (1L << AMP))) != 0)) {
 				{
-				setState(110);
+				setState(121);
 				_errHandler.sync(this);
 				switch (_input.LA(1)) {
 				case NON_KEYWORD:
 					{
-					setState(105);
+					setState(116);
 					match(NON_KEYWORD);
 					}
 					break;
 				case SEMI:
 				case PIPE:
+				case APPEND:
 				case GT:
 				case LT:
+				case AMP:
 					{
-					setState(106);
+					setState(117);
 					keyword();
 					}
 					break;
 				case WS:
 					{
-					setState(107);
+					setState(118);
 					match(WS);
 					}
 					break;
 				case T__1:
 					{
-					setState(108);
+					setState(119);
 					match(T__1);
 					}
 					break;
 				case T__0:
 					{
-					setState(109);
+					setState(120);
 					match(T__0);
 					}
 					break;
@@ -942,7 +1051,7 @@ public class CmdLineParserParser extends Parser {
 					throw new NoViableAltException(this);
 				}
 				}
-				setState(114);
+				setState(125);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
@@ -963,7 +1072,9 @@ public class CmdLineParserParser extends Parser {
 		public TerminalNode SEMI() { return getToken(CmdLineParserParser.SEMI, 0); }
 		public TerminalNode PIPE() { return getToken(CmdLineParserParser.PIPE, 0); }
 		public TerminalNode GT() { return getToken(CmdLineParserParser.GT, 0); }
+		public TerminalNode APPEND() { return getToken(CmdLineParserParser.APPEND, 0); }
 		public TerminalNode LT() { return getToken(CmdLineParserParser.LT, 0); }
+		public TerminalNode AMP() { return getToken(CmdLineParserParser.AMP, 0); }
 		public KeywordContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
 		}
@@ -977,14 +1088,14 @@ public class CmdLineParserParser extends Parser {
 
 	public final KeywordContext keyword() throws RecognitionException {
 		KeywordContext _localctx = new KeywordContext(_ctx, getState());
-		enterRule(_localctx, 22, RULE_keyword);
+		enterRule(_localctx, 24, RULE_keyword);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(115);
+			setState(126);
 			_la = _input.LA(1);
-			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << SEMI) | (1L << PIPE) | (1L << GT) | (1L << LT))) != 0)) ) {
+			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << SEMI) | (1L << PIPE) | (1L << APPEND) | (1L << GT) | (1L << LT) | (1L << AMP))) != 0)) ) {
 			_errHandler.recoverInline(this);
 			}
 			else {
@@ -1007,9 +1118,9 @@ public class CmdLineParserParser extends Parser {
 
 	public boolean sempred(RuleContext _localctx, int ruleIndex, int predIndex) {
 		switch (ruleIndex) {
-		case 2:
-			return pipe_sempred((PipeContext)_localctx, predIndex);
 		case 3:
+			return pipe_sempred((PipeContext)_localctx, predIndex);
+		case 4:
 			return seq_sempred((SeqContext)_localctx, predIndex);
 		}
 		return true;
@@ -1030,36 +1141,39 @@ public class CmdLineParserParser extends Parser {
 	}
 
 	public static final String _serializedATN =
-		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\3\13x\4\2\t\2\4\3\t"+
-		"\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13\t\13\4"+
-		"\f\t\f\4\r\t\r\3\2\3\2\3\2\3\2\3\2\3\2\5\2!\n\2\3\3\3\3\5\3%\n\3\3\4\3"+
-		"\4\3\4\3\4\3\4\3\4\3\4\3\4\7\4/\n\4\f\4\16\4\62\13\4\3\5\3\5\3\5\3\5\3"+
-		"\5\3\5\3\5\3\5\7\5<\n\5\f\5\16\5?\13\5\3\6\3\6\3\6\3\6\3\6\3\6\3\6\6\6"+
-		"H\n\6\r\6\16\6I\3\7\3\7\3\7\3\7\3\b\3\b\3\b\3\b\3\b\7\bU\n\b\f\b\16\b"+
-		"X\13\b\3\t\3\t\3\t\3\t\3\n\3\n\3\n\3\n\3\n\7\nc\n\n\f\n\16\nf\13\n\3\13"+
-		"\3\13\3\13\3\13\3\f\3\f\3\f\3\f\3\f\7\fq\n\f\f\f\16\ft\13\f\3\r\3\r\3"+
-		"\r\2\4\6\b\16\2\4\6\b\n\f\16\20\22\24\26\30\2\3\3\2\b\13\2\u0085\2 \3"+
-		"\2\2\2\4$\3\2\2\2\6&\3\2\2\2\b\63\3\2\2\2\nG\3\2\2\2\fK\3\2\2\2\16V\3"+
-		"\2\2\2\20Y\3\2\2\2\22d\3\2\2\2\24g\3\2\2\2\26r\3\2\2\2\30u\3\2\2\2\32"+
-		"\33\5\b\5\2\33\34\7\2\2\3\34!\3\2\2\2\35\36\5\4\3\2\36\37\7\2\2\3\37!"+
-		"\3\2\2\2 \32\3\2\2\2 \35\3\2\2\2!\3\3\2\2\2\"%\5\6\4\2#%\5\n\6\2$\"\3"+
-		"\2\2\2$#\3\2\2\2%\5\3\2\2\2&\'\b\4\1\2\'(\5\n\6\2()\7\t\2\2)*\5\n\6\2"+
-		"*\60\3\2\2\2+,\f\3\2\2,-\7\t\2\2-/\5\n\6\2.+\3\2\2\2/\62\3\2\2\2\60.\3"+
-		"\2\2\2\60\61\3\2\2\2\61\7\3\2\2\2\62\60\3\2\2\2\63\64\b\5\1\2\64\65\5"+
-		"\4\3\2\65\66\7\b\2\2\66\67\5\4\3\2\67=\3\2\2\289\f\4\2\29:\7\b\2\2:<\5"+
-		"\4\3\2;8\3\2\2\2<?\3\2\2\2=;\3\2\2\2=>\3\2\2\2>\t\3\2\2\2?=\3\2\2\2@H"+
-		"\7\7\2\2AH\7\13\2\2BH\7\n\2\2CH\5\f\7\2DH\5\20\t\2EH\5\24\13\2FH\7\6\2"+
-		"\2G@\3\2\2\2GA\3\2\2\2GB\3\2\2\2GC\3\2\2\2GD\3\2\2\2GE\3\2\2\2GF\3\2\2"+
-		"\2HI\3\2\2\2IG\3\2\2\2IJ\3\2\2\2J\13\3\2\2\2KL\7\3\2\2LM\5\16\b\2MN\7"+
-		"\3\2\2N\r\3\2\2\2OU\7\7\2\2PU\5\30\r\2QU\7\6\2\2RU\7\4\2\2SU\7\5\2\2T"+
-		"O\3\2\2\2TP\3\2\2\2TQ\3\2\2\2TR\3\2\2\2TS\3\2\2\2UX\3\2\2\2VT\3\2\2\2"+
-		"VW\3\2\2\2W\17\3\2\2\2XV\3\2\2\2YZ\7\4\2\2Z[\5\22\n\2[\\\7\4\2\2\\\21"+
-		"\3\2\2\2]c\7\7\2\2^c\5\30\r\2_c\7\6\2\2`c\7\3\2\2ac\5\24\13\2b]\3\2\2"+
-		"\2b^\3\2\2\2b_\3\2\2\2b`\3\2\2\2ba\3\2\2\2cf\3\2\2\2db\3\2\2\2de\3\2\2"+
-		"\2e\23\3\2\2\2fd\3\2\2\2gh\7\5\2\2hi\5\26\f\2ij\7\5\2\2j\25\3\2\2\2kq"+
-		"\7\7\2\2lq\5\30\r\2mq\7\6\2\2nq\7\4\2\2oq\7\3\2\2pk\3\2\2\2pl\3\2\2\2"+
-		"pm\3\2\2\2pn\3\2\2\2po\3\2\2\2qt\3\2\2\2rp\3\2\2\2rs\3\2\2\2s\27\3\2\2"+
-		"\2tr\3\2\2\2uv\t\2\2\2v\31\3\2\2\2\16 $\60=GITVbdpr";
+		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\3\r\u0083\4\2\t\2\4"+
+		"\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13\t"+
+		"\13\4\f\t\f\4\r\t\r\4\16\t\16\3\2\3\2\3\2\3\2\3\2\3\2\5\2#\n\2\3\3\3\3"+
+		"\3\3\5\3(\n\3\3\3\5\3+\n\3\3\4\3\4\5\4/\n\4\3\5\3\5\3\5\3\5\3\5\3\5\3"+
+		"\5\3\5\7\59\n\5\f\5\16\5<\13\5\3\6\3\6\3\6\3\6\3\6\3\6\3\6\3\6\7\6F\n"+
+		"\6\f\6\16\6I\13\6\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\6\7S\n\7\r\7\16\7T\3"+
+		"\b\3\b\3\b\3\b\3\t\3\t\3\t\3\t\3\t\7\t`\n\t\f\t\16\tc\13\t\3\n\3\n\3\n"+
+		"\3\n\3\13\3\13\3\13\3\13\3\13\7\13n\n\13\f\13\16\13q\13\13\3\f\3\f\3\f"+
+		"\3\f\3\r\3\r\3\r\3\r\3\r\7\r|\n\r\f\r\16\r\177\13\r\3\16\3\16\3\16\2\4"+
+		"\b\n\17\2\4\6\b\n\f\16\20\22\24\26\30\32\2\3\3\2\b\r\2\u0092\2\"\3\2\2"+
+		"\2\4*\3\2\2\2\6.\3\2\2\2\b\60\3\2\2\2\n=\3\2\2\2\fR\3\2\2\2\16V\3\2\2"+
+		"\2\20a\3\2\2\2\22d\3\2\2\2\24o\3\2\2\2\26r\3\2\2\2\30}\3\2\2\2\32\u0080"+
+		"\3\2\2\2\34\35\5\n\6\2\35\36\7\2\2\3\36#\3\2\2\2\37 \5\4\3\2 !\7\2\2\3"+
+		"!#\3\2\2\2\"\34\3\2\2\2\"\37\3\2\2\2#\3\3\2\2\2$%\5\6\4\2%\'\7\r\2\2&"+
+		"(\5\4\3\2\'&\3\2\2\2\'(\3\2\2\2(+\3\2\2\2)+\5\6\4\2*$\3\2\2\2*)\3\2\2"+
+		"\2+\5\3\2\2\2,/\5\b\5\2-/\5\f\7\2.,\3\2\2\2.-\3\2\2\2/\7\3\2\2\2\60\61"+
+		"\b\5\1\2\61\62\5\f\7\2\62\63\7\t\2\2\63\64\5\f\7\2\64:\3\2\2\2\65\66\f"+
+		"\3\2\2\66\67\7\t\2\2\679\5\f\7\28\65\3\2\2\29<\3\2\2\2:8\3\2\2\2:;\3\2"+
+		"\2\2;\t\3\2\2\2<:\3\2\2\2=>\b\6\1\2>?\5\4\3\2?@\7\b\2\2@A\5\4\3\2AG\3"+
+		"\2\2\2BC\f\4\2\2CD\7\b\2\2DF\5\4\3\2EB\3\2\2\2FI\3\2\2\2GE\3\2\2\2GH\3"+
+		"\2\2\2H\13\3\2\2\2IG\3\2\2\2JS\7\7\2\2KS\7\f\2\2LS\7\13\2\2MS\7\n\2\2"+
+		"NS\5\16\b\2OS\5\22\n\2PS\5\26\f\2QS\7\6\2\2RJ\3\2\2\2RK\3\2\2\2RL\3\2"+
+		"\2\2RM\3\2\2\2RN\3\2\2\2RO\3\2\2\2RP\3\2\2\2RQ\3\2\2\2ST\3\2\2\2TR\3\2"+
+		"\2\2TU\3\2\2\2U\r\3\2\2\2VW\7\3\2\2WX\5\20\t\2XY\7\3\2\2Y\17\3\2\2\2Z"+
+		"`\7\7\2\2[`\5\32\16\2\\`\7\6\2\2]`\7\4\2\2^`\7\5\2\2_Z\3\2\2\2_[\3\2\2"+
+		"\2_\\\3\2\2\2_]\3\2\2\2_^\3\2\2\2`c\3\2\2\2a_\3\2\2\2ab\3\2\2\2b\21\3"+
+		"\2\2\2ca\3\2\2\2de\7\4\2\2ef\5\24\13\2fg\7\4\2\2g\23\3\2\2\2hn\7\7\2\2"+
+		"in\5\32\16\2jn\7\6\2\2kn\7\3\2\2ln\5\26\f\2mh\3\2\2\2mi\3\2\2\2mj\3\2"+
+		"\2\2mk\3\2\2\2ml\3\2\2\2nq\3\2\2\2om\3\2\2\2op\3\2\2\2p\25\3\2\2\2qo\3"+
+		"\2\2\2rs\7\5\2\2st\5\30\r\2tu\7\5\2\2u\27\3\2\2\2v|\7\7\2\2w|\5\32\16"+
+		"\2x|\7\6\2\2y|\7\4\2\2z|\7\3\2\2{v\3\2\2\2{w\3\2\2\2{x\3\2\2\2{y\3\2\2"+
+		"\2{z\3\2\2\2|\177\3\2\2\2}{\3\2\2\2}~\3\2\2\2~\31\3\2\2\2\177}\3\2\2\2"+
+		"\u0080\u0081\t\2\2\2\u0081\33\3\2\2\2\20\"\'*.:GRT_amo{}";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
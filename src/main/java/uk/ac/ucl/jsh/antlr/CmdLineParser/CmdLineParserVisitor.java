@@ -17,11 +17,25 @@ public interface CmdLineParserVisitor<T> extends ParseTreeVisitor<T> {
 	 */
 	T visitCompileUnit(CmdLineParserParser.CompileUnitContext ctx);
 	/**
-	 * Visit a parse tree produced by {@link CmdLineParserParser#command}.
+	 * Visit a parse tree produced by the {@code backgroundCommand}
+	 * labeled alternative in {@link CmdLineParserParser#command}.
 	 * @param ctx the parse tree
 	 * @return the visitor result
 	 */
-	T visitCommand(CmdLineParserParser.CommandContext ctx);
+	T visitBackgroundCommand(CmdLineParserParser.BackgroundCommandContext ctx);
+	/**
+	 * Visit a parse tree produced by the {@code foregroundCommand}
+	 * labeled alternative in {@link CmdLineParserParser#command}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitForegroundCommand(CmdLineParserParser.ForegroundCommandContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link CmdLineParserParser#job}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitJob(CmdLineParserParser.JobContext ctx);
 	/**
 	 * Visit a parse tree produced by the {@code pipeBase}
 	 * labeled alternative in {@link CmdLineParserParser#pipe}.
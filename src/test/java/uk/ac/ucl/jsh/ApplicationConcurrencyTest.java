@@ -0,0 +1,191 @@
+package uk.ac.ucl.jsh;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.ac.ucl.jsh.Applications.Application;
+import uk.ac.ucl.jsh.Utilities.ApplicationManager;
+import uk.ac.ucl.jsh.Utilities.FileSystem;
+import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
+
+public class ApplicationConcurrencyTest {
+    private static final int THREADS = 64;
+    private static final int ITERATIONS = 25;
+
+    private FileSystem fileSystem = FileSystem.getInstance();
+    private String lineSeparator = Jsh.lineSeparator;
+    private String fileSeparator = Jsh.fileSeparator;
+    private String tmpPath = System.getProperty("java.io.tmpdir");
+    private String testFile = "Documents" + fileSeparator + "Eng" + fileSeparator + "Test";
+    private String initialWorkingDirectoryPath;
+
+    @Before
+    public void beforeTest() throws IOException {
+        initialWorkingDirectoryPath = fileSystem.getWorkingDirectoryPath();
+        fileSystem.createTestFileHierarchy();
+        fileSystem.setWorkingDirectory(tmpPath);
+    }
+
+    @After
+    public void afterTest() throws IOException {
+        fileSystem.deleteTestFileHierarchy();
+        fileSystem.setWorkingDirectory(initialWorkingDirectoryPath);
+    }
+
+    private String run(String applicationName, List<String> arguments, ShellSession session) throws JshException {
+        Application application = ApplicationManager.getInstance().getApplication(applicationName);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        application.execute(new ArrayList<>(arguments), null, outputStream, session);
+        return outputStream.toString();
+    }
+
+    private String lines(int from, int to) {
+        StringBuilder expected = new StringBuilder();
+        for (int i = from; i < to; ++i) {
+            expected.append("Line number: ").append(i).append(lineSeparator);
+        }
+        return expected.toString();
+    }
+
+    // Runs every variant of the arguments once on its own to get its expected output, then runs the variants from THREADS threads at
+    // once on the shared instance of the Application, each thread using the variant of its number
+    private void stress(String applicationName, List<List<String>> variants) throws Exception {
+        ShellSession session = new ShellSession(tmpPath);
+        List<String> expected = new ArrayList<>();
+        for (List<String> variant : variants) {
+            expected.add(run(applicationName, variant, session));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; ++thread) {
+                int variant = thread % variants.size();
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; ++i) {
+                        assertEquals(expected.get(variant), run(applicationName, variants.get(variant), session));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testHead() throws Exception {
+        List<List<String>> variants = new ArrayList<>();
+        for (int lines = 1; lines <= 20; ++lines) {
+            variants.add(Arrays.asList("-n", Integer.toString(lines), testFile));
+        }
+        assertEquals(lines(0, 7), run("head", variants.get(6), ShellSession.getDefault()));
+        stress("head", variants);
+    }
+
+    @Test
+    public void testTail() throws Exception {
+        List<List<String>> variants = new ArrayList<>();
+        for (int lines = 1; lines <= 20; ++lines) {
+            variants.add(Arrays.asList("-n", Integer.toString(lines), testFile));
+        }
+        assertEquals(lines(13, 20), run("tail", variants.get(6), ShellSession.getDefault()));
+        stress("tail", variants);
+    }
+
+    @Test
+    public void testWc() throws Exception {
+        stress("wc", Arrays.asList(
+            Arrays.asList("-l", testFile),
+            Arrays.asList("-w", "Soft"),
+            Arrays.asList("-m", testFile),
+            Arrays.asList("-lw", "Soft", testFile),
+            Arrays.asList(testFile)));
+    }
+
+    @Test
+    public void testSed() throws Exception {
+        List<List<String>> variants = new ArrayList<>();
+        for (int i = 0; i < 16; ++i) {
+            variants.add(Arrays.asList("s/number/n" + i + "/" + (i % 2 == 0 ? "g" : ""), testFile));
+        }
+        stress("sed", variants);
+    }
+
+    @Test
+    public void testGrep() throws Exception {
+        List<List<String>> variants = new ArrayList<>();
+        for (int i = 0; i < 20; ++i) {
+            variants.add(Arrays.asList("number: " + i + "$", testFile));
+        }
+        assertEquals("Line number: 4" + lineSeparator, run("grep", variants.get(4), ShellSession.getDefault()));
+        stress("grep", variants);
+    }
+
+    @Test
+    public void testFind() throws Exception {
+        // Every variant is rooted in the test hierarchy, so that the walk does not depend on the rest of the temporary directory
+        stress("find", Arrays.asList(
+            Arrays.asList("Documents", "-name", "Test"),
+            Arrays.asList("Documents", "-name", "*.txt"),
+            Arrays.asList("Other", "-name", "Oth*"),
+            Arrays.asList("Documents" + fileSeparator + "Eng", "-name", "Code")));
+        assertEquals("Documents" + fileSeparator + "Eng" + fileSeparator + "Code" + lineSeparator,
+                     run("find", Arrays.asList("Documents" + fileSeparator + "Eng", "-name", "Code"), ShellSession.getDefault()));
+    }
+
+    @Test
+    public void testCatAndEcho() throws Exception {
+        stress("cat", Arrays.asList(Arrays.asList("Hello"), Arrays.asList(testFile), Arrays.asList("Soft", "Hello")));
+        stress("echo", Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("Other/*")));
+    }
+
+    @Test
+    public void testConcurrentPipelinesInSessions() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; ++thread) {
+                int line = thread % 20;
+                results.add(executor.submit(() -> {
+                    ShellSession session = new ShellSession(tmpPath + fileSeparator + "Documents");
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; ++i) {
+                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                        Jsh.eval("cd Eng; head -n " + (line + 1) + " Test | tail -n 1 | sed s/Line/L/", null, outputStream, session);
+                        assertEquals("L number: " + line + lineSeparator, outputStream.toString());
+                        session.setWorkingDirectory(tmpPath + fileSeparator + "Documents");
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
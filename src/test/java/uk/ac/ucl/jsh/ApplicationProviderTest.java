@@ -0,0 +1,93 @@
+package uk.ac.ucl.jsh;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import uk.ac.ucl.jsh.Applications.Application;
+import uk.ac.ucl.jsh.Applications.ApplicationProvider;
+import uk.ac.ucl.jsh.Applications.Cat;
+import uk.ac.ucl.jsh.Applications.Echo;
+import uk.ac.ucl.jsh.Utilities.ApplicationManager;
+import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
+
+public class ApplicationProviderTest {
+    /**
+     * Provider registered in META-INF/services, adding a rev Application and trying to replace the echo builtin
+     */
+    public static class TestProvider implements ApplicationProvider {
+        @Override
+        public Map<String, Supplier<Application>> getApplications() {
+            Map<String, Supplier<Application>> applications = new HashMap<>();
+            applications.put("rev", Rev::new);
+            applications.put("echo", Rev::new);
+            return applications;
+        }
+    }
+
+    public static class Rev implements Application {
+        @Override
+        public void execute(ArrayList<String> applicationArguments, InputStream inputStream, OutputStream outputStream, ShellSession session)
+                throws JshException {
+            try {
+                for (String argument : applicationArguments) {
+                    outputStream.write((new StringBuilder(argument).reverse() + Jsh.lineSeparator).getBytes());
+                }
+            } catch (IOException e) {
+                throw new JshException("rev: " + e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testBuiltinsAreCreatedOnce() {
+        Application cat = ApplicationManager.getInstance().getApplication("cat");
+        assertTrue(cat instanceof Cat);
+        assertSame(cat, ApplicationManager.getInstance().getApplication("CAT"));
+    }
+
+    @Test
+    public void testProviderIsDiscovered() {
+        assertTrue(ApplicationManager.getInstance().getApplication("rev") instanceof Rev);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Jsh.eval("rev abc; _rev de", null, outputStream, ShellSession.getDefault());
+        assertEquals("cba" + Jsh.lineSeparator + "ed" + Jsh.lineSeparator, outputStream.toString());
+    }
+
+    @Test
+    public void testProviderCannotReplaceBuiltin() {
+        assertNull(ApplicationManager.getInstance().getApplication("missing"));
+        assertTrue(ApplicationManager.getInstance().getApplication("echo") instanceof Echo);
+    }
+
+    @Test
+    public void testColdStartOnlyLoadsWhatItRuns() throws IOException, InterruptedException {
+        ProcessBuilder processBuilder = new ProcessBuilder(System.getProperty("java.home") + "/bin/java", "-verbose:class",
+                                                           "-cp", System.getProperty("java.class.path"), Jsh.class.getName(), "-c", "echo hi");
+        processBuilder.redirectErrorStream(true);
+        Process process = processBuilder.start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(0, process.waitFor());
+
+        assertTrue(output.contains("hi" + Jsh.lineSeparator));
+        assertTrue(output.contains(Echo.class.getName() + " "));
+        assertFalse(output.contains(Cat.class.getName() + " "));
+        assertFalse(output.contains("org.antlr"));
+    }
+}
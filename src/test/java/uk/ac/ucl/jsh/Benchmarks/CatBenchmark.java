@@ -0,0 +1,114 @@
+package uk.ac.ucl.jsh.Benchmarks;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.ac.ucl.jsh.Applications.Cat;
+import uk.ac.ucl.jsh.Utilities.RedirectedFileOutputStream;
+import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.LineSink;
+import uk.ac.ucl.jsh.Utilities.LineSource;
+
+/**
+ * Benchmark measuring the time cat takes to copy a large file, 1 GiB by default, which gives its throughput.
+ * It compares the transfer done by the operating system when cat writes to a redirected file, the buffered copy used for the other
+ * outputs, here a stream discarding the bytes, and the copy line by line through a Scanner that cat used to do.
+ * Run with: ./benchmark CatBenchmark, or ./benchmark CatBenchmark -p size=268435456 for a smaller file
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CatBenchmark {
+    @Param({"1073741824"})
+    private long size;
+
+    private File input;
+    private File output;
+    private Cat cat;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = File.createTempFile("jsh-cat", ".in");
+        output = File.createTempFile("jsh-cat", ".out");
+        byte[] line = "The quick brown fox jumps over the lazy dog, again and again and again.\n".getBytes();
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(input), 1 << 20)) {
+            for (long written = 0; written < size; written += line.length) {
+                outputStream.write(line);
+            }
+        }
+        cat = new Cat();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        input.delete();
+        output.delete();
+    }
+
+    @Benchmark
+    public long transferToFile() throws JshException, IOException {
+        try (RedirectedFileOutputStream outputStream = RedirectedFileOutputStream.open(output, false)) {
+            cat.execute(new ArrayList<>(Arrays.asList(input.getPath())), null, outputStream);
+        }
+        return output.length();
+    }
+
+    @Benchmark
+    public long bufferedCopy() throws JshException {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        cat.execute(new ArrayList<>(Arrays.asList(input.getPath())), null, outputStream);
+        return outputStream.count;
+    }
+
+    @Benchmark
+    public long scannerLineCopy() throws IOException, JshException {
+        try (RedirectedFileOutputStream outputStream = RedirectedFileOutputStream.open(output, false);
+             LineSource source = LineSource.of(new Scanner(input))) {
+            LineSink sink = LineSink.of(outputStream);
+            CharSequence line;
+            while ((line = source.readLine()) != null) {
+                sink.writeLine(line);
+                sink.flush();
+            }
+        }
+        return output.length();
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            ++count;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
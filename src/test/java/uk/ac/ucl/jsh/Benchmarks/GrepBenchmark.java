@@ -0,0 +1,89 @@
+package uk.ac.ucl.jsh.Benchmarks;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.ac.ucl.jsh.Jsh;
+import uk.ac.ucl.jsh.Applications.Grep;
+import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.ShellOutput;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
+
+/**
+ * Benchmark measuring the time grep takes to match a file of 10 million lines, about half of which match, and to write the matching
+ * lines to a file. It compares the redirection of the output, written through the ShellOutput layer with the THRESHOLD policy, with
+ * the same output written with the LINE policy, which writes every line to the file with its own system call like grep used to do.
+ * Run with: ./benchmark GrepBenchmark, or ./benchmark GrepBenchmark -p lines=1000000 for a smaller file
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GrepBenchmark {
+    @Param({"10000000"})
+    private int lines;
+
+    private File input;
+    private File output;
+    private ShellSession session;
+    private Grep grep;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = File.createTempFile("jsh-grep", ".in");
+        output = File.createTempFile("jsh-grep", ".out");
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(input), 1 << 20)) {
+            for (int i = 0; i < lines; ++i) {
+                outputStream.write(("Line number: " + i + Jsh.lineSeparator).getBytes());
+            }
+        }
+        session = new ShellSession(input.getParent(), null);
+        grep = new Grep();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        input.delete();
+        output.delete();
+    }
+
+    @Benchmark
+    public long thresholdFlushToFile() {
+        ByteArrayOutputStream standardOutput = new ByteArrayOutputStream();
+        Jsh.eval("grep 7 " + input.getName() + " > " + output.getName(), null, standardOutput, session);
+        return output.length();
+    }
+
+    @Benchmark
+    public long lineFlushToFile() throws IOException, JshException {
+        try (FileOutputStream fileOutputStream = new FileOutputStream(output)) {
+            ShellOutput outputStream = new ShellOutput(fileOutputStream, ShellOutput.FlushPolicy.LINE);
+            grep.execute(new ArrayList<>(Arrays.asList("7", input.getPath())), null, outputStream);
+            outputStream.flush();
+        }
+        return output.length();
+    }
+}
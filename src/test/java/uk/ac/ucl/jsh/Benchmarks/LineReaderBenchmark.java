@@ -0,0 +1,127 @@
+package uk.ac.ucl.jsh.Benchmarks;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.ac.ucl.jsh.Utilities.LineReader;
+
+/**
+ * Benchmark measuring the time taken to read every line of a file of 64 MiB, whose lines are either plain ASCII or UTF-8 text with
+ * accented letters and symbols. It compares the Scanner the Applications used to read with, a BufferedReader, and the LineReader
+ * returning either a String or a reused view for every line. Every line is consumed by adding its length and its first character.
+ * The benchmark runs with UTF-8 as the default charset, which the LineReader decodes with.
+ * Run with: ./benchmark LineReaderBenchmark, or ./benchmark LineReaderBenchmark -p corpus=utf8 for the UTF-8 file only
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dfile.encoding=UTF-8")
+public class LineReaderBenchmark {
+    @Param({"ascii", "utf8"})
+    private String corpus;
+
+    @Param({"67108864"})
+    private long size;
+
+    private File input;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String text = corpus.equals("ascii")
+            ? "The quick brown fox jumps over the lazy dog, line after line after line.\n"
+            : "Le c\u0153ur de la for\u00eat \u2014 na\u00efve fa\u00e7ade, 10 \u20ac \u00fcber alles, \u65e5\u672c\u8a9e.\n";
+        byte[] line = text.getBytes("UTF-8");
+        input = File.createTempFile("jsh-lines", ".in");
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(input), 1 << 20)) {
+            for (long written = 0; written < size; written += line.length) {
+                outputStream.write(line);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        input.delete();
+    }
+
+    private static long consume(long total, CharSequence line) {
+        return total + line.length() + (line.length() > 0 ? line.charAt(0) : 0);
+    }
+
+    @Benchmark
+    public long scanner() throws IOException {
+        long total = 0;
+        try (Scanner scanner = new Scanner(input, "UTF-8")) {
+            while (scanner.hasNextLine()) {
+                total = consume(total, scanner.nextLine());
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long bufferedReader() throws IOException {
+        long total = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(input), 64 * 1024)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                total = consume(total, line);
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long lineReaderStrings() throws IOException {
+        long total = 0;
+        LineReader reader = new LineReader(new FileInputStream(input));
+        try {
+            CharSequence line;
+            while ((line = reader.readLine()) != null) {
+                total = consume(total, line);
+            }
+        } finally {
+            reader.close();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long lineReaderViews() throws IOException {
+        long total = 0;
+        LineReader reader = new LineReader(new FileInputStream(input));
+        try {
+            CharSequence line;
+            while ((line = reader.readLineView()) != null) {
+                total = consume(total, line);
+            }
+        } finally {
+            reader.close();
+        }
+        return total;
+    }
+}
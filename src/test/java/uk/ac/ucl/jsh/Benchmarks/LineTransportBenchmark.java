@@ -0,0 +1,88 @@
+package uk.ac.ucl.jsh.Benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.ac.ucl.jsh.Utilities.LineSink;
+import uk.ac.ucl.jsh.Utilities.LineSource;
+import uk.ac.ucl.jsh.Utilities.Pipe;
+
+/**
+ * Benchmark comparing the transport of lines between two line-oriented Applications through the line batches of a Pipe with
+ * encoding every line to bytes and decoding it again on the other side, as the Applications used to do.
+ * Run with: ./benchmark LineTransportBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LineTransportBenchmark {
+    @Param({"1000000"})
+    private int lineCount;
+
+    private String line;
+    private ExecutorService producers;
+
+    @Setup
+    public void setUp() {
+        line = "the quick brown fox jumps over the lazy dog 0123456789";
+        producers = Executors.newSingleThreadExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        producers.shutdownNow();
+    }
+
+    private long transfer(Pipe pipe, LineSink sink) throws Exception {
+        Future<?> producer = producers.submit(() -> {
+            try {
+                for (int i = 0; i < lineCount; ++i) {
+                    sink.writeLine(line);
+                }
+                sink.flush();
+            } finally {
+                pipe.closeWriteEnd();
+            }
+            return null;
+        });
+        long total = 0;
+        LineSource source = LineSource.of(pipe.getInputStream());
+        CharSequence read;
+        while ((read = source.readLine()) != null) {
+            total += read.length();
+        }
+        producer.get();
+        return total;
+    }
+
+    @Benchmark
+    public long lineBatches() throws Exception {
+        Pipe pipe = new Pipe();
+        return transfer(pipe, LineSink.of(pipe.getOutputStream()));
+    }
+
+    @Benchmark
+    public long encodedLines() throws Exception {
+        Pipe pipe = new Pipe();
+        return transfer(pipe, LineSink.encoding(pipe.getOutputStream()));
+    }
+}
@@ -0,0 +1,72 @@
+package uk.ac.ucl.jsh.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.ac.ucl.jsh.Parser.BuildCmdTree;
+import uk.ac.ucl.jsh.Parser.Node;
+import uk.ac.ucl.jsh.Parser.Parser;
+import uk.ac.ucl.jsh.antlr.CmdLineParser.CmdLineParserLexer;
+import uk.ac.ucl.jsh.antlr.CmdLineParser.CmdLineParserParser;
+
+/**
+ * Benchmark comparing the parse of a command line by the Parser, which reuses the ANTLR lexer and parser of the thread and predicts in
+ * SLL mode first, with building a new lexer and parser predicting in LL mode for every command line, as the Parser used to do.
+ * The parse cache is cleared before every parse, so that both sides run ANTLR.
+ * Run with: ./benchmark ParserBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+    @Param({"short", "long"})
+    private String length;
+
+    private String cmdLine;
+
+    @Setup
+    public void setUp() {
+        if (length.equals("short")) {
+            cmdLine = "cat Documents/Eng/Test | grep 'Line' > out";
+            return;
+        }
+
+        StringBuilder builder = new StringBuilder("echo");
+        for (int i = 0; i < 200; ++i) {
+            builder.append(" arg").append(i).append(" 'quoted ").append(i).append("' \"double ").append(i).append('"');
+        }
+        for (int i = 0; i < 20; ++i) {
+            builder.append(" | grep -v ").append(i).append(" ; sed s/a/b/ < in").append(i);
+        }
+        cmdLine = builder.toString();
+    }
+
+    @Benchmark
+    public Node freshLlParser() {
+        CmdLineParserLexer parserLexer = new CmdLineParserLexer(CharStreams.fromString(cmdLine));
+        CmdLineParserParser parserParser = new CmdLineParserParser(new CommonTokenStream(parserLexer));
+        return new BuildCmdTree().visitCompileUnit(parserParser.compileUnit());
+    }
+
+    @Benchmark
+    public Node reusedSllParser() {
+        Parser.getCmdLineCache().clear();
+        return Parser.parserCmdLine(cmdLine);
+    }
+}
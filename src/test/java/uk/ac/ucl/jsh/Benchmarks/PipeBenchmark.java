@@ -0,0 +1,127 @@
+package uk.ac.ucl.jsh.Benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.ac.ucl.jsh.Utilities.ByteRingBuffer;
+import uk.ac.ucl.jsh.Utilities.Pipe;
+
+/**
+ * Benchmark comparing the throughput of the Pipe used between pipeline stages, and of the ByteRingBuffer it transports bytes through,
+ * with a PipedInputStream/PipedOutputStream pair and with buffering the whole output of a stage in a ByteArrayOutputStream, as
+ * EvalVisitor used to do.
+ * Run with: ./benchmark PipeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipeBenchmark {
+    @Param({"67108864"})
+    private int totalBytes;
+
+    @Param({"128", "8192"})
+    private int writeSize;
+
+    private byte[] chunk;
+    private byte[] readBuffer;
+    private ExecutorService producers;
+
+    @Setup
+    public void setUp() {
+        chunk = new byte[writeSize];
+        Arrays.fill(chunk, (byte) 'a');
+        readBuffer = new byte[8192];
+        producers = Executors.newSingleThreadExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        producers.shutdownNow();
+    }
+
+    private void produce(OutputStream outputStream) throws IOException {
+        for (int written = 0; written < totalBytes; written += writeSize) {
+            outputStream.write(chunk, 0, writeSize);
+        }
+        outputStream.close();
+    }
+
+    private long consume(InputStream inputStream) throws IOException {
+        long total = 0;
+        int read;
+        while ((read = inputStream.read(readBuffer, 0, readBuffer.length)) != -1) {
+            total += read;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long ringBufferPipe() throws Exception {
+        Pipe pipe = new Pipe();
+        Future<?> producer = producers.submit(() -> {
+            produce(pipe.getOutputStream());
+            return null;
+        });
+        long total = consume(pipe.getInputStream());
+        producer.get();
+        return total;
+    }
+
+    @Benchmark
+    public long ringBuffer() throws Exception {
+        ByteRingBuffer ringBuffer = new ByteRingBuffer(Pipe.DEFAULT_CAPACITY);
+        Future<?> producer = producers.submit(() -> {
+            produce(ringBuffer.getOutputStream());
+            return null;
+        });
+        long total = consume(ringBuffer.getInputStream());
+        producer.get();
+        return total;
+    }
+
+    @Benchmark
+    public long pipedStreams() throws Exception {
+        PipedInputStream inputStream = new PipedInputStream(Pipe.DEFAULT_CAPACITY);
+        PipedOutputStream outputStream = new PipedOutputStream(inputStream);
+        Future<?> producer = producers.submit(() -> {
+            produce(outputStream);
+            return null;
+        });
+        long total = consume(inputStream);
+        producer.get();
+        return total;
+    }
+
+    @Benchmark
+    public long byteArrayBuffering() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        produce(outputStream);
+        return consume(new ByteArrayInputStream(outputStream.toByteArray()));
+    }
+}
@@ -0,0 +1,147 @@
+package uk.ac.ucl.jsh.Benchmarks;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.ac.ucl.jsh.Jsh;
+
+/**
+ * Benchmark comparing two ways of reading the lines of a file used for input redirection and matching a regular expression against
+ * each of them, as grep does: through the FileInputStream that CallPlan opens, read into a heap buffer, and through the file mapped in
+ * memory one 64 MiB window at a time, which is how a redirection could get past the 2 GB limit of a MappedByteBuffer.
+ * Run with: ./benchmark RedirectionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RedirectionBenchmark {
+    private static final int WINDOW_SIZE = 64 << 20;
+    private static final Pattern PATTERN = Pattern.compile("number: [0-9]*7\t");
+
+    @Param({"1000000"})
+    private int lines;
+
+    private File input;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = File.createTempFile("jsh-redirection", ".in");
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(input), 1 << 20)) {
+            for (int i = 0; i < lines; ++i) {
+                outputStream.write(("Line number: " + i + "\tof the input" + Jsh.lineSeparator).getBytes());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        input.delete();
+    }
+
+    @Benchmark
+    public long fileInputStream() throws IOException {
+        long matches = 0;
+        byte[] buffer = new byte[64 * 1024];
+        int start = 0, end = 0;
+        try (InputStream inputStream = new FileInputStream(input)) {
+            while (true) {
+                int newline = indexOf(buffer, start, end);
+                if (newline != -1) {
+                    matches += match(new String(buffer, start, newline - start));
+                    start = newline + 1;
+                    continue;
+                }
+                if (start > 0) {
+                    System.arraycopy(buffer, start, buffer, 0, end - start);
+                    end -= start;
+                    start = 0;
+                }
+                if (end == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                int read = inputStream.read(buffer, end, buffer.length - end);
+                if (read == -1) {
+                    return end > start ? matches + match(new String(buffer, start, end - start)) : matches;
+                }
+                end += read;
+            }
+        }
+    }
+
+    @Benchmark
+    public long mappedWindows() throws IOException {
+        long matches = 0;
+        byte[] line = new byte[256];
+        int lineLength = 0;
+        try (FileChannel channel = FileChannel.open(input.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += WINDOW_SIZE) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size - position));
+                int limit = window.limit();
+                int start = 0;
+                for (int i = 0; i < limit; ++i) {
+                    if (window.get(i) == '\n') {
+                        line = append(line, lineLength, window, start, i - start);
+                        matches += match(new String(line, 0, lineLength + i - start));
+                        lineLength = 0;
+                        start = i + 1;
+                    }
+                }
+                // The last line of a window continues in the next one
+                line = append(line, lineLength, window, start, limit - start);
+                lineLength += limit - start;
+            }
+        }
+        return lineLength > 0 ? matches + match(new String(line, 0, lineLength)) : matches;
+    }
+
+    private static int indexOf(byte[] buffer, int start, int end) {
+        for (int i = start; i < end; ++i) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] append(byte[] line, int lineLength, MappedByteBuffer window, int start, int length) {
+        if (lineLength + length > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+        }
+        window.position(start);
+        window.get(line, lineLength, length);
+        return line;
+    }
+
+    private static int match(String line) {
+        return PATTERN.matcher(line).find() ? 1 : 0;
+    }
+}
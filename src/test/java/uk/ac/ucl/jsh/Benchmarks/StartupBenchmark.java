@@ -0,0 +1,67 @@
+package uk.ac.ucl.jsh.Benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.ac.ucl.jsh.Jsh;
+
+/**
+ * Benchmark measuring the time from starting a new JVM running jsh -c 'echo hi' to reading the first byte of its output, which is the
+ * latency a user of the -c mode sees. Every invocation starts a new JVM, so nothing is shared between invocations.
+ * The trial fails if the average time to first output exceeds the threshold given in milliseconds by the jsh.startup.threshold system
+ * property, 1000 by default, so that the benchmark can be used to catch a regression of the cold start.
+ * Run with: ./benchmark StartupBenchmark -jvmArgs -Djsh.startup.threshold=500
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 20)
+@Fork(1)
+public class StartupBenchmark {
+    private final long threshold = Long.getLong("jsh.startup.threshold", 1000);
+
+    private long totalNanos;
+    private int invocations;
+
+    @Benchmark
+    public int timeToFirstOutput() throws IOException, InterruptedException {
+        ProcessBuilder processBuilder = new ProcessBuilder(System.getProperty("java.home") + "/bin/java",
+                                                           "-cp", System.getProperty("java.class.path"), Jsh.class.getName(), "-c", "echo hi");
+        processBuilder.redirectError(ProcessBuilder.Redirect.INHERIT);
+        long start = System.nanoTime();
+        Process process = processBuilder.start();
+        try (InputStream output = process.getInputStream()) {
+            int first = output.read();
+            totalNanos += System.nanoTime() - start;
+            ++invocations;
+            if (first != 'h') {
+                throw new IllegalStateException("unexpected output of jsh -c 'echo hi'");
+            }
+            output.transferTo(OutputStream.nullOutputStream());
+        }
+        return process.waitFor();
+    }
+
+    @TearDown(Level.Trial)
+    public void checkThreshold() {
+        long averageMillis = invocations == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos / invocations);
+        if (averageMillis > threshold) {
+            throw new IllegalStateException("time to first output of " + averageMillis + " ms exceeds the threshold of " + threshold + " ms");
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package uk.ac.ucl.jsh.Benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.ac.ucl.jsh.Applications.Tail;
+import uk.ac.ucl.jsh.Utilities.JshException;
+
+/**
+ * Benchmark measuring the latency of tail -f, from the moment lines are appended to the followed file to the moment tail has written
+ * them all. Every operation appends a batch of lines, 10 by default, so that the lines per second are the batch size divided by the
+ * time of an operation. The sampled times give the distribution of the latency, whose high percentiles should stay under 50 ms.
+ * Run with: ./benchmark TailFollowBenchmark, or ./benchmark TailFollowBenchmark -p linesPerBatch=100 for larger batches
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TailFollowBenchmark {
+    @Param({"10"})
+    private int linesPerBatch;
+
+    private File file;
+    private OutputStream appender;
+    private byte[] batch;
+    private LineCounter followedOutput;
+    private Thread follower;
+    private long linesAppended;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = File.createTempFile("jsh-follow", ".log");
+        appender = new FileOutputStream(file, true);
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < linesPerBatch; ++i) {
+            lines.append("2024-01-01T00:00:00.000 INFO request ").append(i).append(" served in 3 ms\n");
+        }
+        batch = lines.toString().getBytes();
+        followedOutput = new LineCounter();
+        follower = new Thread(() -> {
+            try {
+                new Tail().execute(new ArrayList<>(Arrays.asList("-f", file.getPath())), null, followedOutput);
+            } catch (JshException e) {
+                e.printStackTrace();
+            }
+        });
+        follower.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        follower.interrupt();
+        follower.join();
+        appender.close();
+        file.delete();
+    }
+
+    @Benchmark
+    public long appendAndAwaitOutput() throws IOException, InterruptedException {
+        appender.write(batch);
+        linesAppended += linesPerBatch;
+        followedOutput.awaitLines(linesAppended);
+        return linesAppended;
+    }
+
+    private static final class LineCounter extends OutputStream {
+        private long lines;
+
+        @Override
+        public synchronized void write(int b) {
+            if (b == '\n') {
+                ++lines;
+                notifyAll();
+            }
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; ++i) {
+                if (b[i] == '\n') {
+                    ++lines;
+                }
+            }
+            notifyAll();
+        }
+
+        synchronized void awaitLines(long expected) throws InterruptedException {
+            while (lines < expected) {
+                wait();
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package uk.ac.ucl.jsh.Benchmarks;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.ac.ucl.jsh.Jsh;
+import uk.ac.ucl.jsh.Applications.Wc;
+import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
+
+/**
+ * Benchmark measuring the time wc takes to count a file of 10 million lines, with every count, with the lines only and with the bytes
+ * only, which only reads the size of the file. It compares them with the same counts made one byte at a time over the same buffer size,
+ * which is what wc does for the last bytes of every block.
+ * Run with: ./benchmark WcBenchmark, or ./benchmark WcBenchmark -p lines=1000000 for a smaller file
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WcBenchmark {
+    @Param({"10000000"})
+    private int lines;
+
+    private File input;
+    private ShellSession session;
+    private Wc wc;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = File.createTempFile("jsh-wc", ".in");
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(input), 1 << 20)) {
+            for (int i = 0; i < lines; ++i) {
+                outputStream.write(("Line number: " + i + "\tof the input" + Jsh.lineSeparator).getBytes());
+            }
+        }
+        session = new ShellSession(input.getParent(), null);
+        wc = new Wc();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        input.delete();
+    }
+
+    @Benchmark
+    public String allCounts() throws JshException {
+        return count();
+    }
+
+    @Benchmark
+    public String lineCount() throws JshException {
+        return count("-l");
+    }
+
+    @Benchmark
+    public String byteCount() throws JshException {
+        return count("-c");
+    }
+
+    @Benchmark
+    public long byteAtATimeBaseline() throws IOException {
+        long lineCount = 0, words = 0, chars = 0;
+        boolean inWord = false;
+        byte[] buffer = new byte[256 * 1024];
+        try (InputStream inputStream = new FileInputStream(input)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                for (int i = 0; i < read; ++i) {
+                    byte b = buffer[i];
+                    if (b == '\n') {
+                        ++lineCount;
+                    }
+                    if ((b & 0xC0) != 0x80) {
+                        ++chars;
+                    }
+                    boolean space = b == ' ' || (b > 0x08 && b < 0x0E);
+                    if (!space && !inWord) {
+                        ++words;
+                    }
+                    inWord = !space;
+                }
+            }
+        }
+        return lineCount + words + chars;
+    }
+
+    private String count(String... flags) throws JshException {
+        ArrayList<String> arguments = new ArrayList<>(Arrays.asList(flags));
+        arguments.add(input.getName());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        wc.execute(arguments, null, outputStream, session);
+        return outputStream.toString();
+    }
+}
@@ -0,0 +1,120 @@
+package uk.ac.ucl.jsh;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.junit.Test;
+
+import uk.ac.ucl.jsh.Utilities.ByteRingBuffer;
+
+public class ByteRingBufferTest {
+    @Test
+    public void testCapacityRoundedToPowerOfTwo() {
+        assertEquals(1024, new ByteRingBuffer(1000).getCapacity());
+        assertEquals(1024, new ByteRingBuffer(1024).getCapacity());
+    }
+
+    @Test
+    public void testReadAfterWriteEndClosed() throws IOException {
+        ByteRingBuffer ringBuffer = new ByteRingBuffer(16);
+        ringBuffer.getOutputStream().write("hello".getBytes());
+        ringBuffer.closeWrite();
+        byte[] result = new byte[16];
+        assertEquals(5, ringBuffer.getInputStream().read(result));
+        assertEquals(-1, ringBuffer.getInputStream().read(result));
+    }
+
+    @Test
+    public void testTransferLargerThanCapacity() throws Exception {
+        ByteRingBuffer ringBuffer = new ByteRingBuffer(64);
+        byte[] data = new byte[100000];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = (byte) (i * 31);
+        }
+
+        Thread producer = new Thread(() -> {
+            try (OutputStream outputStream = ringBuffer.getOutputStream()) {
+                for (int i = 0; i < data.length; i += 1000) {
+                    outputStream.write(data, i, 1000);
+                }
+            } catch (IOException e) {
+                fail(e.getMessage());
+            }
+        });
+        producer.start();
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        InputStream inputStream = ringBuffer.getInputStream();
+        byte[] buffer = new byte[37];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            result.write(buffer, 0, read);
+        }
+        producer.join();
+        assertArrayEquals(data, result.toByteArray());
+    }
+
+    @Test
+    public void testFlushWakesWaitingReader() throws Exception {
+        ByteRingBuffer ringBuffer = new ByteRingBuffer(1024);
+        byte[] result = new byte[16];
+        int[] read = new int[1];
+        Thread consumer = new Thread(() -> {
+            try {
+                read[0] = ringBuffer.getInputStream().read(result);
+            } catch (IOException e) {
+                fail(e.getMessage());
+            }
+        });
+        consumer.start();
+        // Waits for the consumer to park on the empty ring buffer, so that only the flush can wake it up
+        while (consumer.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        OutputStream outputStream = ringBuffer.getOutputStream();
+        outputStream.write("hello".getBytes());
+        outputStream.flush();
+        consumer.join(5000);
+        assertEquals(5, read[0]);
+        ringBuffer.closeWrite();
+    }
+
+    @Test
+    public void testWriteAfterReadEndClosed() {
+        ByteRingBuffer ringBuffer = new ByteRingBuffer(4);
+        ringBuffer.closeRead();
+        try {
+            ringBuffer.getOutputStream().write("hello".getBytes());
+            fail("write to a closed ring buffer did not throw an exception");
+        } catch (IOException e) {
+            assertEquals("Pipe closed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testBlockedWriterReleasedByReadEndClose() throws Exception {
+        ByteRingBuffer ringBuffer = new ByteRingBuffer(4);
+        Thread consumer = new Thread(() -> {
+            try {
+                ringBuffer.getInputStream().read(new byte[2]);
+            } catch (IOException e) {
+                fail(e.getMessage());
+            }
+            ringBuffer.closeRead();
+        });
+        consumer.start();
+        try {
+            ringBuffer.getOutputStream().write(new byte[100]);
+            fail("blocked write to a closed ring buffer did not throw an exception");
+        } catch (IOException e) {
+            assertEquals("Pipe closed", e.getMessage());
+        }
+        consumer.join();
+    }
+}
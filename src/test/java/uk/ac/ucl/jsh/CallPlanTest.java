@@ -0,0 +1,123 @@
+package uk.ac.ucl.jsh;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.ac.ucl.jsh.Parser.CallNode;
+import uk.ac.ucl.jsh.Utilities.ApplicationManager;
+import uk.ac.ucl.jsh.Utilities.CallPlan;
+import uk.ac.ucl.jsh.Utilities.EvalVisitor;
+import uk.ac.ucl.jsh.Utilities.FileSystem;
+import uk.ac.ucl.jsh.Utilities.JshException;
+
+public class CallPlanTest {
+    private FileSystem fileSystem = FileSystem.getInstance();
+    private String lineSeparator = Jsh.lineSeparator;
+    private String initialWorkingDirectoryPath;
+
+    @Before
+    public void createHierarchy() throws IOException {
+        fileSystem.deleteTestFileHierarchy();
+        initialWorkingDirectoryPath = fileSystem.getWorkingDirectoryPath();
+        fileSystem.createTestFileHierarchy();
+        fileSystem.setWorkingDirectory(System.getProperty("java.io.tmpdir"));
+    }
+
+    @After
+    public void deleteHierarchy() throws IOException {
+        fileSystem.deleteTestFileHierarchy();
+        fileSystem.setWorkingDirectory(initialWorkingDirectoryPath);
+    }
+
+    private String evaluate(CallNode callNode) throws JshException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        callNode.accept(new EvalVisitor(), null, outputStream);
+        return outputStream.toString();
+    }
+
+    @Test
+    public void testCompileResolvesApplication() throws JshException {
+        CallPlan plan = CallPlan.compile(Arrays.asList("Echo", "a", "b"));
+        assertSame(ApplicationManager.getInstance().getApplication("echo"), plan.getApplication());
+        assertEquals(Arrays.asList("a", "b"), plan.getArguments());
+        assertFalse(plan.hasRedirection());
+    }
+
+    @Test
+    public void testCompileExtractsRedirections() throws JshException {
+        CallPlan plan = CallPlan.compile(Arrays.asList("cat", "<", "Hello", ">", "Other/Out"));
+        assertTrue(plan.hasRedirection());
+        assertTrue(plan.getArguments().isEmpty());
+    }
+
+    @Test
+    public void testArgumentsAreImmutable() throws JshException {
+        CallPlan plan = CallPlan.compile(Arrays.asList("echo", "a"));
+        try {
+            plan.getArguments().add("b");
+            fail("the arguments of a plan were modified");
+        } catch (UnsupportedOperationException e) {
+            assertEquals(Arrays.asList("a"), plan.getArguments());
+        }
+    }
+
+    @Test
+    public void testTooManyInputRedirections() {
+        try {
+            CallPlan.compile(Arrays.asList("cat", "<", "Hello", "<", "Soft"));
+            fail("compile did not throw a too many files exception");
+        } catch (JshException e) {
+            assertEquals("Too many files for input redirection", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testUnknownApplicationFailsWhenRun() throws JshException {
+        CallPlan plan = CallPlan.compile(Arrays.asList("_nothing", "a"));
+        assertNull(plan.getApplication());
+        try {
+            plan.execute(null, new ByteArrayOutputStream());
+            fail("execute did not throw an unknown application exception");
+        } catch (JshException e) {
+            assertEquals("nothing: unknown application", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testPlanReusedAcrossRuns() throws JshException {
+        CallNode callNode = new CallNode("cat Hello");
+        assertEquals("hello", evaluate(callNode));
+        CallPlan plan = callNode.getPlan();
+        assertEquals("hello", evaluate(callNode));
+        assertSame(plan, callNode.getPlan());
+    }
+
+    @Test
+    public void testDynamicPlanCompiledOnEveryRun() throws JshException {
+        CallNode callNode = new CallNode("echo `echo a`");
+        assertTrue(callNode.isDynamic());
+        assertEquals("a" + lineSeparator, evaluate(callNode));
+        assertTrue(callNode.getPlan() != callNode.getPlan());
+    }
+
+    @Test
+    public void testOutputRedirectionClosedAfterRun() throws JshException, IOException {
+        CallNode callNode = new CallNode("echo foo > Other/Out");
+        evaluate(callNode);
+        evaluate(callNode);
+        assertEquals("foo" + lineSeparator, new String(Files.readAllBytes(fileSystem.getFile("Other/Out").toPath())));
+    }
+}
@@ -0,0 +1,196 @@
+package uk.ac.ucl.jsh;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.junit.Test;
+
+import uk.ac.ucl.jsh.Parser.BuildCallCommand;
+import uk.ac.ucl.jsh.Parser.BuildCmdTree;
+import uk.ac.ucl.jsh.Parser.CallArgument;
+import uk.ac.ucl.jsh.Parser.CallNode;
+import uk.ac.ucl.jsh.Parser.CallTokenizer;
+import uk.ac.ucl.jsh.Parser.Node;
+import uk.ac.ucl.jsh.antlr.CallParser.CallParserLexer;
+import uk.ac.ucl.jsh.antlr.CallParser.CallParserParser;
+import uk.ac.ucl.jsh.antlr.CmdLineParser.CmdLineParserLexer;
+import uk.ac.ucl.jsh.antlr.CmdLineParser.CmdLineParserParser;
+import uk.ac.ucl.jsh.Utilities.JshException;
+
+public class CallTokenizerTest {
+    private static class SyntaxErrorCounter extends BaseErrorListener {
+        private int errors;
+
+        @Override
+        public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine, String msg,
+                                RecognitionException e) {
+            ++errors;
+        }
+    }
+
+    /**
+     * Parses a call command with the CallParser, returning null if it has syntax errors
+     */
+    private List<String> parseCallWithAntlr(String callCommand) {
+        SyntaxErrorCounter errorCounter = new SyntaxErrorCounter();
+        CallParserLexer lexer = new CallParserLexer(CharStreams.fromString(callCommand));
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(errorCounter);
+        CallParserParser parser = new CallParserParser(new CommonTokenStream(lexer));
+        parser.removeErrorListeners();
+        parser.addErrorListener(errorCounter);
+        CallParserParser.CompileUnitContext compileUnit = parser.compileUnit();
+        if (errorCounter.errors > 0) {
+            return null;
+        }
+        return new BuildCallCommand().visitCompileUnit(compileUnit);
+    }
+
+    /**
+     * Parses a command line with the CmdLineParser, returning null if it has syntax errors
+     */
+    private Node parseCmdLineWithAntlr(String cmdLine) {
+        SyntaxErrorCounter errorCounter = new SyntaxErrorCounter();
+        CmdLineParserLexer lexer = new CmdLineParserLexer(CharStreams.fromString(cmdLine));
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(errorCounter);
+        CmdLineParserParser parser = new CmdLineParserParser(new CommonTokenStream(lexer));
+        parser.removeErrorListeners();
+        parser.addErrorListener(errorCounter);
+        CmdLineParserParser.CompileUnitContext compileUnit = parser.compileUnit();
+        if (errorCounter.errors > 0) {
+            return null;
+        }
+        return new BuildCmdTree().visitCompileUnit(compileUnit);
+    }
+
+    /**
+     * Flattens the arguments of a CallNode into the tokens BuildCallCommand builds, returning null for the redirections the CallParser
+     * moves or drops: one before the application name, one following another one and one without a file
+     */
+    private List<String> flatten(CallNode callNode) {
+        List<String> tokens = new ArrayList<>();
+        boolean operatorPending = false;
+        for (CallArgument argument : callNode.getArguments()) {
+            if (argument.getKind() != CallArgument.Kind.WORD) {
+                if (tokens.isEmpty() || operatorPending) {
+                    return null;
+                }
+                if (argument.getKind() == CallArgument.Kind.INPUT_REDIRECTION) {
+                    tokens.add("<");
+                } else {
+                    tokens.add(argument.getKind() == CallArgument.Kind.APPEND_REDIRECTION ? ">>" : ">");
+                }
+                operatorPending = true;
+            } else if (!argument.getSegments().isEmpty()) {
+                StringBuilder word = new StringBuilder();
+                for (CallArgument.Segment segment : argument.getSegments()) {
+                    word.append(segment.getText());
+                }
+                tokens.add(word.toString());
+                operatorPending = false;
+            }
+        }
+        return tokens.isEmpty() || operatorPending ? null : tokens;
+    }
+
+    private void assertSameAsCallParser(String callCommand) {
+        CallNode callNode = CallTokenizer.parseCall(callCommand);
+        List<String> tokens = callNode == null ? null : flatten(callNode);
+        if (tokens != null) {
+            assertEquals(callCommand, parseCallWithAntlr(callCommand), tokens);
+        }
+    }
+
+    private void assertSameCallNode(String cmdLine) {
+        CallNode callNode = CallTokenizer.parseCall(cmdLine);
+        if (callNode != null) {
+            Node expected = parseCmdLineWithAntlr(cmdLine);
+            assertTrue(cmdLine, expected instanceof CallNode);
+            assertEquals(cmdLine, ((CallNode) expected).getApplicationString(), callNode.getApplicationString());
+            assertEquals(cmdLine, ((CallNode) expected).getArguments(), callNode.getArguments());
+        }
+    }
+
+    @Test
+    public void testParseCall() {
+        assertEquals("echo", CallTokenizer.parseCall("echo hi").getArguments().get(0).getSegments().get(0).getText());
+        assertEquals(5, CallTokenizer.parseCall("cat <a >b").getArguments().size());
+        assertSameCallNode("  echo a'b c'\"\"d '' \"e;f\"  ");
+        assertSameCallNode("cat*.txt<in>out");
+    }
+
+    @Test
+    public void testTokensOfCallParser() {
+        assertEquals(Arrays.asList("a", "bc", "def"), flatten(CallTokenizer.parseCall("   a    bc def    ")));
+        assertEquals(Arrays.asList("a", "bcdef", "g h;i|j"), flatten(CallTokenizer.parseCall("a \"bcdef\" \"g h;i|j\"")));
+        assertEquals(Arrays.asList("echo", "ab", ""), flatten(CallTokenizer.parseCall("echo a\"\"b ''")));
+        assertEquals(Arrays.asList("a", ">", "b", "c"), flatten(CallTokenizer.parseCall("a>b c")));
+        assertSameAsCallParser("\ta\tb");
+        assertSameAsCallParser("a < b > c");
+        assertSameAsCallParser("a < b >> c");
+        assertSameAsCallParser("echo \"\" x");
+    }
+
+    @Test
+    public void testParseCallFallbacks() {
+        assertNull(CallTokenizer.parseCall("echo a; echo b"));
+        assertNull(CallTokenizer.parseCall("echo a | cat"));
+        assertNull(CallTokenizer.parseCall("cat a &"));
+        assertNull(CallTokenizer.parseCall("echo `echo a`"));
+        assertNull(CallTokenizer.parseCall("echo \"a `echo b`\""));
+        assertNull(CallTokenizer.parseCall("echo 'a"));
+        assertNull(CallTokenizer.parseCall("echo a\nb"));
+        assertNull(CallTokenizer.parseCall(" \t "));
+    }
+
+    @Test
+    public void testParseCallDifferentialAgainstCallParser() {
+        char[] alphabet = {'a', 'b', ' ', '\t', '\'', '"', '<', '>', ';', '|', '&', '*'};
+        Random random = new Random(39);
+        for (int i = 0; i < 3000; ++i) {
+            StringBuilder callCommand = new StringBuilder("e");
+            int length = random.nextInt(16);
+            for (int j = 0; j < length; ++j) {
+                callCommand.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            assertSameAsCallParser(callCommand.toString());
+        }
+    }
+
+    @Test
+    public void testParseCallDifferentialAgainstCmdLineParser() {
+        char[] alphabet = {'a', 'b', ' ', '\t', '\'', '"', '<', '>', '*', '.', '/'};
+        Random random = new Random(17);
+        for (int i = 0; i < 3000; ++i) {
+            StringBuilder cmdLine = new StringBuilder(i % 2 == 0 ? "e" : "");
+            int length = random.nextInt(16);
+            for (int j = 0; j < length; ++j) {
+                cmdLine.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            assertSameCallNode(cmdLine.toString());
+        }
+    }
+
+    @Test
+    public void testLongArgumentList() throws JshException {
+        StringBuilder cmdLine = new StringBuilder("echo");
+        List<String> expectedArguments = new ArrayList<>();
+        for (int i = 0; i < 10000; ++i) {
+            cmdLine.append(" 'file ").append(i).append('\'');
+            expectedArguments.add("file " + i);
+        }
+        assertEquals(expectedArguments, CallTokenizer.parseCall(cmdLine.toString()).getPlan().getArguments());
+    }
+}
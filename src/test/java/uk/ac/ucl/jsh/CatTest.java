@@ -1,6 +1,7 @@
 package uk.ac.ucl.jsh;
 
 import uk.ac.ucl.jsh.Applications.Cat;
+import uk.ac.ucl.jsh.Utilities.RedirectedFileOutputStream;
 import uk.ac.ucl.jsh.Utilities.FileSystem;
 import uk.ac.ucl.jsh.Utilities.JshException;
 
@@ -14,8 +15,10 @@ import static org.junit.Assert.fail;
 import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.nio.file.Files;
 import java.util.ArrayList;
 
 
@@ -169,4 +172,45 @@ public class CatTest {
         assertEquals(expectedOutput, outputStream.toString());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testCancelledStopsReading() throws JshException {
+        applicationArguments.add("Soft");
+        Thread.currentThread().interrupt();
+        try {
+            catApplication.execute(applicationArguments, System.in, outputStream);
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals("", outputStream.toString());
+    }
+
+    @Test
+    public void testFilesAreCopiedByteForByte() throws IOException, JshException {
+        Files.writeString(fileSystem.getFile("Other" + fileSeparator + "Crlf").toPath(), "a\r\nb\r\n");
+        applicationArguments.add("Other" + fileSeparator + "Crlf");
+        applicationArguments.add("Hello");
+        applicationArguments.add("Hello");
+        catApplication.execute(applicationArguments, null, outputStream);
+        assertEquals("a\r\nb\r\nhellohello", outputStream.toString());
+    }
+
+    @Test
+    public void testTransferToFile() throws IOException, JshException {
+        applicationArguments.add("Documents" + fileSeparator + "Eng" + fileSeparator + "Test");
+        applicationArguments.add("Hello");
+        File out = fileSystem.getFile("Other" + fileSeparator + "Out");
+        try (RedirectedFileOutputStream fileStream = RedirectedFileOutputStream.open(out, false)) {
+            fileStream.write("first ".getBytes());
+            catApplication.execute(applicationArguments, null, fileStream);
+        }
+        String expected = "first " + Files.readString(fileSystem.getFile("Documents" + fileSeparator + "Eng" + fileSeparator + "Test").toPath()) + "hello";
+        assertEquals(expected, Files.readString(out.toPath()));
+    }
+
+    @Test
+    public void testTransferThroughRedirection() throws IOException, JshException {
+        Jsh.eval("cat Soft Hello > Other" + fileSeparator + "Out; cat Hello >> Other" + fileSeparator + "Out", System.out);
+        String soft = Files.readString(fileSystem.getFile("Soft").toPath());
+        assertEquals(soft + "hellohello", Files.readString(fileSystem.getFile("Other" + fileSeparator + "Out").toPath()));
+    }
+}
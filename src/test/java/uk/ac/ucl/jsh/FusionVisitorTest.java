@@ -0,0 +1,131 @@
+package uk.ac.ucl.jsh;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.ac.ucl.jsh.Parser.CallNode;
+import uk.ac.ucl.jsh.Parser.FusedNode;
+import uk.ac.ucl.jsh.Parser.Node;
+import uk.ac.ucl.jsh.Parser.Parser;
+import uk.ac.ucl.jsh.Parser.PipeNode;
+import uk.ac.ucl.jsh.Parser.SeqNode;
+import uk.ac.ucl.jsh.Utilities.EvalVisitor;
+import uk.ac.ucl.jsh.Utilities.FileSystem;
+import uk.ac.ucl.jsh.Utilities.FusionVisitor;
+import uk.ac.ucl.jsh.Utilities.JshException;
+
+public class FusionVisitorTest {
+    private FileSystem fileSystem = FileSystem.getInstance();
+    private String lineSeparator = Jsh.lineSeparator;
+    private String initialWorkingDirectoryPath;
+
+    @Before
+    public void createHierarchy() throws IOException {
+        fileSystem.deleteTestFileHierarchy();
+        initialWorkingDirectoryPath = fileSystem.getWorkingDirectoryPath();
+        fileSystem.createTestFileHierarchy();
+        fileSystem.setWorkingDirectory(System.getProperty("java.io.tmpdir"));
+    }
+
+    @After
+    public void deleteHierarchy() throws IOException {
+        fileSystem.deleteTestFileHierarchy();
+        fileSystem.setWorkingDirectory(initialWorkingDirectoryPath);
+    }
+
+    private Node optimize(String cmdLine) throws JshException {
+        return Parser.parserCmdLine(cmdLine).accept(new FusionVisitor(), null, null);
+    }
+
+    private String evaluate(Node node) throws JshException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        node.accept(new EvalVisitor(), null, outputStream);
+        return outputStream.toString();
+    }
+
+    @Test
+    public void testWholePipelineFused() throws JshException {
+        Node node = optimize("cat Documents/Eng/Test | grep 1 | sed s/Line/Row/ | head -n 2");
+        assertTrue(node instanceof FusedNode);
+        assertEquals(4, ((FusedNode) node).getStages().size());
+        assertEquals("Row number: 1" + lineSeparator + "Row number: 10" + lineSeparator, evaluate(node));
+    }
+
+    @Test
+    public void testFusedChainInsidePipeline() throws JshException {
+        Node node = optimize("echo hello | grep h | sed s/h/j/");
+        assertTrue(node instanceof PipeNode);
+        assertTrue(((PipeNode) node).getLeft() instanceof CallNode);
+        assertTrue(((PipeNode) node).getRight() instanceof FusedNode);
+        assertEquals("jello" + lineSeparator, evaluate(node));
+    }
+
+    @Test
+    public void testStageReadingFilesStartsNewChain() throws JshException {
+        Node node = optimize("cat Hello | grep h | cat Soft | head -n 1");
+        assertTrue(node instanceof PipeNode);
+        assertTrue(((PipeNode) node).getLeft() instanceof FusedNode);
+        assertTrue(((PipeNode) node).getRight() instanceof FusedNode);
+    }
+
+    @Test
+    public void testSequenceOptimized() throws JshException {
+        Node node = optimize("echo a; cat Hello | head -n 1");
+        assertTrue(node instanceof SeqNode);
+        assertTrue(((SeqNode) node).getRight() instanceof FusedNode);
+    }
+
+    @Test
+    public void testNotFusedWithSubstitution() throws JshException {
+        Node node = optimize("cat Hello | grep `echo h`");
+        assertTrue(node instanceof PipeNode);
+        assertTrue(((PipeNode) node).getRight() instanceof CallNode);
+    }
+
+    @Test
+    public void testNotFusedWithRedirection() throws JshException {
+        Node node = optimize("cat < Hello | head -n 1");
+        assertTrue(node instanceof PipeNode);
+        assertTrue(((PipeNode) node).getLeft() instanceof CallNode);
+    }
+
+    @Test
+    public void testNotFusedWithGlobbing() throws JshException {
+        Node node = optimize("cat Documents/* | head -n 1");
+        assertTrue(node instanceof PipeNode);
+        assertTrue(((PipeNode) node).getLeft() instanceof CallNode);
+    }
+
+    @Test
+    public void testNotFusedWithInvalidArguments() throws JshException {
+        Node node = optimize("cat Hello | head -n -1");
+        assertTrue(node instanceof PipeNode);
+        assertTrue(((PipeNode) node).getRight() instanceof CallNode);
+    }
+
+    @Test
+    public void testNotFusedWithUnsafeApplication() throws JshException {
+        Node node = optimize("cat Hello | _grep h");
+        assertTrue(node instanceof PipeNode);
+        assertTrue(((PipeNode) node).getRight() instanceof CallNode);
+    }
+
+    @Test
+    public void testFusedMissingFile() throws JshException {
+        Node node = optimize("cat InvalidPath | head -n 1");
+        try {
+            evaluate(node);
+            fail("missing file did not throw an exception");
+        } catch (JshException e) {
+            assertEquals("cat: " + Jsh.fileSeparator + "tmp" + Jsh.fileSeparator + "InvalidPath (No such file or directory)", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package uk.ac.ucl.jsh;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import uk.ac.ucl.jsh.Applications.Fg;
+import uk.ac.ucl.jsh.Applications.Jobs;
+import uk.ac.ucl.jsh.Applications.Kill;
+import uk.ac.ucl.jsh.Applications.Wait;
+import uk.ac.ucl.jsh.Parser.Parser;
+import uk.ac.ucl.jsh.Utilities.FileSystem;
+import uk.ac.ucl.jsh.Utilities.Job;
+import uk.ac.ucl.jsh.Utilities.JobTable;
+import uk.ac.ucl.jsh.Utilities.JshException;
+
+public class JobsTest {
+    private static FileSystem fileSystem;
+    private static ByteArrayOutputStream outputStream;
+    private static ByteArrayOutputStream errStream;
+    private static PrintStream stderr;
+    private String lineSeparator = Jsh.lineSeparator;
+    private String initialWorkingDirectoryPath;
+
+    @BeforeClass
+    public static void setClass() {
+        fileSystem = FileSystem.getInstance();
+        outputStream = new ByteArrayOutputStream();
+        stderr = System.err;
+        errStream = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(errStream));
+    }
+
+    @Before
+    public void createHierarchy() throws IOException {
+        fileSystem.deleteTestFileHierarchy();
+        initialWorkingDirectoryPath = fileSystem.getWorkingDirectoryPath();
+        fileSystem.createTestFileHierarchy();
+        fileSystem.setWorkingDirectory(System.getProperty("java.io.tmpdir"));
+    }
+
+    @After
+    public void afterTest() throws IOException, JshException {
+        JobTable.getInstance().awaitAll();
+        fileSystem.deleteTestFileHierarchy();
+        fileSystem.setWorkingDirectory(initialWorkingDirectoryPath);
+        outputStream.reset();
+        errStream.reset();
+    }
+
+    @AfterClass
+    public static void resetStd() {
+        System.setErr(stderr);
+    }
+
+    @Test
+    public void testBackgroundJobThenWait() {
+        Jsh.eval("cat Hello &", outputStream);
+        Jsh.eval("wait", outputStream);
+        assertEquals("hello", outputStream.toString());
+        assertTrue(JobTable.getInstance().getJobs().isEmpty());
+    }
+
+    @Test
+    public void testBackgroundJobsOverlap() throws JshException {
+        Jsh.eval("cat Hello & cat Hello & wait", outputStream);
+        assertEquals("hellohello", outputStream.toString());
+    }
+
+    @Test
+    public void testJobNumbers() throws JshException {
+        Job first = JobTable.getInstance().start(Parser.parserCmdLine("echo a"), "echo a", outputStream);
+        Job second = JobTable.getInstance().start(Parser.parserCmdLine("echo b"), "echo b", outputStream);
+        assertEquals(1, first.getId());
+        assertEquals(2, second.getId());
+        assertEquals(second, JobTable.getInstance().getCurrentJob());
+        assertEquals(first, JobTable.getInstance().findJob("%1"));
+    }
+
+    @Test
+    public void testJobsReportsFinishedJobsOnce() throws JshException {
+        Job job = JobTable.getInstance().start(Parser.parserCmdLine("echo a"), "echo a", new ByteArrayOutputStream());
+        job.await();
+        new Jobs().execute(new ArrayList<>(), null, outputStream);
+        assertEquals("[1] Done echo a" + lineSeparator, outputStream.toString());
+        outputStream.reset();
+        new Jobs().execute(new ArrayList<>(), null, outputStream);
+        assertEquals("", outputStream.toString());
+    }
+
+    @Test
+    public void testFailedJob() throws JshException {
+        Job job = JobTable.getInstance().start(Parser.parserCmdLine("cat InvalidPath"), "cat InvalidPath", outputStream);
+        assertEquals(Job.State.FAILED, job.await());
+        assertTrue(errStream.toString().startsWith("cat: "));
+    }
+
+    @Test
+    public void testJobsTooManyArguments() {
+        ArrayList<String> applicationArguments = new ArrayList<>();
+        applicationArguments.add("1");
+        try {
+            new Jobs().execute(applicationArguments, null, outputStream);
+            fail("jobs did not throw a too many arguments exception");
+        } catch (JshException e) {
+            assertEquals("jobs: too many arguments", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testWaitUnknownJob() {
+        ArrayList<String> applicationArguments = new ArrayList<>();
+        applicationArguments.add("%7");
+        try {
+            new Wait().execute(applicationArguments, null, outputStream);
+            fail("wait did not throw a no such job exception");
+        } catch (JshException e) {
+            assertEquals("wait: %7: no such job", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testFgPrintsCommandAndWaits() throws JshException {
+        Jsh.eval("cat Hello &", new ByteArrayOutputStream());
+        new Fg().execute(new ArrayList<>(), null, outputStream);
+        assertEquals("cat Hello" + lineSeparator, outputStream.toString());
+        assertTrue(JobTable.getInstance().getJobs().isEmpty());
+    }
+
+    @Test
+    public void testFgNoCurrentJob() {
+        try {
+            new Fg().execute(new ArrayList<>(), null, outputStream);
+            fail("fg did not throw a no current job exception");
+        } catch (JshException e) {
+            assertEquals("fg: no current job", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testKillStopsFollowingJob() throws IOException, JshException {
+        File followed = fileSystem.getFile("Followed");
+        followed.createNewFile();
+        try {
+            Jsh.eval("tail -f Followed &", outputStream);
+            Job job = JobTable.getInstance().findJob("%1");
+            assertEquals(Job.State.RUNNING, job.getState());
+            Jsh.eval("kill %1", outputStream);
+            assertEquals(Job.State.TERMINATED, job.await());
+            assertEquals("", errStream.toString());
+            new Jobs().execute(new ArrayList<>(), null, outputStream);
+            assertEquals("[1] Terminated tail -f Followed" + lineSeparator, outputStream.toString());
+        } finally {
+            followed.delete();
+        }
+    }
+
+    @Test
+    public void testKillFinishedJob() throws JshException {
+        Job job = JobTable.getInstance().start(Parser.parserCmdLine("echo a"), "echo a", outputStream);
+        job.await();
+        ArrayList<String> applicationArguments = new ArrayList<>();
+        applicationArguments.add("%1");
+        new Kill().execute(applicationArguments, null, outputStream);
+        assertEquals(Job.State.DONE, job.getState());
+    }
+
+    @Test
+    public void testKillUnknownJob() {
+        ArrayList<String> applicationArguments = new ArrayList<>();
+        applicationArguments.add("%7");
+        try {
+            new Kill().execute(applicationArguments, null, outputStream);
+            fail("kill did not throw a no such job exception");
+        } catch (JshException e) {
+            assertEquals("kill: %7: no such job", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testKillMissingJob() {
+        try {
+            new Kill().execute(new ArrayList<>(), null, outputStream);
+            fail("kill did not throw a missing job exception");
+        } catch (JshException e) {
+            assertEquals("kill: missing job", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testInterruptedFgStopsFollowingJob() throws IOException, InterruptedException, JshException {
+        File followed = fileSystem.getFile("Followed");
+        followed.createNewFile();
+        try {
+            Jsh.eval("tail -f Followed &", outputStream);
+            Job job = JobTable.getInstance().findJob("%1");
+            Thread foreground = new Thread(() -> Jsh.eval("fg", outputStream));
+            foreground.start();
+            foreground.join(200);
+            assertTrue(foreground.isAlive());
+            foreground.interrupt();
+            foreground.join(5000);
+            assertTrue(!foreground.isAlive());
+            assertEquals(Job.State.TERMINATED, job.await());
+            assertEquals("", errStream.toString());
+        } finally {
+            followed.delete();
+        }
+    }
+
+    @Test
+    public void testCancelFinishedJob() throws JshException {
+        Job job = JobTable.getInstance().start(Parser.parserCmdLine("echo a"), "echo a", outputStream);
+        job.await();
+        assertTrue(!job.cancel());
+        assertEquals(Job.State.DONE, job.getState());
+    }
+}
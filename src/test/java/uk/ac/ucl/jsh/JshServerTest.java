@@ -0,0 +1,159 @@
+package uk.ac.ucl.jsh;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.ac.ucl.jsh.Utilities.FileSystem;
+import uk.ac.ucl.jsh.Utilities.JshClient;
+import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.JshServer;
+import uk.ac.ucl.jsh.Utilities.ServerProtocol;
+
+public class JshServerTest {
+    private FileSystem fileSystem = FileSystem.getInstance();
+    private String lineSeparator = Jsh.lineSeparator;
+    private String initialWorkingDirectoryPath;
+    private Path tokenDirectory;
+    private JshServer server;
+    private JshClient client;
+    private ByteArrayOutputStream outputStream;
+    private ByteArrayOutputStream errorStream;
+
+    @Before
+    public void startServer() throws IOException {
+        fileSystem.deleteTestFileHierarchy();
+        initialWorkingDirectoryPath = fileSystem.getWorkingDirectoryPath();
+        fileSystem.createTestFileHierarchy();
+        tokenDirectory = Files.createTempDirectory("jshTokens").resolve(".jsh");
+        server = new JshServer(0, tokenDirectory);
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                // The test fails on the client side
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+        client = new JshClient(server.getPort(), tokenDirectory);
+        outputStream = new ByteArrayOutputStream();
+        errorStream = new ByteArrayOutputStream();
+    }
+
+    @After
+    public void stopServer() throws IOException {
+        server.close();
+        Files.deleteIfExists(tokenDirectory);
+        Files.deleteIfExists(tokenDirectory.getParent());
+        fileSystem.deleteTestFileHierarchy();
+        fileSystem.setWorkingDirectory(initialWorkingDirectoryPath);
+    }
+
+    private int execute(String cmdline, String input) throws IOException {
+        return client.execute(cmdline, System.getProperty("java.io.tmpdir"), new ByteArrayInputStream(input.getBytes()), outputStream, errorStream);
+    }
+
+    @Test
+    public void testOutputStreamed() throws IOException {
+        assertEquals(0, execute("echo hello; cat Hello", ""));
+        assertEquals("hello" + lineSeparator + "hello", outputStream.toString());
+        assertEquals("", errorStream.toString());
+    }
+
+    @Test
+    public void testWorkingDirectoryOfClient() throws IOException {
+        assertEquals(0, execute("head -n 1 Documents/Eng/Test", ""));
+        assertEquals("Line number: 0" + lineSeparator, outputStream.toString());
+    }
+
+    @Test
+    public void testStandardInputForwarded() throws IOException {
+        assertEquals(0, execute("grep b", "a" + lineSeparator + "b" + lineSeparator));
+        assertEquals("b" + lineSeparator, outputStream.toString());
+    }
+
+    @Test
+    public void testErrorsStreamed() throws IOException {
+        assertEquals(ServerProtocol.FAILURE_STATUS, execute("_cat Missing; echo after", ""));
+        assertEquals("after" + lineSeparator, outputStream.toString());
+        assertEquals(true, errorStream.toString().startsWith("cat: "));
+    }
+
+    @Test
+    public void testSuccessiveRequests() throws IOException {
+        for (int i = 0; i < 20; ++i) {
+            execute("echo " + i, "");
+        }
+        StringBuilder expectedOutput = new StringBuilder();
+        for (int i = 0; i < 20; ++i) {
+            expectedOutput.append(i).append(lineSeparator);
+        }
+        assertEquals(expectedOutput.toString(), outputStream.toString());
+    }
+
+    @Test
+    public void testFailureStatus() throws IOException {
+        assertEquals(ServerProtocol.FAILURE_STATUS, execute("cat Missing", ""));
+        assertEquals(0, execute("cat Hello", ""));
+    }
+
+    @Test
+    public void testTokenFileOnlyReadableByOwner() throws IOException {
+        Path tokenFile = ServerProtocol.tokenFile(tokenDirectory, server.getPort());
+        assertTrue(Files.exists(tokenFile));
+        if (Files.getFileStore(tokenFile).supportsFileAttributeView("posix")) {
+            assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(tokenFile)));
+            assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(tokenDirectory)));
+        }
+        server.close();
+        assertFalse(Files.exists(tokenFile));
+    }
+
+    @Test
+    public void testWrongTokenRejected() throws IOException, JshException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            DataOutputStream requestStream = new DataOutputStream(socket.getOutputStream());
+            requestStream.writeInt(ServerProtocol.MAGIC);
+            ServerProtocol.writeString(requestStream, "0000000000000000000000000000000000000000000000000000000000000000");
+            ServerProtocol.writeString(requestStream, "echo hello > Other/Rejected");
+            ServerProtocol.writeString(requestStream, System.getProperty("java.io.tmpdir"));
+            requestStream.writeInt(0);
+            requestStream.flush();
+            InputStream responseStream = socket.getInputStream();
+            assertEquals(-1, responseStream.read());
+        }
+        assertFalse(fileSystem.getFile("Other/Rejected").exists());
+    }
+
+    @Test
+    public void testClientWithoutTokenFails() throws IOException {
+        Path otherDirectory = Files.createTempDirectory("jshTokens");
+        try {
+            new JshClient(server.getPort(), otherDirectory).execute("echo hello", System.getProperty("java.io.tmpdir"),
+                    new ByteArrayInputStream(new byte[0]), outputStream, errorStream);
+            fail("the client ran a command without the token of the server");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("cannot read the token of the server on port " + server.getPort()));
+        } finally {
+            Files.delete(otherDirectory);
+        }
+        assertEquals("", outputStream.toString());
+    }
+}
@@ -1,12 +1,18 @@
 package uk.ac.ucl.jsh;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 import org.junit.After;
@@ -266,6 +272,71 @@ public class JshTest {
         }
     }
 
+    @Test
+    public void testAppendOutputRedirection() throws IOException, JshException {
+        Jsh.eval("echo a > Other" + fileSeparator + "Out; echo b >> Other" + fileSeparator + "Out; >>Other" + fileSeparator + "Out echo c", System.out);
+        Jsh.eval("echo `echo d` >> Other" + fileSeparator + "Out", System.out);
+        assertEquals("", errStream.toString());
+        assertEquals("a" + lineSeparator + "b" + lineSeparator + "c" + lineSeparator + "d" + lineSeparator,
+                     Files.readString(fileSystem.getFile("Other" + fileSeparator + "Out").toPath()));
+    }
+
+    @Test
+    public void testAppendOutputRedirectionCreatesFile() throws IOException, JshException {
+        Jsh.eval("cat Hello >> Other" + fileSeparator + "New", System.out);
+        assertEquals("hello", Files.readString(fileSystem.getFile("Other" + fileSeparator + "New").toPath()));
+    }
+
+    @Test
+    public void testOutputAndAppendRedirection() throws JshException {
+        Jsh.eval("echo Hello > output.txt >> tooMany.txt", System.out);
+        assertEquals("Too many files for output redirection" + lineSeparator, errStream.toString());
+        assertTrue(!fileSystem.getFile("output.txt").exists() && !fileSystem.getFile("tooMany.txt").exists());
+    }
+
+    @Test
+    public void testQuotedAppendOperator() {
+        Jsh.eval("echo '>>' \">>\"", System.out);
+        assertEquals(">> >>" + lineSeparator, outputStream.toString());
+    }
+
+    @Test
+    public void testOutputRedirectionToMissingDirectory() {
+        Jsh.eval("echo Hello > Missing" + fileSeparator + "output.txt", System.out);
+        assertEquals(fileSeparator + "tmp" + fileSeparator + "Missing" + fileSeparator + "output.txt (No such file or directory)" + lineSeparator,
+                     errStream.toString());
+    }
+
+    // Counts the descriptors of the process open on the given files, ignoring the descriptors other threads close while they are listed
+    private int countOpenDescriptors(File descriptors, List<Path> files) {
+        int count = 0;
+        for (File descriptor : descriptors.listFiles()) {
+            try {
+                if (files.contains(Files.readSymbolicLink(descriptor.toPath()))) {
+                    ++count;
+                }
+            } catch (IOException e) {
+                continue;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testOutputRedirectionClosesFiles() throws IOException, JshException {
+        File descriptors = new File("/proc/self/fd");
+        assumeTrue(descriptors.isDirectory());
+        for (int i = 0; i < 500; ++i) {
+            Jsh.eval("echo " + i + " >> Other" + fileSeparator + "Out; cat < Hello > Other" + fileSeparator + "Copy", System.out);
+        }
+        assertEquals("", errStream.toString());
+        List<Path> files = new ArrayList<>();
+        for (String name : new String[] {"Other" + fileSeparator + "Out", "Other" + fileSeparator + "Copy", "Hello"}) {
+            files.add(fileSystem.getFile(name).toPath().toRealPath());
+        }
+        assertEquals(0, countOpenDescriptors(descriptors, files));
+    }
+
     @Test
     public void testInputAndOutputRedirection() throws IOException {
         Jsh.eval("sed s/test/repl/g < Soft > test.txt", System.out);
@@ -307,6 +378,84 @@ public class JshTest {
         assertEquals("Bye" + lineSeparator, outputStream.toString());
     }
 
+    @Test
+    public void testMultiplePipes() {
+        Jsh.eval("cat Documents" + fileSeparator + "Eng" + fileSeparator + "Test | head -n 5 | tail -n 2", System.out);
+        assertEquals("Line number: 3" + lineSeparator + "Line number: 4" + lineSeparator, outputStream.toString());
+        assertEquals("", errStream.toString());
+    }
+
+    @Test
+    public void testPipeSameApplicationTwice() {
+        Jsh.eval("cat Documents" + fileSeparator + "Eng" + fileSeparator + "Test | head -n 15 | head -n 1", System.out);
+        assertEquals("Line number: 0" + lineSeparator, outputStream.toString());
+        assertEquals("", errStream.toString());
+    }
+
+    @Test
+    public void testPipeConsumerStopsEarly() throws IOException, JshException {
+        StringBuilder fileContent = new StringBuilder();
+        for (int i = 0; i < 100000; ++i) {
+            fileContent.append("Line number: " + i + lineSeparator);
+        }
+        File bigFile = fileSystem.getFile("Big");
+        Files.write(bigFile.toPath(), fileContent.toString().getBytes());
+        try {
+            Jsh.eval("cat Big | head -n 1", System.out);
+            assertEquals("Line number: 0" + lineSeparator, outputStream.toString());
+            assertEquals("", errStream.toString());
+        } finally {
+            bigFile.delete();
+        }
+    }
+
+    @Test
+    public void testPipeCancelsUpstream() throws IOException, JshException {
+        StringBuilder fileContent = new StringBuilder();
+        for (int i = 0; i < 100000; ++i) {
+            fileContent.append("Line number: " + i + lineSeparator);
+        }
+        File bigFile = fileSystem.getFile("Big");
+        Files.write(bigFile.toPath(), fileContent.toString().getBytes());
+        try {
+            Jsh.eval("cat Big Big Big Big | grep 0 | sed s/Line/Row/ | head -n 2", System.out);
+            assertEquals("Row number: 0" + lineSeparator + "Row number: 10" + lineSeparator, outputStream.toString());
+            assertEquals("", errStream.toString());
+        } finally {
+            bigFile.delete();
+        }
+    }
+
+    @Test
+    public void testPipeLeftFailure() {
+        Jsh.eval("cat InvalidPath | echo hello", System.out);
+        assertEquals("cat: " + fileSeparator + "tmp" + fileSeparator + "InvalidPath (No such file or directory)" + lineSeparator, errStream.toString());
+    }
+
+    @Test
+    public void testPipeLeftFailureIsAlwaysReported() {
+        for (int i = 0; i < 200; ++i) {
+            Jsh.eval("cat InvalidPath | echo hello", System.out);
+        }
+        String error = "cat: " + fileSeparator + "tmp" + fileSeparator + "InvalidPath (No such file or directory)" + lineSeparator;
+        assertEquals(error.repeat(200), errStream.toString());
+    }
+
+    @Test
+    public void testPipeLeftSideEffectsAlwaysRun() throws IOException, JshException {
+        File sideEffect = fileSystem.getFile("SideEffect");
+        try {
+            for (int i = 0; i < 200; ++i) {
+                Jsh.eval("echo x > SideEffect | echo y", System.out);
+                assertEquals("x" + lineSeparator, new String(Files.readAllBytes(sideEffect.toPath())));
+                sideEffect.delete();
+            }
+            assertEquals("", errStream.toString());
+        } finally {
+            sideEffect.delete();
+        }
+    }
+
     @Test
     public void testMainTwoArguments() {
         String[] arg = new String[2];
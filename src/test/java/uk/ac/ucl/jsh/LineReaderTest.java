@@ -0,0 +1,118 @@
+package uk.ac.ucl.jsh;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import uk.ac.ucl.jsh.Utilities.LineReader;
+import uk.ac.ucl.jsh.Utilities.LineSource;
+
+public class LineReaderTest {
+    private List<String> readAll(LineSource source, boolean views) throws IOException {
+        List<String> lines = new ArrayList<>();
+        CharSequence line;
+        while ((line = views ? source.readLineView() : source.readLine()) != null) {
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private LineReader reader(String text, int bufferSize) {
+        return new LineReader(new ByteArrayInputStream(text.getBytes()), bufferSize);
+    }
+
+    // Returns at most one byte per read, like a slow pipe
+    private static final class TricklingInputStream extends InputStream {
+        private final byte[] bytes;
+        private int index;
+
+        TricklingInputStream(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read() {
+            return index < bytes.length ? bytes[index++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            int next = read();
+            if (next == -1) {
+                return -1;
+            }
+            b[off] = (byte) next;
+            return 1;
+        }
+    }
+
+    @Test
+    public void testLineSeparators() throws IOException {
+        List<String> expected = List.of("a", "", "b", "c\rd", "last");
+        assertEquals(expected, readAll(reader("a\n\r\nb\r\nc\rd\nlast", 64), false));
+        assertEquals(expected, readAll(reader("a\n\r\nb\r\nc\rd\nlast", 64), true));
+    }
+
+    @Test
+    public void testEmptyInputAndTrailingSeparator() throws IOException {
+        assertNull(reader("", 16).readLine());
+        assertEquals(List.of("only"), readAll(reader("only\n", 16), false));
+        assertEquals(List.of(""), readAll(reader("\n", 16), false));
+    }
+
+    @Test
+    public void testLinesLongerThanTheBuffer() throws IOException {
+        StringBuilder text = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 200; ++i) {
+            StringBuilder line = new StringBuilder();
+            for (int j = 0; j < i; ++j) {
+                line.append((char) ('a' + j % 26));
+            }
+            expected.add(line.toString());
+            text.append(line).append('\n');
+        }
+        assertEquals(expected, readAll(reader(text.toString(), 4), false));
+        assertEquals(expected, readAll(reader(text.toString(), 7), true));
+    }
+
+    @Test
+    public void testUtf8LinesAcrossReads() throws IOException {
+        // The lines are decoded with the default charset, so they are expected as the default charset encodes and decodes them
+        List<String> lines = List.of("caf\u00e9", "\u20ac\u20ac\u20ac \u00fcber", "plain", "na\u00efve");
+        List<String> expected = new ArrayList<>();
+        for (String line : lines) {
+            expected.add(new String(line.getBytes()));
+        }
+        byte[] bytes = String.join("\n", lines).replace("\nplain", "\r\nplain").getBytes();
+        assertEquals(expected, readAll(new LineReader(new TricklingInputStream(bytes), 3), false));
+        assertEquals(expected, readAll(new LineReader(new TricklingInputStream(bytes), 3), true));
+    }
+
+    @Test
+    public void testViewsAreReused() throws IOException {
+        LineReader reader = reader("first\nsecond\n", 64);
+        CharSequence first = reader.readLineView();
+        assertEquals("first", first.toString());
+        assertEquals("irs", first.subSequence(1, 4).toString());
+        assertSame(first, reader.readLineView());
+        assertEquals("second", first.toString());
+        assertEquals('s', first.charAt(0));
+        assertNull(reader.readLineView());
+    }
+
+    @Test
+    public void testLineSourceOfStreamUsesLineReader() throws IOException {
+        LineSource source = LineSource.of(new ByteArrayInputStream("x\ny".getBytes()));
+        assertEquals(LineReader.class, source.getClass());
+        assertEquals(List.of("x", "y"), readAll(source, false));
+    }
+}
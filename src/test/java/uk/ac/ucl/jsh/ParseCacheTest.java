@@ -0,0 +1,79 @@
+package uk.ac.ucl.jsh;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import uk.ac.ucl.jsh.Parser.Node;
+import uk.ac.ucl.jsh.Parser.ParseCache;
+import uk.ac.ucl.jsh.Parser.Parser;
+
+public class ParseCacheTest {
+    @Test
+    public void testHitsAndMisses() {
+        ParseCache<String> cache = new ParseCache<>(4);
+        AtomicInteger parses = new AtomicInteger();
+        cache.get("a", key -> key + parses.incrementAndGet());
+        cache.get("a", key -> key + parses.incrementAndGet());
+        assertEquals("a1", cache.get("a", key -> key + parses.incrementAndGet()));
+        assertEquals(1, parses.get());
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        ParseCache<String> cache = new ParseCache<>(2);
+        cache.get("a", key -> key);
+        cache.get("b", key -> key);
+        cache.get("a", key -> key);
+        cache.get("c", key -> key);
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.get("a", key -> "parsed again"));
+        assertEquals("parsed again", cache.get("b", key -> "parsed again"));
+    }
+
+    @Test
+    public void testClear() {
+        ParseCache<String> cache = new ParseCache<>(2);
+        cache.get("a", key -> key);
+        cache.get("a", key -> key);
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void testCmdLineTreeShared() {
+        Node first = Parser.parserCmdLine("echo cached tree | cat");
+        assertSame(first, Parser.parserCmdLine("echo cached tree | cat"));
+    }
+
+    @Test
+    public void testCallCommandTokensUnmodifiable() {
+        List<String> tokens = Parser.parseCallCommand("echo cached tokens");
+        assertSame(tokens, Parser.parseCallCommand("echo cached tokens"));
+        try {
+            tokens.add("more");
+            fail("the cached tokens were modified");
+        } catch (UnsupportedOperationException e) {
+            assertEquals(3, tokens.size());
+        }
+    }
+
+    @Test
+    public void testBackquotesBypassCache() {
+        Parser.parseCallCommand("echo a");
+        int size = Parser.getCallCommandCache().size();
+        assertNotSame(Parser.parseCallCommand("echo `echo a`"), Parser.parseCallCommand("echo `echo a`"));
+        assertNotSame(Parser.parserCmdLine("echo `echo a`"), Parser.parserCmdLine("echo `echo a`"));
+        assertEquals(size, Parser.getCallCommandCache().size());
+    }
+}
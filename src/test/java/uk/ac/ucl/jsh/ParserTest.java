@@ -5,9 +5,27 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.atn.PredictionMode;
 import org.junit.Test;
 
+import uk.ac.ucl.jsh.Utilities.CallPlan;
+import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.antlr.CmdLineParser.CmdLineParserLexer;
+import uk.ac.ucl.jsh.antlr.CmdLineParser.CmdLineParserParser;
+
+import uk.ac.ucl.jsh.Parser.BackgroundNode;
+import uk.ac.ucl.jsh.Parser.BuildCmdTree;
+import uk.ac.ucl.jsh.Parser.CallArgument;
+import uk.ac.ucl.jsh.Parser.CallArgument.Segment;
+import uk.ac.ucl.jsh.Parser.CallArgument.SegmentKind;
 import uk.ac.ucl.jsh.Parser.CallNode;
 import uk.ac.ucl.jsh.Parser.Node;
 import uk.ac.ucl.jsh.Parser.Parser;
@@ -19,7 +37,7 @@ public class ParserTest {
     public void testUnquotedCallCommand() {
         String callCommand = "   a    bc def    ";
         ArrayList<String> expectedTokens = new ArrayList<>(Arrays.asList("a", "bc", "def"));
-        ArrayList<String> actualTokens = Parser.parseCallCommand(callCommand);
+        List<String> actualTokens = Parser.parseCallCommand(callCommand);
         assertTrue(expectedTokens.equals(actualTokens));
     }
 
@@ -27,7 +45,7 @@ public class ParserTest {
     public void testSingleQuotedCallCommand() {
         String callCommand = "  a a'bc `echo def`'  ";
         ArrayList<String> expectedTokens = new ArrayList<>(Arrays.asList("a", "abc `echo def`"));
-        ArrayList<String> actualTokens = Parser.parseCallCommand(callCommand);
+        List<String> actualTokens = Parser.parseCallCommand(callCommand);
         assertTrue(expectedTokens.equals(actualTokens));
     }
 
@@ -35,7 +53,7 @@ public class ParserTest {
     public void testDoubleQuotedCallCommand() {
         String callCommand = "  a \"bcdef\" \"ghi `echo jkl`\" ";
         ArrayList<String> expectedTokens = new ArrayList<>(Arrays.asList("a", "bcdef", "ghi jkl"));
-        ArrayList<String> actualTokens = Parser.parseCallCommand(callCommand);
+        List<String> actualTokens = Parser.parseCallCommand(callCommand);
         assertTrue(expectedTokens.equals(actualTokens));
     }
 
@@ -43,7 +61,7 @@ public class ParserTest {
     public void testBackQuotedCallCommand() {
         String callCommand = "  a `echo mno`   ";
         ArrayList<String> expectedTokens = new ArrayList<>(Arrays.asList("a", "mno"));
-        ArrayList<String> actualTokens = Parser.parseCallCommand(callCommand);
+        List<String> actualTokens = Parser.parseCallCommand(callCommand);
         assertTrue(expectedTokens.equals(actualTokens));
     }
 
@@ -51,7 +69,7 @@ public class ParserTest {
     public void testEmptyBackQuotedCallCommand() {
         String callCommand = "  a ``   ";
         ArrayList<String> expectedTokens = new ArrayList<>(Arrays.asList("a", ""));
-        ArrayList<String> actualTokens = Parser.parseCallCommand(callCommand);
+        List<String> actualTokens = Parser.parseCallCommand(callCommand);
         assertTrue(expectedTokens.equals(actualTokens));
     }
 
@@ -59,7 +77,7 @@ public class ParserTest {
     public void testIORedirectionCallCommand() {
         String callCommand = "a < b > c";
         ArrayList<String> expectedTokens = new ArrayList<>(Arrays.asList("a", "<", "b", ">", "c"));
-        ArrayList<String> actualTokens = Parser.parseCallCommand(callCommand);
+        List<String> actualTokens = Parser.parseCallCommand(callCommand);
         assertTrue(expectedTokens.equals(actualTokens));
     }
 
@@ -101,4 +119,120 @@ public class ParserTest {
         Node actualTree = Parser.parserCmdLine(cmdLine);
         assertEquals(expectedTree.toString(), actualTree.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testBackgroundCmdLine() {
+        String cmdLine = "a | b &";
+        Node expectedTree = new BackgroundNode(new PipeNode(new CallNode("a "), new CallNode(" b ")), "a | b");
+        Node actualTree = Parser.parserCmdLine(cmdLine);
+        assertEquals(expectedTree.toString(), actualTree.toString());
+    }
+
+    @Test
+    public void testBackgroundSeparatorCmdLine() {
+        String cmdLine = "a & b & c; d";
+        Node expectedTree = new SeqNode(
+                                new SeqNode(
+                                    new BackgroundNode(new CallNode("a "), "a"),
+                                    new SeqNode(
+                                        new BackgroundNode(new CallNode(" b "), "b"),
+                                        new CallNode(" c"))),
+                                new CallNode(" d"));
+        Node actualTree = Parser.parserCmdLine(cmdLine);
+        assertEquals(expectedTree.toString(), actualTree.toString());
+    }
+
+    @Test
+    public void testQuotedAmpersandCallCommand() {
+        String callCommand = "echo 'a & b'";
+        ArrayList<String> expectedTokens = new ArrayList<>(Arrays.asList("echo", "a & b"));
+        List<String> actualTokens = Parser.parseCallCommand(callCommand);
+        assertTrue(expectedTokens.equals(actualTokens));
+    }
+
+    @Test
+    public void testStructuredCallArguments() {
+        CallNode callNode = (CallNode) Parser.parserCmdLine("a bc'd e'\"f `g`\" <in >  out");
+        List<CallArgument> expectedArguments = Arrays.asList(
+            CallArgument.word(Arrays.asList(new Segment(SegmentKind.LITERAL, "a"))),
+            CallArgument.word(Arrays.asList(new Segment(SegmentKind.LITERAL, "bc"),
+                                            new Segment(SegmentKind.QUOTED, "d e"),
+                                            new Segment(SegmentKind.QUOTED, "f "),
+                                            new Segment(SegmentKind.SUBSTITUTION, "g"))),
+            CallArgument.redirection(true),
+            CallArgument.word(Arrays.asList(new Segment(SegmentKind.LITERAL, "in"))),
+            CallArgument.redirection(false),
+            CallArgument.word(Arrays.asList(new Segment(SegmentKind.LITERAL, "out"))));
+        assertEquals(expectedArguments, callNode.getArguments());
+        assertTrue(callNode.isDynamic());
+    }
+
+    @Test
+    public void testStructuredCallMatchesCallParser() throws JshException {
+        String[] callCommands = {"  a    bc def    ", "  a a'bc `echo def`'  ", "a \"bcdef\" \"ghi `echo jkl`\" ", "  a `echo mno`   ",
+                                 "  a ``   ", "echo a\"\"b", "echo \"\" x", "echo '' x", "echo a`echo x  y`b c", "echo \"a  b\"c"};
+        for (String callCommand : callCommands) {
+            CallPlan structuredPlan = ((CallNode) Parser.parserCmdLine(callCommand)).getPlan();
+            CallPlan parsedPlan = CallPlan.compile(Parser.parseCallCommand(callCommand));
+            assertEquals(callCommand, parsedPlan.getArguments(), structuredPlan.getArguments());
+            assertEquals(callCommand, parsedPlan.getApplication(), structuredPlan.getApplication());
+        }
+    }
+
+    @Test
+    public void testQuotedRedirectionIsArgument() throws JshException {
+        CallPlan plan = ((CallNode) Parser.parserCmdLine("echo \"<\" x")).getPlan();
+        assertEquals(Arrays.asList("<", "x"), plan.getArguments());
+        assertTrue(!plan.hasRedirection());
+    }
+
+    @Test
+    public void testSllParseCounted() {
+        long sllParses = Parser.getSllParseCount();
+        long llFallbacks = Parser.getLlFallbackCount();
+        Parser.parserCmdLine("sll | counted ; parse");
+        assertEquals(sllParses + 1, Parser.getSllParseCount());
+        assertEquals(llFallbacks, Parser.getLlFallbackCount());
+    }
+
+    @Test
+    public void testLlFallbackOnSyntaxError() {
+        long llFallbacks = Parser.getLlFallbackCount();
+        try {
+            Parser.parserCmdLine("ll fallback ||error");
+        } catch (RuntimeException e) {
+            // The tree of an invalid command line may not be buildable, only the fallback matters here
+        }
+        assertEquals(llFallbacks + 1, Parser.getLlFallbackCount());
+    }
+
+    @Test
+    public void testSllMatchesLl() {
+        char[] alphabet = {'a', 'b', ' ', '|', ';', '&', '\'', '"', '<', '>'};
+        Random random = new Random(39);
+        for (int i = 0; i < 2000; ++i) {
+            StringBuilder cmdLine = new StringBuilder("sll");
+            int length = random.nextInt(16);
+            for (int j = 0; j < length; ++j) {
+                cmdLine.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+
+            int[] errors = new int[1];
+            CmdLineParserParser parser = new CmdLineParserParser(new CommonTokenStream(new CmdLineParserLexer(CharStreams.fromString(cmdLine.toString()))));
+            parser.removeErrorListeners();
+            parser.addErrorListener(new BaseErrorListener() {
+                @Override
+                public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine, String msg,
+                                        RecognitionException e) {
+                    ++errors[0];
+                }
+            });
+            parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+            CmdLineParserParser.CompileUnitContext compileUnit = parser.compileUnit();
+            if (errors[0] == 0) {
+                Node expectedTree = new BuildCmdTree().visitCompileUnit(compileUnit);
+                assertEquals(cmdLine.toString(), expectedTree.toString(), Parser.parserCmdLine(cmdLine.toString()).toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package uk.ac.ucl.jsh;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Test;
+
+import uk.ac.ucl.jsh.Utilities.LineSink;
+import uk.ac.ucl.jsh.Utilities.LineSource;
+import uk.ac.ucl.jsh.Utilities.Pipe;
+
+public class PipeTest {
+    @Test
+    public void testLinesToLineSource() throws IOException {
+        Pipe pipe = new Pipe();
+        LineSink sink = LineSink.of(pipe.getOutputStream());
+        sink.writeLine("first");
+        sink.writeLine("second");
+        pipe.closeWriteEnd();
+
+        LineSource source = LineSource.of(pipe.getInputStream());
+        assertEquals("first", source.readLine());
+        assertEquals("second", source.readLine());
+        assertNull(source.readLine());
+    }
+
+    @Test
+    public void testLinesToInputStream() throws IOException {
+        Pipe pipe = new Pipe();
+        LineSink sink = LineSink.of(pipe.getOutputStream());
+        sink.writeLine("first");
+        sink.writeLine("second");
+        pipe.closeWriteEnd();
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        InputStream inputStream = pipe.getInputStream();
+        byte[] buffer = new byte[3];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            result.write(buffer, 0, read);
+        }
+        assertEquals("first" + Jsh.lineSeparator + "second" + Jsh.lineSeparator, result.toString());
+    }
+
+    @Test
+    public void testBytesToLineSource() throws IOException {
+        Pipe pipe = new Pipe();
+        pipe.getOutputStream().write(("first" + Jsh.lineSeparator + "second").getBytes());
+        pipe.closeWriteEnd();
+
+        LineSource source = LineSource.of(pipe.getInputStream());
+        assertEquals("first", source.readLine());
+        assertEquals("second", source.readLine());
+        assertNull(source.readLine());
+    }
+
+    @Test
+    public void testBytesAfterLines() throws IOException {
+        Pipe pipe = new Pipe();
+        LineSink.of(pipe.getOutputStream()).writeLine("first");
+        pipe.getOutputStream().write(("second" + Jsh.lineSeparator + "third").getBytes());
+        pipe.closeWriteEnd();
+
+        LineSource source = LineSource.of(pipe.getInputStream());
+        assertEquals("first", source.readLine().toString());
+        assertEquals("second", source.readLine().toString());
+        assertEquals("third", source.readLine().toString());
+        assertNull(source.readLine());
+    }
+
+    @Test
+    public void testManyLinesThroughBoundedPipe() throws Exception {
+        Pipe pipe = new Pipe();
+        int lineCount = 100000;
+        Thread producer = new Thread(() -> {
+            try {
+                LineSink sink = LineSink.of(pipe.getOutputStream());
+                for (int i = 0; i < lineCount; ++i) {
+                    sink.writeLine(Integer.toString(i));
+                }
+            } catch (IOException e) {
+                fail(e.getMessage());
+            } finally {
+                pipe.closeWriteEnd();
+            }
+        });
+        producer.start();
+
+        LineSource source = LineSource.of(pipe.getInputStream());
+        for (int i = 0; i < lineCount; ++i) {
+            assertEquals(Integer.toString(i), source.readLine());
+        }
+        assertNull(source.readLine());
+        producer.join();
+    }
+
+    @Test
+    public void testWriteLineAfterReadEndClosed() {
+        Pipe pipe = new Pipe();
+        LineSource.of(pipe.getInputStream()).close();
+        try {
+            LineSink sink = LineSink.of(pipe.getOutputStream());
+            sink.writeLine("line");
+            sink.flush();
+            fail("writing to a closed pipe did not throw an exception");
+        } catch (IOException e) {
+            assertTrue(pipe.isBroken());
+        }
+    }
+}
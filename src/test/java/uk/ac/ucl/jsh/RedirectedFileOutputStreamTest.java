@@ -0,0 +1,112 @@
+package uk.ac.ucl.jsh;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.ac.ucl.jsh.Utilities.RedirectedFileOutputStream;
+import uk.ac.ucl.jsh.Utilities.JshException;
+
+public class RedirectedFileOutputStreamTest {
+    private File file;
+
+    @Before
+    public void createFile() throws IOException {
+        file = File.createTempFile("jsh", ".out");
+    }
+
+    @After
+    public void deleteFile() {
+        file.delete();
+    }
+
+    @Test
+    public void testSmallWritesAreWrittenOnFlushAndClose() throws IOException, JshException {
+        RedirectedFileOutputStream outputStream = RedirectedFileOutputStream.open(file, false);
+        for (int i = 0; i < 1000; ++i) {
+            outputStream.write(("line " + i + "\n").getBytes());
+        }
+        assertEquals(0, file.length());
+        outputStream.flush();
+        assertEquals("line 999", Files.readAllLines(file.toPath()).get(999));
+        outputStream.write("last\n".getBytes());
+        outputStream.close();
+        assertEquals("last", Files.readAllLines(file.toPath()).get(1000));
+    }
+
+    @Test
+    public void testLargeWritesAndSingleBytes() throws IOException, JshException {
+        byte[] large = new byte[RedirectedFileOutputStream.DEFAULT_BUFFER_SIZE * 3 + 17];
+        for (int i = 0; i < large.length; ++i) {
+            large[i] = (byte) i;
+        }
+        try (RedirectedFileOutputStream outputStream = RedirectedFileOutputStream.open(file, false)) {
+            outputStream.write(large, 0, 10);
+            outputStream.write(large, 10, large.length - 20);
+            for (int i = large.length - 10; i < large.length; ++i) {
+                outputStream.write(large[i]);
+            }
+        }
+        assertArrayEquals(large, Files.readAllBytes(file.toPath()));
+    }
+
+    @Test
+    public void testTruncateAndAppend() throws IOException, JshException {
+        Files.writeString(file.toPath(), "previous content\n");
+        try (RedirectedFileOutputStream outputStream = RedirectedFileOutputStream.open(file, true)) {
+            outputStream.write("appended\n".getBytes());
+        }
+        assertEquals("previous content\nappended\n", Files.readString(file.toPath()));
+
+        try (RedirectedFileOutputStream outputStream = RedirectedFileOutputStream.open(file, false)) {
+            outputStream.write("new\n".getBytes());
+        }
+        assertEquals("new\n", Files.readString(file.toPath()));
+    }
+
+    @Test
+    public void testWritesOfInterruptedThreadReachTheFile() throws IOException, JshException {
+        RedirectedFileOutputStream outputStream = RedirectedFileOutputStream.open(file, false);
+        Thread.currentThread().interrupt();
+        try {
+            outputStream.write("before\n".getBytes());
+            outputStream.write(new byte[RedirectedFileOutputStream.DEFAULT_BUFFER_SIZE]);
+            outputStream.write("after\n".getBytes());
+            outputStream.close();
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals(RedirectedFileOutputStream.DEFAULT_BUFFER_SIZE + 13, file.length());
+    }
+
+    @Test
+    public void testWriteAfterClose() throws IOException, JshException {
+        RedirectedFileOutputStream outputStream = RedirectedFileOutputStream.open(file, false);
+        outputStream.close();
+        outputStream.close();
+        try {
+            outputStream.write('a');
+            fail("a closed stream was written to");
+        } catch (IOException e) {
+            assertEquals("Stream Closed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testOpenDirectory() {
+        try {
+            RedirectedFileOutputStream.open(file.getParentFile(), false);
+            fail("a directory was opened for output redirection");
+        } catch (JshException e) {
+            assertEquals(file.getParent() + " (Is a directory)", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package uk.ac.ucl.jsh;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.ac.ucl.jsh.Utilities.FileSystem;
+import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.ScriptRunner;
+
+public class ScriptRunnerTest {
+    private FileSystem fileSystem = FileSystem.getInstance();
+    private String lineSeparator = Jsh.lineSeparator;
+    private String initialWorkingDirectoryPath;
+    private PrintStream stderr;
+    private ByteArrayOutputStream errStream;
+
+    @Before
+    public void createHierarchy() throws IOException {
+        fileSystem.deleteTestFileHierarchy();
+        initialWorkingDirectoryPath = fileSystem.getWorkingDirectoryPath();
+        fileSystem.createTestFileHierarchy();
+        fileSystem.setWorkingDirectory(System.getProperty("java.io.tmpdir"));
+        stderr = System.err;
+        errStream = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(errStream));
+    }
+
+    @After
+    public void deleteHierarchy() throws IOException {
+        System.setErr(stderr);
+        fileSystem.deleteTestFileHierarchy();
+        fileSystem.setWorkingDirectory(initialWorkingDirectoryPath);
+    }
+
+    private String runScript(String script) throws JshException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new ScriptRunner(new BufferedReader(new StringReader(script)), outputStream).run();
+        return outputStream.toString();
+    }
+
+    @Test
+    public void testCommandsRunInOrder() throws JshException {
+        String script = "echo a" + lineSeparator + "echo b; echo c" + lineSeparator + "echo d | cat" + lineSeparator;
+        assertEquals("a" + lineSeparator + "b" + lineSeparator + "c" + lineSeparator + "d" + lineSeparator, runScript(script));
+    }
+
+    @Test
+    public void testBlankLinesAndInterpreterLineSkipped() throws JshException {
+        String script = "#!/usr/bin/env jsh" + lineSeparator + lineSeparator + "   " + lineSeparator + "echo a" + lineSeparator;
+        assertEquals("a" + lineSeparator, runScript(script));
+    }
+
+    @Test
+    public void testWorkingDirectoryChangesSeenByLaterCommands() throws JshException {
+        String script = "cd Documents/Eng" + lineSeparator + "head -n 1 Test" + lineSeparator + "echo `pwd`" + lineSeparator;
+        String engPath = System.getProperty("java.io.tmpdir") + Jsh.fileSeparator + "Documents" + Jsh.fileSeparator + "Eng";
+        assertEquals("Line number: 0" + lineSeparator + engPath + lineSeparator, runScript(script));
+    }
+
+    @Test
+    public void testFailedCommandDoesNotStopScript() throws JshException {
+        String script = "cat Missing" + lineSeparator + "echo after" + lineSeparator;
+        assertEquals("after" + lineSeparator, runScript(script));
+        assertEquals(false, errStream.toString().isEmpty());
+    }
+
+    @Test
+    public void testManyCommands() throws JshException {
+        StringBuilder script = new StringBuilder();
+        StringBuilder expectedOutput = new StringBuilder();
+        for (int i = 0; i < 1000; ++i) {
+            script.append("echo ").append(i).append(lineSeparator);
+            expectedOutput.append(i).append(lineSeparator);
+        }
+        assertEquals(expectedOutput.toString(), runScript(script.toString()));
+    }
+}
@@ -0,0 +1,150 @@
+package uk.ac.ucl.jsh;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import uk.ac.ucl.jsh.Applications.Echo;
+import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.LineSink;
+import uk.ac.ucl.jsh.Utilities.Pipe;
+import uk.ac.ucl.jsh.Utilities.ShellOutput;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
+
+public class ShellOutputTest {
+    private String lineSeparator = Jsh.lineSeparator;
+
+    // Counts the writes and flushes reaching the destination
+    private static final class CountingOutputStream extends ByteArrayOutputStream {
+        private int writes;
+        private int flushes;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            ++writes;
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            ++flushes;
+        }
+    }
+
+    @Test
+    public void testThresholdOnlyWritesWhenFullOrFlushed() throws IOException {
+        CountingOutputStream destination = new CountingOutputStream();
+        ShellOutput output = new ShellOutput(destination, ShellOutput.FlushPolicy.THRESHOLD, 64);
+        for (int i = 0; i < 10; ++i) {
+            output.writeLine("line " + i);
+        }
+        assertEquals(1, destination.writes);
+        assertEquals(0, destination.flushes);
+
+        output.flush();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10; ++i) {
+            expected.append("line ").append(i).append(lineSeparator);
+        }
+        assertEquals(expected.toString(), destination.toString());
+        assertEquals(1, destination.flushes);
+    }
+
+    @Test
+    public void testLineWritesEveryLine() throws IOException {
+        CountingOutputStream destination = new CountingOutputStream();
+        ShellOutput output = new ShellOutput(destination, ShellOutput.FlushPolicy.LINE);
+        output.writeLine("a");
+        assertEquals("a" + lineSeparator, destination.toString());
+        output.write('b');
+        assertEquals("a" + lineSeparator, destination.toString());
+        output.write('\n');
+        assertEquals("a" + lineSeparator + "b\n", destination.toString());
+        assertEquals(2, destination.flushes);
+    }
+
+    @Test
+    public void testLineOnlyWritesCompleteLines() throws IOException {
+        CountingOutputStream destination = new CountingOutputStream();
+        ShellOutput output = new ShellOutput(destination, ShellOutput.FlushPolicy.LINE, 8);
+        output.write("ab\ncd".getBytes());
+        assertEquals("ab\n", destination.toString());
+        output.write("e\nfghijklmn\n".getBytes());
+        assertEquals("ab\ncde\nfghijklmn\n", destination.toString());
+        assertEquals(4, destination.writes);
+    }
+
+    @Test
+    public void testLargeWritesAndLinesKeepTheirOrder() throws IOException {
+        ByteArrayOutputStream destination = new ByteArrayOutputStream();
+        ShellOutput output = new ShellOutput(destination, ShellOutput.FlushPolicy.THRESHOLD, 16);
+        byte[] large = new byte[100];
+        Arrays.fill(large, (byte) 'x');
+        output.writeLine("before");
+        output.write(large);
+        output.writeLine("a line longer than the buffer of the output");
+        output.close();
+        assertEquals("before" + lineSeparator + new String(large) + "a line longer than the buffer of the output" + lineSeparator,
+            destination.toString());
+    }
+
+    @Test
+    public void testNonAsciiLinesAreEncoded() throws IOException {
+        ByteArrayOutputStream destination = new ByteArrayOutputStream();
+        ShellOutput output = new ShellOutput(destination, ShellOutput.FlushPolicy.THRESHOLD, 8);
+        String line = "caf\u00e9 \u00fcber \u20ac\u20ac\u20ac na\u00efve";
+        output.writeLine(line);
+        output.writeLine("plain");
+        output.flush();
+        assertEquals(new String((line + lineSeparator + "plain" + lineSeparator).getBytes()), destination.toString());
+    }
+
+    @Test
+    public void testLineSinkSharesTheShellOutput() {
+        ShellOutput output = new ShellOutput(new ByteArrayOutputStream(), ShellOutput.FlushPolicy.LINE);
+        assertSame(output, LineSink.of(output));
+    }
+
+    @Test
+    public void testEvalFlushesAtTheEndOfTheCommandLine() {
+        CountingOutputStream destination = new CountingOutputStream();
+        ShellOutput output = new ShellOutput(destination, ShellOutput.FlushPolicy.THRESHOLD);
+        Jsh.eval("echo a; echo b", null, output, ShellSession.getDefault());
+        assertEquals("a" + lineSeparator + "b" + lineSeparator, destination.toString());
+    }
+
+    @Test
+    public void testApplicationFlushesOnlyAtTheEnd() throws JshException {
+        CountingOutputStream destination = new CountingOutputStream();
+        new Echo().execute(new ArrayList<>(Arrays.asList("a", "b", "c")), null, destination);
+        assertEquals("a b c" + lineSeparator, destination.toString());
+        assertEquals(1, destination.writes);
+        assertEquals(1, destination.flushes);
+    }
+
+    @Test
+    public void testEncodedLinesAndBytesKeepTheirOrderInAPipe() throws IOException {
+        Pipe pipe = new Pipe();
+        pipe.getOutputStream().write("bytes\n".getBytes());
+        LineSink sink = LineSink.of(pipe.getOutputStream());
+        sink.writeLine("line");
+        pipe.getOutputStream().write("more bytes\n".getBytes());
+        sink.writeLine("last line");
+        pipe.closeWriteEnd();
+
+        InputStream inputStream = pipe.getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        int b;
+        while ((b = inputStream.read()) != -1) {
+            read.write(b);
+        }
+        assertEquals("bytes\nline" + lineSeparator + "more bytes\nlast line" + lineSeparator, read.toString());
+    }
+}
@@ -0,0 +1,124 @@
+package uk.ac.ucl.jsh;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.ac.ucl.jsh.Applications.History;
+import uk.ac.ucl.jsh.Utilities.FileSystem;
+import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
+
+public class ShellSessionTest {
+    private FileSystem fileSystem = FileSystem.getInstance();
+    private String lineSeparator = Jsh.lineSeparator;
+    private String fileSeparator = Jsh.fileSeparator;
+    private String tmpPath = System.getProperty("java.io.tmpdir");
+    private String initialWorkingDirectoryPath;
+
+    @Before
+    public void beforeTest() throws IOException {
+        initialWorkingDirectoryPath = fileSystem.getWorkingDirectoryPath();
+        fileSystem.createTestFileHierarchy();
+        fileSystem.setWorkingDirectory(tmpPath);
+    }
+
+    @After
+    public void afterTest() throws IOException {
+        fileSystem.deleteTestFileHierarchy();
+        fileSystem.setWorkingDirectory(initialWorkingDirectoryPath);
+    }
+
+    private String eval(String cmdline, ShellSession session) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Jsh.eval(cmdline, null, outputStream, session);
+        return outputStream.toString();
+    }
+
+    @Test
+    public void testCdOnlyChangesItsSession() {
+        ShellSession session = new ShellSession(tmpPath);
+        eval("cd Documents", session);
+
+        assertEquals(tmpPath + fileSeparator + "Documents", session.getWorkingDirectoryPath());
+        assertEquals(tmpPath, fileSystem.getWorkingDirectoryPath());
+        assertEquals("Eng" + fileSeparator + "Test" + lineSeparator, eval("find Eng -name Test", session));
+    }
+
+    @Test
+    public void testRedirectionUsesSessionWorkingDirectory() {
+        ShellSession session = new ShellSession(tmpPath + fileSeparator + "Other");
+        eval("echo written > Out", session);
+
+        assertEquals("written" + lineSeparator, eval("cat " + tmpPath + fileSeparator + "Other" + fileSeparator + "Out", ShellSession.getDefault()));
+    }
+
+    @Test
+    public void testHistoryIsPerSession() throws JshException {
+        ShellSession session = new ShellSession(tmpPath);
+        session.addHistory("echo a");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new History().execute(new ArrayList<>(), null, outputStream, session);
+
+        assertEquals("1. echo a" + lineSeparator, outputStream.toString());
+        assertFalse(Jsh.getHistory().contains("echo a"));
+    }
+
+    @Test
+    public void testErrorsGoToSessionErrorStream() {
+        ByteArrayOutputStream errorStream = new ByteArrayOutputStream();
+        ShellSession session = new ShellSession(tmpPath, new PrintStream(errorStream, true));
+        assertEquals("after" + lineSeparator, eval("_cat Missing; echo after", session));
+
+        assertTrue(errorStream.toString().contains("Missing"));
+    }
+
+    @Test
+    public void testBackgroundJobsArePerSession() throws JshException {
+        ShellSession session = new ShellSession(tmpPath);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Jsh.eval("cat Hello &", null, outputStream, session);
+        session.getJobTable().awaitAll();
+
+        assertEquals("hello", outputStream.toString());
+        assertTrue(ShellSession.getDefault().getJobTable().getJobs().isEmpty());
+    }
+
+    @Test
+    public void testConcurrentSessions() throws Exception {
+        String[] directories = {"Documents", "Other", "Documents" + fileSeparator + "Eng"};
+        String[] expectedFiles = {"Proj.txt", "Oth1", "Test"};
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 96; ++i) {
+                int index = i % directories.length;
+                results.add(executor.submit(() -> {
+                    ShellSession session = new ShellSession(tmpPath);
+                    return eval("cd " + directories[index] + "; pwd; find -name " + expectedFiles[index], session);
+                }));
+                expected.add(tmpPath + fileSeparator + directories[index] + lineSeparator + "." + fileSeparator + expectedFiles[index] + lineSeparator);
+            }
+            for (int i = 0; i < results.size(); ++i) {
+                assertEquals(expected.get(i), results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(tmpPath, fileSystem.getWorkingDirectoryPath());
+    }
+}
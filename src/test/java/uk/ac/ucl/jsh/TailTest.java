@@ -3,20 +3,31 @@ package uk.ac.ucl.jsh;
 import uk.ac.ucl.jsh.Applications.Tail;
 import uk.ac.ucl.jsh.Utilities.FileSystem;
 import uk.ac.ucl.jsh.Utilities.JshException;
+import uk.ac.ucl.jsh.Utilities.ShellSession;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class TailTest {
     private static Tail tailApplication;
@@ -251,4 +262,252 @@ public class TailTest {
         tailApplication.execute(applicationArguments, null, outputStream);
         assertEquals(expectedOutput, outputStream.toString());
     }
-}
\ No newline at end of file
+
+    private File writeTemporaryFile(byte[] contents) throws IOException {
+        File file = File.createTempFile("jsh-tail", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), contents);
+        return file;
+    }
+
+    @Test
+    public void testLastLinesOfFileLargerThanABlock() throws IOException, JshException {
+        StringBuilder contents = new StringBuilder();
+        for (int i = 0; i < 100000; ++i) {
+            contents.append("Line number: ").append(i).append(i % 2 == 0 ? "\r\n" : "\n");
+        }
+        contents.append("Last line without newline");
+        File file = writeTemporaryFile(contents.toString().getBytes());
+        applicationArguments.add("-n");
+        applicationArguments.add("3");
+        applicationArguments.add(file.getPath());
+        tailApplication.execute(applicationArguments, null, outputStream);
+        assertEquals("Line number: 99998" + lineSeparator + "Line number: 99999" + lineSeparator + "Last line without newline" + lineSeparator,
+            outputStream.toString());
+    }
+
+    @Test
+    public void testLastLinesOfFileEndingWithEmptyLines() throws IOException, JshException {
+        File file = writeTemporaryFile("a\nb\n\n".getBytes());
+        applicationArguments.add("-n");
+        applicationArguments.add("2");
+        applicationArguments.add(file.getPath());
+        tailApplication.execute(applicationArguments, null, outputStream);
+        assertEquals("b" + lineSeparator + lineSeparator, outputStream.toString());
+    }
+
+    @Test
+    public void testLastLinesOfLargeStream() throws JshException {
+        StringBuilder contents = new StringBuilder();
+        for (int i = 0; i < 50000; ++i) {
+            contents.append(i).append('\n');
+        }
+        applicationArguments.add("-n");
+        applicationArguments.add("2");
+        tailApplication.execute(applicationArguments, new ByteArrayInputStream(contents.toString().getBytes()), outputStream);
+        assertEquals("49998" + lineSeparator + "49999" + lineSeparator, outputStream.toString());
+    }
+
+    @Test
+    public void testLastBytesOfFile() throws IOException, JshException {
+        File file = writeTemporaryFile("first\r\nsecond\nno newline".getBytes());
+        applicationArguments.add("-c");
+        applicationArguments.add("14");
+        applicationArguments.add(file.getPath());
+        tailApplication.execute(applicationArguments, null, outputStream);
+        assertEquals("ond\nno newline", outputStream.toString());
+
+        outputStream.reset();
+        applicationArguments.set(1, "1000");
+        tailApplication.execute(applicationArguments, null, outputStream);
+        assertEquals("first\r\nsecond\nno newline", outputStream.toString());
+    }
+
+    @Test
+    public void testLastBytesOfStream() throws JshException {
+        byte[] contents = new byte[300000];
+        for (int i = 0; i < contents.length; ++i) {
+            contents[i] = (byte) (i % 251);
+        }
+        for (int count : new int[] {1, 100, 65536, 70000, 299999, 300000, 500000}) {
+            outputStream.reset();
+            applicationArguments.clear();
+            applicationArguments.add("-c");
+            applicationArguments.add(Integer.toString(count));
+            tailApplication.execute(applicationArguments, new ByteArrayInputStream(contents), outputStream);
+            assertArrayEquals(Arrays.copyOfRange(contents, Math.max(0, contents.length - count), contents.length), outputStream.toByteArray());
+        }
+    }
+
+    @Test
+    public void testIllegalByteCount() {
+        try {
+            applicationArguments.add("-c");
+            applicationArguments.add("0");
+            applicationArguments.add("Test");
+            tailApplication.execute(applicationArguments, null, outputStream);
+            fail("tail did not throw an illegal byte count exception");
+        } catch (JshException e) {
+            assertEquals("tail: illegal byte count -- 0", e.getMessage());
+        }
+    }
+
+    // Runs tail with the given arguments in its own thread until it is interrupted, writing to followedOutput
+    private Thread startFollowing(ByteArrayOutputStream followedOutput, List<JshException> errors, String... arguments) {
+        Thread thread = new Thread(() -> {
+            try {
+                new Tail().execute(new ArrayList<>(Arrays.asList(arguments)), null, followedOutput);
+            } catch (JshException e) {
+                errors.add(e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private void awaitOutput(ByteArrayOutputStream followedOutput, String expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!followedOutput.toString().equals(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, followedOutput.toString());
+    }
+
+    private void stopFollowing(Thread thread, List<JshException> errors) throws InterruptedException {
+        thread.interrupt();
+        thread.join(5000);
+        assertFalse(thread.isAlive());
+        assertTrue(errors.toString(), errors.isEmpty());
+    }
+
+    private void append(File file, String text) throws IOException {
+        Files.write(file.toPath(), text.getBytes(), StandardOpenOption.APPEND);
+    }
+
+    @Test
+    public void testFollowWritesAppendedLines() throws Exception {
+        File file = writeTemporaryFile("old 1\nold 2\n".getBytes());
+        ByteArrayOutputStream followedOutput = new ByteArrayOutputStream();
+        List<JshException> errors = new CopyOnWriteArrayList<>();
+        Thread thread = startFollowing(followedOutput, errors, "-f", "-n", "1", file.getPath());
+
+        awaitOutput(followedOutput, "old 2" + lineSeparator);
+        append(file, "new 1\nnew 2\n");
+        awaitOutput(followedOutput, "old 2" + lineSeparator + "new 1" + lineSeparator + "new 2" + lineSeparator);
+        append(file, "partial");
+        Thread.sleep(100);
+        append(file, " line\n");
+        awaitOutput(followedOutput, "old 2" + lineSeparator + "new 1" + lineSeparator + "new 2" + lineSeparator + "partial line" + lineSeparator);
+        stopFollowing(thread, errors);
+    }
+
+    @Test
+    public void testFollowBytesAndTruncation() throws Exception {
+        File file = writeTemporaryFile("0123456789".getBytes());
+        ByteArrayOutputStream followedOutput = new ByteArrayOutputStream();
+        List<JshException> errors = new CopyOnWriteArrayList<>();
+        Thread thread = startFollowing(followedOutput, errors, "-f", "-c", "3", file.getPath());
+
+        awaitOutput(followedOutput, "789");
+        append(file, "ab");
+        awaitOutput(followedOutput, "789ab");
+        Files.write(file.toPath(), "xy".getBytes());
+        awaitOutput(followedOutput, "789abxy");
+        stopFollowing(thread, errors);
+    }
+
+    @Test
+    public void testFollowNameThroughRotationAndCreation() throws Exception {
+        File file = new File(writeTemporaryFile(new byte[0]).getPath());
+        File rotated = new File(file.getPath() + ".1");
+        rotated.deleteOnExit();
+        file.delete();
+        ByteArrayOutputStream followedOutput = new ByteArrayOutputStream();
+        List<JshException> errors = new CopyOnWriteArrayList<>();
+        Thread thread = startFollowing(followedOutput, errors, "-F", file.getPath());
+
+        Thread.sleep(50);
+        Files.write(file.toPath(), "created\n".getBytes());
+        awaitOutput(followedOutput, "created" + lineSeparator);
+        assertTrue(file.renameTo(rotated));
+        Files.write(file.toPath(), "rotated\n".getBytes());
+        awaitOutput(followedOutput, "created" + lineSeparator + "rotated" + lineSeparator);
+        stopFollowing(thread, errors);
+    }
+
+    @Test
+    public void testFollowMissingFile() {
+        try {
+            applicationArguments.add("-f");
+            applicationArguments.add(fileSeparator + "tmp" + fileSeparator + "InvalidPath");
+            tailApplication.execute(applicationArguments, null, outputStream);
+            fail("tail did not throw a no such file exception");
+        } catch (JshException e) {
+            assertEquals("tail: " + fileSeparator + "tmp" + fileSeparator + "InvalidPath (No such file or directory)", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testFollowIgnoredForInputStream() throws JshException {
+        applicationArguments.add("-f");
+        applicationArguments.add("-n");
+        applicationArguments.add("1");
+        tailApplication.execute(applicationArguments, new ByteArrayInputStream("a\nb\n".getBytes()), outputStream);
+        assertEquals("b" + lineSeparator, outputStream.toString());
+    }
+
+    // Evaluates a command line in its own thread until it is interrupted, writing its errors to errorOutput
+    private Thread startEvaluating(String cmdline, ByteArrayOutputStream errorOutput) {
+        ShellSession session = new ShellSession(System.getProperty("java.io.tmpdir"), new PrintStream(errorOutput, true));
+        Thread thread = new Thread(() -> Jsh.eval(cmdline, null, new ByteArrayOutputStream(), session));
+        thread.start();
+        return thread;
+    }
+
+    private void awaitFileContent(File file, String expected) throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((!file.exists() || !new String(Files.readAllBytes(file.toPath())).equals(expected)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, new String(Files.readAllBytes(file.toPath())));
+    }
+
+    @Test
+    public void testFollowRedirectedToFile() throws Exception {
+        File file = writeTemporaryFile("old\n".getBytes());
+        File output = fileSystem.getFile("FollowOutput");
+        ByteArrayOutputStream errorOutput = new ByteArrayOutputStream();
+        try {
+            Thread thread = startEvaluating("tail -f " + file.getPath() + " > FollowOutput", errorOutput);
+            awaitFileContent(output, "old" + lineSeparator);
+            append(file, "new 1\nnew 2\n");
+            awaitFileContent(output, "old" + lineSeparator + "new 1" + lineSeparator + "new 2" + lineSeparator);
+            thread.interrupt();
+            thread.join(5000);
+            assertFalse(thread.isAlive());
+            assertEquals("old" + lineSeparator + "new 1" + lineSeparator + "new 2" + lineSeparator, new String(Files.readAllBytes(output.toPath())));
+            assertEquals("", errorOutput.toString());
+        } finally {
+            output.delete();
+        }
+    }
+
+    @Test
+    public void testFollowPipedToGrepRedirectedToFile() throws Exception {
+        File file = writeTemporaryFile("INFO start\n".getBytes());
+        File output = fileSystem.getFile("FollowErrors");
+        ByteArrayOutputStream errorOutput = new ByteArrayOutputStream();
+        try {
+            Thread thread = startEvaluating("tail -f " + file.getPath() + " | grep ERROR > FollowErrors", errorOutput);
+            append(file, "ERROR first\nINFO other\n");
+            awaitFileContent(output, "ERROR first" + lineSeparator);
+            append(file, "ERROR second\n");
+            awaitFileContent(output, "ERROR first" + lineSeparator + "ERROR second" + lineSeparator);
+            thread.interrupt();
+            thread.join(5000);
+            assertFalse(thread.isAlive());
+        } finally {
+            output.delete();
+        }
+    }
+}
@@ -14,10 +14,15 @@ import static org.junit.Assert.fail;
 import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.SequenceInputStream;
 
 import java.util.ArrayList;
+import java.util.Random;
 
 
 public class WcTest {
@@ -222,4 +227,89 @@ public class WcTest {
         wcApplication.execute(applicationArguments, null, outputStream);
         assertEquals("5 " + lineSeparator, outputStream.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testBytesFlag() throws JshException {
+        applicationArguments.add("-c");
+        applicationArguments.add("Soft");
+        applicationArguments.add("Hello");
+        wcApplication.execute(applicationArguments, null, outputStream);
+        assertEquals("52 " + lineSeparator, outputStream.toString());
+    }
+
+    @Test
+    public void testAllFlags() throws JshException {
+        applicationArguments.add("-cmwl");
+        applicationArguments.add("Soft");
+        wcApplication.execute(applicationArguments, null, outputStream);
+        assertEquals("3 11 47 47 " + lineSeparator, outputStream.toString());
+    }
+
+    @Test
+    public void testBytesOfLargeFileAreNotRead() throws IOException, JshException {
+        File file = File.createTempFile("wcSparse", null);
+        try {
+            try (RandomAccessFile sparse = new RandomAccessFile(file, "rw")) {
+                sparse.setLength(5L * 1024 * 1024 * 1024);
+            }
+            applicationArguments.add("-c");
+            applicationArguments.add(file.getAbsolutePath());
+            wcApplication.execute(applicationArguments, null, outputStream);
+            assertEquals(5L * 1024 * 1024 * 1024 + " " + lineSeparator, outputStream.toString());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testCharactersAreUtf8CodePoints() throws JshException {
+        byte[] input = {'c', 'a', 'f', (byte) 0xC3, (byte) 0xA9, ' ', (byte) 0xE2, (byte) 0x82, (byte) 0xAC, '\n'};
+        applicationArguments.add("-lwmc");
+        wcApplication.execute(applicationArguments, new ByteArrayInputStream(input), outputStream);
+        assertEquals("1 2 7 10 " + lineSeparator, outputStream.toString());
+    }
+
+    @Test
+    public void testWhitespaceOnlyInput() throws JshException {
+        byte[] input = " \t\n\u000B\f\r \n".getBytes();
+        wcApplication.execute(applicationArguments, new ByteArrayInputStream(input), outputStream);
+        assertEquals("2 0 8 " + lineSeparator, outputStream.toString());
+    }
+
+    @Test
+    public void testCountsMatchByteByByteCountsAcrossBuffers() throws JshException {
+        Random random = new Random(25);
+        byte[] alphabet = {'a', 'Z', '0', ' ', ' ', '\t', '\n', '\n', 0x0B, 0x0C, '\r', 0x08, 0x0E, 0x1F, 0x21, 0x7F,
+            (byte) 0x80, (byte) 0xA0, (byte) 0xC3, (byte) 0xE2, (byte) 0xFF};
+        for (int size : new int[] {0, 1, 7, 8, 9, 1000, 600 * 1024 + 3}) {
+            byte[] input = new byte[size];
+            for (int i = 0; i < size; ++i) {
+                input[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            long lines = 0, words = 0, chars = 0;
+            boolean inWord = false;
+            for (byte b : input) {
+                lines += b == '\n' ? 1 : 0;
+                chars += (b & 0xC0) != 0x80 ? 1 : 0;
+                boolean space = b == ' ' || b == '\t' || b == '\n' || b == 0x0B || b == '\f' || b == '\r';
+                words += !space && !inWord ? 1 : 0;
+                inWord = !space;
+            }
+            applicationArguments.clear();
+            applicationArguments.add("-lwmc");
+            outputStream.reset();
+            wcApplication.execute(applicationArguments, new ByteArrayInputStream(input), outputStream);
+            assertEquals(lines + " " + words + " " + chars + " " + size + " " + lineSeparator, outputStream.toString());
+        }
+    }
+
+    @Test
+    public void testWordSplitBetweenReadsIsCountedOnce() throws JshException {
+        byte[] first = "one tw".getBytes();
+        byte[] second = "o three".getBytes();
+        InputStream input = new SequenceInputStream(new ByteArrayInputStream(first), new ByteArrayInputStream(second));
+        applicationArguments.add("-w");
+        wcApplication.execute(applicationArguments, input, outputStream);
+        assertEquals("3 " + lineSeparator, outputStream.toString());
+    }
+}
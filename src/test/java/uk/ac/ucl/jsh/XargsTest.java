@@ -0,0 +1,189 @@
+package uk.ac.ucl.jsh;
+
+import uk.ac.ucl.jsh.Applications.Xargs;
+import uk.ac.ucl.jsh.Utilities.FileSystem;
+import uk.ac.ucl.jsh.Utilities.JshException;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class XargsTest {
+    private static Xargs xargsApplication;
+    private static FileSystem fileSystem;
+    private static ByteArrayOutputStream outputStream;
+    private static ArrayList<String> applicationArguments;
+
+    private String lineSeparator = Jsh.lineSeparator;
+    private String fileSeparator = Jsh.fileSeparator;
+    private static String initialWorkingDirectoryPath;
+
+    @BeforeClass
+    public static void setClass() {
+        applicationArguments = new ArrayList<>();
+        outputStream = new ByteArrayOutputStream();
+        xargsApplication = new Xargs();
+        fileSystem = FileSystem.getInstance();
+        initialWorkingDirectoryPath = fileSystem.getWorkingDirectoryPath();
+    }
+
+    @Before
+    // Create the File Hierarchy
+    public void createHierarchy() throws IOException {
+        fileSystem.deleteTestFileHierarchy();
+        fileSystem.createTestFileHierarchy();
+        fileSystem.setWorkingDirectory(System.getProperty("java.io.tmpdir"));
+    }
+
+    @After
+    // Delete the test hierarchy, reset the command arguments and reset the outputstream
+    public void afterTest() throws IOException {
+        fileSystem.deleteTestFileHierarchy();
+        applicationArguments.clear();
+        outputStream.reset();
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        fileSystem.setWorkingDirectory(initialWorkingDirectoryPath);
+    }
+
+    private InputStream input(String... lines) {
+        return new ByteArrayInputStream((String.join(Jsh.lineSeparator, lines) + Jsh.lineSeparator).getBytes());
+    }
+
+    @Test
+    public void testDefaultCommandIsEcho() throws JshException {
+        xargsApplication.execute(applicationArguments, input("a b", "c"), outputStream);
+        assertEquals("a b c" + lineSeparator, outputStream.toString());
+    }
+
+    @Test
+    public void testEmptyInputRunsCommandOnce() throws JshException {
+        xargsApplication.execute(applicationArguments, new ByteArrayInputStream(new byte[0]), outputStream);
+        assertEquals(lineSeparator, outputStream.toString());
+    }
+
+    @Test
+    public void testMaxArgs() throws JshException {
+        applicationArguments.addAll(Arrays.asList("-n", "2", "echo", "item"));
+        xargsApplication.execute(applicationArguments, input("a b c", "d e"), outputStream);
+        assertEquals("item a b" + lineSeparator + "item c d" + lineSeparator + "item e" + lineSeparator, outputStream.toString());
+    }
+
+    @Test
+    public void testParallelGroupedOutputKeepsOrder() throws JshException {
+        StringBuilder items = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; ++i) {
+            items.append(i).append(" ");
+            expected.append(i).append(lineSeparator);
+        }
+        applicationArguments.addAll(Arrays.asList("-n", "1", "-P", "4", "echo"));
+        xargsApplication.execute(applicationArguments, input(items.toString()), outputStream);
+        assertEquals(expected.toString(), outputStream.toString());
+    }
+
+    @Test
+    public void testParallelInterleavedOutput() throws JshException {
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < 100; ++i) {
+            items.append(i).append(" ");
+        }
+        applicationArguments.addAll(Arrays.asList("-n", "1", "-P", "8", "-o", "interleaved"));
+        xargsApplication.execute(applicationArguments, input(items.toString()), outputStream);
+
+        List<String> lines = new ArrayList<>(Arrays.asList(outputStream.toString().split(lineSeparator)));
+        assertEquals(100, lines.size());
+        Collections.sort(lines, (first, second) -> Integer.parseInt(first) - Integer.parseInt(second));
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(Integer.toString(i), lines.get(i));
+        }
+    }
+
+    @Test
+    public void testInterleavedOutputKeepsLinesWhole() throws IOException, JshException {
+        StringBuilder items = new StringBuilder();
+        for (int i = 1; i <= 8; ++i) {
+            try (PrintWriter writer = new PrintWriter(fileSystem.getFile("Other" + fileSeparator + "file" + i))) {
+                for (int j = 0; j < 20000; ++j) {
+                    writer.print("file" + i + "-line-" + j + lineSeparator);
+                }
+            }
+            items.append("Other").append(fileSeparator).append("file").append(i).append(" ");
+        }
+        applicationArguments.addAll(Arrays.asList("-n", "1", "-P", "8", "-o", "interleaved", "grep", "line"));
+        xargsApplication.execute(applicationArguments, input(items.toString()), outputStream);
+
+        String[] lines = outputStream.toString().split(lineSeparator);
+        assertEquals(8 * 20000, lines.length);
+        for (String line : lines) {
+            assertTrue("torn line: " + line, line.matches("file[1-8]-line-[0-9]+"));
+        }
+    }
+
+    @Test
+    public void testFailedInvocationReportedAfterOthersRun() {
+        applicationArguments.addAll(Arrays.asList("-n", "1", "cat"));
+        try {
+            xargsApplication.execute(applicationArguments, input("InvalidPath Hello"), outputStream);
+            fail("xargs did not throw the exception of the failed invocation");
+        } catch (JshException e) {
+            assertEquals("cat: " + fileSeparator + "tmp" + fileSeparator + "InvalidPath (No such file or directory)", e.getMessage());
+            assertEquals("hello", outputStream.toString());
+        }
+    }
+
+    @Test
+    public void testInvalidMaxArgs() {
+        applicationArguments.addAll(Arrays.asList("-n", "x", "echo"));
+        try {
+            xargsApplication.execute(applicationArguments, input("a"), outputStream);
+            fail("xargs did not throw an invalid number exception");
+        } catch (JshException e) {
+            assertEquals("xargs: invalid number for -n option: x", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testInvalidOutputOrder() {
+        applicationArguments.addAll(Arrays.asList("-o", "random"));
+        try {
+            xargsApplication.execute(applicationArguments, input("a"), outputStream);
+            fail("xargs did not throw an invalid output order exception");
+        } catch (JshException e) {
+            assertEquals("xargs: invalid output order: random", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMissingInput() {
+        try {
+            xargsApplication.execute(applicationArguments, null, outputStream);
+            fail("xargs did not throw a missing input exception");
+        } catch (JshException e) {
+            assertEquals("xargs: missing input", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testInPipeline() {
+        Jsh.eval("echo Hello Hello | xargs -n 1 -P 2 cat", outputStream);
+        assertEquals("hellohello", outputStream.toString());
+    }
+}